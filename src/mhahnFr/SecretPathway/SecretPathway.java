@@ -21,11 +21,14 @@ package mhahnFr.SecretPathway;
 
 import mhahnFr.SecretPathway.core.Constants;
 import mhahnFr.SecretPathway.core.Settings;
+import mhahnFr.SecretPathway.core.lpc.BatchParser;
 import mhahnFr.SecretPathway.core.net.ConnectionFactory;
 import mhahnFr.SecretPathway.gui.MainWindow;
 
 import javax.swing.*;
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -38,12 +41,16 @@ import java.util.NoSuchElementException;
  * @author mhahnFr
  */
 public class SecretPathway {
-    /** The hostname or the IP address to connect to.                */
+    /** The hostname or the IP address to connect to.                   */
     private String  hostname;
-    /** The port to use for the connection.                          */
+    /** The port to use for the connection.                             */
     private Integer port;
-    /** Indicates whether the settings for deploying should be used. */
+    /** Indicates whether the settings for deploying should be used.    */
     private boolean deploy;
+    /** The mudlib directory to be checked instead of opening a window. */
+    private Path    checkDirectory;
+    /** The amount of threads to be used for checking a mudlib.         */
+    private int     jobs = Runtime.getRuntime().availableProcessors();
 
     /**
      * Prints a help text.
@@ -67,6 +74,13 @@ public class SecretPathway {
             
             -d
             --deploy   Activates settings for deploying the app
+            
+            -c
+            --check    Parses all LPC files of the given mudlib directory
+                       and prints the diagnostics instead of opening a window
+            
+            -j
+            --jobs     The amount of threads to be used for --check
             """);
     }
 
@@ -137,6 +151,62 @@ public class SecretPathway {
         }
     }
 
+    /**
+     * Sets the mudlib directory to be checked. Prints a descriptive message on error.
+     *
+     * @param it the iterator used to access the parameter of the CLI argument
+     */
+    private void setCheckDirectory(Iterator<String> it) {
+        if (!it.hasNext()) {
+            printError("--check", "Missing argument!");
+            return;
+        }
+        checkDirectory = Path.of(it.next());
+    }
+
+    /**
+     * Tries to parse the amount of threads. Prints a descriptive message on error.
+     *
+     * @param it the iterator used to access the parameter of the CLI argument
+     */
+    private void setJobs(Iterator<String> it) {
+        try {
+            final var value = Integer.decode(it.next());
+            if (value < 1) {
+                printError("--jobs", "Must be positive!");
+            } else {
+                jobs = value;
+            }
+        } catch (NumberFormatException | NoSuchElementException e) {
+            printError("--jobs", "Could not set the amount of threads!");
+        }
+    }
+
+    /**
+     * Parses all LPC files of the {@link SecretPathway#checkDirectory} and
+     * prints the found diagnostics along with the throughput.
+     */
+    private void check() {
+        final BatchParser.Report report;
+        try {
+            report = new BatchParser(checkDirectory, jobs).parse();
+        } catch (IOException e) {
+            printError("--check", "Could not read the directory: " + e.getMessage());
+            return;
+        }
+
+        for (final var file : report.files()) {
+            file.diagnostics().forEach(System.out::println);
+        }
+        System.out.printf("%d files, %d lines, %d diagnostics in %.2f s using %d threads%n",
+                          report.files().size(),
+                          report.getLineCount(),
+                          report.getDiagnosticCount(),
+                          report.nanos() / 1e9,
+                          jobs);
+        System.out.printf("%.0f files/s, %.0f lines/s%n", report.getFilesPerSecond(), report.getLinesPerSecond());
+    }
+
     /**
      * Displays an instance of the {@link MainWindow} using the parsed {@link SecretPathway#hostname}
      * and {@link SecretPathway#port}.
@@ -195,11 +265,17 @@ public class SecretPathway {
                 case "-a", "--address", "--hostname" -> setHostname(it);
                 case "-p", "--port"                  -> setPort(it);
                 case "-d", "--deploy"                -> activateDeploying();
+                case "-c", "--check"                 -> setCheckDirectory(it);
+                case "-j", "--jobs"                  -> setJobs(it);
 
                 default -> System.err.println("Argument \"" + arg + "\" dropped.");
             }
         }
-        openWindow();
+        if (checkDirectory != null) {
+            check();
+        } else {
+            openWindow();
+        }
     }
 
     public static void main(String[] args) {
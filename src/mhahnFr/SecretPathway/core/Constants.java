@@ -42,29 +42,66 @@ public final class Constants {
      */
     public static final class Actions {
         /** Action command for sending a message.                       */
-        public static final String SEND           = "send";
+        public static final String SEND            = "send";
         /** Action command for closing a connection.                    */
-        public static final String CLOSE          = "close";
+        public static final String CLOSE           = "close";
         /** Action command for reconnecting to the connection endpoint. */
-        public static final String RECONNECT      = "reconnect";
+        public static final String RECONNECT       = "reconnect";
         /** Action command for creating a new connection.               */
-        public static final String NEW            = "new";
+        public static final String NEW             = "new";
         /** Action command used for opening the editor.                 */
-        public static final String OPEN_EDITOR    = "open_editor";
+        public static final String OPEN_EDITOR     = "open_editor";
+        /** Action command used for showing the output statistics.      */
+        public static final String OUTPUT_STATS    = "output_stats";
+        /** Action command used for exporting a session log.            */
+        public static final String EXPORT_LOG      = "export_log";
+        /** Action command used for opening the search bar.             */
+        public static final String SEARCH          = "search";
+        /** Action command used for searching the next match.           */
+        public static final String SEARCH_NEXT     = "search_next";
+        /** Action command used for searching the previous match.       */
+        public static final String SEARCH_PREVIOUS = "search_previous";
+        /** Action command used for searching in the session logs.      */
+        public static final String SEARCH_LOGS     = "search_logs";
+        /** Action command used for closing the search bar.             */
+        public static final String SEARCH_CLOSE    = "search_close";
+        /** Action command used for showing the trigger statistics.     */
+        public static final String TRIGGER_STATS   = "trigger_stats";
+        /** Action command used for completing the word in the prompt.  */
+        public static final String COMPLETE        = "complete";
+        /** Action command used for showing the sending options.        */
+        public static final String SEND_OPTIONS    = "send_options";
+        /** Action command used for cancelling the pending commands.    */
+        public static final String CANCEL_SEND     = "cancel_send";
+        /** Action command used for showing the latency statistics.     */
+        public static final String LATENCY_STATS   = "latency_stats";
+        /** Action command used for showing the diagnostic messages.    */
+        public static final String DIAGNOSTICS     = "diagnostics";
     }
 
     /**
      * Constants for use in the user interface.
      */
     public static final class UI {
-        /** The default monospaced font to be used.            */
+        /** The mask deciding whether to use the CMD or the CTRL key. */
+        private static final int metaMask = IS_MAC ? KeyEvent.META_DOWN_MASK : KeyEvent.CTRL_DOWN_MASK;
+
+        /** The default monospaced font to be used.                   */
         public static final Font FONT = new Font("monospaced", Font.PLAIN, 12);
-        /** The string displayed for the automatic appearance. */
+        /** The string displayed for the automatic appearance.        */
         public static final String APPEARANCE_AUTO = "Auto";
-        /** The string displayed for the dark appearance.      */
+        /** The string displayed for the dark appearance.             */
         public static final String APPEARANCE_DARK = "Dark";
-        /** The string displayed for the light appearance.     */
+        /** The string displayed for the light appearance.            */
         public static final String APPEARANCE_LIGHT = "Light";
+        /** The keystroke for copying the selected output.            */
+        public static final KeyStroke COPY = KeyStroke.getKeyStroke(KeyEvent.VK_C, metaMask);
+        /** The keystroke for selecting the whole output.             */
+        public static final KeyStroke SELECT_ALL = KeyStroke.getKeyStroke(KeyEvent.VK_A, metaMask);
+        /** The keystroke for searching in the output.                */
+        public static final KeyStroke SEARCH = KeyStroke.getKeyStroke(KeyEvent.VK_F, metaMask);
+        /** The keystroke for completing the word in the prompt.      */
+        public static final KeyStroke COMPLETE = KeyStroke.getKeyStroke(KeyEvent.VK_TAB, 0);
     }
 
     /**
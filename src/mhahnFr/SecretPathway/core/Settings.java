@@ -294,6 +294,98 @@ public final class Settings {
         return preferences.getInt(Keys.NATIVE_LF, 1) == 1;
     }
 
+    /**
+     * Returns whether to use the line-based output view instead of
+     * the text pane for displaying the output of the MUD.
+     *
+     * @return whether to use the line-based output view
+     */
+    public boolean getLineOutputView() {
+        return preferences.getInt(Keys.LINE_OUTPUT_VIEW, 0) == 1;
+    }
+
+    /**
+     * Returns whether the output of the sessions should be written
+     * to a session log.
+     *
+     * @return whether to write session logs
+     */
+    public boolean getSessionLog() {
+        return preferences.getInt(Keys.SESSION_LOG, 0) == 1;
+    }
+
+    /**
+     * Returns the key of the given setting for the given server.
+     *
+     * @param key      the key of the setting
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @return the key for the server
+     */
+    private static String serverKey(final String key, final String hostname, final int port) {
+        return key + "." + Integer.toHexString((hostname + ":" + port).hashCode());
+    }
+
+    /**
+     * Returns whether the commands sent to the given server are throttled.
+     * They are not throttled by default.
+     *
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @return whether to throttle the commands
+     */
+    public boolean getThrottle(final String hostname, final int port) {
+        return preferences.getInt(serverKey(Keys.THROTTLE, hostname, port), 0) == 1;
+    }
+
+    /**
+     * Returns the amount of commands per second sent to the given server
+     * if the commands are throttled.
+     *
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @return the permitted commands per second
+     */
+    public double getSendRate(final String hostname, final int port) {
+        return preferences.getDouble(serverKey(Keys.SEND_RATE, hostname, port), 4);
+    }
+
+    /**
+     * Returns the amount of commands sent at once to the given server
+     * if the commands are throttled.
+     *
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @return the amount of commands permitted at once
+     */
+    public int getSendBurst(final String hostname, final int port) {
+        return preferences.getInt(serverKey(Keys.SEND_BURST, hostname, port), 8);
+    }
+
+    /**
+     * Returns whether to wait for a prompt between the commands
+     * sent to the given server.
+     *
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @return whether to wait for prompts
+     */
+    public boolean getWaitForPrompt(final String hostname, final int port) {
+        return preferences.getInt(serverKey(Keys.WAIT_FOR_PROMPT, hostname, port), 0) == 1;
+    }
+
+    /**
+     * Returns whether the certificates of TLS connections to the given
+     * server are verified against its hostname.
+     *
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @return whether to verify the hostname
+     */
+    public boolean getVerifyHostname(final String hostname, final int port) {
+        return preferences.getInt(serverKey(Keys.VERIFY_HOSTNAME, hostname, port), 1) == 1;
+    }
+
     /**
      * Sets whether to use the native Look & Feel implementation.
      *
@@ -503,6 +595,90 @@ public final class Settings {
         return this;
     }
 
+    /**
+     * Sets whether to use the line-based output view instead of the
+     * text pane for displaying the output of the MUD.
+     *
+     * @param enabled whether to use the line-based output view
+     * @return this instance
+     */
+    public Settings setLineOutputView(final boolean enabled) {
+        final var value = enabled ? 1 : 0;
+
+        callListeners(Keys.LINE_OUTPUT_VIEW, enabled);
+        preferences.putInt(Keys.LINE_OUTPUT_VIEW, value);
+
+        return this;
+    }
+
+    /**
+     * Sets whether the output of the sessions should be written
+     * to a session log.
+     *
+     * @param enabled whether to write session logs
+     * @return this instance
+     */
+    public Settings setSessionLog(final boolean enabled) {
+        final var value = enabled ? 1 : 0;
+
+        callListeners(Keys.SESSION_LOG, enabled);
+        preferences.putInt(Keys.SESSION_LOG, value);
+
+        return this;
+    }
+
+    /**
+     * Sets how the commands sent to the given server are paced.
+     *
+     * @param hostname      the hostname of the server
+     * @param port          the port of the server
+     * @param throttle      whether to throttle the commands
+     * @param rate          the permitted commands per second
+     * @param burst         the amount of commands permitted at once
+     * @param waitForPrompt whether to wait for prompts between the commands
+     * @return this instance
+     */
+    public Settings setSendPacing(final String  hostname,
+                                  final int     port,
+                                  final boolean throttle,
+                                  final double  rate,
+                                  final int     burst,
+                                  final boolean waitForPrompt) {
+        final var throttleKey = serverKey(Keys.THROTTLE, hostname, port);
+        final var rateKey     = serverKey(Keys.SEND_RATE, hostname, port);
+        final var burstKey    = serverKey(Keys.SEND_BURST, hostname, port);
+        final var promptKey   = serverKey(Keys.WAIT_FOR_PROMPT, hostname, port);
+
+        callListeners(throttleKey, throttle);
+        callListeners(rateKey, rate);
+        callListeners(burstKey, burst);
+        callListeners(promptKey, waitForPrompt);
+        preferences.putInt(throttleKey, throttle ? 1 : 0);
+        preferences.putDouble(rateKey, rate);
+        preferences.putInt(burstKey, burst);
+        preferences.putInt(promptKey, waitForPrompt ? 1 : 0);
+
+        return this;
+    }
+
+    /**
+     * Sets whether the certificates of TLS connections to the given
+     * server are verified against its hostname.
+     *
+     * @param hostname the hostname of the server
+     * @param port     the port of the server
+     * @param verify   whether to verify the hostname
+     * @return this instance
+     */
+    public Settings setVerifyHostname(final String hostname, final int port, final boolean verify) {
+        final var key = serverKey(Keys.VERIFY_HOSTNAME, hostname, port);
+
+        callListeners(key, verify);
+        preferences.putInt(key, verify ? 1 : 0);
+
+        return this;
+    }
+
     /**
      * Attempts to flush the underlying {@link Preferences}. Returns whether the
      * operation was successful.
@@ -584,5 +760,19 @@ public final class Settings {
         public static final String EDITOR_WINDOW_HEIGHT       = BUNDLE_ID + ".editorWindowHeight";
         /** The key used to store the usage of the native Look&Feel usage.  */
         public static final String NATIVE_LF                  = BUNDLE_ID + ".nativeLookAndFeel";
+        /** The key used to store whether to use the line output view.      */
+        public static final String LINE_OUTPUT_VIEW           = BUNDLE_ID + ".lineOutputView";
+        /** The key used to store whether to write session logs.            */
+        public static final String SESSION_LOG                = BUNDLE_ID + ".sessionLog";
+        /** The prefix of the keys used to store the throttling per server. */
+        public static final String THROTTLE                   = BUNDLE_ID + ".throttle";
+        /** The prefix of the keys used to store the send rate per server.  */
+        public static final String SEND_RATE                  = BUNDLE_ID + ".sendRate";
+        /** The prefix of the keys used to store the send burst per server. */
+        public static final String SEND_BURST                 = BUNDLE_ID + ".sendBurst";
+        /** The prefix of the keys used to store the prompt waiting.        */
+        public static final String WAIT_FOR_PROMPT            = BUNDLE_ID + ".waitForPrompt";
+        /** The prefix of the keys used to store the hostname verification. */
+        public static final String VERIFY_HOSTNAME            = BUNDLE_ID + ".verifyHostname";
     }
 }
@@ -0,0 +1,401 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.completion;
+
+import mhahnFr.SecretPathway.core.lines.Line;
+import mhahnFr.SecretPathway.core.lines.LineListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * This class represents a bounded index of the words seen in the received
+ * lines, used for completing words. The words are stored in a trie kept in
+ * primitive arrays. Every word has a frequency count that decays with the
+ * amount of words seen since it was last seen, so that words not seen for
+ * a long time are ranked lower and are dropped first once the amount of
+ * trie nodes reaches its limit.
+ * <p>
+ * The case of the words is ignored by folding the characters.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class CompletionIndex implements LineListener {
+    /** The default maximum amount of trie nodes.                         */
+    public static final int DEFAULT_MAX_NODES = 64 * 1024;
+    /** The minimum length of indexed words.                              */
+    private static final int MIN_LENGTH = 4;
+    /** The maximum length of indexed words.                              */
+    private static final int MAX_LENGTH = 32;
+    /** The amount of seen words after which a frequency count is halved. */
+    private static final double HALF_LIFE = 20_000;
+    /** The amount of seen words after which the increment is updated.    */
+    private static final int TICK_INTERVAL = 256;
+    /** The increment above which all counts are scaled down.             */
+    private static final double MAX_INCREMENT = 1e100;
+
+    /** The maximum amount of trie nodes.                                   */
+    private final int maxNodes;
+    /** The character of each node.                                         */
+    private char[] chars = new char[1024];
+    /** The parent of each node.                                            */
+    private int[] parents = new int[1024];
+    /** The nodes in an open addressing table keyed by parent and character. */
+    private int[] edges = new int[4096];
+    /** The first child of each node, {@code 0} if there is none.           */
+    private int[] children = new int[1024];
+    /** The next sibling of each node, {@code 0} if there is none.          */
+    private int[] siblings = new int[1024];
+    /** The scaled frequency count of the word ending in each node.         */
+    private double[] counts = new double[1024];
+    /** The amount of used nodes, including the root.                       */
+    private int nodeCount = 1;
+    /** The amount added to a count for a seen word, growing exponentially. */
+    private double increment = 1;
+    /** The amount of words seen since the increment was last updated.     */
+    private int tick;
+
+    /**
+     * Constructs a completion index with the default maximum amount of nodes.
+     */
+    public CompletionIndex() {
+        this(DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Constructs a completion index with the given maximum amount of nodes.
+     *
+     * @param maxNodes the maximum amount of trie nodes
+     * @throws IllegalArgumentException if the given amount is smaller than {@code 2 * MAX_LENGTH}
+     */
+    public CompletionIndex(final int maxNodes) {
+        if (maxNodes < 2 * MAX_LENGTH) throw new IllegalArgumentException("The maximum amount of nodes is too small!");
+
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    public void lineReceived(final Line line) {
+        addWords(line.getText());
+    }
+
+    /**
+     * Adds the words of the given text.
+     *
+     * @param text the text
+     */
+    public synchronized void addWords(final CharSequence text) {
+        var begin = -1;
+        for (int i = 0; i <= text.length(); ++i) {
+            if (i < text.length() && isWordChar(text.charAt(i))) {
+                if (begin < 0) begin = i;
+            } else if (begin >= 0) {
+                if (i - begin >= MIN_LENGTH && i - begin <= MAX_LENGTH) {
+                    addWord(text, begin, i);
+                }
+                begin = -1;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given character is part of a word.
+     *
+     * @param c the character to be checked
+     * @return whether the character belongs to a word
+     */
+    public static boolean isWordChar(final char c) {
+        if (c < 128) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-' || c == '\'';
+        }
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '\'';
+    }
+
+    /**
+     * Folds the given character, so that characters considered equal
+     * when ignoring the case are folded to the same character.
+     *
+     * @param c the character to be folded
+     * @return the folded character
+     */
+    private static char fold(final char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Returns the count of the given node, decayed to the current tick.
+     *
+     * @param node the node
+     * @return the decayed count
+     */
+    private double decayed(final int node) {
+        return counts[node] / increment;
+    }
+
+    /**
+     * Counts a seen word. Instead of decaying all counts, the increment
+     * added for a seen word grows exponentially; once it becomes too large,
+     * all counts are scaled down.
+     */
+    private void tick() {
+        if (++tick < TICK_INTERVAL) return;
+
+        increment *= Math.pow(2, tick / HALF_LIFE);
+        tick       = 0;
+        if (increment > MAX_INCREMENT) {
+            for (int i = 0; i < nodeCount; ++i) {
+                counts[i] /= increment;
+            }
+            increment = 1;
+        }
+    }
+
+    /**
+     * Adds the given word.
+     *
+     * @param text  the text containing the word
+     * @param begin the beginning of the word
+     * @param end   the end of the word
+     */
+    private void addWord(final CharSequence text, final int begin, final int end) {
+        while (nodeCount + (end - begin) > maxNodes) {
+            prune();
+        }
+        var node = 0;
+        for (int i = begin; i < end; ++i) {
+            node = childOf(node, fold(text.charAt(i)), true);
+        }
+        counts[node] += increment;
+        tick();
+    }
+
+    /**
+     * Returns the child of the given node with the given character.
+     *
+     * @param node   the parent node
+     * @param c      the folded character
+     * @param create whether to create the child if it does not exist
+     * @return the child or {@code -1} if it does not exist and should not be created
+     */
+    private int childOf(final int node, final char c, final boolean create) {
+        final var mask = edges.length - 1;
+
+        var slot = slotOf(node, c, mask);
+        for (var child = edges[slot]; child != 0; child = edges[slot]) {
+            if (chars[child] == c && parents[child] == node) return child;
+            slot = slot + 1 & mask;
+        }
+        if (!create) return -1;
+
+        if (nodeCount == chars.length) {
+            grow(Math.min(chars.length * 2, maxNodes));
+            return childOf(node, c, true);
+        }
+        final var child = nodeCount++;
+        chars[child]    = c;
+        parents[child]  = node;
+        children[child] = 0;
+        siblings[child] = children[node];
+        counts[child]   = 0;
+        children[node]  = child;
+        edges[slot]     = child;
+        return child;
+    }
+
+    /**
+     * Returns the first slot of the edge table to be probed for the
+     * child of the given node with the given character.
+     *
+     * @param node the parent node
+     * @param c    the folded character
+     * @param mask the mask of the edge table
+     * @return the first slot to be probed
+     */
+    private static int slotOf(final int node, final char c, final int mask) {
+        final var hash = (node * 0x9E3779B9) ^ (c * 0x85EBCA6B);
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    /**
+     * Grows the node arrays to the given capacity and rebuilds the edge table.
+     *
+     * @param capacity the new capacity
+     */
+    private void grow(final int capacity) {
+        chars    = Arrays.copyOf(chars, capacity);
+        parents  = Arrays.copyOf(parents, capacity);
+        children = Arrays.copyOf(children, capacity);
+        siblings = Arrays.copyOf(siblings, capacity);
+        counts   = Arrays.copyOf(counts, capacity);
+        edges    = new int[Integer.highestOneBit(capacity) * 4];
+
+        final var mask = edges.length - 1;
+        for (int child = 1; child < nodeCount; ++child) {
+            var slot = slotOf(parents[child], chars[child], mask);
+            while (edges[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            edges[slot] = child;
+        }
+    }
+
+    /**
+     * Drops at least the less frequent half of the words along with the nodes no
+     * longer leading to a word. The remaining nodes are renumbered in
+     * place, keeping every parent in front of its children.
+     */
+    private void prune() {
+        final var wordCounts = new double[nodeCount];
+        var words = 0;
+        for (int node = 1; node < nodeCount; ++node) {
+            if (counts[node] > 0) wordCounts[words++] = counts[node];
+        }
+        Arrays.sort(wordCounts, 0, words);
+        final var threshold = words == 0 ? 0 : wordCounts[words / 2];
+
+        final var keep = new boolean[nodeCount];
+        keep[0] = true;
+        for (int node = nodeCount - 1; node > 0; --node) {
+            if (counts[node] <= threshold) {
+                counts[node] = 0;
+            } else if (counts[node] > 0) {
+                keep[node] = true;
+            }
+            if (keep[node]) keep[parents[node]] = true;
+        }
+
+        final var ids = new int[nodeCount];
+        var count = 1;
+        counts[0] /= increment;
+        for (int node = 1; node < nodeCount; ++node) {
+            if (!keep[node]) continue;
+
+            ids[node]      = count;
+            chars[count]   = chars[node];
+            parents[count] = ids[parents[node]];
+            counts[count]  = counts[node] / increment;
+            ++count;
+        }
+        nodeCount = count;
+        increment = 1;
+
+        Arrays.fill(children, 0, nodeCount, 0);
+        Arrays.fill(edges, 0);
+        final var mask = edges.length - 1;
+        for (int node = 1; node < nodeCount; ++node) {
+            siblings[node]          = children[parents[node]];
+            children[parents[node]] = node;
+
+            var slot = slotOf(parents[node], chars[node], mask);
+            while (edges[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            edges[slot] = node;
+        }
+    }
+
+    /**
+     * Collects the words ending in the subtree of the given node.
+     *
+     * @param node   the root of the subtree
+     * @param prefix the word of the given node
+     * @param result the list the found words are added to
+     */
+    private void collect(final int node, final StringBuilder prefix, final List<Candidate> result) {
+        if (counts[node] > 0) {
+            result.add(new Candidate(prefix.toString(), decayed(node)));
+        }
+        for (int child = children[node]; child != 0; child = siblings[child]) {
+            prefix.append(chars[child]);
+            collect(child, prefix, result);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    /**
+     * Returns the most frequent words starting with the given prefix,
+     * ordered by their decayed frequency. The prefix itself is not
+     * returned. The words are returned folded.
+     *
+     * @param prefix the prefix of the words
+     * @param max    the maximum amount of returned words
+     * @return the completions of the given prefix
+     */
+    public synchronized List<String> complete(final CharSequence prefix, final int max) {
+        var node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; ++i) {
+            node = childOf(node, fold(prefix.charAt(i)), false);
+        }
+        if (node <= 0 || max <= 0) return List.of();
+
+        final var builder = new StringBuilder(prefix.length());
+        for (int i = 0; i < prefix.length(); ++i) {
+            builder.append(fold(prefix.charAt(i)));
+        }
+        final var words = new ArrayList<Candidate>();
+        for (int child = children[node]; child != 0; child = siblings[child]) {
+            builder.append(chars[child]);
+            collect(child, builder, words);
+            builder.setLength(builder.length() - 1);
+        }
+        final var best = new PriorityQueue<Candidate>((a, b) -> Double.compare(a.score(), b.score()));
+        for (final var word : words) {
+            best.add(word);
+            if (best.size() > max) best.poll();
+        }
+        final var result = new String[best.size()];
+        for (int i = result.length - 1; i >= 0; --i) {
+            result[i] = best.poll().word();
+        }
+        return List.of(result);
+    }
+
+    /**
+     * Returns the amount of used trie nodes.
+     *
+     * @return the amount of nodes
+     */
+    public synchronized int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the approximate amount of bytes used by the trie.
+     *
+     * @return the used amount of bytes
+     */
+    public synchronized long getByteSize() {
+        return (long) chars.length * (Character.BYTES + 7 * Integer.BYTES + Double.BYTES);
+    }
+
+    /**
+     * This record represents a found word along with its decayed frequency.
+     *
+     * @param word  the word
+     * @param score the decayed frequency
+     */
+    private record Candidate(String word, double score) {}
+}
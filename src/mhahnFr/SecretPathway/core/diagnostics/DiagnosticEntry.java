@@ -0,0 +1,184 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.diagnostics;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * This class represents a logged diagnostic message.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class DiagnosticEntry {
+    /** The format of the time of the entries. */
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+                                                                          .withZone(ZoneId.systemDefault());
+
+    /**
+     * The severities of the entries.
+     */
+    public enum Level {
+        /** Informational messages.            */
+        INFO,
+        /** Unexpected but handled situations. */
+        WARNING,
+        /** Failures of an operation.          */
+        ERROR
+    }
+
+    /** The sequence number of this entry.                          */
+    private final long sequence;
+    /** The severity of this entry.                                 */
+    private final Level level;
+    /** The time this entry has been logged in milliseconds.        */
+    private final long time;
+    /** The part of the application the message comes from.         */
+    private final String source;
+    /** The message.                                                */
+    private final String message;
+    /** The throwable causing the message, {@code null} if none.    */
+    private final Throwable throwable;
+    /** The amount of suppressed repetitions of the previous entry. */
+    private final int repeats;
+
+    /**
+     * Constructs an entry.
+     *
+     * @param sequence  the sequence number
+     * @param level     the severity
+     * @param time      the time in milliseconds
+     * @param source    the part of the application the message comes from
+     * @param message   the message
+     * @param throwable the throwable causing the message, may be {@code null}
+     * @param repeats   the amount of suppressed repetitions of the message before this entry
+     */
+    DiagnosticEntry(final long      sequence,
+                    final Level     level,
+                    final long      time,
+                    final String    source,
+                    final String    message,
+                    final Throwable throwable,
+                    final int       repeats) {
+        this.sequence  = sequence;
+        this.level     = level;
+        this.time      = time;
+        this.source    = source;
+        this.message   = message;
+        this.throwable = throwable;
+        this.repeats   = repeats;
+    }
+
+    /**
+     * Returns the sequence number of this entry.
+     *
+     * @return the sequence number
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the severity of this entry.
+     *
+     * @return the severity
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the time this entry has been logged.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the part of the application the message comes from.
+     *
+     * @return the source of the message
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the message of this entry.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the throwable causing this entry.
+     *
+     * @return the throwable, {@code null} if none
+     */
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    /**
+     * Returns the amount of suppressed repetitions of the message of this
+     * entry that happened before it.
+     *
+     * @return the amount of suppressed repetitions
+     */
+    public int getRepeats() {
+        return repeats;
+    }
+
+    /**
+     * Formats this entry. The stack trace of the throwable, if any,
+     * follows on the next lines.
+     *
+     * @return the formatted entry
+     */
+    public String format() {
+        final var builder = new StringBuilder();
+        builder.append(TIME_FORMAT.format(Instant.ofEpochMilli(time)))
+               .append(' ').append(level)
+               .append(' ').append(source).append(": ").append(message);
+        if (repeats > 0) {
+            builder.append(" (").append(repeats).append(" similar suppressed before)");
+        }
+        builder.append(System.lineSeparator());
+        if (throwable != null) {
+            final var writer = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(writer));
+            builder.append(writer);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
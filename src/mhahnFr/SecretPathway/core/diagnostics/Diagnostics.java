@@ -0,0 +1,325 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.diagnostics;
+
+import mhahnFr.SecretPathway.core.Constants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class logs diagnostic messages without blocking the caller. The
+ * entries are stored in a ring buffer in memory, from which a background
+ * thread writes them to a rotating {@link #getFile() file}.
+ * <br>
+ * A message repeated by the same source within {@link #REPEAT_INTERVAL}
+ * is only counted; the count is reported with its next entry. At most
+ * {@link #MAX_PER_SECOND} entries are stored per second, further ones
+ * are only counted.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public final class Diagnostics {
+    /** The amount of entries kept in memory, a power of two.          */
+    private static final int CAPACITY        = 1024;
+    /** The nanoseconds within which repeated messages are suppressed. */
+    private static final long REPEAT_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+    /** The maximum amount of entries stored per second.               */
+    private static final int MAX_PER_SECOND  = 100;
+    /** The maximum amount of remembered messages.                     */
+    private static final int MAX_REMEMBERED  = 4096;
+    /** The milliseconds between two writings of the log file.         */
+    private static final long DRAIN_INTERVAL  = 500;
+    /** The size in bytes after which the log file is rotated.         */
+    private static final long MAX_FILE_SIZE   = 1024 * 1024;
+    /** The amount of rotated log files kept.                          */
+    private static final int KEPT_FILES      = 3;
+    /** The name of the log file.                                      */
+    private static final String FILE_NAME     = "diagnostics.log";
+
+    /**
+     * This class represents the repetitions of a message.
+     */
+    private static final class Repeat {
+        /** The time the message has been stored in nanoseconds. */
+        private final long time;
+        /** The amount of suppressed repetitions since then.     */
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        /**
+         * Constructs a repetition counter.
+         *
+         * @param time the time the message has been stored
+         */
+        private Repeat(final long time) {
+            this.time = time;
+        }
+    }
+
+    /** The ring buffer of the entries.                                   */
+    private static final AtomicReferenceArray<DiagnosticEntry> entries = new AtomicReferenceArray<>(CAPACITY);
+    /** The sequence number of the next entry.                            */
+    private static final AtomicLong next = new AtomicLong();
+    /** The repetitions of the recent messages.                           */
+    private static final Map<String, Repeat> repeats = new ConcurrentHashMap<>();
+    /** The beginning of the current rate limiting second in nanoseconds. */
+    private static final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    /** The amount of entries stored in the current second.               */
+    private static final AtomicInteger windowCount = new AtomicInteger();
+    /** The total amount of messages suppressed as repetitions.           */
+    private static final AtomicLong suppressedCount = new AtomicLong();
+    /** The total amount of messages dropped by the rate limit.           */
+    private static final AtomicLong droppedCount = new AtomicLong();
+    /** The amount of entries overwritten before they could be written.   */
+    private static final AtomicLong lostCount = new AtomicLong();
+    /** The sequence number of the next entry to be written to the file.  */
+    private static long drained;
+    /** Indicates whether writing the file has failed.                    */
+    private static volatile boolean fileFailed;
+
+    static {
+        final var writer = new Thread(Diagnostics::drainLoop, "Diagnostics writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Not instantiable.
+     */
+    private Diagnostics() {}
+
+    /**
+     * Returns the file the diagnostic messages are written to.
+     *
+     * @return the path of the log file
+     */
+    public static Path getFile() {
+        return Path.of(System.getProperty("user.home"), "." + Constants.NAME, FILE_NAME);
+    }
+
+    /**
+     * Logs the given informational message.
+     *
+     * @param source  the part of the application the message comes from
+     * @param message the message
+     */
+    public static void info(final String source, final String message) {
+        log(DiagnosticEntry.Level.INFO, source, message, null);
+    }
+
+    /**
+     * Logs the given warning.
+     *
+     * @param source  the part of the application the message comes from
+     * @param message the message
+     */
+    public static void warning(final String source, final String message) {
+        log(DiagnosticEntry.Level.WARNING, source, message, null);
+    }
+
+    /**
+     * Logs the given error.
+     *
+     * @param source    the part of the application the message comes from
+     * @param message   the message
+     * @param throwable the throwable causing the error, may be {@code null}
+     */
+    public static void error(final String source, final String message, final Throwable throwable) {
+        log(DiagnosticEntry.Level.ERROR, source, message, throwable);
+    }
+
+    /**
+     * Stores the given message unless it is a repetition or the rate
+     * limit has been reached.
+     *
+     * @param level     the severity
+     * @param source    the part of the application the message comes from
+     * @param message   the message
+     * @param throwable the throwable causing the message, may be {@code null}
+     */
+    private static void log(final DiagnosticEntry.Level level,
+                            final String                source,
+                            final String                message,
+                            final Throwable             throwable) {
+        final var now = System.nanoTime();
+        final var key = source + ':' + message + (throwable == null ? "" : ':' + throwable.getClass().getName());
+
+        final var previous = repeats.get(key);
+        if (previous != null && now - previous.time < REPEAT_INTERVAL) {
+            previous.suppressed.incrementAndGet();
+            suppressedCount.incrementAndGet();
+            return;
+        }
+        if (!acquire(now)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (repeats.size() >= MAX_REMEMBERED) {
+            repeats.clear();
+        }
+        repeats.put(key, new Repeat(now));
+
+        final var sequence = next.getAndIncrement();
+        entries.set((int) sequence & CAPACITY - 1,
+                    new DiagnosticEntry(sequence, level, System.currentTimeMillis(), source, message, throwable,
+                                        previous == null ? 0 : previous.suppressed.get()));
+    }
+
+    /**
+     * Takes one entry from the rate limit of the current second.
+     *
+     * @param now the current time in nanoseconds
+     * @return whether an entry may be stored
+     */
+    private static boolean acquire(final long now) {
+        final var start = windowStart.get();
+        if (now - start >= TimeUnit.SECONDS.toNanos(1) && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= MAX_PER_SECOND;
+    }
+
+    /**
+     * Returns the most recent entries, the oldest first.
+     *
+     * @return the recent entries
+     */
+    public static List<DiagnosticEntry> getRecent() {
+        final var end    = next.get();
+        final var result = new ArrayList<DiagnosticEntry>();
+        for (long sequence = Math.max(0, end - CAPACITY); sequence < end; ++sequence) {
+            final var entry = entries.get((int) sequence & CAPACITY - 1);
+            if (entry != null && entry.getSequence() == sequence) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total amount of messages suppressed as repetitions.
+     *
+     * @return the amount of suppressed messages
+     */
+    public static long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * Returns the total amount of messages dropped by the rate limit.
+     *
+     * @return the amount of dropped messages
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the amount of entries that have been overwritten in memory
+     * before they could be written to the file.
+     *
+     * @return the amount of lost entries
+     */
+    public static long getLostCount() {
+        return lostCount.get();
+    }
+
+    /**
+     * Writes the new entries to the file periodically.
+     */
+    private static void drainLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(DRAIN_INTERVAL);
+                drain();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the entries stored since the last call to the file. Entries
+     * that have already been overwritten are counted as lost.
+     */
+    private static void drain() {
+        final var end = next.get();
+        if (drained >= end) return;
+
+        if (end - drained > CAPACITY) {
+            lostCount.addAndGet(end - CAPACITY - drained);
+            drained = end - CAPACITY;
+        }
+        final var text = new StringBuilder();
+        for (; drained < end; ++drained) {
+            final var entry = entries.get((int) drained & CAPACITY - 1);
+            if (entry == null || entry.getSequence() < drained) break;
+
+            if (entry.getSequence() > drained) {
+                lostCount.incrementAndGet();
+            } else {
+                text.append(entry.format());
+            }
+        }
+        if (fileFailed || text.isEmpty()) return;
+
+        try {
+            final var file = getFile();
+            Files.createDirectories(file.getParent());
+            if (Files.exists(file) && Files.size(file) > MAX_FILE_SIZE) {
+                rotate(file);
+            }
+            Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            fileFailed = true;
+            error("Diagnostics", "Could not write the log file, keeping the entries in memory only", e);
+        }
+    }
+
+    /**
+     * Rotates the given log file: the oldest kept file is removed, the
+     * others are renamed with an increased number.
+     *
+     * @param file the log file
+     * @throws IOException if a file cannot be moved
+     */
+    private static void rotate(final Path file) throws IOException {
+        for (int i = KEPT_FILES - 1; i >= 1; --i) {
+            final var older = file.resolveSibling(FILE_NAME + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, file.resolveSibling(FILE_NAME + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, file.resolveSibling(FILE_NAME + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lines;
+
+/**
+ * This class represents a view over a part of a character array.
+ * The characters are not copied, so the view reflects changes
+ * of the underlying array.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class CharView implements CharSequence {
+    /** The underlying array.                    */
+    private char[] array;
+    /** The index of the first viewed character. */
+    private int offset;
+    /** The amount of viewed characters.         */
+    private int length;
+
+    /**
+     * Constructs a view over the given part of the given array.
+     *
+     * @param array  the underlying array
+     * @param offset the index of the first viewed character
+     * @param length the amount of viewed characters
+     * @throws IndexOutOfBoundsException if the part is not inside the array
+     */
+    public CharView(final char[] array, final int offset, final int length) {
+        set(array, offset, length);
+    }
+
+    /**
+     * Sets the viewed part of an array.
+     *
+     * @param array  the underlying array
+     * @param offset the index of the first viewed character
+     * @param length the amount of viewed characters
+     * @throws IndexOutOfBoundsException if the part is not inside the array
+     */
+    void set(final char[] array, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException("Invalid view: " + offset + " + " + length + " of " + array.length);
+        }
+        this.array  = array;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return array[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " - " + end + " of " + length);
+        }
+        return new CharView(array, offset + start, end - start);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(array, offset, length);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lines;
+
+import mhahnFr.utils.Pair;
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents a line assembled by a {@link LineAssembler}.
+ * The style runs are referenced by their beginning in the text.
+ * <p>
+ * The text is not copied: the assembler writes the received characters
+ * directly into the buffer of a line, and the text of the line is a view
+ * over that buffer. A line passed to a {@link LineListener} is therefore
+ * only valid until the listener returns; afterwards, the assembler reuses
+ * it for a later line. Listeners keeping the text of a line must copy it,
+ * for example using {@link #toRuns()} or {@code getText().toString()}.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class Line {
+    /** The initial capacity of the text buffer.                 */
+    private static final int INITIAL_CAPACITY = 256;
+    /** The largest text buffer kept when this line is reused.   */
+    private static final int MAX_KEPT_CAPACITY = 16384;
+
+    /** The view over the text of this line.                     */
+    private final CharView text = new CharView(new char[0], 0, 0);
+    /** The buffer containing the text of this line.             */
+    private char[] buffer = new char[INITIAL_CAPACITY];
+    /** The length of the text of this line.                     */
+    private int length;
+    /** The beginnings of the style runs.                        */
+    private int[] runStarts = new int[8];
+    /** The styles of the style runs.                            */
+    private FStyle[] runStyles = new FStyle[8];
+    /** The amount of style runs.                                */
+    private int runCount;
+    /** Indicates whether this line has been ended by a prompt.  */
+    private boolean prompt;
+    /** Indicates whether this line has been ended by a newline. */
+    private boolean terminated;
+
+    /**
+     * Appends the given character to the text of this line.
+     *
+     * @param c the character to be appended
+     */
+    void append(final char c) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = c;
+    }
+
+    /**
+     * Begins a style run at the end of the text if the given style
+     * differs from the one of the last run.
+     *
+     * @param style the style of the following text
+     */
+    void useStyle(final FStyle style) {
+        if (runCount > 0 && runStyles[runCount - 1] == style) {
+            return;
+        }
+        if (runCount > 0 && runStarts[runCount - 1] == length) {
+            runStyles[runCount - 1] = style;
+            return;
+        }
+        if (runCount == runStarts.length) {
+            runStarts = Arrays.copyOf(runStarts, runCount * 2);
+            runStyles = Arrays.copyOf(runStyles, runCount * 2);
+        }
+        runStarts[runCount]   = length;
+        runStyles[runCount++] = style;
+    }
+
+    /**
+     * Returns the length of the text appended so far.
+     *
+     * @return the length of the text
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Ends this line. A carriage return directly in front of a newline
+     * is dropped.
+     *
+     * @param prompt     whether the line is ended by a prompt
+     * @param terminated whether the line is ended by a newline
+     */
+    void finish(final boolean prompt, final boolean terminated) {
+        if (terminated && length > 0 && buffer[length - 1] == '\r') {
+            --length;
+        }
+        this.text.set(buffer, 0, length);
+        this.prompt     = prompt;
+        this.terminated = terminated;
+    }
+
+    /**
+     * Clears this line, so that it can be reused for a new line.
+     */
+    void clear() {
+        if (buffer.length > MAX_KEPT_CAPACITY) {
+            buffer = new char[INITIAL_CAPACITY];
+        }
+        Arrays.fill(runStyles, 0, runCount, null);
+        text.set(buffer, 0, 0);
+        length     = 0;
+        runCount   = 0;
+        prompt     = false;
+        terminated = false;
+    }
+
+    /**
+     * Returns the text of this line, without the line break. The returned
+     * view is only valid until the listener this line has been passed to
+     * returns.
+     *
+     * @return a view over the text
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Returns the amount of style runs of this line.
+     *
+     * @return the amount of style runs
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Returns the beginning of the given style run.
+     *
+     * @param run the index of the style run
+     * @return the index of the first character of the run
+     */
+    public int getRunStart(final int run) {
+        return Math.min(runStarts[run], text.length());
+    }
+
+    /**
+     * Returns the end of the given style run.
+     *
+     * @param run the index of the style run
+     * @return the index after the last character of the run
+     */
+    public int getRunEnd(final int run) {
+        return run + 1 < runCount ? getRunStart(run + 1) : text.length();
+    }
+
+    /**
+     * Returns the style of the given style run.
+     *
+     * @param run the index of the style run
+     * @return the style of the run
+     */
+    public FStyle getRunStyle(final int run) {
+        return runStyles[run];
+    }
+
+    /**
+     * Returns whether this line has been ended by a prompt, that is
+     * either by a telnet prompt mark or by a timeout.
+     *
+     * @return whether this line is a prompt
+     */
+    public boolean isPrompt() {
+        return prompt;
+    }
+
+    /**
+     * Returns whether this line has been ended by a newline.
+     *
+     * @return whether this line is terminated
+     */
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * Copies this line into a list of text runs along with their styles.
+     * If this line is terminated, a newline is appended to the last run.
+     *
+     * @return the copied runs
+     */
+    public List<Pair<String, FStyle>> toRuns() {
+        final var result = new ArrayList<Pair<String, FStyle>>(runCount);
+        for (int i = 0; i < runCount; ++i) {
+            final var end = getRunEnd(i);
+            var string = text.subSequence(getRunStart(i), end).toString();
+            if (terminated && i + 1 == runCount) {
+                string += '\n';
+            }
+            result.add(new Pair<>(string, runStyles[i]));
+        }
+        if (runCount == 0 && terminated) {
+            result.add(new Pair<>("\n", null));
+        }
+        return result;
+    }
+}
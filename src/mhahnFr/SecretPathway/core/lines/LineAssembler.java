@@ -0,0 +1,208 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lines;
+
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class assembles received text into lines. The text is received in
+ * arbitrary chunks along with its style; complete lines are passed to the
+ * registered {@link LineListener}s as soon as they are complete. Prompts
+ * not ended by a newline are passed on when a prompt is marked, either
+ * by the telnet prompt marks {@code GA} and {@code EOR} or by a timeout
+ * of the caller.
+ * <p>
+ * The text is written directly into the buffer of the current line and
+ * passed on without being copied. Once all listeners have returned, the
+ * line is reused for a later line; listeners keeping the text of a line
+ * must therefore copy it. The listeners are called in the order the lines
+ * have been completed, but without holding the lock of this assembler.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LineAssembler {
+    /** The maximum amount of kept lines for reuse.                 */
+    private static final int MAX_FREE_LINES = 16;
+
+    /** The registered listeners.                                   */
+    private final List<LineListener> listeners = new CopyOnWriteArrayList<>();
+    /** The completed lines not yet passed to the listeners.        */
+    private final Queue<Line> pending = new ArrayDeque<>();
+    /** The passed on lines kept for reuse.                         */
+    private final Queue<Line> free = new ArrayDeque<>();
+    /** Indicates whether a thread is passing on the pending lines. */
+    private boolean delivering;
+    /** The line currently being assembled.                         */
+    private Line current = new Line();
+    /** Indicates whether telnet prompt marks have been received.   */
+    private volatile boolean promptMarks;
+
+    /**
+     * Adds the given listener.
+     *
+     * @param listener the listener to be added
+     * @throws IllegalArgumentException if the given listener is {@code null}
+     */
+    public void addListener(final LineListener listener) {
+        if (listener == null) throw new IllegalArgumentException("The listener must not be null!");
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes the given listener.
+     *
+     * @param listener the listener to be removed
+     */
+    public void removeListener(final LineListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Appends the given part of the given text using the given style.
+     * For every completed line, the listeners are called. Carriage
+     * returns directly in front of a newline are dropped.
+     *
+     * @param text  the text
+     * @param begin the index of the first character to be appended
+     * @param end   the index after the last character to be appended
+     * @param style the style of the text
+     */
+    public void append(final CharSequence text, final int begin, final int end, final FStyle style) {
+        synchronized (this) {
+            for (int i = begin; i < end; ++i) {
+                final var c = text.charAt(i);
+                current.useStyle(style);
+                if (c == '\n') {
+                    emit(false, true);
+                } else {
+                    current.append(c);
+                }
+            }
+        }
+        deliver();
+    }
+
+    /**
+     * Moves the current line to the pending lines and begins a new line,
+     * reusing a passed on line if possible.
+     *
+     * @param prompt     whether the line is ended by a prompt
+     * @param terminated whether the line is ended by a newline
+     */
+    private void emit(final boolean prompt, final boolean terminated) {
+        current.finish(prompt, terminated);
+        pending.add(current);
+        final var reused = free.poll();
+        current = reused == null ? new Line() : reused;
+    }
+
+    /**
+     * Keeps the given passed on line for reuse.
+     *
+     * @param line the line all listeners have returned from
+     */
+    private synchronized void recycle(final Line line) {
+        if (free.size() < MAX_FREE_LINES) {
+            line.clear();
+            free.add(line);
+        }
+    }
+
+    /**
+     * Passes the pending lines to the listeners. Only one thread passes
+     * on lines at a time, so the listeners receive the lines in order;
+     * the lines completed meanwhile by other threads are passed on by it.
+     */
+    private void deliver() {
+        synchronized (this) {
+            if (delivering) return;
+            delivering = true;
+        }
+        try {
+            while (true) {
+                final Line line;
+                synchronized (this) {
+                    line = pending.poll();
+                    if (line == null) {
+                        delivering = false;
+                        return;
+                    }
+                }
+                for (final var listener : listeners) {
+                    listener.lineReceived(line);
+                }
+                recycle(line);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                delivering = false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Marks the end of a prompt by a telnet prompt mark. The current
+     * line is passed on as a prompt if it is not empty.
+     */
+    public void markPrompt() {
+        promptMarks = true;
+        flushPrompt();
+    }
+
+    /**
+     * Passes the current line on as a prompt if it is not empty.
+     * Used when no more text has been received for some time.
+     */
+    public void flushPrompt() {
+        synchronized (this) {
+            if (current.length() > 0) {
+                emit(true, false);
+            }
+        }
+        deliver();
+    }
+
+    /**
+     * Returns whether a line is currently incomplete.
+     *
+     * @return whether there is an incomplete line
+     */
+    public synchronized boolean hasPartialLine() {
+        return current.length() > 0;
+    }
+
+    /**
+     * Returns whether telnet prompt marks have been received. If so, the
+     * timeout detecting the prompts not marked can be longer.
+     *
+     * @return whether prompt marks are used
+     */
+    public boolean usesPromptMarks() {
+        return promptMarks;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lines;
+
+/**
+ * This interface defines the functionality of a consumer of the lines
+ * assembled by a {@link LineAssembler}.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public interface LineListener {
+    /**
+     * Called when a line has been assembled. The lines are passed on
+     * in the order they have been assembled, but not necessarily by
+     * the thread that appended the text.
+     * <br>
+     * The given line is only valid until this method returns, as it
+     * is reused afterwards. Its text needs to be copied if it is kept.
+     *
+     * @param line the assembled line, valid until this method returns
+     */
+    void lineReceived(Line line);
+}
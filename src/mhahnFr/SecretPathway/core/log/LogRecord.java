@@ -0,0 +1,167 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.log;
+
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import java.awt.Color;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This record represents an entry of a session log.
+ * <p>
+ * On disk, an entry consists of the length of the text in bytes,
+ * the timestamp, the style key, the text encoded as UTF-8 and
+ * the length of the text once again, allowing the log to be read
+ * backwards.
+ *
+ * @param timestamp the time the text was logged at in milliseconds since the epoch
+ * @param styleKey  the key describing the style of the text
+ * @param text      the logged text
+ * @author agent
+ * @since 18.10.26
+ */
+public record LogRecord(long timestamp, long styleKey, String text) {
+    /** The amount of bytes used by an entry besides its text. */
+    public static final int OVERHEAD = 4 + 8 + 8 + 4;
+
+    /** The flag indicating bold text.                       */
+    private static final long BOLD           = 1;
+    /** The flag indicating italic text.                     */
+    private static final long ITALIC         = 1 << 1;
+    /** The flag indicating underlined text.                 */
+    private static final long UNDERLINED     = 1 << 2;
+    /** The flag indicating struck through text.             */
+    private static final long STRIKE_THROUGH = 1 << 3;
+    /** The flag indicating the presence of a foreground.    */
+    private static final long FOREGROUND     = 1 << 4;
+    /** The flag indicating the presence of a background.    */
+    private static final long BACKGROUND     = 1 << 5;
+
+    /**
+     * Computes the style key of the given style. The key contains the
+     * font flags and the RGB values of the colours of the style.
+     * The {@code null} style is represented by zero.
+     *
+     * @param style the style
+     * @return the key describing the style
+     */
+    public static long keyOf(final FStyle style) {
+        if (style == null) return 0;
+
+        var result = 0L;
+        if (Boolean.TRUE.equals(style.isBold()))          result |= BOLD;
+        if (Boolean.TRUE.equals(style.isItalic()))        result |= ITALIC;
+        if (Boolean.TRUE.equals(style.isUnderlined()))    result |= UNDERLINED;
+        if (Boolean.TRUE.equals(style.isStrikeThrough())) result |= STRIKE_THROUGH;
+
+        final var foreground = style.getForeground();
+        if (foreground != null) {
+            result |= FOREGROUND | (foreground.getRGB() & 0xFFFFFFL) << 8;
+        }
+        final var background = style.getBackground();
+        if (background != null) {
+            result |= BACKGROUND | (background.getRGB() & 0xFFFFFFL) << 32;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the amount of bytes used by this entry on disk.
+     *
+     * @return the size of this entry in bytes
+     */
+    public int getSize() {
+        return text.getBytes(StandardCharsets.UTF_8).length + OVERHEAD;
+    }
+
+    /**
+     * Returns whether the text of this entry is bold.
+     *
+     * @return whether the text is bold
+     */
+    public boolean isBold() {
+        return (styleKey & BOLD) != 0;
+    }
+
+    /**
+     * Returns whether the text of this entry is italic.
+     *
+     * @return whether the text is italic
+     */
+    public boolean isItalic() {
+        return (styleKey & ITALIC) != 0;
+    }
+
+    /**
+     * Returns whether the text of this entry is underlined.
+     *
+     * @return whether the text is underlined
+     */
+    public boolean isUnderlined() {
+        return (styleKey & UNDERLINED) != 0;
+    }
+
+    /**
+     * Returns whether the text of this entry is struck through.
+     *
+     * @return whether the text is struck through
+     */
+    public boolean isStrikeThrough() {
+        return (styleKey & STRIKE_THROUGH) != 0;
+    }
+
+    /**
+     * Returns the foreground colour of the text of this entry.
+     *
+     * @return the foreground colour or {@code null} if the default one is used
+     */
+    public Color getForeground() {
+        return (styleKey & FOREGROUND) == 0 ? null : new Color((int) (styleKey >>> 8) & 0xFFFFFF);
+    }
+
+    /**
+     * Returns the background colour of the text of this entry.
+     *
+     * @return the background colour or {@code null} if there is none
+     */
+    public Color getBackground() {
+        return (styleKey & BACKGROUND) == 0 ? null : new Color((int) (styleKey >>> 32) & 0xFFFFFF);
+    }
+
+    /**
+     * Creates a {@link FStyle} representing the style of this entry.
+     * If the default style was logged, {@code null} is returned.
+     *
+     * @return the style of this entry or {@code null}
+     */
+    public FStyle toStyle() {
+        if (styleKey == 0) return null;
+
+        final var result = new FStyle();
+        result.setForeground(getForeground());
+        result.setBackground(getBackground());
+        result.setBold(isBold());
+        result.setItalic(isItalic());
+        result.setUnderlined(isUnderlined());
+        result.setStrikeThrough(isStrikeThrough());
+        return result;
+    }
+}
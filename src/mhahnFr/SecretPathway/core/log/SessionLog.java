@@ -0,0 +1,244 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.log;
+
+import mhahnFr.SecretPathway.core.Constants;
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents an append-only session log. The entries are
+ * written by a background thread, so logging never blocks. All entries
+ * pending at once are written together and forced to the disk once.
+ * If the writer cannot keep up, entries are dropped.
+ *
+ * @author agent
+ * @since 18.10.26
+ * @see LogRecord
+ */
+public class SessionLog implements Closeable {
+    /** The file name extension of session logs.         */
+    public static final String EXTENSION = ".splog";
+    /** The maximum amount of pending entries.           */
+    private static final int MAX_PENDING = 65536;
+    /** The initial size of the buffer used for writing. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The file this log is written to.            */
+    private final Path file;
+    /** The entries waiting to be written.          */
+    private final BlockingQueue<LogRecord> pending = new LinkedBlockingQueue<>(MAX_PENDING);
+    /** The amount of dropped entries.              */
+    private final AtomicLong dropped = new AtomicLong();
+    /** Indicates whether this log has been closed. */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a session log writing to the given file. The file
+     * and its parent directories are created by the writer thread.
+     *
+     * @param file the file to write the log to
+     * @throws IllegalArgumentException if the given file is {@code null}
+     */
+    public SessionLog(final Path file) {
+        if (file == null) throw new IllegalArgumentException("The log file must not be null!");
+
+        this.file = file;
+
+        final var writer = new Thread(this::writeLoop, "Session log writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Creates a new session log for the given endpoint. The log is
+     * placed in the {@link #getDirectory() log directory}.
+     *
+     * @param hostname the hostname of the endpoint
+     * @param port     the port of the endpoint
+     * @return the new session log
+     */
+    public static SessionLog create(final String hostname, final int port) {
+        final var timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        return new SessionLog(getDirectory().resolve(prefixOf(hostname, port) + timestamp + EXTENSION));
+    }
+
+    /**
+     * Returns the most recent session log of the given endpoint.
+     *
+     * @param hostname the hostname of the endpoint
+     * @param port     the port of the endpoint
+     * @return the path to the most recent log or {@code null} if there is none
+     */
+    public static Path findLatest(final String hostname, final int port) {
+        final var prefix = prefixOf(hostname, port);
+        try (final var files = Files.list(getDirectory())) {
+            return files.filter(it -> {
+                final var name = it.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(EXTENSION);
+            }).max(Path::compareTo).orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the directory the session logs are placed in.
+     *
+     * @return the log directory
+     */
+    public static Path getDirectory() {
+        return Path.of(System.getProperty("user.home"), "." + Constants.NAME, "logs");
+    }
+
+    /**
+     * Returns the file name prefix used for the logs of the given endpoint.
+     *
+     * @param hostname the hostname of the endpoint
+     * @param port     the port of the endpoint
+     * @return the file name prefix
+     */
+    private static String prefixOf(final String hostname, final int port) {
+        return hostname.replaceAll("[^A-Za-z0-9.-]", "_") + "_" + port + "-";
+    }
+
+    /**
+     * Logs the given text using the given style. The style is captured
+     * immediately, the text is written asynchronously. This method can
+     * be called from any thread and never blocks.
+     *
+     * @param text  the text to be logged
+     * @param style the style of the text or {@code null} for the default style
+     */
+    public void write(final String text, final FStyle style) {
+        if (closed || text.isEmpty()) return;
+
+        if (!pending.offer(new LogRecord(System.currentTimeMillis(), LogRecord.keyOf(style), text))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the amount of entries dropped because the writer
+     * could not keep up.
+     *
+     * @return the amount of dropped entries
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the file this log is written to.
+     *
+     * @return the log file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * The loop of the writer thread. Waits for pending entries and
+     * writes all of them at once.
+     */
+    private void writeLoop() {
+        try {
+            Files.createDirectories(file.getParent());
+            try (final var channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                            StandardOpenOption.WRITE,
+                                                            StandardOpenOption.APPEND)) {
+                final var batch  = new ArrayList<LogRecord>();
+                var       buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (!closed || !pending.isEmpty()) {
+                    final var first = pending.poll(250, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+
+                    batch.add(first);
+                    pending.drainTo(batch);
+                    for (final var record : batch) {
+                        final var bytes = record.text().getBytes(StandardCharsets.UTF_8);
+                        final var size  = bytes.length + LogRecord.OVERHEAD;
+                        if (buffer.remaining() < size) {
+                            flush(channel, buffer);
+                            if (buffer.capacity() < size) {
+                                buffer = ByteBuffer.allocate(size);
+                            }
+                        }
+                        buffer.putInt(bytes.length)
+                              .putLong(record.timestamp())
+                              .putLong(record.styleKey())
+                              .put(bytes)
+                              .putInt(bytes.length);
+                    }
+                    flush(channel, buffer);
+                    channel.force(false);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            Diagnostics.error("Session log", "Session log disabled", e);
+            closed = true;
+            pending.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the content of the given buffer to the given channel
+     * and clears the buffer.
+     *
+     * @param channel the channel to write to
+     * @param buffer  the buffer to be written
+     * @throws IOException if an I/O error occurs
+     */
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Closes this log. The already pending entries are still written,
+     * this method does not wait for them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.log;
+
+import mhahnFr.utils.Pair;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * This class reads the entries of a session log. Entries torn
+ * by an interrupted write at the end of the log are ignored.
+ *
+ * @author agent
+ * @since 18.10.26
+ * @see SessionLog
+ */
+public class SessionLogReader {
+    /** The log file to be read. */
+    private final Path file;
+
+    /**
+     * Constructs a reader for the given log file.
+     *
+     * @param file the log file to be read
+     * @throws IllegalArgumentException if the given file is {@code null}
+     */
+    public SessionLogReader(final Path file) {
+        if (file == null) throw new IllegalArgumentException("The log file must not be null!");
+
+        this.file = file;
+    }
+
+    /**
+     * Calls the given consumer for every entry of the log, starting
+     * with the oldest one.
+     *
+     * @param consumer the consumer to be called
+     * @throws IOException if an I/O error occurs
+     */
+    public void forEach(final Consumer<LogRecord> consumer) throws IOException {
+        forEach(0, (record, __) -> consumer.accept(record));
+    }
+
+    /**
+     * Calls the given consumer for every entry of the log starting at the
+     * given position, along with the position of the entry.
+     *
+     * @param from     the position of the first entry to be read
+     * @param consumer the consumer to be called
+     * @return the position behind the last intact entry
+     * @throws IOException if an I/O error occurs
+     */
+    public long forEach(final long from, final ObjLongConsumer<LogRecord> consumer) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return scan(channel, from, consumer);
+        }
+    }
+
+    /**
+     * Reads the entry at the given position.
+     *
+     * @param position the position of the entry
+     * @return the entry or {@code null} if there is no intact entry at the given position
+     * @throws IOException if an I/O error occurs
+     */
+    public LogRecord read(final long position) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            if (position < 0 || position + LogRecord.OVERHEAD > size) return null;
+
+            final var record = readAt(channel, position, ByteBuffer.allocate(LogRecord.OVERHEAD - 4), size);
+            return record == null ? null : record.getFirst();
+        }
+    }
+
+    /**
+     * Reads the entries of the log from the given position until its end or
+     * until a torn entry is encountered.
+     *
+     * @param channel  the channel to read from
+     * @param from     the position to start reading at
+     * @param consumer the consumer called for every entry and its position, may be {@code null}
+     * @return the position behind the last intact entry
+     * @throws IOException if an I/O error occurs
+     */
+    private static long scan(final FileChannel channel, final long from, final ObjLongConsumer<LogRecord> consumer) throws IOException {
+        final var size     = channel.size();
+        final var header   = ByteBuffer.allocate(LogRecord.OVERHEAD - 4);
+        var       position = from;
+        while (position + LogRecord.OVERHEAD <= size) {
+            final var record = readAt(channel, position, header, size);
+            if (record == null) break;
+
+            if (consumer != null) consumer.accept(record.getFirst(), position);
+            position += LogRecord.OVERHEAD + record.getSecond();
+        }
+        return position;
+    }
+
+    /**
+     * Reads the entry starting at the given position.
+     *
+     * @param channel  the channel to read from
+     * @param position the position of the entry
+     * @param header   the buffer used for reading the header
+     * @param limit    the position the entry has to end before
+     * @return the entry along with the length of its text in bytes or {@code null} if it is torn
+     * @throws IOException if an I/O error occurs
+     */
+    private static Pair<LogRecord, Integer> readAt(final FileChannel channel,
+                                                   final long        position,
+                                                   final ByteBuffer  header,
+                                                   final long        limit) throws IOException {
+        header.clear();
+        readFully(channel, header, position);
+        header.flip();
+        final var length    = header.getInt();
+        final var timestamp = header.getLong();
+        final var styleKey  = header.getLong();
+        if (length < 0 || position + LogRecord.OVERHEAD + length > limit) return null;
+
+        final var body = ByteBuffer.allocate(length + 4);
+        readFully(channel, body, position + header.capacity());
+        body.flip();
+        if (body.getInt(length) != length) return null;
+
+        final var text = new String(body.array(), 0, length, StandardCharsets.UTF_8);
+        return new Pair<>(new LogRecord(timestamp, styleKey, text), length);
+    }
+
+    /**
+     * Fills the given buffer with the bytes at the given position.
+     *
+     * @param channel  the channel to read from
+     * @param buffer   the buffer to be filled
+     * @param position the position to read at
+     * @throws IOException if the end of the channel is reached or an I/O error occurs
+     */
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final var read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of the session log");
+            position += read;
+        }
+    }
+
+    /**
+     * Reads the entries making up the given amount of last lines of
+     * the log. The log is read backwards, so only the needed entries
+     * are read.
+     *
+     * @param lines the amount of lines to be read
+     * @return the entries containing the last lines, the oldest one first
+     * @throws IOException if an I/O error occurs
+     */
+    public List<LogRecord> readLast(final int lines) throws IOException {
+        final var result = new ArrayDeque<LogRecord>();
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var header  = ByteBuffer.allocate(LogRecord.OVERHEAD - 4);
+            final var trailer = ByteBuffer.allocate(4);
+            var end       = channel.size();
+            var rescanned = false;
+            var count     = 0;
+            while (end >= LogRecord.OVERHEAD && count <= lines) {
+                trailer.clear();
+                readFully(channel, trailer, end - 4);
+                final var length = trailer.getInt(0);
+                final var start  = end - LogRecord.OVERHEAD - length;
+                final var record = length < 0 || start < 0 ? null : readAt(channel, start, header, end);
+                if (record == null) {
+                    if (rescanned) break;
+
+                    end       = scan(channel, 0, null);
+                    rescanned = true;
+                    continue;
+                }
+                result.addFirst(record.getFirst());
+                count += countLines(record.getFirst().text());
+                end    = start;
+            }
+        }
+        return trimToLines(new ArrayList<>(result), lines);
+    }
+
+    /**
+     * Returns the amount of line breaks in the given text.
+     *
+     * @param text the text
+     * @return the amount of line breaks
+     */
+    private static int countLines(final String text) {
+        var result = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            if (text.charAt(i) == '\n') ++result;
+        }
+        return result;
+    }
+
+    /**
+     * Removes the text preceding the given amount of last lines from
+     * the given entries.
+     *
+     * @param records the entries
+     * @param lines   the amount of lines to be kept
+     * @return the entries containing only the last lines
+     */
+    private static List<LogRecord> trimToLines(final List<LogRecord> records, final int lines) {
+        var total = 0;
+        for (final var record : records) {
+            total += countLines(record.text());
+        }
+        if (!records.isEmpty() && !records.get(records.size() - 1).text().endsWith("\n")) {
+            ++total;
+        }
+        var skip = total - lines;
+        while (skip > 0 && !records.isEmpty()) {
+            final var first = records.get(0);
+            final var text  = first.text();
+            var index = -1;
+            while (skip > 0 && (index = text.indexOf('\n', index + 1)) >= 0) {
+                --skip;
+            }
+            if (index < 0 || index + 1 == text.length()) {
+                records.remove(0);
+            } else {
+                records.set(0, new LogRecord(first.timestamp(), first.styleKey(), text.substring(index + 1)));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Exports the log to the given file. If requested, the styles are
+     * exported as ANSI escape codes, otherwise, only the text is written.
+     *
+     * @param target the file to export the log to
+     * @param ansi   whether to export the styles as ANSI escape codes
+     * @throws IOException if an I/O error occurs
+     */
+    public void export(final Path target, final boolean ansi) throws IOException {
+        try (final var writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            export(writer, ansi);
+        }
+    }
+
+    /**
+     * Exports the log to the given writer. If requested, the styles are
+     * exported as ANSI escape codes, otherwise, only the text is written.
+     *
+     * @param writer the writer to export the log to
+     * @param ansi   whether to export the styles as ANSI escape codes
+     * @throws IOException if an I/O error occurs
+     */
+    public void export(final Writer writer, final boolean ansi) throws IOException {
+        final var lastKey = new long[1];
+        try {
+            forEach(record -> {
+                try {
+                    if (ansi && record.styleKey() != lastKey[0]) {
+                        writer.write(toEscapeCode(record));
+                        lastKey[0] = record.styleKey();
+                    }
+                    writer.write(record.text());
+                } catch (IOException e) {
+                    throw new ExportException(e);
+                }
+            });
+        } catch (ExportException e) {
+            throw e.getCause();
+        }
+        if (ansi && lastKey[0] != 0) {
+            writer.write("\u001b[0m");
+        }
+    }
+
+    /**
+     * Creates the ANSI escape code switching to the style of the given entry.
+     *
+     * @param record the entry whose style to use
+     * @return the ANSI escape code
+     */
+    private static String toEscapeCode(final LogRecord record) {
+        final var builder = new StringBuilder("\u001b[0");
+        if (record.isBold())          builder.append(";1");
+        if (record.isItalic())        builder.append(";3");
+        if (record.isUnderlined())    builder.append(";4");
+        if (record.isStrikeThrough()) builder.append(";9");
+
+        final var foreground = record.getForeground();
+        if (foreground != null) {
+            builder.append(";38;2;").append(foreground.getRed())
+                   .append(';').append(foreground.getGreen())
+                   .append(';').append(foreground.getBlue());
+        }
+        final var background = record.getBackground();
+        if (background != null) {
+            builder.append(";48;2;").append(background.getRed())
+                   .append(';').append(background.getGreen())
+                   .append(';').append(background.getBlue());
+        }
+        return builder.append('m').toString();
+    }
+
+    /**
+     * This class wraps an {@link IOException} thrown while exporting.
+     */
+    private static final class ExportException extends RuntimeException {
+        /**
+         * Constructs this exception using the given cause.
+         *
+         * @param cause the wrapped exception
+         */
+        private ExportException(final IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc;
+
+import mhahnFr.SecretPathway.core.lpc.interpreter.Interpreter;
+import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.MessagedHighlight;
+import mhahnFr.SecretPathway.core.lpc.parser.Parser;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Tokenizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class parses and interprets all LPC source files found in the
+ * directory of a mudlib. The files are processed in parallel, the
+ * inherited and included files are resolved against the directory and
+ * shared between all files.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class BatchParser {
+    /** The root directory of the mudlib.                */
+    private final Path root;
+    /** The amount of threads used for parsing.          */
+    private final int parallelism;
+    /** The loader for the inherited and included files. */
+    private final LocalFileManager loader;
+
+    /**
+     * Constructs a batch parser for the given mudlib directory.
+     *
+     * @param root        the root directory of the mudlib
+     * @param parallelism the amount of threads to be used
+     */
+    public BatchParser(final Path root, final int parallelism) {
+        if (root == null) {
+            throw new IllegalArgumentException("The root directory must not be null!");
+        } else if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive!");
+        }
+
+        this.root        = root;
+        this.parallelism = parallelism;
+        this.loader      = new LocalFileManager(root);
+    }
+
+    /**
+     * Returns whether the given file is an LPC source file.
+     *
+     * @param file the file in question
+     * @return whether the file should be parsed
+     */
+    private static boolean isSourceFile(final Path file) {
+        final var name = file.getFileName().toString();
+
+        return (name.endsWith(".c") || name.endsWith(".h")) && Files.isRegularFile(file);
+    }
+
+    /**
+     * Parses and interprets all LPC source files of the mudlib.
+     *
+     * @return the report of the parsing
+     * @throws IOException if the directory could not be walked
+     */
+    public Report parse() throws IOException {
+        final List<Path> files;
+        try (final var stream = Files.walk(root)) {
+            files = stream.filter(BatchParser::isSourceFile).sorted().toList();
+        }
+
+        final var results = new FileResult[files.size()];
+        final var begin   = System.nanoTime();
+        final var pool    = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ParseTask(files, results, 0, results.length));
+        } finally {
+            pool.shutdown();
+        }
+        return new Report(Arrays.asList(results), System.nanoTime() - begin);
+    }
+
+    /**
+     * Parses and interprets the given file. If the file could not be read
+     * or its processing failed, the failure is reported as a diagnostic
+     * of the file.
+     *
+     * @param file the file to be parsed
+     * @return the result of the parsing
+     */
+    private FileResult parse(final Path file) {
+        final String source;
+        try {
+            source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return new FileResult(file, 0, List.of(new Diagnostic(file, 0, 0, "Could not read the file: " + e.getMessage())));
+        }
+
+        try {
+            return parse(file, source);
+        } catch (RuntimeException e) {
+            return new FileResult(file, 0, List.of(new Diagnostic(file, 0, 0, "Could not process the file: " + e)));
+        }
+    }
+
+    /**
+     * Parses and interprets the given source code of the given file.
+     *
+     * @param file   the file the source code belongs to
+     * @param source the source code to be parsed
+     * @return the result of the parsing
+     */
+    private FileResult parse(final Path file, final String source) {
+        final var tokens      = new Tokenizer(source, loader.getSymbols()).tokenize();
+        final var lines       = tokens.getLineTable();
+        final var interpreter = new Interpreter(loader);
+        interpreter.createContextFor(new Parser(tokens).parse(), lines);
+
+        final var diagnostics = new ArrayList<Diagnostic>();
+        for (final var highlight : interpreter.getHighlights()) {
+            if (highlight instanceof MessagedHighlight<?> messaged) {
+                final var position = messaged.getBegin();
+                diagnostics.add(new Diagnostic(file,
+                                               lines.lineOf(position) + 1,
+                                               position - lines.getLineBegin(position) + 1,
+                                               messaged.getMessage()));
+            }
+        }
+        return new FileResult(file, lines.getLineCount(), diagnostics);
+    }
+
+    /**
+     * This class represents the task parsing a range of the files.
+     * Ranges of more than one file are split in halves.
+     *
+     * @author agent
+     * @since 18.10.26
+     */
+    private class ParseTask extends RecursiveAction {
+        /** The files to be parsed.                   */
+        private final List<Path> files;
+        /** The array the results are stored in.      */
+        private final FileResult[] results;
+        /** The index of the first file of the range. */
+        private final int from;
+        /** The index after the last file.            */
+        private final int to;
+
+        /**
+         * Constructs a task parsing the given range of files.
+         *
+         * @param files   the files
+         * @param results the array for the results
+         * @param from    the index of the first file to be parsed
+         * @param to      the index after the last file to be parsed
+         */
+        ParseTask(final List<Path> files, final FileResult[] results, final int from, final int to) {
+            this.files   = files;
+            this.results = results;
+            this.from    = from;
+            this.to      = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    results[from] = parse(files.get(from));
+                }
+                return;
+            }
+            final var middle = (from + to) >>> 1;
+            invokeAll(new ParseTask(files, results, from, middle),
+                      new ParseTask(files, results, middle, to));
+        }
+    }
+
+    /**
+     * This record represents a diagnostic message found in a file.
+     *
+     * @param file    the file
+     * @param line    the line, starting at one
+     * @param column  the column, starting at one
+     * @param message the message
+     */
+    public record Diagnostic(Path file, int line, int column, String message) {
+        @Override
+        public String toString() {
+            return file + ":" + line + ":" + column + ": " + message;
+        }
+    }
+
+    /**
+     * This record represents the result of parsing a single file.
+     *
+     * @param file        the file
+     * @param lines       the amount of lines of the file
+     * @param diagnostics the diagnostics found in the file
+     */
+    public record FileResult(Path file, int lines, List<Diagnostic> diagnostics) {}
+
+    /**
+     * This record represents the report of parsing a mudlib.
+     *
+     * @param files the results of the parsed files, in the order of their paths
+     * @param nanos the time it took to parse the files, in nanoseconds
+     */
+    public record Report(List<FileResult> files, long nanos) {
+        /**
+         * Returns the total amount of parsed lines.
+         *
+         * @return the amount of lines
+         */
+        public long getLineCount() {
+            long count = 0;
+            for (final var file : files) {
+                count += file.lines();
+            }
+            return count;
+        }
+
+        /**
+         * Returns the total amount of diagnostics.
+         *
+         * @return the amount of diagnostics
+         */
+        public long getDiagnosticCount() {
+            long count = 0;
+            for (final var file : files) {
+                count += file.diagnostics().size();
+            }
+            return count;
+        }
+
+        /**
+         * Returns the amount of files parsed per second.
+         *
+         * @return the files per second
+         */
+        public double getFilesPerSecond() {
+            return files.size() / (nanos / 1e9);
+        }
+
+        /**
+         * Returns the amount of lines parsed per second.
+         *
+         * @return the lines per second
+         */
+        public double getLinesPerSecond() {
+            return getLineCount() / (nanos / 1e9);
+        }
+    }
+}
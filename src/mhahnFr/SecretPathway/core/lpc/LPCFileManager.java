@@ -22,9 +22,18 @@ package mhahnFr.SecretPathway.core.lpc;
 import mhahnFr.SecretPathway.core.lpc.interpreter.Context;
 import mhahnFr.SecretPathway.core.lpc.interpreter.Interpreter;
 import mhahnFr.SecretPathway.core.lpc.parser.Parser;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.SymbolTable;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Tokenizer;
 
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * This interface defines an LPC file loader.
@@ -34,7 +43,22 @@ import java.util.Map;
  */
 public abstract class LPCFileManager {
     /** A mapping with the cached contexts, mapped to their file name. */
-    private final Map<String, Context> cachedContexts = new HashMap<>();
+    private final Map<String, Future<Context>> cachedContexts = new ConcurrentHashMap<>();
+    /** The names of the files currently loaded by the calling thread. */
+    private final ThreadLocal<Set<String>> loading = ThreadLocal.withInitial(HashSet::new);
+    /** The table interning the identifiers of all loaded files.       */
+    private final SymbolTable symbols = new SymbolTable();
+
+    /**
+     * Returns the table interning the identifiers of the files of this
+     * manager. Source code interpreted using this manager must be
+     * tokenized using this table.
+     *
+     * @return the symbol table
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
 
     /**
      * Loads the file named by the given parameter. If the
@@ -50,18 +74,88 @@ public abstract class LPCFileManager {
     /**
      * Loads and parses the file named by the given parameter. The result
      * of the parsing is returned and cached for later use.
+     * <br>
+     * This method may be called by multiple threads: every file is
+     * only loaded once, other threads wait for the result. A thread
+     * already loading a file does not wait, but loads the requested file
+     * itself, so threads loading files referencing each other cannot
+     * block each other. A file referencing itself, directly or not, is
+     * reported as an {@link Exception}.
      *
      * @param fileName the name of the file to load and parse
      * @return the {@link Context} of the interpretation
      * @throws Exception if an error happens during resolving
-     * @see #load(String, String)
+     * @see #load(String)
      */
     public Context loadAndParse(final String fileName, final String referrer) throws Exception {
-        final var toReturn = cachedContexts.get(fileName);
-        if (toReturn == null) {
+        final var files = loading.get();
+        if (files.contains(fileName)) {
+            throw new Exception("Cyclic reference to \"" + fileName + "\"");
+        }
+
+        final var task   = new FutureTask<>(() -> loadAndParseIntern(fileName, referrer));
+        final var cached = cachedContexts.putIfAbsent(fileName, task);
+        if (cached == null) {
+            files.add(fileName);
+            try {
+                task.run();
+            } finally {
+                files.remove(fileName);
+            }
+            try {
+                return getResult(task);
+            } catch (Exception e) {
+                cachedContexts.remove(fileName, task);
+                throw e;
+            }
+        } else if (cached.isDone() || files.isEmpty()) {
+            return getResult(cached);
+        }
+
+        files.add(fileName);
+        try {
             return loadAndParseIntern(fileName, referrer);
+        } finally {
+            files.remove(fileName);
+        }
+    }
+
+    /**
+     * Waits for the given loading task and returns its result. The
+     * waiting is announced to the {@link ForkJoinPool} of the calling
+     * thread, if any, so it can compensate the blocked worker.
+     *
+     * @param task the task to wait for
+     * @return the {@link Context} loaded by the task
+     * @throws Exception if the task failed
+     */
+    private Context getResult(final Future<Context> task) throws Exception {
+        if (!task.isDone()) {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    try {
+                        task.get();
+                    } catch (ExecutionException | CancellationException __) {
+                        // Reported below.
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return task.isDone();
+                }
+            });
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
         }
-        return toReturn;
     }
 
     /**
@@ -74,9 +168,9 @@ public abstract class LPCFileManager {
      * @see #load(String)
      */
     private Context loadAndParseIntern(final String fileName, final String referrer) throws Exception {
-        final var context = new Interpreter(this).createContextFor(new Parser(load(fileName)).parse());
-        cachedContexts.put(fileName, context);
-        return context;
+        final var tokens = new Tokenizer(load(fileName), symbols).tokenize();
+        final var parsed = new Parser(tokens).parseConcurrently(ForkJoinPool.commonPool());
+        return new Interpreter(this).createContextFor(parsed.getExpressions(), tokens.getLineTable());
     }
 
     /**
@@ -21,6 +21,8 @@ package mhahnFr.SecretPathway.core.lpc;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * This class represents a file manager for LPC source files
@@ -30,16 +32,56 @@ import java.nio.charset.StandardCharsets;
  * @since 25.03.23
  */
 public class LocalFileManager extends LPCFileManager {
+    /** The root directory of the mudlib, {@code null} if not used. */
+    private final Path root;
+
+    /**
+     * Constructs a file manager using the given file names as they are.
+     */
+    public LocalFileManager() {
+        this(null);
+    }
+
+    /**
+     * Constructs a file manager resolving the file names against the
+     * given root directory of a mudlib. If a file does not exist, the
+     * file name extended by {@code .c} is tried, as LPC file names are
+     * usually given without it.
+     *
+     * @param root the root directory of the mudlib
+     */
+    public LocalFileManager(final Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Resolves the given file name.
+     *
+     * @param fileName the file name
+     * @return the name of the file to be opened
+     */
+    private String resolve(final String fileName) {
+        if (root == null) {
+            return fileName;
+        }
+
+        final var path = root.resolve(fileName.startsWith("/") ? fileName.substring(1) : fileName);
+        if (!Files.exists(path) && Files.exists(Path.of(path + ".c"))) {
+            return path + ".c";
+        }
+        return path.toString();
+    }
+
     @Override
     public String load(String fileName) throws Exception {
-        try (final var reader = new BufferedInputStream(new FileInputStream(fileName))) {
+        try (final var reader = new BufferedInputStream(new FileInputStream(resolve(fileName)))) {
             return new String(reader.readAllBytes(), StandardCharsets.UTF_8);
         }
     }
 
     @Override
     public void save(String fileName, String content) throws Exception {
-        try (final var writer = new BufferedWriter(new FileWriter(fileName))) {
+        try (final var writer = new BufferedWriter(new FileWriter(resolve(fileName)))) {
             writer.write(content);
         }
     }
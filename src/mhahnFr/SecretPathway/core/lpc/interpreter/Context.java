@@ -22,7 +22,6 @@ package mhahnFr.SecretPathway.core.lpc.interpreter;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.*;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
 import mhahnFr.SecretPathway.gui.editor.suggestions.*;
-import mhahnFr.utils.StreamPosition;
 
 import java.util.*;
 
@@ -316,16 +315,16 @@ public class Context extends Instruction {
      * no definition with the given name exists in the super
      * contexts or there are no super context.
      *
-     * @param name the name of the identifier
+     * @param symbol the symbol of the name of the identifier
      * @return the definition of the named identifier
      */
-    public List<Definition> getSuperIdentifiers(final String name) {
+    public List<Definition> getSuperIdentifiers(final int symbol) {
         if (parent != null) {
-            return parent.getSuperIdentifiers(name);
+            return parent.getSuperIdentifiers(symbol);
         }
 
         for (final var context : superContexts) {
-            final var identifier = context.getIdentifiers(name, Integer.MAX_VALUE);
+            final var identifier = context.getIdentifiers(symbol, Integer.MAX_VALUE);
             if (!identifier.isEmpty()) {
                 return identifier;
             }
@@ -340,16 +339,16 @@ public class Context extends Instruction {
      * This method is designed to find an identifier declared at some
      * position, while only having access to the global {@link Context}.
      *
-     * @param name     the name of the searched identifier
+     * @param symbol   the symbol of the name of the searched identifier
      * @param position the position, prior to which it should have been declared
      * @return the {@link Definition} of the identifier or {@code null} if it was not found
      */
-    public List<Definition> digOutIdentifiers(final String name, final int position) {
+    public List<Definition> digOutIdentifiers(final int symbol, final int position) {
         final var subEntry = instructions.lowerEntry(position);
         if (subEntry != null && subEntry.getValue() instanceof final Context subContext) {
-            return subContext.digOutIdentifiers(name, position);
+            return subContext.digOutIdentifiers(symbol, position);
         }
-        return getIdentifiers(name, position);
+        return getIdentifiers(symbol, position);
     }
 
     /**
@@ -357,17 +356,17 @@ public class Context extends Instruction {
      * whose use ends at the given position. If it is not found
      * {@code null} is returned.
      *
-     * @param name  the name of the searched identifier
-     * @param begin the beginning search position
+     * @param symbol the symbol of the name of the searched identifier
+     * @param begin  the beginning search position
      * @return the found {@link Definition} of the identifier or {@code null}
      */
-    public List<Definition> getIdentifiers(final String name, final int begin) {
+    public List<Definition> getIdentifiers(final int symbol, final int begin) {
         // First, search in our context.
         final var definitions = new ArrayList<Definition>();
         for (final var element : instructions.entrySet()) {
             if (element.getKey() < begin                           &&
                 element.getValue() instanceof final Definition def &&
-                Objects.equals(def.getName(), name)) {
+                def.getSymbol() == symbol) {
                 definitions.add(def);
             }
         }
@@ -378,13 +377,13 @@ public class Context extends Instruction {
         // If we haven't found the identifier, ask our parent
         // context, provided we have one.
         if (parent != null) {
-            return parent.getIdentifiers(name, begin);
+            return parent.getIdentifiers(symbol, begin);
         }
 
         // If we don't have a parent, we might have some
         // included contexts, so search in them.
         for (final var context : includedContexts) {
-            final var identifier = context.getIdentifiers(name, Integer.MAX_VALUE);
+            final var identifier = context.getIdentifiers(symbol, Integer.MAX_VALUE);
             if (!identifier.isEmpty()) {
                 return identifier;
             }
@@ -392,19 +391,24 @@ public class Context extends Instruction {
 
         // Otherwise, we might have super contexts,
         // so search in them.
-        return getSuperIdentifiers(name);
+        return getSuperIdentifiers(symbol);
     }
 
     /**
      * Adds the given identifier to this context.
      *
-     * @param begin the beginning position
-     * @param name  the name of the identifier
-     * @param type  the type of the identifier
-     * @param kind  the AST type of the identifier
+     * @param begin  the beginning position
+     * @param name   the name of the identifier
+     * @param symbol the symbol of the name of the identifier
+     * @param type   the type of the identifier
+     * @param kind   the AST type of the identifier
      */
-    public void addIdentifier(final int begin, final String name, final ASTTypeDefinition type, final ASTType kind) {
-        instructions.put(begin, new Definition(begin, name, type, kind));
+    public void addIdentifier(final int               begin,
+                              final String            name,
+                              final int               symbol,
+                              final ASTTypeDefinition type,
+                              final ASTType           kind) {
+        instructions.put(begin, new Definition(begin, name, symbol, type, kind));
     }
 
     /**
@@ -415,11 +419,11 @@ public class Context extends Instruction {
      * @param type  the type of the identifier
      * @param kind  the AST type of the identifier
      */
-    public void addIdentifier(final StreamPosition    begin,
+    public void addIdentifier(final int               begin,
                               final ASTName           name,
                               final ASTTypeDefinition type,
                               final ASTType           kind) {
-        addIdentifier(begin.position(), name.getName(), type, kind);
+        addIdentifier(begin, name.getName(), name.getSymbol(), type, kind);
     }
 
     /**
@@ -434,19 +438,20 @@ public class Context extends Instruction {
      * @param variadic   whether the function takes variadic arguments
      * @return the new scope context for the contents of the function
      */
-    public Context addFunction(final StreamPosition    begin,
-                               final StreamPosition    scopeBegin,
+    public Context addFunction(final int               begin,
+                               final int               scopeBegin,
                                final ASTName           name,
                                final ASTTypeDefinition returnType,
                                final List<Definition>  parameters,
                                final boolean           variadic) {
-        instructions.put(begin.position(), new FunctionDefinition(begin.position(),
-                                                                  name.getName(),
-                                                                  returnType,
-                                                                  parameters,
-                                                                  variadic));
-
-        final var newContext = pushScope(scopeBegin.position());
+        instructions.put(begin, new FunctionDefinition(begin,
+                                                       name.getName(),
+                                                       name.getSymbol(),
+                                                       returnType,
+                                                       parameters,
+                                                       variadic));
+
+        final var newContext = pushScope(scopeBegin);
         for (final var parameter : parameters) {
             newContext.instructions.put(parameter.getBegin(), parameter);
         }
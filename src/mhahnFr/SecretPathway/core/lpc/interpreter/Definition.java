@@ -21,6 +21,7 @@ package mhahnFr.SecretPathway.core.lpc.interpreter;
 
 import mhahnFr.SecretPathway.core.lpc.parser.ast.ASTType;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.ASTTypeDefinition;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.SymbolTable;
 
 /**
  * This class defines a declaration.
@@ -29,9 +30,11 @@ import mhahnFr.SecretPathway.core.lpc.parser.ast.ASTTypeDefinition;
  * @since 28.02.23
  */
 public class Definition extends Instruction {
-    /** The name of the declared identifier. */
+    /** The name of the declared identifier.   */
     private final String name;
-    /** The type of the declared identifier. */
+    /** The symbol of the declared identifier. */
+    private final int symbol;
+    /** The type of the declared identifier.   */
     private final ASTType type;
 
     /**
@@ -39,17 +42,21 @@ public class Definition extends Instruction {
      *
      * @param begin      the beginning position
      * @param name       the name
+     * @param symbol     the symbol of the name
      * @param returnType the type the identifier evaluates to
      * @param type       the AST type of the definition
+     * @see SymbolTable
      */
     public Definition(final int               begin,
                       final String            name,
+                      final int               symbol,
                       final ASTTypeDefinition returnType,
                       final ASTType           type) {
         super(begin);
         setReturnType(returnType);
 
         this.name       = name;
+        this.symbol     = symbol;
         this.type       = type;
     }
 
@@ -62,6 +69,15 @@ public class Definition extends Instruction {
         return name;
     }
 
+    /**
+     * Returns the symbol of the name of this definition.
+     *
+     * @return the symbol
+     */
+    public int getSymbol() {
+        return symbol;
+    }
+
     /**
      * Returns the AST type of this definition.
      *
@@ -41,16 +41,18 @@ public class FunctionDefinition extends Definition {
      *
      * @param begin      the beginning position
      * @param name       the name of the function
+     * @param symbol     the symbol of the name of the function
      * @param returnType the return type of the function
      * @param parameters the list with the parameter definitions
      * @param variadic   whether this function takes variadic parameters
      */
     public FunctionDefinition(final int               begin,
                               final String            name,
+                              final int               symbol,
                               final ASTTypeDefinition returnType,
                               final List<Definition>  parameters,
                               final boolean           variadic) {
-        super(begin, name, returnType, ASTType.FUNCTION_DEFINITION);
+        super(begin, name, symbol, returnType, ASTType.FUNCTION_DEFINITION);
 
         this.parameters = parameters;
         this.variadic   = variadic;
@@ -21,11 +21,11 @@ package mhahnFr.SecretPathway.core.lpc.interpreter;
 
 import mhahnFr.SecretPathway.core.lpc.LPCFileManager;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.*;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.LineTable;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.ASTHighlight;
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.MessagedHighlight;
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.Highlight;
-import mhahnFr.utils.StreamPosition;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +47,8 @@ public class Interpreter implements ASTVisitor {
     private ASTTypeDefinition currentType;
     /** A list with the elements to be highlighted. */
     private List<Highlight<?>> highlights;
+    /** The lines of the interpreted source code.   */
+    private LineTable lines;
 
     /**
      * Constructs this interpreter instance using the given
@@ -63,9 +65,11 @@ public class Interpreter implements ASTVisitor {
      * {@link ASTExpression}s.
      *
      * @param expressions the expressions to be interpreted
+     * @param lines       the lines of the interpreted source code
      * @return the generated context
      */
-    public Context createContextFor(final List<ASTExpression> expressions) {
+    public Context createContextFor(final List<ASTExpression> expressions, final LineTable lines) {
+        this.lines = lines;
         highlights = new ArrayList<>(expressions.size());
         current    = new Context();
 
@@ -214,27 +218,27 @@ public class Interpreter implements ASTVisitor {
                                               paramExpressions.get(paramExpressions.size() - 1).getASTType()
                                                       == ASTType.AST_ELLIPSIS);
                 visitBlock(cast(ASTBlock.class, block));
-                current = current.popScope(expression.getEnd().position());
+                current = current.popScope(expression.getEnd());
                 currentType = new ReturnType(TokenType.VOID);
             }
 
             case BLOCK -> {
-                current = current.pushScope(expression.getBegin().position());
+                current = current.pushScope(expression.getBegin());
                 visitBlock((ASTBlock) expression);
-                current = current.popScope(expression.getEnd().position());
+                current = current.popScope(expression.getEnd());
                 currentType = new ReturnType(TokenType.VOID);
             }
 
             case MISSING -> {
-                final StreamPosition begin = expression.getBegin(),
-                                     end   = expression.getEnd();
+                final int begin = expression.getBegin(),
+                          end   = expression.getEnd();
                 final int endPosition;
-                if (!begin.isOnSameLine(end)) {
-                    endPosition = begin.getLineEnd().position();
+                if (!lines.isOnSameLine(begin, end)) {
+                    endPosition = lines.getLineEnd(begin);
                 } else {
-                    endPosition = end.position();
+                    endPosition = end;
                 }
-                highlights.add(new MessagedHighlight<>(begin.position(),
+                highlights.add(new MessagedHighlight<>(begin,
                                                        endPosition,
                                                        ASTType.MISSING,
                                                        ((ASTMissing) expression).getMessage()));
@@ -256,7 +260,7 @@ public class Interpreter implements ASTVisitor {
 
                 final var name = cast(ASTName.class, fc.getName());
                 name.visit(this);
-                final var id = current.getIdentifiers(name.getName(), name.getBegin().position());
+                final var id = current.getIdentifiers(name.getSymbol(), name.getBegin());
                 if (!id.isEmpty()) {
                     currentType = visitFunctionCall(fc, id);
                 }
@@ -264,7 +268,7 @@ public class Interpreter implements ASTVisitor {
 
             case NAME -> {
                 final var name = (ASTName) expression;
-                final var identifier = current.getIdentifiers(name.getName(), expression.getBegin().position());
+                final var identifier = current.getIdentifiers(name.getSymbol(), expression.getBegin());
                 if (identifier.isEmpty()) {
                     if (name.getName() != null && name.getName().startsWith("$")) {
                         highlights.add(new MessagedHighlight<>(name.getBegin(),
@@ -279,8 +283,8 @@ public class Interpreter implements ASTVisitor {
                     }
                     currentType = new ReturnType(null);
                 } else {
-                    highlights.add(new Highlight<>(expression.getBegin().position(),
-                                                   expression.getEnd().position(),
+                    highlights.add(new Highlight<>(expression.getBegin(),
+                                                   expression.getEnd(),
                                                    identifier.get(0).getType()));
                     currentType = identifier.get(0).getReturnType();
                 }
@@ -501,7 +505,7 @@ public class Interpreter implements ASTVisitor {
         final var arguments = fc.getArguments();
         final var it  = arguments.listIterator();
         final var it2 = definition.getParameters().listIterator();
-        Optional<StreamPosition> tooManyBegin = Optional.empty();
+        Optional<Integer> tooManyBegin = Optional.empty();
         ASTExpression elem = null;
         while (it.hasNext()) {
             elem = it.next();
@@ -546,7 +550,7 @@ public class Interpreter implements ASTVisitor {
      */
     private void visitSuperFunc(final ASTUnaryOperator operation) {
         final var func = cast(ASTFunctionCall.class, operation.getIdentifier());
-        final var id   = current.getSuperIdentifiers(cast(ASTName.class, func.getName()).getName());
+        final var id   = current.getSuperIdentifiers(cast(ASTName.class, func.getName()).getSymbol());
 
         if (!id.isEmpty()) {
             visitFunctionCall(func, id);
@@ -638,8 +642,10 @@ public class Interpreter implements ASTVisitor {
                 type.visit(this);
                 maybeWrongVoid(type);
 
-                parameters.add(new Definition(parameter.getBegin().position(),
-                                              cast(ASTName.class, parameter.getName()).getName(),
+                final var name = cast(ASTName.class, parameter.getName());
+                parameters.add(new Definition(parameter.getBegin(),
+                                              name.getName(),
+                                              name.getSymbol(),
                                               type,
                                               ASTType.PARAMETER));
             }
@@ -22,7 +22,6 @@ package mhahnFr.SecretPathway.core.lpc.interpreter;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.ASTTypeDeclaration;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents a literal return type.
@@ -37,10 +36,6 @@ public class ReturnType extends ASTTypeDeclaration {
      * @param type the type
      */
     public ReturnType(final TokenType type) {
-        super(new Token(new StreamPosition(0, ""),
-                        type,
-                       null,
-                        new StreamPosition(0, "")),
-              false);
+        super(new Token(0, type, null, 0), false);
     }
 }
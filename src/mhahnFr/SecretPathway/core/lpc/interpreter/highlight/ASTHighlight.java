@@ -48,6 +48,6 @@ public class ASTHighlight extends Highlight<ASTType> {
      * @param expression the expression to be highlighted
      */
     public ASTHighlight(final ASTExpression expression) {
-        super(expression.getBegin().position(), expression.getEnd().position(), expression.getASTType());
+        super(expression.getBegin(), expression.getEnd(), expression.getASTType());
     }
 }
@@ -21,7 +21,6 @@ package mhahnFr.SecretPathway.core.lpc.interpreter.highlight;
 
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.Highlight;
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.HighlightType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents an error as highlighting
@@ -52,21 +51,6 @@ public class MessagedHighlight<T extends HighlightType> extends Highlight<T> {
         this.message = message;
     }
 
-    /**
-     * Constructs this messaged highlighting element.
-     *
-     * @param begin   the beginning position
-     * @param end     the end position
-     * @param type    the type
-     * @param message the message
-     */
-    public MessagedHighlight(final StreamPosition begin,
-                             final StreamPosition end,
-                             final T              type,
-                             final String         message) {
-        this(begin.position(), end.position(), type, message);
-    }
-
     /**
      * Returns the message associated with this
      * highlighting element.
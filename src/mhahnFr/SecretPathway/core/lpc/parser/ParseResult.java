@@ -0,0 +1,184 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser;
+
+import mhahnFr.SecretPathway.core.lpc.parser.ast.ASTExpression;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the top level expressions of a parsed source file,
+ * along with the state of the {@link Parser} at the beginning of each
+ * of them. A following parse of the changed source file can reuse the
+ * expressions not affected by the change.
+ *
+ * @author agent
+ * @since 18.10.26
+ * @see Parser#parseFile(ParseResult)
+ */
+public class ParseResult {
+    /** The parsed tokens.                                                   */
+    private final TokenBuffer tokens;
+    /** The top level expressions.                                           */
+    private final List<ASTExpression> expressions = new ArrayList<>();
+    /** The indices of the current tokens at the top level expressions.      */
+    private int[] starts = new int[16];
+    /** The indices of the next tokens at the top level expressions.         */
+    private int[] nexts = new int[16];
+    /** Whether the parser did not advance before the top level expressions. */
+    private boolean[] stalls = new boolean[16];
+    /** The amount of expressions reused from the previous result.           */
+    private int reused;
+
+    /**
+     * Constructs an empty result for the given tokens.
+     *
+     * @param tokens the parsed tokens
+     */
+    ParseResult(final TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Adds a top level expression along with the parser state at its
+     * beginning.
+     *
+     * @param expression the expression
+     * @param start      the index of the current token
+     * @param next       the index of the next token
+     * @param stalled    whether the parser did not advance since the previous expression
+     */
+    void add(final ASTExpression expression, final int start, final int next, final boolean stalled) {
+        final var size = expressions.size();
+        if (size + 1 >= starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+            nexts  = Arrays.copyOf(nexts, nexts.length * 2);
+            stalls = Arrays.copyOf(stalls, stalls.length * 2);
+        }
+        starts[size] = start;
+        nexts[size]  = next;
+        stalls[size] = stalled;
+        expressions.add(expression);
+    }
+
+    /**
+     * Records the parser state after the last top level expression.
+     *
+     * @param start the index of the current token
+     * @param next  the index of the next token
+     */
+    void finish(final int start, final int next) {
+        starts[expressions.size()] = start;
+        nexts[expressions.size()]  = next;
+    }
+
+    /**
+     * Counts a reused expression.
+     */
+    void countReused() {
+        ++reused;
+    }
+
+    /**
+     * Returns the index of the top level expression starting at the
+     * given token in the given parser state.
+     *
+     * @param start   the index of the current token
+     * @param stalled whether the parser did not advance since the previous expression
+     * @return the index of the expression or {@code -1} if there is none
+     */
+    int indexOf(final int start, final boolean stalled) {
+        var i = Arrays.binarySearch(starts, 0, expressions.size(), start);
+        if (i < 0) return -1;
+
+        while (i > 0 && starts[i - 1] == start) --i;
+        for (; i < expressions.size() && starts[i] == start; ++i) {
+            if (stalls[i] == stalled) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the current token at the beginning of the
+     * given top level expression. Passing the amount of expressions
+     * returns the index after the last one.
+     *
+     * @param index the index of the expression
+     * @return the index of the current token
+     */
+    int getStart(final int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns the index of the next token at the beginning of the given
+     * top level expression. Passing the amount of expressions returns the
+     * index after the last one.
+     *
+     * @param index the index of the expression
+     * @return the index of the next token
+     */
+    int getNext(final int index) {
+        return nexts[index];
+    }
+
+    /**
+     * Returns whether the parser did not advance before the given top
+     * level expression.
+     *
+     * @param index the index of the expression
+     * @return whether the parser was stalled
+     */
+    boolean isStalled(final int index) {
+        return stalls[index];
+    }
+
+    /**
+     * Returns the parsed tokens.
+     *
+     * @return the tokens
+     */
+    public TokenBuffer getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Returns the parsed top level expressions.
+     *
+     * @return the top level expressions
+     */
+    public List<ASTExpression> getExpressions() {
+        return Collections.unmodifiableList(expressions);
+    }
+
+    /**
+     * Returns the amount of top level expressions that have been reused
+     * from the previous result.
+     *
+     * @return the amount of reused expressions
+     */
+    public int getReusedCount() {
+        return reused;
+    }
+}
@@ -19,14 +19,17 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser;
 
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.*;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenBuffer;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Tokenizer;
-import mhahnFr.utils.StreamPosition;
-import mhahnFr.utils.StringStream;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class parses LPC source code.
@@ -35,13 +38,65 @@ import java.util.*;
  * @since 02.02.23
  */
 public class Parser {
-    /** The {@link Tokenizer} used by this parser. */
-    private final Tokenizer tokenizer;
-    /** The previous {@link Token} in the stream.  */
+    /** The minimal amount of tokens of a concurrently parsed chunk. */
+    private static final int MIN_CHUNK_SIZE = 8192;
+    /**
+     * The operators, indexed by the ordinal of their token type.
+     * <br>
+     * The range operator ({@code ..}) and the assignment of a subscript
+     * are not in this table: the range is only valid inside of a subscript
+     * and the assigned subscript becomes a part of the subscript operation,
+     * so both are parsed by {@link #parseSubscript(int)}.
+     */
+    private static final Operator[] OPERATORS = new Operator[TokenType.values().length];
+
+    static {
+        operator(TokenType.ARROW,            OperatorKind.CALL,      1,  0);
+        operator(TokenType.DOT,              OperatorKind.CALL,      1,  0);
+        operator(TokenType.LEFT_BRACKET,     OperatorKind.SUBSCRIPT, 0,  0);
+        operator(TokenType.QUESTION,         OperatorKind.TERNARY,   13, 12);
+        operator(TokenType.IS,               OperatorKind.TYPE,      2,  0);
+
+        binary(TokenType.DOUBLE_QUESTION,  13, false);
+        binary(TokenType.OR,               12, false);
+        binary(TokenType.AND,              11, false);
+        binary(TokenType.PIPE,             10, false);
+        binary(TokenType.AMPERSAND,        8,  false);
+        binary(TokenType.NOT_EQUAL,        7,  false);
+        binary(TokenType.EQUALS,           7,  false);
+        binary(TokenType.LESS,             6,  true);
+        binary(TokenType.LESS_OR_EQUAL,    6,  true);
+        binary(TokenType.GREATER,          6,  true);
+        binary(TokenType.GREATER_OR_EQUAL, 6,  true);
+        binary(TokenType.LEFT_SHIFT,       5,  false);
+        binary(TokenType.RIGHT_SHIFT,      5,  false);
+        binary(TokenType.PLUS,             4,  false);
+        binary(TokenType.MINUS,            4,  false);
+        binary(TokenType.STAR,             3,  false);
+        binary(TokenType.SLASH,            3,  false);
+        binary(TokenType.PERCENT,          3,  false);
+
+        assignment(TokenType.ASSIGNMENT);
+        assignment(TokenType.ASSIGNMENT_PLUS);
+        assignment(TokenType.ASSIGNMENT_MINUS);
+        assignment(TokenType.ASSIGNMENT_STAR);
+        assignment(TokenType.ASSIGNMENT_SLASH);
+        assignment(TokenType.ASSIGNMENT_PERCENT);
+    }
+
+    /** The tokens to be parsed.                               */
+    private final TokenBuffer tokens;
+    /** The index of the next {@link Token} in the buffer.     */
+    private int index = -1;
+    /** The index of the current {@link Token} in the buffer.  */
+    private int currentIndex = -1;
+    /** The index of the previous {@link Token} in the buffer. */
+    private int previousIndex = -1;
+    /** The previous {@link Token} in the stream.              */
     private Token previous;
-    /** The {@link Token} currently in the stream. */
+    /** The {@link Token} currently in the stream.             */
     private Token current;
-    /** The next {@link Token} in the stream.      */
+    /** The next {@link Token} in the stream.                  */
     private Token next;
 
     /**
@@ -50,10 +105,19 @@ public class Parser {
      * @param source the source code to be parsed
      */
     public Parser(final String source) {
-        final var stream = new StringStream(source);
-        tokenizer = new Tokenizer(stream);
+        this(new Tokenizer(source).tokenize());
+    }
+
+    /**
+     * Initializes this parser using the given tokens. Comment
+     * tokens in the buffer are skipped.
+     *
+     * @param tokens the tokens of the source code to be parsed
+     */
+    public Parser(final TokenBuffer tokens) {
+        this.tokens = tokens;
         advance(2);
-        previous = new StartToken(stream.createStreamPosition(0));
+        previous = new StartToken(0);
     }
 
     /**
@@ -72,9 +136,53 @@ public class Parser {
      * Advances the stream by one token.
      */
     private void advance() {
-        previous = current;
-        current  = next;
-        next     = tokenizer.nextToken();
+        previous      = current;
+        current       = next;
+        previousIndex = currentIndex;
+        currentIndex  = index;
+
+        TokenType type;
+        do {
+            type = tokens.type(++index);
+        } while (type == TokenType.COMMENT_BLOCK || type == TokenType.COMMENT_LINE);
+        next = tokens.get(index);
+    }
+
+    /**
+     * Moves the stream to the given token. The previous token is
+     * set to the preceding non-comment token.
+     *
+     * @param target the index of the new current token
+     */
+    private void seek(final int target) {
+        int i = target - 1;
+        while (i >= 0 && (tokens.type(i) == TokenType.COMMENT_BLOCK || tokens.type(i) == TokenType.COMMENT_LINE)) {
+            --i;
+        }
+        previous      = i < 0 ? new StartToken(0) : tokens.get(i);
+        current       = tokens.get(target);
+        previousIndex = i;
+        currentIndex  = target;
+        index         = target;
+
+        TokenType type;
+        do {
+            type = tokens.type(++index);
+        } while (type == TokenType.COMMENT_BLOCK || type == TokenType.COMMENT_LINE);
+        next = tokens.get(index);
+    }
+
+    /**
+     * Returns the given expression moved by the given amount of characters.
+     * The expression itself is not changed, if it needs to be moved, a
+     * moved copy is returned.
+     *
+     * @param expression the expression to be moved
+     * @param delta      the amount of characters to move
+     * @return the moved expression
+     */
+    private ASTExpression move(final ASTExpression expression, final int delta) {
+        return delta == 0 ? expression : expression.copy(delta);
     }
 
     /**
@@ -116,12 +224,12 @@ public class Parser {
 
         advance();
         if (current.type() != TokenType.STRING) {
-            return combine(new ASTInclude(previous.beginPos(), current.beginPos(), null),
-                           new ASTMissing(previous.endPos(), current.beginPos(), "Expected a string literal", TokenType.STRING));
+            return combine(new ASTInclude(previous.begin(), current.begin(), null),
+                           new ASTMissing(previous.end(), current.begin(), "Expected a string literal", TokenType.STRING));
         } else {
-            final var begin   = previous.beginPos();
+            final var begin   = previous.begin();
             final var strings = parseStrings();
-            toReturn = new ASTInclude(begin, previous.endPos(), strings);
+            toReturn = new ASTInclude(begin, previous.end(), strings);
         }
 
         return toReturn;
@@ -138,21 +246,21 @@ public class Parser {
 
         advance();
         if (current.type() == TokenType.SEMICOLON) {
-            toReturn = new ASTInheritance(previous.beginPos(), current.endPos(), null);
+            toReturn = new ASTInheritance(previous.begin(), current.end(), null);
             advance();
         } else if (next.type() == TokenType.SEMICOLON && current.type() != TokenType.STRING) {
-            toReturn = combine(new ASTInheritance(previous.beginPos(), next.endPos(), null),
+            toReturn = combine(new ASTInheritance(previous.begin(), next.end(), null),
                                new ASTWrong(current, "Expected a string literal", TokenType.STRING));
             advance();
         } else if (current.type() == TokenType.STRING) {
-            final var begin   = previous.beginPos();
+            final var begin   = previous.begin();
             final var strings = parseStrings();
-            toReturn = assertSemicolon(new ASTInheritance(begin, (current.type() == TokenType.SEMICOLON ? current : previous).endPos(), strings));
+            toReturn = assertSemicolon(new ASTInheritance(begin, (current.type() == TokenType.SEMICOLON ? current : previous).end(), strings));
         } else if (current.type() != TokenType.SEMICOLON && next.type() != TokenType.SEMICOLON) {
-            return combine(new ASTInheritance(previous.beginPos(), previous.endPos(), null),
-                           new ASTMissing(previous.endPos(), current.beginPos(), "Expected ';'", TokenType.SEMICOLON));
+            return combine(new ASTInheritance(previous.begin(), previous.end(), null),
+                           new ASTMissing(previous.end(), current.begin(), "Expected ';'", TokenType.SEMICOLON));
         } else {
-            toReturn = new ASTInheritance(previous.beginPos(), next.endPos(), null);
+            toReturn = new ASTInheritance(previous.begin(), next.end(), null);
             advance();
         }
         return toReturn;
@@ -168,7 +276,7 @@ public class Parser {
      */
     private ASTExpression parseClass() {
         final var parts = new Vector<ASTExpression>(3);
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
@@ -179,29 +287,29 @@ public class Parser {
                 (current.type() != TokenType.LEFT_CURLY && next.type() == TokenType.SEMICOLON)) {
             final ASTExpression inheritance;
             if (current.type() == TokenType.STRING) {
-                final var inheritanceBegin  = current.beginPos();
+                final var inheritanceBegin  = current.begin();
                 final var inheritExpression = parseStrings();
-                inheritance = new ASTInheritance(inheritanceBegin, previous.endPos(), inheritExpression);
+                inheritance = new ASTInheritance(inheritanceBegin, previous.end(), inheritExpression);
             } else if (current.type() == TokenType.SEMICOLON) {
                 inheritance = null;
             } else {
-                inheritance = combine(new ASTInheritance(current.beginPos(), current.endPos(), null),
+                inheritance = combine(new ASTInheritance(current.begin(), current.end(), null),
                                       new ASTWrong(current, "Expected a string literal", TokenType.STRING));
             }
             return assertSemicolon(new ASTClass(begin, name, inheritance));
         } else if (current.type() != TokenType.LEFT_CURLY) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '{'", TokenType.LEFT_CURLY));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '{'", TokenType.LEFT_CURLY));
         } else {
             advance();
         }
         final var statements = parse(TokenType.RIGHT_CURLY);
         if (current.type() != TokenType.RIGHT_CURLY) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '}'", TokenType.RIGHT_CURLY));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '}'", TokenType.RIGHT_CURLY));
         } else {
             advance();
         }
         if (current.type() != TokenType.SEMICOLON) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ';'", TokenType.SEMICOLON));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ';'", TokenType.SEMICOLON));
         } else {
             advance();
         }
@@ -240,7 +348,7 @@ public class Parser {
             if (isModifier(current.type())) {
                 toReturn.add(new ASTModifier(current));
             } else if (isModifier(next.type())) {
-                toReturn.add(combine(new ASTModifier(current.beginPos(), current.endPos()),
+                toReturn.add(combine(new ASTModifier(current.begin(), current.end()),
                                      new ASTWrong(current, "Expected a modifier", ASTType.MODIFIER)));
             } else {
                 break;
@@ -292,13 +400,13 @@ public class Parser {
             boolean array = true;
             if (current.type() == TokenType.STAR || current.type() == TokenType.RIGHT_BRACKET) {
                 if (current.type() == TokenType.RIGHT_BRACKET) {
-                    parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '['", TokenType.LEFT_BRACKET));
+                    parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '['", TokenType.LEFT_BRACKET));
                 }
                 advance();
             } else if (current.type() == TokenType.LEFT_BRACKET && next.type() == TokenType.RIGHT_BRACKET) {
                 advance(2);
             } else if (current.type() == TokenType.LEFT_BRACKET && next.type() != TokenType.RIGHT_BRACKET) {
-                parts.add(new ASTMissing(current.endPos(), next.beginPos(), "Missing ']'", TokenType.RIGHT_BRACKET));
+                parts.add(new ASTMissing(current.end(), next.begin(), "Missing ']'", TokenType.RIGHT_BRACKET));
                 advance();
             } else {
                 array = false;
@@ -333,20 +441,20 @@ public class Parser {
                     callTypes.add(parseType());
 
                     if (current.type() != TokenType.RIGHT_PAREN && current.type() != TokenType.COMMA) {
-                        parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ','", TokenType.COMMA));
+                        parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ','", TokenType.COMMA));
                     } else if (current.type() == TokenType.COMMA) {
                         advance();
                     }
                 }
                 if (previous.type() == TokenType.COMMA) {
-                    parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing type", ASTType.TYPE));
+                    parts.add(new ASTMissing(previous.end(), current.begin(), "Missing type", ASTType.TYPE));
                 }
                 if (current.type() != TokenType.RIGHT_PAREN) {
-                    parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+                    parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
                 } else {
                     advance();
                 }
-                toReturn = new ASTFunctionReferenceType(type, array, callTypes, previous.endPos());
+                toReturn = new ASTFunctionReferenceType(type, array, callTypes, previous.end());
             }
             toReturn = toReturn == null ? new ASTTypeDeclaration(type, array) : toReturn;
             if (!parts.isEmpty()) {
@@ -354,8 +462,8 @@ public class Parser {
             }
             return toReturn;
         } else {
-            return combine(new ASTTypeDeclaration(previous.endPos(), current.beginPos()),
-                           new ASTMissing(previous.endPos(), current.beginPos(), "Missing type", ASTType.TYPE));
+            return combine(new ASTTypeDeclaration(previous.end(), current.begin()),
+                           new ASTMissing(previous.end(), current.begin(), "Missing type", ASTType.TYPE));
         }
     }
 
@@ -396,15 +504,15 @@ public class Parser {
         final ASTExpression toReturn;
 
         if (isStopToken(current)) {
-            toReturn = combine(new ASTName(previous.endPos(), current.beginPos()),
-                               new ASTMissing(previous.endPos(), current.beginPos(), "Missing name", ASTType.NAME));
+            toReturn = combine(new ASTName(previous.end(), current.begin()),
+                               new ASTMissing(previous.end(), current.begin(), "Missing name", ASTType.NAME));
         } else if (current.type() == TokenType.OPERATOR) {
-            final var begin = current.beginPos();
+            final var begin = current.begin();
             advance();
 
             final ASTExpression part;
             if (!isOperator(current.type())) {
-                part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing operator", ASTType.OPERATOR_NAME);
+                part = new ASTMissing(previous.end(), current.begin(), "Missing operator", ASTType.OPERATOR_NAME);
             } else {
                 part = null;
                 advance();
@@ -416,7 +524,7 @@ public class Parser {
                 toReturn = identifier;
             }
         } else if (current.type() != TokenType.IDENTIFIER) {
-            toReturn = combine(new ASTName(current.beginPos(), current.endPos()),
+            toReturn = combine(new ASTName(current.begin(), current.end()),
                                new ASTWrong(current, "Expected a name", ASTType.NAME));
             advance();
         } else {
@@ -441,7 +549,7 @@ public class Parser {
                                                   final ASTExpression       name) {
         final ASTExpression toReturn;
 
-        final StreamPosition begin = modifiers.isEmpty() ? type.getBegin() : modifiers.get(0).getBegin();
+        final int begin = modifiers.isEmpty() ? type.getBegin() : modifiers.get(0).getBegin();
         final var variable = new ASTVariableDefinition(begin, name.getEnd(), modifiers, type, name);
 
         if (current.type() == TokenType.SEMICOLON) {
@@ -451,7 +559,7 @@ public class Parser {
             advance();
             toReturn = assertSemicolon(new ASTOperation(variable, parseBlockExpression(99), TokenType.ASSIGNMENT));
         } else {
-            toReturn = combine(variable, new ASTMissing(previous.endPos(), current.beginPos(), "Missing ';'", TokenType.SEMICOLON));
+            toReturn = combine(variable, new ASTMissing(previous.end(), current.begin(), "Missing ';'", TokenType.SEMICOLON));
         }
 
         return toReturn;
@@ -473,7 +581,7 @@ public class Parser {
                                                              next.type() == TokenType.LEFT_CURLY)) {
                     toReturn.add(new ASTEllipsis(current));
                     if (next.type() == TokenType.LEFT_CURLY) {
-                        toReturn.add(new ASTMissing(current.endPos(), next.beginPos(), "Expected ')'", TokenType.RIGHT_PAREN));
+                        toReturn.add(new ASTMissing(current.end(), next.begin(), "Expected ')'", TokenType.RIGHT_PAREN));
                         advance();
                     } else {
                         advance(2);
@@ -486,10 +594,10 @@ public class Parser {
                 final ASTExpression name;
                 if (current.type() != TokenType.IDENTIFIER) {
                     if (current.type() == TokenType.COMMA || current.type() == TokenType.RIGHT_PAREN) {
-                        name = combine(new ASTName(previous.endPos(), current.beginPos()),
-                                       new ASTMissing(previous.endPos(), current.beginPos(), "Parameter's name missing", ASTType.NAME));
+                        name = combine(new ASTName(previous.end(), current.begin()),
+                                       new ASTMissing(previous.end(), current.begin(), "Parameter's name missing", ASTType.NAME));
                     } else {
-                        name = combine(new ASTName(current.beginPos(), current.endPos()),
+                        name = combine(new ASTName(current.begin(), current.end()),
                                        new ASTWrong(current, "Expected parameter's name", ASTType.NAME));
                         advance();
                     }
@@ -503,12 +611,12 @@ public class Parser {
                 if (current.type() == TokenType.RIGHT_PAREN || current.type() == TokenType.LEFT_CURLY) {
                     stop = true;
                     if (current.type() == TokenType.LEFT_CURLY) {
-                        toReturn.add(new ASTMissing(previous.endPos(), current.beginPos(), "Expected ')'", TokenType.RIGHT_PAREN));
+                        toReturn.add(new ASTMissing(previous.end(), current.begin(), "Expected ')'", TokenType.RIGHT_PAREN));
                     } else {
                         advance();
                     }
                 } else if (current.type() != TokenType.COMMA) {
-                    toReturn.add(new ASTMissing(previous.endPos(), current.beginPos(), "Expected ','", TokenType.COMMA));
+                    toReturn.add(new ASTMissing(previous.end(), current.begin(), "Expected ','", TokenType.COMMA));
                 } else {
                     advance();
                 }
@@ -529,13 +637,13 @@ public class Parser {
         final var parts = new Vector<ASTExpression>(2);
 
         if (current.type() != TokenType.LEFT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '('", TokenType.LEFT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '('", TokenType.LEFT_PAREN));
         } else {
             advance();
         }
         final var expression = parseBlockExpression(99);
         if (current.type() != TokenType.RIGHT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
         } else {
             advance();
         }
@@ -553,7 +661,7 @@ public class Parser {
      * @return the AST representation of the full if statement
      */
     private ASTExpression parseIf() {
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
@@ -577,7 +685,7 @@ public class Parser {
      * @return the AST representation of the full while statement
      */
     private ASTExpression parseWhile() {
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
@@ -593,7 +701,7 @@ public class Parser {
      * @return the AST representation of the full do-while statement
      */
     private ASTExpression parseDo() {
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
@@ -601,7 +709,7 @@ public class Parser {
 
         final ASTExpression part;
         if (current.type() != TokenType.WHILE) {
-            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing 'while'", TokenType.WHILE);
+            part = new ASTMissing(previous.end(), current.begin(), "Missing 'while'", TokenType.WHILE);
         } else {
             part = null;
             advance();
@@ -623,12 +731,12 @@ public class Parser {
      */
     private ASTExpression parseFor() {
         final var parts = new Vector<ASTExpression>();
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
         if (current.type() != TokenType.LEFT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '('", TokenType.LEFT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '('", TokenType.LEFT_PAREN));
         } else {
             advance();
         }
@@ -638,7 +746,7 @@ public class Parser {
                 advance();
                 final var expression = parseBlockExpression(99);
                 if (current.type() != TokenType.RIGHT_PAREN) {
-                    parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+                    parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
                 } else {
                     advance();
                 }
@@ -656,7 +764,7 @@ public class Parser {
         final var after          = parseBlockExpression(99);
 
         if (current.type() != TokenType.RIGHT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
         } else {
             advance();
         }
@@ -674,7 +782,7 @@ public class Parser {
      * @return the AST representation of the full switch statement
      */
     private ASTExpression parseSwitch() {
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
@@ -682,13 +790,13 @@ public class Parser {
 
         final ASTExpression part;
         if (current.type() != TokenType.LEFT_CURLY) {
-            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing '{'", TokenType.LEFT_CURLY);
+            part = new ASTMissing(previous.end(), current.begin(), "Missing '{'", TokenType.LEFT_CURLY);
         } else {
             part = null;
             advance();
         }
 
-        final var defCase = new ASTEmpty(previous.endPos(), current.beginPos());
+        final var defCase = new ASTEmpty(previous.end(), current.begin());
         ASTExpression lastCase = defCase;
         final var lastCaseExpressions = new Vector<ASTExpression>();
         final var cases = new ArrayList<ASTExpression>();
@@ -702,7 +810,7 @@ public class Parser {
 
                 lastCase = parseBlockExpression(99);
                 if (current.type() != TokenType.COLON) {
-                    lastCase = combine(lastCase, new ASTMissing(previous.endPos(), current.beginPos(), "Missing ':'", TokenType.COLON));
+                    lastCase = combine(lastCase, new ASTMissing(previous.end(), current.begin(), "Missing ':'", TokenType.COLON));
                 } else {
                     advance();
                 }
@@ -713,7 +821,7 @@ public class Parser {
                 lastCase = new ASTDefault(current);
                 advance();
                 if (current.type() != TokenType.COLON) {
-                    lastCase = combine(lastCase, new ASTMissing(previous.endPos(), current.beginPos(), "Missing ':'", TokenType.COLON));
+                    lastCase = combine(lastCase, new ASTMissing(previous.end(), current.begin(), "Missing ':'", TokenType.COLON));
                 } else {
                     advance();
                 }
@@ -727,7 +835,7 @@ public class Parser {
         }
 
         advance();
-        final var toReturn = new ASTSwitch(begin, previous.endPos(), var, cases);
+        final var toReturn = new ASTSwitch(begin, previous.end(), var, cases);
         if (part != null) {
             return combine(toReturn, part);
         }
@@ -744,9 +852,9 @@ public class Parser {
 
         advance();
         if (current.type() != TokenType.SEMICOLON) {
-            toReturn = new ASTReturn(previous.beginPos(), parseBlockExpression(99), previous.endPos());
+            toReturn = new ASTReturn(previous.begin(), parseBlockExpression(99), previous.end());
         } else {
-            toReturn = new ASTReturn(previous.beginPos(), null, current.endPos());
+            toReturn = new ASTReturn(previous.begin(), null, current.end());
         }
 
         return toReturn;
@@ -761,13 +869,13 @@ public class Parser {
      */
     private ASTExpression parseTryCatch() {
         final var parts = new Vector<ASTExpression>(3);
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         advance();
 
         final var toTry = parseInstruction();
         if (current.type() != TokenType.CATCH) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing 'catch'", TokenType.CATCH));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing 'catch'", TokenType.CATCH));
         } else {
             advance();
         }
@@ -775,14 +883,14 @@ public class Parser {
         final ASTExpression exception;
         if (current.type() == TokenType.LEFT_PAREN || current.type() == TokenType.RIGHT_PAREN) {
             if (current.type() != TokenType.LEFT_PAREN) {
-                parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '('", TokenType.LEFT_PAREN));
+                parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '('", TokenType.LEFT_PAREN));
             } else {
                 advance();
             }
             if (current.type() != TokenType.RIGHT_PAREN) {
                 exception = parseFancyVariableDeclaration();
                 if (current.type() != TokenType.RIGHT_PAREN) {
-                    parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+                    parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
                 } else {
                     advance();
                 }
@@ -811,10 +919,10 @@ public class Parser {
         advance();
 
         final var parts = new Vector<ASTExpression>(3);
-        final var begin = previous.beginPos();
+        final var begin = previous.begin();
 
         if (current.type() != TokenType.LEFT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '('", TokenType.LEFT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '('", TokenType.LEFT_PAREN));
         } else {
             advance();
         }
@@ -823,13 +931,13 @@ public class Parser {
         final List<ASTExpression> arguments;
         if (current.type() != TokenType.RIGHT_PAREN) {
             if (current.type() != TokenType.COMMA) {
-                parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ','", TokenType.COMMA));
+                parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ','", TokenType.COMMA));
             } else {
                 advance();
             }
             arguments = parseCallArguments(TokenType.RIGHT_PAREN);
             if (current.type() != TokenType.RIGHT_PAREN) {
-                parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+                parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
             } else {
                 advance();
             }
@@ -837,7 +945,7 @@ public class Parser {
             arguments = null;
             advance();
         }
-        final var result = new ASTNew(begin, previous.endPos(), instancingExpression, arguments);
+        final var result = new ASTNew(begin, previous.end(), instancingExpression, arguments);
         if (!parts.isEmpty()) {
             return combine(result, parts);
         }
@@ -868,12 +976,12 @@ public class Parser {
      * @return the AST representation of the cast statement
      */
     private ASTExpression parseCast(final int priority) {
-        final var begin = previous.beginPos();
+        final var begin = previous.begin();
         final var type  = parseType();
 
         final ASTExpression part;
         if (current.type() != TokenType.RIGHT_PAREN) {
-            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN);
+            part = new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN);
         } else {
             part = null;
             advance();
@@ -938,12 +1046,12 @@ public class Parser {
 
                         final ASTExpression part;
                         if (current.type() != TokenType.RIGHT_PAREN) {
-                            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN);
+                            part = new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN);
                         } else {
                             part = null;
                             advance();
                         }
-                        final var func = new ASTFunctionCall(name, arguments, previous.endPos());
+                        final var func = new ASTFunctionCall(name, arguments, previous.end());
                         if (part == null) {
                             toReturn = func;
                         } else {
@@ -951,23 +1059,10 @@ public class Parser {
                         }
                     }
 
-                    case ASSIGNMENT,
-                         ASSIGNMENT_PLUS,
-                         ASSIGNMENT_MINUS,
-                         ASSIGNMENT_PERCENT,
-                         ASSIGNMENT_SLASH,
-                         ASSIGNMENT_STAR -> {
-
-                        final var name = new ASTName(current);
-                        final var type = next.type();
-                        advance(2);
-                        toReturn = new ASTOperation(name, parseBlockExpression(99), type);
-                    }
-
                     case INCREMENT,
                          DECREMENT -> {
                         advance();
-                        toReturn = new ASTUnaryOperator(previous.beginPos(), current.type(), new ASTName(previous));
+                        toReturn = new ASTUnaryOperator(previous.begin(), current.type(), new ASTName(previous));
                         advance();
                     }
 
@@ -978,11 +1073,11 @@ public class Parser {
                 }
             }
 
-            case SCOPE -> toReturn = new ASTUnaryOperator(current.beginPos(), TokenType.SCOPE, parseFunctionCall());
+            case SCOPE -> toReturn = new ASTUnaryOperator(current.begin(), TokenType.SCOPE, parseFunctionCall());
 
             case STAR -> {
                 advance();
-                toReturn = new ASTUnaryOperator(previous.beginPos(), previous.type(), parseBlockExpression(1));
+                toReturn = new ASTUnaryOperator(previous.begin(), previous.type(), parseBlockExpression(1));
             }
 
             case NIL          -> { toReturn = new ASTNil(current);       advance(); }
@@ -1005,7 +1100,7 @@ public class Parser {
                 if (cast == null) {
                     final var expression = parseBlockExpression(99);
                     if (current.type() != TokenType.RIGHT_PAREN) {
-                        toReturn = combine(expression, new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+                        toReturn = combine(expression, new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
                     } else {
                         advance();
                         toReturn = expression;
@@ -1018,7 +1113,7 @@ public class Parser {
             case TRUE,
                  FALSE -> { toReturn = new ASTBool(current); advance(); }
 
-            default -> toReturn = new ASTMissing(previous.endPos(), current.beginPos(), "Missing expression", null);
+            default -> toReturn = new ASTMissing(previous.end(), current.begin(), "Missing expression", null);
         }
         return toReturn;
     }
@@ -1029,20 +1124,20 @@ public class Parser {
      * @return the AST representation of the mapping statement
      */
     private ASTExpression parseMapping() {
-        final var begin = current.beginPos();
+        final var begin = current.begin();
         advance();
 
         final var args = parseCallArguments(TokenType.RIGHT_BRACKET);
 
         final ASTExpression part;
         if (current.type() != TokenType.RIGHT_BRACKET) {
-            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing ']'", TokenType.RIGHT_BRACKET);
+            part = new ASTMissing(previous.end(), current.begin(), "Missing ']'", TokenType.RIGHT_BRACKET);
         } else {
             part = null;
             advance();
         }
 
-        final var mapping = new ASTMapping(begin, previous.endPos(), args);
+        final var mapping = new ASTMapping(begin, previous.end(), args);
         if (part != null) {
             return combine(mapping, part);
         }
@@ -1055,20 +1150,20 @@ public class Parser {
      * @return the AST representation of the array expression.
      */
     private ASTExpression parseArray() {
-        final var begin = current.beginPos();
+        final var begin = current.begin();
         advance();
 
         final var args = parseCallArguments(TokenType.RIGHT_CURLY);
 
         final ASTExpression part;
         if (current.type() != TokenType.RIGHT_CURLY) {
-            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing '}'", TokenType.RIGHT_CURLY);
+            part = new ASTMissing(previous.end(), current.begin(), "Missing '}'", TokenType.RIGHT_CURLY);
         } else {
             part = null;
             advance();
         }
 
-        final var array = new ASTArray(begin, previous.endPos(), args);
+        final var array = new ASTArray(begin, previous.end(), args);
         if (part != null) {
             return combine(array, part);
         }
@@ -1096,13 +1191,13 @@ public class Parser {
             }
             list.add(parseBlockExpression(99));
             if (current.type() != TokenType.COMMA && current.type() != end) {
-                list.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ','", TokenType.COMMA));
+                list.add(new ASTMissing(previous.end(), current.begin(), "Missing ','", TokenType.COMMA));
             } else if (current.type() == TokenType.COMMA) {
                 advance();
             }
         }
         if (previous.type() == TokenType.COMMA) {
-            list.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing expression", null));
+            list.add(new ASTMissing(previous.end(), current.begin(), "Missing expression", null));
         }
 
         return list;
@@ -1123,7 +1218,7 @@ public class Parser {
         final var name = parseName();
 
         if (current.type() != TokenType.LEFT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '('", TokenType.LEFT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing '('", TokenType.LEFT_PAREN));
         } else {
             advance();
         }
@@ -1131,12 +1226,12 @@ public class Parser {
         final var arguments = parseCallArguments(TokenType.RIGHT_PAREN);
 
         if (current.type() != TokenType.RIGHT_PAREN) {
-            parts.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing ')'", TokenType.RIGHT_PAREN));
+            parts.add(new ASTMissing(previous.end(), current.begin(), "Missing ')'", TokenType.RIGHT_PAREN));
         } else {
             advance();
         }
 
-        toReturn = new ASTFunctionCall(name, arguments, previous.endPos());
+        toReturn = new ASTFunctionCall(name, arguments, previous.end());
 
         if (!parts.isEmpty()) {
             return combine(toReturn, parts);
@@ -1165,7 +1260,7 @@ public class Parser {
 
             final var result = new ASTOperation(expression, rhs, TokenType.RANGE);
             if (current.type() != TokenType.RIGHT_BRACKET) {
-                toReturn = new ASTSubscript(combine(result, new ASTMissing(previous.endPos(), current.beginPos(), "Missing ']'", TokenType.RIGHT_BRACKET)));
+                toReturn = new ASTSubscript(combine(result, new ASTMissing(previous.end(), current.begin(), "Missing ']'", TokenType.RIGHT_BRACKET)));
             } else {
                 advance();
                 toReturn = new ASTSubscript(result);
@@ -1173,7 +1268,7 @@ public class Parser {
         } else {
             final ASTExpression part;
             if (current.type() != TokenType.RIGHT_BRACKET) {
-                part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing ']'", TokenType.RIGHT_BRACKET);
+                part = new ASTMissing(previous.end(), current.begin(), "Missing ']'", TokenType.RIGHT_BRACKET);
             } else {
                 part = null;
                 advance();
@@ -1209,7 +1304,7 @@ public class Parser {
 
         final ASTExpression part;
         if (current.type() != TokenType.COLON) {
-            part = new ASTMissing(previous.endPos(), current.beginPos(), "Missing ':'", TokenType.COMMA);
+            part = new ASTMissing(previous.end(), current.begin(), "Missing ':'", TokenType.COMMA);
         } else {
             part = null;
             advance();
@@ -1226,98 +1321,76 @@ public class Parser {
     }
 
     /**
-     * Parses an operation.
+     * Registers the given operator.
      *
-     * @param priority the priority used to parse the operation
-     * @return the AST representation of the operation
-     * @see #isOperator(TokenType)
+     * @param type        the token type of the operator
+     * @param kind        the kind of the operator
+     * @param priority    the lowest priority at which the operator is applied
+     * @param rhsPriority the priority used to parse the right hand side
      */
-    private ASTExpression parseOperation(final int priority) {
-        final var type = current.type();
+    private static void operator(final TokenType    type,
+                                 final OperatorKind kind,
+                                 final int          priority,
+                                 final int          rhsPriority) {
+        OPERATORS[type.ordinal()] = new Operator(kind, priority, rhsPriority);
+    }
 
-        if (priority >= 1 && (type == TokenType.ARROW ||
-                              type == TokenType.DOT)) {
-            return parseFunctionCall();
-        } else if (type == TokenType.LEFT_BRACKET) {
-            return parseSubscript(priority);
-        } else if (priority >= 13 && type == TokenType.QUESTION) {
-            return parseTernary();
-        } else if (priority >= 13 && type == TokenType.DOUBLE_QUESTION) {
-            advance();
-            return parseBlockExpression(12);
-        } else if (priority >= 12 && type == TokenType.OR) {
-            advance();
-            return parseBlockExpression(11);
-        } else if (priority >= 11 && type == TokenType.AND) {
-            advance();
-            return parseBlockExpression(10);
-        } else if (priority >= 10 && type == TokenType.PIPE) {
-            advance();
-            return parseBlockExpression(9);
-        } else if (priority >= 8 && type == TokenType.AMPERSAND) {
-            advance();
-            return parseBlockExpression(7);
-        } else if (priority >= 5 && (type == TokenType.RIGHT_SHIFT ||
-                                     type == TokenType.LEFT_SHIFT)) {
-            advance();
-            return parseBlockExpression(4);
-        } else if (priority >= 7 && (type == TokenType.NOT_EQUAL ||
-                                     type == TokenType.EQUALS)) {
-            advance();
-            return parseBlockExpression(6);
-        } else if (priority >= 6 && (type == TokenType.LESS             ||
-                                     type == TokenType.LESS_OR_EQUAL    ||
-                                     type == TokenType.GREATER          ||
-                                     type == TokenType.GREATER_OR_EQUAL)) {
-            advance();
-            return parseBlockExpression(6);
-        } else if (priority >= 4 && (type == TokenType.MINUS ||
-                                     type == TokenType.PLUS)) {
-            advance();
-            return parseBlockExpression(3);
-        } else if (priority >= 3 && (type == TokenType.SLASH   ||
-                                     type == TokenType.PERCENT ||
-                                     type == TokenType.STAR)) {
-            advance();
-            return parseBlockExpression(2);
-        } else if (priority >= 2 && type == TokenType.IS) {
-            advance();
-            return parseType();
-        }
+    /**
+     * Registers the given binary operator. The right hand side of a right
+     * associative operator is parsed at the priority of the operator, so
+     * that it contains the following operators of the same priority.
+     *
+     * @param type             the token type of the operator
+     * @param priority         the lowest priority at which the operator is applied
+     * @param rightAssociative whether the operator is right associative
+     */
+    private static void binary(final TokenType type, final int priority, final boolean rightAssociative) {
+        operator(type, OperatorKind.BINARY, priority, rightAssociative ? priority : priority - 1);
+    }
 
-        return null;
+    /**
+     * Registers the given assignment operator. Assignments are right
+     * associative and their right hand side is parsed at the lowest
+     * priority, while they are applied at every priority to the name
+     * they follow.
+     *
+     * @param type the token type of the assignment operator
+     */
+    private static void assignment(final TokenType type) {
+        operator(type, OperatorKind.ASSIGNMENT, 0, 99);
     }
 
     /**
-     * Returns whether the given type represents an operator.
+     * Parses the right hand side of the given operator. The stream is
+     * expected to be on the operator.
+     *
+     * @param operator the operator
+     * @param priority the priority used to parse the operation
+     * @return the AST representation of the right hand side
+     * @see #OPERATORS
+     */
+    private ASTExpression parseOperation(final Operator operator, final int priority) {
+        return switch (operator.kind()) {
+            case CALL       -> parseFunctionCall();
+            case SUBSCRIPT  -> parseSubscript(priority);
+            case TERNARY    -> parseTernary();
+            case TYPE       -> { advance(); yield parseType(); }
+            case BINARY,
+                 ASSIGNMENT -> { advance(); yield parseBlockExpression(operator.rhsPriority()); }
+        };
+    }
+
+    /**
+     * Returns whether the given type represents an operator that can
+     * be overloaded. The assignment operators cannot be overloaded.
      *
      * @param type the type to be checked
-     * @return whether the given type is an operator
+     * @return whether the given type is an overloadable operator
      */
     private boolean isOperator(final TokenType type) {
-        return type == TokenType.DOT              ||
-               type == TokenType.ARROW            ||
-               type == TokenType.PIPE             ||
-               type == TokenType.LEFT_SHIFT       ||
-               type == TokenType.RIGHT_SHIFT      ||
-               type == TokenType.DOUBLE_QUESTION  ||
-               type == TokenType.QUESTION         ||
-               type == TokenType.PLUS             ||
-               type == TokenType.MINUS            ||
-               type == TokenType.STAR             ||
-               type == TokenType.SLASH            ||
-               type == TokenType.PERCENT          ||
-               type == TokenType.LESS             ||
-               type == TokenType.LESS_OR_EQUAL    ||
-               type == TokenType.GREATER          ||
-               type == TokenType.GREATER_OR_EQUAL ||
-               type == TokenType.EQUALS           ||
-               type == TokenType.NOT_EQUAL        ||
-               type == TokenType.AMPERSAND        ||
-               type == TokenType.AND              ||
-               type == TokenType.OR               ||
-               type == TokenType.LEFT_BRACKET     ||
-               type == TokenType.IS;
+        final var operator = OPERATORS[type.ordinal()];
+
+        return operator != null && operator.kind() != OperatorKind.ASSIGNMENT;
     }
 
     /**
@@ -1332,17 +1405,17 @@ public class Parser {
         final var type = current.type();
         if (type == TokenType.AMPERSAND) {
             if (next.type() != TokenType.IDENTIFIER) {
-                lhs = new ASTUnaryOperator(current.beginPos(), TokenType.AMPERSAND,
-                        combine(new ASTName(current.endPos(), next.beginPos()),
-                                new ASTMissing(current.endPos(), next.beginPos(), "Missing identifier!", TokenType.IDENTIFIER)));
+                lhs = new ASTUnaryOperator(current.begin(), TokenType.AMPERSAND,
+                        combine(new ASTName(current.end(), next.begin()),
+                                new ASTMissing(current.end(), next.begin(), "Missing identifier!", TokenType.IDENTIFIER)));
             } else {
                 advance();
-                lhs = new ASTUnaryOperator(previous.beginPos(), TokenType.AMPERSAND, new ASTName(current));
+                lhs = new ASTUnaryOperator(previous.begin(), TokenType.AMPERSAND, new ASTName(current));
                 advance();
             }
         } else if (type == TokenType.STAR) {
             advance();
-            lhs = new ASTUnaryOperator(previous.beginPos(), TokenType.STAR, parseBlockExpression(1));
+            lhs = new ASTUnaryOperator(previous.begin(), TokenType.STAR, parseBlockExpression(1));
         } else if (priority >= 2 && (type == TokenType.PLUS   ||
                                      type == TokenType.MINUS  ||
                                      type == TokenType.SIZEOF ||
@@ -1355,17 +1428,24 @@ public class Parser {
             if (type == TokenType.SIZEOF && current.type() == TokenType.RIGHT_PAREN) {
                 advance();
             }
-            lhs = new ASTUnaryOperator(previous.beginPos(), type, expression);
+            lhs = new ASTUnaryOperator(previous.begin(), type, expression);
 
             if (type == TokenType.PLUS) { return lhs; }
         } else {
             lhs = parseSimpleExpression(priority);
         }
 
+        final var assignable = type == TokenType.IDENTIFIER && lhs instanceof ASTName;
+
         ASTExpression previousExpression = lhs;
 
         Token lastToken = null;
-        for (TokenType operatorType = current.type(); isOperator(operatorType) && !isStopToken(current); operatorType = current.type()) {
+        for (var operator = OPERATORS[current.type().ordinal()]; operator != null; operator = OPERATORS[current.type().ordinal()]) {
+            if (operator.kind() == OperatorKind.ASSIGNMENT) {
+                if (!assignable || previousExpression != lhs) break;
+            } else if (isStopToken(current)) {
+                break;
+            }
             if (current == lastToken) {
                 previousExpression = combine(previousExpression, new ASTWrong(current, "Unexpected token 3", null));
                 advance();
@@ -1373,9 +1453,10 @@ public class Parser {
             } else {
                 lastToken = current;
             }
-            final var rhs = parseOperation(priority);
-            if (rhs == null) break;
-            previousExpression = new ASTOperation(previousExpression, rhs, operatorType);
+            if (priority < operator.priority()) break;
+
+            final var operatorType = current.type();
+            previousExpression = new ASTOperation(previousExpression, parseOperation(operator, priority), operatorType);
         }
 
         return previousExpression;
@@ -1391,7 +1472,7 @@ public class Parser {
         final ASTExpression toReturn;
 
         if (current.type() != TokenType.SEMICOLON) {
-            toReturn = combine(expression, new ASTMissing(previous.endPos(), current.beginPos(), "Missing ';'", TokenType.SEMICOLON));
+            toReturn = combine(expression, new ASTMissing(previous.end(), current.begin(), "Missing ';'", TokenType.SEMICOLON));
         } else {
             advance();
             toReturn = expression;
@@ -1426,7 +1507,7 @@ public class Parser {
         final ASTExpression variable;
 
         if (current.type() == TokenType.LET) {
-            final var begin = current.beginPos();
+            final var begin = current.begin();
             advance();
 
             final var name = parseName();
@@ -1435,7 +1516,7 @@ public class Parser {
                 advance();
                 type = parseType();
             } else if (next.type() == TokenType.ASSIGNMENT && (current.type() == TokenType.IDENTIFIER || isType(current.type()))) {
-                final var missing = new ASTMissing(previous.endPos(), current.beginPos(), "Missing ':'", TokenType.COLON);
+                final var missing = new ASTMissing(previous.end(), current.begin(), "Missing ':'", TokenType.COLON);
                 type = combine(parseType(), missing);
             } else {
                 type = null;
@@ -1505,7 +1586,7 @@ public class Parser {
             case RETURN       -> toReturn = assertSemicolon(parseReturn());
             case TRY          -> toReturn = parseTryCatch();
             case SEMICOLON    -> {
-                return assertSemicolon(new ASTEmpty(current.beginPos(), current.endPos()));
+                return assertSemicolon(new ASTEmpty(current.begin(), current.end()));
             }
 
             default -> toReturn = assertSemicolon(parseBlockExpression(99));
@@ -1521,10 +1602,10 @@ public class Parser {
      */
     private ASTExpression parseBlock() {
         final var block = new ArrayList<ASTExpression>();
-        final var begin = current.beginPos();
+        final var begin = current.begin();
 
         if (current.type() != TokenType.LEFT_CURLY) {
-            block.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '{'", TokenType.LEFT_CURLY));
+            block.add(new ASTMissing(previous.end(), current.begin(), "Missing '{'", TokenType.LEFT_CURLY));
         } else {
             advance();
         }
@@ -1542,12 +1623,12 @@ public class Parser {
             block.add(parseInstruction());
         }
         if (current.type() == TokenType.EOF) {
-            block.add(new ASTMissing(previous.endPos(), current.beginPos(), "Missing '}'", TokenType.RIGHT_CURLY));
+            block.add(new ASTMissing(previous.end(), current.begin(), "Missing '}'", TokenType.RIGHT_CURLY));
         } else {
             advance();
         }
 
-        return new ASTBlock(begin, previous.endPos(), block);
+        return new ASTBlock(begin, previous.end(), block);
     }
 
     /**
@@ -1634,9 +1715,337 @@ public class Parser {
      * @return a list with all expressions that have been read
      */
     public List<ASTExpression> parse() {
-        return parse(TokenType.EOF);
+        return parseFile().getExpressions();
+    }
+
+    /**
+     * Parses the whole source code.
+     *
+     * @return the result of the parsing
+     * @see #parseFile(ParseResult)
+     */
+    public ParseResult parseFile() {
+        return parseFile(null);
+    }
+
+    /**
+     * Parses the whole source code, reusing the top level expressions
+     * of the given previous result that are not affected by the changes
+     * of the source code. The changed range is determined by comparing
+     * the previous source code with the current one. The result is the
+     * same as the one of a full parse.
+     * <p>
+     * The given result is not changed, the reused expressions behind the
+     * changes are moved copies. If the previous tokens have been
+     * interned by another symbol table, nothing is reused.
+     *
+     * @param previous the result of parsing a previous version of the source code
+     * @return the result of the parsing
+     */
+    public ParseResult parseFile(final ParseResult previous) {
+        final var result = new ParseResult(tokens);
+
+        int count = 0, shift = 0, delta = 0, syncIndex = Integer.MAX_VALUE;
+        if (previous != null && previous.getTokens().getSymbolTable() == tokens.getSymbolTable()) {
+            final var oldTokens = previous.getTokens();
+            final var oldSource = oldTokens.getSource();
+            final var source    = tokens.getSource();
+            final var maximum   = Math.min(oldSource.length(), source.length());
+
+            int prefix = 0;
+            while (prefix < maximum && oldSource.charAt(prefix) == source.charAt(prefix)) ++prefix;
+            int suffix = 0;
+            while (suffix < maximum - prefix &&
+                    oldSource.charAt(oldSource.length() - suffix - 1) == source.charAt(source.length() - suffix - 1)) {
+                ++suffix;
+            }
+            delta = source.length() - oldSource.length();
+
+            int unchanged = 0;
+            while (unchanged < tokens.size() && unchanged < oldTokens.size()
+                    && tokens.end(unchanged) < prefix
+                    && tokens.type(unchanged) == oldTokens.type(unchanged)
+                    && tokens.begin(unchanged) == oldTokens.begin(unchanged)
+                    && tokens.end(unchanged) == oldTokens.end(unchanged)) {
+                ++unchanged;
+            }
+            final var expressions = previous.getExpressions();
+            while (count < expressions.size() && previous.getNext(count + 1) < unchanged) {
+                result.add(expressions.get(count), previous.getStart(count), previous.getNext(count), previous.isStalled(count));
+                result.countReused();
+                ++count;
+            }
+            if (count > 0) {
+                seek(previous.getStart(count));
+            }
+
+            final var syncBegin = source.length() - suffix;
+            for (int i = tokens.firstEndingAfter(syncBegin); i < tokens.size(); ++i) {
+                if (tokens.begin(i) < syncBegin) continue;
+
+                final var oldIndex = oldTokens.firstEndingAfter(tokens.begin(i) - delta);
+                if (oldIndex < oldTokens.size() && oldTokens.begin(oldIndex) == tokens.begin(i) - delta) {
+                    syncIndex = i;
+                    shift     = i - oldIndex;
+                    break;
+                }
+            }
+        }
+
+        Token lastToken = count > 0 && previous.isStalled(count) ? current : null;
+        while (current.type() != TokenType.EOF) {
+            if (previousIndex >= syncIndex) {
+                final var stalled = current == lastToken;
+                final var reuse = previous.indexOf(currentIndex - shift, stalled);
+                if (reuse >= 0) {
+                    final var expressions = previous.getExpressions();
+                    for (int i = reuse; i < expressions.size(); ++i) {
+                        result.add(move(expressions.get(i), delta), previous.getStart(i) + shift, previous.getNext(i) + shift, previous.isStalled(i));
+                        result.countReused();
+                    }
+                    result.finish(previous.getStart(expressions.size()) + shift, previous.getNext(expressions.size()) + shift);
+                    return result;
+                }
+            }
+            lastToken = parseNext(result, lastToken);
+        }
+        result.finish(currentIndex, index);
+
+        return result;
+    }
+
+    /**
+     * Parses the next top level expression and adds it to the given result.
+     * If the parser did not advance since the given last token, the current
+     * token is skipped instead.
+     *
+     * @param result    the result to add the expression to
+     * @param lastToken the token at the beginning of the previous top level expression
+     * @return the token at the beginning of the parsed top level expression
+     */
+    private Token parseNext(final ParseResult result, final Token lastToken) {
+        final var startIndex = currentIndex;
+        final var nextIndex  = index;
+        if (current == lastToken) {
+            result.add(new ASTWrong(current, "Unexpected token 1", null), startIndex, nextIndex, true);
+            advance();
+            return lastToken;
+        }
+        final var token = current;
+        result.add(parseExpression(), startIndex, nextIndex, false);
+        return token;
+    }
+
+    /**
+     * Parses the top level expressions beginning at the given token,
+     * until a top level expression begins at or after the given end.
+     *
+     * @param start the index of the first token
+     * @param end   the index of the token ending the range
+     * @return the result of the parsing
+     */
+    private ParseResult parseRange(final int start, final int end) {
+        final var result = new ParseResult(tokens);
+
+        seek(start);
+        Token lastToken = null;
+        while (current.type() != TokenType.EOF && currentIndex < end) {
+            lastToken = parseNext(result, lastToken);
+        }
+        result.finish(currentIndex, index);
+
+        return result;
     }
 
+    /**
+     * Searches the tokens for the beginnings of top level expressions
+     * at which the source code can be split into chunks. A chunk spans
+     * at least the given amount of tokens.
+     * <br>
+     * The beginning of a top level expression is assumed after a semicolon
+     * or a closing curly bracket outside of any brackets. If the brackets
+     * are not balanced, the top level expressions cannot be determined
+     * and {@code null} is returned.
+     *
+     * @param begin     the index of the first token
+     * @param chunkSize the minimal amount of tokens of a chunk
+     * @return the indices of the found tokens or {@code null}
+     */
+    private List<Integer> findSplitPoints(final int begin, final int chunkSize) {
+        final var points = new ArrayList<Integer>();
+
+        int curly = 0, paren = 0, bracket = 0, last = begin;
+        boolean boundary = false;
+        for (int i = begin; i < tokens.size(); ++i) {
+            final var type = tokens.type(i);
+            if (type == TokenType.COMMENT_BLOCK || type == TokenType.COMMENT_LINE) continue;
+
+            if (boundary && type != TokenType.SEMICOLON && i - last >= chunkSize) {
+                points.add(i);
+                last = i;
+            }
+            switch (type) {
+                case LEFT_CURLY    -> ++curly;
+                case RIGHT_CURLY   -> --curly;
+                case LEFT_PAREN    -> ++paren;
+                case RIGHT_PAREN   -> --paren;
+                case LEFT_BRACKET  -> ++bracket;
+                case RIGHT_BRACKET -> --bracket;
+            }
+            if (curly < 0 || paren < 0 || bracket < 0) {
+                return null;
+            }
+            boundary = (type == TokenType.SEMICOLON || type == TokenType.RIGHT_CURLY) &&
+                       curly == 0 && paren == 0 && bracket == 0;
+        }
+        return curly == 0 && paren == 0 && bracket == 0 ? points : null;
+    }
+
+    /**
+     * Parses the whole source code, using the given {@link ForkJoinPool}
+     * to parse chunks of it concurrently. The source code is split at the
+     * beginnings of top level expressions found by a quick scan over the
+     * tokens. The result is the same as the one of {@link #parseFile()}.
+     * <br>
+     * If the pool cannot run chunks in parallel, the scan cannot find the top
+     * level expressions, or the source code is too small to be split, it is
+     * parsed sequentially. If the parsing of
+     * a chunk did not begin in the same state as the sequential parsing would
+     * have, the chunk is parsed again sequentially, until the state is the
+     * same as at the beginning of one of its top level expressions. A chunk
+     * whose parsing failed is reported to the {@link Diagnostics} and parsed
+     * again sequentially as a whole.
+     *
+     * @param pool the pool used to parse the chunks
+     * @return the result of the parsing
+     */
+    public ParseResult parseConcurrently(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool must not be null!");
+        }
+
+        if (pool.getParallelism() < 2 || tokens.size() < 2 * MIN_CHUNK_SIZE) {
+            return parseFile();
+        }
+
+        final var chunkSize = Math.max(MIN_CHUNK_SIZE, tokens.size() / (pool.getParallelism() * 4));
+        final var points    = findSplitPoints(currentIndex, chunkSize);
+        if (points == null || points.isEmpty()) {
+            return parseFile();
+        }
+
+        final var bounds = new int[points.size() + 2];
+        bounds[0]                 = currentIndex;
+        bounds[bounds.length - 1] = Integer.MAX_VALUE;
+        for (int i = 0; i < points.size(); ++i) {
+            bounds[i + 1] = points.get(i);
+        }
+        final var tasks = new ArrayList<Callable<ParseResult>>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; ++i) {
+            final var begin = bounds[i];
+            final var end   = bounds[i + 1];
+            tasks.add(() -> new Parser(tokens).parseRange(begin, end));
+        }
+        final var chunks = new ParseResult[tasks.size()];
+        try {
+            final var futures = pool.invokeAll(tasks);
+            for (int i = 0; i < chunks.length; ++i) {
+                try {
+                    chunks[i] = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    Diagnostics.error("Parser", "Could not parse the tokens " + bounds[i] + " to " +
+                                      Math.min(bounds[i + 1], tokens.size()) + " concurrently, parsing them sequentially",
+                                      e.getCause());
+                }
+            }
+        } catch (InterruptedException __) {
+            Thread.currentThread().interrupt();
+            return parseFile();
+        }
+        return stitch(chunks, bounds);
+    }
+
+    /**
+     * Stitches the given concurrently parsed chunks together. The
+     * parts of the source code at which the state of a chunk does not
+     * match the state of a sequential parsing are parsed sequentially.
+     *
+     * @param chunks the parsed chunks, {@code null} for chunks that failed
+     * @param bounds the indices of the first tokens of the chunks
+     * @return the result of the parsing
+     * @see #parseConcurrently(ForkJoinPool)
+     */
+    private ParseResult stitch(final ParseResult[] chunks, final int[] bounds) {
+        final var result = new ParseResult(tokens);
+
+        int     start     = currentIndex, chunk = 0;
+        boolean stalled   = false, positioned = true;
+        Token   lastToken = null;
+        while (tokens.type(start) != TokenType.EOF) {
+            while (start >= bounds[chunk + 1]) ++chunk;
+
+            final var parsed = chunks[chunk];
+            final var reuse  = parsed == null ? -1 : parsed.indexOf(start, stalled);
+            if (reuse >= 0) {
+                final var expressions = parsed.getExpressions();
+                for (int i = reuse; i < expressions.size(); ++i) {
+                    result.add(expressions.get(i), parsed.getStart(i), parsed.getNext(i), parsed.isStalled(i));
+                }
+                final var last = expressions.size() - 1;
+                start      = parsed.getStart(last + 1);
+                stalled    = start == parsed.getStart(last) && !parsed.isStalled(last);
+                positioned = false;
+            } else {
+                if (!positioned) {
+                    seek(start);
+                    lastToken  = stalled ? current : null;
+                    positioned = true;
+                }
+                lastToken = parseNext(result, lastToken);
+                start     = currentIndex;
+                stalled   = current == lastToken;
+            }
+        }
+        if (!positioned) {
+            seek(start);
+        }
+        result.finish(currentIndex, index);
+
+        return result;
+    }
+
+    /**
+     * This enumeration contains the kinds of operators.
+     *
+     * @author agent
+     * @since 18.10.26
+     */
+    private enum OperatorKind {
+        /** A binary operator.              */
+        BINARY,
+        /** An assignment operator.         */
+        ASSIGNMENT,
+        /** A function call operator.       */
+        CALL,
+        /** A subscript operator.           */
+        SUBSCRIPT,
+        /** The ternary operator.           */
+        TERNARY,
+        /** An operator followed by a type. */
+        TYPE
+    }
+
+    /**
+     * This record describes how an operator is parsed.
+     *
+     * @param kind        the kind of the operator
+     * @param priority    the lowest priority at which the operator is applied
+     * @param rhsPriority the priority used to parse the right hand side
+     * @author agent
+     * @since 18.10.26
+     */
+    private record Operator(OperatorKind kind, int priority, int rhsPriority) {}
+
     /**
      * This class represents a dummy starting token.
      *
@@ -1649,7 +2058,7 @@ public class Parser {
          *
          * @param position the position of this dummy token
          */
-        public StartToken(final StreamPosition position) {
+        public StartToken(final int position) {
             super(position, null, null, position);
         }
     }
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 
 /**
@@ -31,7 +29,7 @@ import java.util.List;
  */
 public class ASTArray extends ASTExpression {
     /** The content expressions. */
-    private final List<ASTExpression> content;
+    private List<ASTExpression> content;
 
     /**
      * Constructs this AST node using the given information.
@@ -40,8 +38,8 @@ public class ASTArray extends ASTExpression {
      * @param end     the end position
      * @param content the content expressions
      */
-    public ASTArray(final StreamPosition      begin,
-                    final StreamPosition      end,
+    public ASTArray(final int                 begin,
+                    final int                 end,
                     final List<ASTExpression> content) {
         super(begin, end, ASTType.ARRAY);
 
@@ -57,6 +55,13 @@ public class ASTArray extends ASTExpression {
         return content;
     }
 
+    @Override
+    public ASTArray copy(final int delta) {
+        final var copy = (ASTArray) super.copy(delta);
+        copy.content = copyAll(content, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 
 /**
@@ -31,7 +29,7 @@ import java.util.List;
  */
 public class ASTBlock extends ASTExpression {
     /** The list of expressions in this block. */
-    private final List<ASTExpression> body;
+    private List<ASTExpression> body;
 
     /**
      * Constructs this AST node using the given information.
@@ -40,8 +38,8 @@ public class ASTBlock extends ASTExpression {
      * @param end   the end position
      * @param body  the expressions of this block
      */
-    public ASTBlock(final StreamPosition      begin,
-                    final StreamPosition      end,
+    public ASTBlock(final int                 begin,
+                    final int                 end,
                     final List<ASTExpression> body) {
         super(begin, end, ASTType.BLOCK);
 
@@ -57,6 +55,13 @@ public class ASTBlock extends ASTExpression {
         return body;
     }
 
+    @Override
+    public ASTBlock copy(final int delta) {
+        final var copy = (ASTBlock) super.copy(delta);
+        copy.body = copyAll(body, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
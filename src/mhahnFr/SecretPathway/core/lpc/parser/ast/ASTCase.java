@@ -31,9 +31,9 @@ import java.util.Vector;
  */
 public class ASTCase extends ASTExpression {
     /** The actual case expression.                */
-    private final ASTExpression caseStatement;
+    private ASTExpression caseStatement;
     /** The expressions associated with this case. */
-    private final ASTExpression[] expressions;
+    private ASTExpression[] expressions;
 
     /**
      * Constructs this AST node using the given information.
@@ -69,6 +69,14 @@ public class ASTCase extends ASTExpression {
         return expressions;
     }
 
+    @Override
+    public ASTCase copy(final int delta) {
+        final var copy = (ASTCase) super.copy(delta);
+        copy.caseStatement = copyOf(caseStatement, delta);
+        copy.expressions   = copyAll(expressions, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,9 +30,9 @@ import java.util.List;
  */
 public class ASTCast extends ASTExpression {
     /** The type to which to cast. */
-    private final ASTExpression type;
+    private ASTExpression type;
     /** The cast expression.       */
-    private final ASTExpression cast;
+    private ASTExpression cast;
 
     /**
      * Constructs this AST node using the given information.
@@ -43,9 +41,9 @@ public class ASTCast extends ASTExpression {
      * @param type  the type to which to cast
      * @param cast  the expression to be cast
      */
-    public ASTCast(final StreamPosition begin,
-                   final ASTExpression  type,
-                   final ASTExpression  cast) {
+    public ASTCast(final int           begin,
+                   final ASTExpression type,
+                   final ASTExpression cast) {
         super(begin, cast.getEnd(), ASTType.CAST);
 
         this.type = type;
@@ -71,6 +69,14 @@ public class ASTCast extends ASTExpression {
         return cast;
     }
 
+    @Override
+    public ASTCast copy(final int delta) {
+        final var copy = (ASTCast) super.copy(delta);
+        copy.type = copyOf(type, delta);
+        copy.cast = copyOf(cast, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
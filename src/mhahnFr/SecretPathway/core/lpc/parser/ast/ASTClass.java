@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 import java.util.Vector;
 
@@ -32,11 +30,11 @@ import java.util.Vector;
  */
 public class ASTClass extends ASTExpression {
     /** The name expression of this class.                */
-    private final ASTExpression name;
+    private ASTExpression name;
     /** The inheritance expression of the shorthand form. */
-    private final ASTExpression inheritance;
+    private ASTExpression inheritance;
     /** The statements of the class.                      */
-    private final List<ASTExpression> statements;
+    private List<ASTExpression> statements;
 
     /**
      * Constructs this class using the inheritance expression
@@ -46,9 +44,9 @@ public class ASTClass extends ASTExpression {
      * @param name        the name expression
      * @param inheritance the inheritance expression
      */
-    public ASTClass(final StreamPosition begin,
-                    final ASTExpression  name,
-                    final ASTExpression  inheritance) {
+    public ASTClass(final int           begin,
+                    final ASTExpression name,
+                    final ASTExpression inheritance) {
         super(begin, (inheritance == null ? name : inheritance).getEnd(), ASTType.AST_CLASS);
 
         this.name        = name;
@@ -64,8 +62,8 @@ public class ASTClass extends ASTExpression {
      * @param name       the name expression
      * @param statements the body
      */
-    public ASTClass(final StreamPosition  begin,
-                    final ASTExpression   name,
+    public ASTClass(final int                 begin,
+                    final ASTExpression       name,
                     final List<ASTExpression> statements) {
         super(begin, (statements.isEmpty() ? name : statements.get(statements.size() - 1)).getEnd(), ASTType.AST_CLASS);
 
@@ -102,6 +100,15 @@ public class ASTClass extends ASTExpression {
         return statements;
     }
 
+    @Override
+    public ASTClass copy(final int delta) {
+        final var copy = (ASTClass) super.copy(delta);
+        copy.name        = copyOf(name, delta);
+        copy.inheritance = copyOf(inheritance, delta);
+        copy.statements  = copyAll(statements, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -30,7 +30,7 @@ import java.util.List;
  */
 public class ASTCombination extends ASTExpression {
     /** The {@link ASTExpression}s this combination is made of. */
-    private final List<ASTExpression> expressions;
+    private List<ASTExpression> expressions;
 
     /**
      * Constructs this expression using the given sub-expressions.
@@ -52,6 +52,13 @@ public class ASTCombination extends ASTExpression {
         return expressions;
     }
 
+    @Override
+    public ASTCombination copy(final int delta) {
+        final var copy = (ASTCombination) super.copy(delta);
+        copy.expressions = copyAll(expressions, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 /**
  * This class represents an empty statement as an AST node.
  *
@@ -34,8 +32,8 @@ public class ASTEmpty extends ASTExpression {
      * @param begin the beginning position
      * @param end   the end position
      */
-    public ASTEmpty(final StreamPosition begin,
-                    final StreamPosition end) {
+    public ASTEmpty(final int begin,
+                    final int end) {
         super(begin, end, ASTType.EMPTY);
     }
 }
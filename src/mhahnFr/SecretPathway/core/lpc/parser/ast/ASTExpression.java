@@ -19,8 +19,7 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,11 +28,11 @@ import java.util.List;
  * @author mhahnFr
  * @since 26.01.23
  */
-public abstract class ASTExpression {
+public abstract class ASTExpression implements Cloneable {
     /** The beginning position of this expression. */
-    private final StreamPosition begin;
+    private int begin;
     /** The end position of this expression.       */
-    private final StreamPosition end;
+    private int end;
     /** The type of this AST node.                 */
     private final ASTType type;
 
@@ -44,7 +43,7 @@ public abstract class ASTExpression {
      * @param end the end position
      * @param type the type of this AST node
      */
-    protected ASTExpression(StreamPosition begin, StreamPosition end, ASTType type) {
+    protected ASTExpression(int begin, int end, ASTType type) {
         this.begin = begin;
         this.end   = end;
         this.type  = type;
@@ -55,7 +54,7 @@ public abstract class ASTExpression {
      *
      * @return the end position
      */
-    public StreamPosition getEnd() {
+    public int getEnd() {
         return end;
     }
 
@@ -64,10 +63,85 @@ public abstract class ASTExpression {
      *
      * @return the beginning position
      */
-    public StreamPosition getBegin() {
+    public int getBegin() {
         return begin;
     }
 
+    /**
+     * Returns a copy of this expression moved by the given amount of
+     * characters. This expression remains unchanged, so it can still be
+     * used by other threads.
+     * <br>
+     * Subclasses containing other expressions must override this method
+     * to copy them as well.
+     *
+     * @param delta the amount of characters to move
+     * @return the moved copy
+     */
+    public ASTExpression copy(final int delta) {
+        final ASTExpression copy;
+        try {
+            copy = (ASTExpression) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+        copy.begin += delta;
+        copy.end   += delta;
+        return copy;
+    }
+
+    /**
+     * Returns a moved copy of the given expression.
+     *
+     * @param expression the expression to be copied, may be {@code null}
+     * @param delta      the amount of characters to move
+     * @return the moved copy or {@code null}
+     * @see #copy(int)
+     */
+    protected static ASTExpression copyOf(final ASTExpression expression, final int delta) {
+        return expression == null ? null : expression.copy(delta);
+    }
+
+    /**
+     * Returns a list with moved copies of the given expressions.
+     *
+     * @param expressions the expressions to be copied, may be {@code null}
+     * @param delta       the amount of characters to move
+     * @return the list with the moved copies or {@code null}
+     * @see #copy(int)
+     */
+    protected static List<ASTExpression> copyAll(final List<ASTExpression> expressions, final int delta) {
+        if (expressions == null) {
+            return null;
+        }
+
+        final var copies = new ArrayList<ASTExpression>(expressions.size());
+        for (final var expression : expressions) {
+            copies.add(copyOf(expression, delta));
+        }
+        return copies;
+    }
+
+    /**
+     * Returns an array with moved copies of the given expressions.
+     *
+     * @param expressions the expressions to be copied, may be {@code null}
+     * @param delta       the amount of characters to move
+     * @return the array with the moved copies or {@code null}
+     * @see #copy(int)
+     */
+    protected static ASTExpression[] copyAll(final ASTExpression[] expressions, final int delta) {
+        if (expressions == null) {
+            return null;
+        }
+
+        final var copies = new ASTExpression[expressions.length];
+        for (int i = 0; i < expressions.length; ++i) {
+            copies[i] = copyOf(expressions[i], delta);
+        }
+        return copies;
+    }
+
     /**
      * Returns the type of this AST node.
      *
@@ -97,7 +171,7 @@ public abstract class ASTExpression {
      * @return a {@link String} describing this AST node human-readable
      */
     public String describe(final int indentation) {
-        return " ".repeat(Math.max(0, indentation)) + type + " [" + begin.position() + " - " + end.position() + "]";
+        return " ".repeat(Math.max(0, indentation)) + type + " [" + begin + " - " + end + "]";
     }
 
     /**
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,13 +30,13 @@ import java.util.List;
  */
 public class ASTFor extends ASTExpression {
     /** The initial expression.     */
-    private final ASTExpression initExpression;
+    private ASTExpression initExpression;
     /** The conditional expression. */
-    private final ASTExpression condition;
+    private ASTExpression condition;
     /** The after expression.       */
-    private final ASTExpression afterExpression;
+    private ASTExpression afterExpression;
     /** The body.                   */
-    private final ASTExpression body;
+    private ASTExpression body;
 
     /**
      * Constructs this AST node using the given information.
@@ -49,11 +47,11 @@ public class ASTFor extends ASTExpression {
      * @param afterExpression the after expression
      * @param body            the body
      */
-    public ASTFor(final StreamPosition begin,
-                  final ASTExpression  initExpression,
-                  final ASTExpression  condition,
-                  final ASTExpression  afterExpression,
-                  final ASTExpression  body) {
+    public ASTFor(final int           begin,
+                  final ASTExpression initExpression,
+                  final ASTExpression condition,
+                  final ASTExpression afterExpression,
+                  final ASTExpression body) {
         super(begin, body.getEnd(), ASTType.AST_FOR);
 
         this.initExpression  = initExpression;
@@ -98,6 +96,16 @@ public class ASTFor extends ASTExpression {
         return body;
     }
 
+    @Override
+    public ASTFor copy(final int delta) {
+        final var copy = (ASTFor) super.copy(delta);
+        copy.initExpression  = copyOf(initExpression, delta);
+        copy.condition       = copyOf(condition, delta);
+        copy.afterExpression = copyOf(afterExpression, delta);
+        copy.body            = copyOf(body, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
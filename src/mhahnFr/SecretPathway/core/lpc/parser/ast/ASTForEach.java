@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,11 +30,11 @@ import java.util.List;
  */
 public class ASTForEach extends ASTExpression {
     /** The variable expression. */
-    private final ASTExpression variable;
+    private ASTExpression variable;
     /** The range expression.    */
-    private final ASTExpression rangeExpression;
+    private ASTExpression rangeExpression;
     /** The body.                */
-    private final ASTExpression body;
+    private ASTExpression body;
 
     /**
      * Constructs this AST node using the given information.
@@ -46,10 +44,10 @@ public class ASTForEach extends ASTExpression {
      * @param rangeExpression the range expression extracting the variable
      * @param body            the body
      */
-    public ASTForEach(final StreamPosition begin,
-                      final ASTExpression  variable,
-                      final ASTExpression  rangeExpression,
-                      final ASTExpression  body) {
+    public ASTForEach(final int           begin,
+                      final ASTExpression variable,
+                      final ASTExpression rangeExpression,
+                      final ASTExpression body) {
         super(begin, body.getEnd(), ASTType.AST_FOREACH);
 
         this.variable        = variable;
@@ -85,6 +83,15 @@ public class ASTForEach extends ASTExpression {
         return body;
     }
 
+    @Override
+    public ASTForEach copy(final int delta) {
+        final var copy = (ASTForEach) super.copy(delta);
+        copy.variable        = copyOf(variable, delta);
+        copy.rangeExpression = copyOf(rangeExpression, delta);
+        copy.body            = copyOf(body, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 import java.util.Vector;
 
@@ -32,9 +30,9 @@ import java.util.Vector;
  */
 public class ASTFunctionCall extends ASTExpression {
     /** The name of the called function.                       */
-    private final ASTExpression name;
+    private ASTExpression name;
     /** The expressions whose result are passed as parameters. */
-    private final List<ASTExpression> arguments;
+    private List<ASTExpression> arguments;
 
     /**
      * Constructs this function call AST node using the given
@@ -46,7 +44,7 @@ public class ASTFunctionCall extends ASTExpression {
      */
     public ASTFunctionCall(final ASTExpression       name,
                            final List<ASTExpression> arguments,
-                           final StreamPosition      end) {
+                           final int                 end) {
         super(name.getBegin(), end, ASTType.FUNCTION_CALL);
 
         this.name      = name;
@@ -71,6 +69,14 @@ public class ASTFunctionCall extends ASTExpression {
         return arguments;
     }
 
+    @Override
+    public ASTFunctionCall copy(final int delta) {
+        final var copy = (ASTFunctionCall) super.copy(delta);
+        copy.name      = copyOf(name, delta);
+        copy.arguments = copyAll(arguments, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
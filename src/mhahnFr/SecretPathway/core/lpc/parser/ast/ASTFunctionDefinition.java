@@ -30,15 +30,15 @@ import java.util.Vector;
  */
 public class ASTFunctionDefinition extends ASTExpression {
     /** The declared modifiers of this function.   */
-    private final List<ASTExpression> modifiers;
+    private List<ASTExpression> modifiers;
     /** The declared return type of this function. */
-    private final ASTExpression type;
+    private ASTExpression type;
     /** The declared name of this function.        */
-    private final ASTExpression name;
+    private ASTExpression name;
     /** The declared parameters.                   */
-    private final List<ASTExpression> parameters;
+    private List<ASTExpression> parameters;
     /** The body of this declared function.        */
-    private final ASTExpression body;
+    private ASTExpression body;
 
     /**
      * Constructs this AST node using the given information.
@@ -110,6 +110,17 @@ public class ASTFunctionDefinition extends ASTExpression {
         return body;
     }
 
+    @Override
+    public ASTFunctionDefinition copy(final int delta) {
+        final var copy = (ASTFunctionDefinition) super.copy(delta);
+        copy.modifiers  = copyAll(modifiers, delta);
+        copy.type       = copyOf(type, delta);
+        copy.name       = copyOf(name, delta);
+        copy.parameters = copyAll(parameters, delta);
+        copy.body       = copyOf(body, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -22,7 +22,6 @@ package mhahnFr.SecretPathway.core.lpc.parser.ast;
 import mhahnFr.SecretPathway.core.lpc.interpreter.ReturnType;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
-import mhahnFr.utils.StreamPosition;
 
 import java.util.List;
 
@@ -36,7 +35,7 @@ public class ASTFunctionReferenceType extends ASTTypeDefinition {
     /** The return type of the referred function.           */
     private final TokenType returnType;
     /** The potential argument types.                       */
-    private final List<ASTExpression> callTypes;
+    private List<ASTExpression> callTypes;
     /** Indicates whether the return type is an array type. */
     private final boolean returnArray;
 
@@ -50,8 +49,8 @@ public class ASTFunctionReferenceType extends ASTTypeDefinition {
     public ASTFunctionReferenceType(final Token               returnType,
                                     final boolean             array,
                                     final List<ASTExpression> callTypes,
-                                    final StreamPosition      end) {
-        super(returnType.beginPos(), end, ASTType.FUNCTION_REFERENCE);
+                                    final int                 end) {
+        super(returnType.begin(), end, ASTType.FUNCTION_REFERENCE);
 
         this.returnType  = returnType.type();
         this.callTypes   = callTypes;
@@ -85,6 +84,13 @@ public class ASTFunctionReferenceType extends ASTTypeDefinition {
         return returnArray;
     }
 
+    @Override
+    public ASTFunctionReferenceType copy(final int delta) {
+        final var copy = (ASTFunctionReferenceType) super.copy(delta);
+        copy.callTypes = copyAll(callTypes, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
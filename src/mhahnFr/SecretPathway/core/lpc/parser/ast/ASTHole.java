@@ -20,7 +20,6 @@
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.HighlightType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents a hole as an AST node.
@@ -43,8 +42,8 @@ public abstract class ASTHole extends ASTExpression {
      * @param self     the type of the overriding class
      * @param expected the instead expected type
      */
-    protected ASTHole(final StreamPosition     begin,
-                      final StreamPosition     end,
+    protected ASTHole(final int     begin,
+                      final int     end,
                       final String             message,
                       final ASTType            self,
                       final HighlightType expected) {
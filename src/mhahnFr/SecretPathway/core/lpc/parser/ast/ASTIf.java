@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,11 +30,11 @@ import java.util.List;
  */
 public class ASTIf extends ASTExpression {
     /** The condition expression.      */
-    private final ASTExpression condition;
+    private ASTExpression condition;
     /** The if instruction.            */
-    private final ASTExpression instruction;
+    private ASTExpression instruction;
     /** The optional else instruction. */
-    private final ASTExpression elseInstruction;
+    private ASTExpression elseInstruction;
 
     /**
      * Constructs this AST node using the given information.
@@ -46,10 +44,10 @@ public class ASTIf extends ASTExpression {
      * @param instruction     the instruction
      * @param elseInstruction the optional {@code else} instruction
      */
-    public ASTIf(final StreamPosition begin,
-                 final ASTExpression  condition,
-                 final ASTExpression  instruction,
-                 final ASTExpression  elseInstruction) {
+    public ASTIf(final int           begin,
+                 final ASTExpression condition,
+                 final ASTExpression instruction,
+                 final ASTExpression elseInstruction) {
         super(begin, elseInstruction == null ? instruction.getEnd() : elseInstruction.getEnd(), ASTType.AST_IF);
 
         this.condition       = condition;
@@ -85,6 +83,15 @@ public class ASTIf extends ASTExpression {
         return elseInstruction;
     }
 
+    @Override
+    public ASTIf copy(final int delta) {
+        final var copy = (ASTIf) super.copy(delta);
+        copy.condition       = copyOf(condition, delta);
+        copy.instruction     = copyOf(instruction, delta);
+        copy.elseInstruction = copyOf(elseInstruction, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Collections;
 import java.util.List;
 
@@ -32,7 +30,7 @@ import java.util.List;
  */
 public class ASTInclude extends ASTExpression {
     /** The raw value of the inclusion. */
-    private final ASTExpression included;
+    private ASTExpression included;
 
     /**
      * Constructs this AST node using the given positions and
@@ -42,9 +40,9 @@ public class ASTInclude extends ASTExpression {
      * @param end      the end position
      * @param included the inclusion string
      */
-    public ASTInclude(final StreamPosition begin,
-                      final StreamPosition end,
-                      final ASTExpression  included) {
+    public ASTInclude(final int           begin,
+                      final int           end,
+                      final ASTExpression included) {
         super(begin, end, ASTType.AST_INCLUDE);
 
         this.included = included;
@@ -59,6 +57,13 @@ public class ASTInclude extends ASTExpression {
         return included;
     }
 
+    @Override
+    public ASTInclude copy(final int delta) {
+        final var copy = (ASTInclude) super.copy(delta);
+        copy.included = copyOf(included, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
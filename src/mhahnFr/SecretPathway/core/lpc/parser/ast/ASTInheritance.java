@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Collections;
 import java.util.List;
 
@@ -32,7 +30,7 @@ import java.util.List;
  */
 public class ASTInheritance extends ASTExpression {
     /** The inheritance string. */
-    private final ASTExpression inherited;
+    private ASTExpression inherited;
 
     /**
      * Constructs this AST node using the given positions
@@ -42,9 +40,9 @@ public class ASTInheritance extends ASTExpression {
      * @param end       the end position
      * @param inherited the inheritance string
      */
-    public ASTInheritance(final StreamPosition begin,
-                          final StreamPosition end,
-                          final ASTExpression  inherited) {
+    public ASTInheritance(final int           begin,
+                          final int           end,
+                          final ASTExpression inherited) {
         super(begin, end, ASTType.AST_INHERITANCE);
 
         this.inherited = inherited;
@@ -59,6 +57,13 @@ public class ASTInheritance extends ASTExpression {
         return inherited;
     }
 
+    @Override
+    public ASTInheritance copy(final int delta) {
+        final var copy = (ASTInheritance) super.copy(delta);
+        copy.inherited = copyOf(inherited, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -20,7 +20,6 @@
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.HighlightType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents a missing statement in the AST.
@@ -40,10 +39,10 @@ public class ASTMissing extends ASTHole {
      * @param message  the message what node is missing
      * @param expected the instead expected AST type
      */
-    public ASTMissing(final StreamPosition begin,
-                      final StreamPosition end,
-                      final String         message,
-                      final HighlightType  expected) {
+    public ASTMissing(final int           begin,
+                      final int           end,
+                      final String        message,
+                      final HighlightType expected) {
         super(begin, end, message, ASTType.MISSING, expected);
 
         this.message = message;
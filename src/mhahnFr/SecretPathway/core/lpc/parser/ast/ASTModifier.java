@@ -21,7 +21,6 @@ package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents a modifier as an AST node.
@@ -40,7 +39,7 @@ public class ASTModifier extends ASTExpression {
      * @param modifier the modifier token to be represented
      */
     public ASTModifier(final Token modifier) {
-        super(modifier.beginPos(), modifier.endPos(), ASTType.MODIFIER);
+        super(modifier.begin(), modifier.end(), ASTType.MODIFIER);
 
         this.modifier = modifier.type();
     }
@@ -51,8 +50,8 @@ public class ASTModifier extends ASTExpression {
      * @param begin the beginning position
      * @param end   the end position
      */
-    public ASTModifier(final StreamPosition begin,
-                       final StreamPosition end) {
+    public ASTModifier(final int begin,
+                       final int end) {
         super(begin, end, ASTType.MODIFIER);
 
         this.modifier = null;
@@ -19,8 +19,8 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.SymbolTable;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents a name as an AST node.
@@ -29,8 +29,10 @@ import mhahnFr.utils.StreamPosition;
  * @since 02.02.23
  */
 public class ASTName extends ASTExpression {
-    /** The represented name. */
+    /** The represented name.               */
     private final String name;
+    /** The symbol of the represented name. */
+    private final int symbol;
 
     /**
      * Constructs this node using the name token to be
@@ -39,9 +41,10 @@ public class ASTName extends ASTExpression {
      * @param name the name token to be represented
      */
     public ASTName(final Token name) {
-        super(name.beginPos(), name.endPos(), ASTType.NAME);
+        super(name.begin(), name.end(), ASTType.NAME);
 
-        this.name = (String) name.payload();
+        this.name   = (String) name.payload();
+        this.symbol = name.symbol();
     }
 
     /**
@@ -50,11 +53,12 @@ public class ASTName extends ASTExpression {
      * @param begin the beginning position
      * @param end   the end position
      */
-    public ASTName(final StreamPosition begin,
-                   final StreamPosition end) {
+    public ASTName(final int begin,
+                   final int end) {
         super(begin, end, ASTType.NAME);
 
-        this.name = null;
+        this.name   = null;
+        this.symbol = SymbolTable.NONE;
     }
 
     /**
@@ -66,6 +70,16 @@ public class ASTName extends ASTExpression {
         return name;
     }
 
+    /**
+     * Returns the symbol of the represented name. If no name
+     * is represented, {@link SymbolTable#NONE} is returned.
+     *
+     * @return the symbol of the name
+     */
+    public int getSymbol() {
+        return symbol;
+    }
+
     @Override
     public String describe(int indentation) {
         return super.describe(indentation) + " " + name;
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 import java.util.Vector;
 
@@ -32,9 +30,9 @@ import java.util.Vector;
  */
 public class ASTNew extends ASTExpression {
     /** The instancing expression. */
-    private final ASTExpression instancingExpression;
+    private ASTExpression instancingExpression;
     /** The argument expressions.  */
-    private final List<ASTExpression> arguments;
+    private List<ASTExpression> arguments;
 
     /**
      * Constructs this AST node using the given information.
@@ -44,8 +42,8 @@ public class ASTNew extends ASTExpression {
      * @param instancingExpression the instancing expression
      * @param arguments            the argument expressions
      */
-    public ASTNew(final StreamPosition      begin,
-                  final StreamPosition      end,
+    public ASTNew(final int                 begin,
+                  final int                 end,
                   final ASTExpression       instancingExpression,
                   final List<ASTExpression> arguments) {
         super(begin, end, ASTType.AST_NEW);
@@ -72,6 +70,14 @@ public class ASTNew extends ASTExpression {
         return arguments;
     }
 
+    @Override
+    public ASTNew copy(final int delta) {
+        final var copy = (ASTNew) super.copy(delta);
+        copy.instancingExpression = copyOf(instancingExpression, delta);
+        copy.arguments            = copyAll(arguments, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
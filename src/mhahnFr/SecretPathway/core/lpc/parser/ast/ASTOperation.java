@@ -32,9 +32,9 @@ import java.util.List;
  */
 public class ASTOperation extends ASTExpression {
     /** The left hand side expression.         */
-    private final ASTExpression lhs;
+    private ASTExpression lhs;
     /** The right hand side expression.        */
-    private final ASTExpression rhs;
+    private ASTExpression rhs;
     /** The type of the represented operation. */
     private final TokenType operatorType;
 
@@ -82,6 +82,14 @@ public class ASTOperation extends ASTExpression {
         return operatorType;
     }
 
+    @Override
+    public ASTOperation copy(final int delta) {
+        final var copy = (ASTOperation) super.copy(delta);
+        copy.lhs = copyOf(lhs, delta);
+        copy.rhs = copyOf(rhs, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
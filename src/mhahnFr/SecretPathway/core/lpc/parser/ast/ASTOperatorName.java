@@ -21,7 +21,6 @@ package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents an operator identifier as an AST node.
@@ -39,9 +38,9 @@ public class ASTOperatorName extends ASTExpression {
      * @param begin    the beginning position
      * @param operator the represented operator
      */
-    public ASTOperatorName(final StreamPosition begin,
-                           final Token          operator) {
-        super(begin, operator.endPos(), ASTType.OPERATOR_NAME);
+    public ASTOperatorName(final int   begin,
+                           final Token operator) {
+        super(begin, operator.end(), ASTType.OPERATOR_NAME);
 
         this.type = operator.type();
     }
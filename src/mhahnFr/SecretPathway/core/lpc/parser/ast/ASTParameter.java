@@ -31,9 +31,9 @@ import java.util.List;
  */
 public class ASTParameter extends ASTExpression {
     /** The declared type of this parameter. */
-    private final ASTExpression type;
+    private ASTExpression type;
     /** The declared name of this parameter. */
-    private final ASTExpression name;
+    private ASTExpression name;
 
     /**
      * Constructs this AST node using the given information.
@@ -67,6 +67,14 @@ public class ASTParameter extends ASTExpression {
         return name;
     }
 
+    @Override
+    public ASTParameter copy(final int delta) {
+        final var copy = (ASTParameter) super.copy(delta);
+        copy.type = copyOf(type, delta);
+        copy.name = copyOf(name, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
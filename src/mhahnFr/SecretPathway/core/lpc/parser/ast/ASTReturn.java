@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Collections;
 import java.util.List;
 
@@ -32,7 +30,7 @@ import java.util.List;
  */
 public class ASTReturn extends ASTExpression {
     /** The returned expression. */
-    private final ASTExpression returned;
+    private ASTExpression returned;
 
     /**
      * Constructs this AST node using the given information.
@@ -41,9 +39,9 @@ public class ASTReturn extends ASTExpression {
      * @param returned the returned expression
      * @param end      the end of this expression
      */
-    public ASTReturn(final StreamPosition begin,
-                     final ASTExpression  returned,
-                     final StreamPosition end) {
+    public ASTReturn(final int           begin,
+                     final ASTExpression returned,
+                     final int           end) {
         super(begin, end, ASTType.AST_RETURN);
 
         this.returned = returned;
@@ -58,6 +56,13 @@ public class ASTReturn extends ASTExpression {
         return returned;
     }
 
+    @Override
+    public ASTReturn copy(final int delta) {
+        final var copy = (ASTReturn) super.copy(delta);
+        copy.returned = copyOf(returned, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this) && returned != null) {
@@ -30,7 +30,7 @@ import java.util.List;
  */
 public class ASTStrings extends ASTExpression {
     /** The list with the actual strings. */
-    private final List<ASTExpression> strings;
+    private List<ASTExpression> strings;
 
     /**
      * Constructs this AST node using the given strings.
@@ -52,6 +52,13 @@ public class ASTStrings extends ASTExpression {
         return strings;
     }
 
+    @Override
+    public ASTStrings copy(final int delta) {
+        final var copy = (ASTStrings) super.copy(delta);
+        copy.strings = copyAll(strings, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
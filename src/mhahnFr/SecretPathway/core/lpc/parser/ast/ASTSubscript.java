@@ -30,7 +30,7 @@ import java.util.List;
  */
 public class ASTSubscript extends ASTExpression {
     /** The underlying expression. */
-    private final ASTExpression expression;
+    private ASTExpression expression;
 
     /**
      * Constructs this AST node using the given expression.
@@ -52,6 +52,13 @@ public class ASTSubscript extends ASTExpression {
         return expression;
     }
 
+    @Override
+    public ASTSubscript copy(final int delta) {
+        final var copy = (ASTSubscript) super.copy(delta);
+        copy.expression = copyOf(expression, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 import java.util.Vector;
 
@@ -32,9 +30,9 @@ import java.util.Vector;
  */
 public class ASTSwitch extends ASTExpression {
     /** The variable expression.            */
-    private final ASTExpression variableExpression;
+    private ASTExpression variableExpression;
     /** The cases in this switch statement. */
-    private final List<ASTExpression> cases;
+    private List<ASTExpression> cases;
 
     /**
      * Constructs this AST node using the given information.
@@ -44,8 +42,8 @@ public class ASTSwitch extends ASTExpression {
      * @param variableExpression the variable expression
      * @param cases              the cases
      */
-    public ASTSwitch(final StreamPosition      begin,
-                     final StreamPosition      end,
+    public ASTSwitch(final int                 begin,
+                     final int                 end,
                      final ASTExpression       variableExpression,
                      final List<ASTExpression> cases) {
         super(begin, end, ASTType.AST_SWITCH);
@@ -72,6 +70,14 @@ public class ASTSwitch extends ASTExpression {
         return cases;
     }
 
+    @Override
+    public ASTSwitch copy(final int delta) {
+        final var copy = (ASTSwitch) super.copy(delta);
+        copy.variableExpression = copyOf(variableExpression, delta);
+        copy.cases              = copyAll(cases, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
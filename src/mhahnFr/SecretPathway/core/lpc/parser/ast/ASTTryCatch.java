@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,11 +30,11 @@ import java.util.List;
  */
 public class ASTTryCatch extends ASTExpression {
     /** The try expression.              */
-    private final ASTExpression tryExpression;
+    private ASTExpression tryExpression;
     /** The catching expression.         */
-    private final ASTExpression catchExpression;
+    private ASTExpression catchExpression;
     /** The optional exception variable. */
-    private final ASTExpression exceptionVariable;
+    private ASTExpression exceptionVariable;
 
     /**
      * Constructs this AST node using the given information.
@@ -46,10 +44,10 @@ public class ASTTryCatch extends ASTExpression {
      * @param catchExpression   the catch expression
      * @param exceptionVariable the optional exception variable
      */
-    public ASTTryCatch(final StreamPosition begin,
-                       final ASTExpression  tryExpression,
-                       final ASTExpression  catchExpression,
-                       final ASTExpression  exceptionVariable) {
+    public ASTTryCatch(final int           begin,
+                       final ASTExpression tryExpression,
+                       final ASTExpression catchExpression,
+                       final ASTExpression exceptionVariable) {
         super(begin, catchExpression.getEnd(), ASTType.TRY_CATCH);
 
         this.tryExpression     = tryExpression;
@@ -84,6 +82,15 @@ public class ASTTryCatch extends ASTExpression {
         return exceptionVariable;
     }
 
+    @Override
+    public ASTTryCatch copy(final int delta) {
+        final var copy = (ASTTryCatch) super.copy(delta);
+        copy.tryExpression     = copyOf(tryExpression, delta);
+        copy.catchExpression   = copyOf(catchExpression, delta);
+        copy.exceptionVariable = copyOf(exceptionVariable, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
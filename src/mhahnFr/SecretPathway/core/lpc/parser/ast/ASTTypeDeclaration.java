@@ -21,7 +21,6 @@ package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
-import mhahnFr.utils.StreamPosition;
 
 /**
  * This class represents a type as an AST node.
@@ -44,7 +43,7 @@ public class ASTTypeDeclaration extends ASTTypeDefinition {
      */
     public ASTTypeDeclaration(final Token   type,
                               final boolean isArray) {
-        super(type.beginPos(), type.endPos(), ASTType.TYPE);
+        super(type.begin(), type.end(), ASTType.TYPE);
 
         this.type    = type.type();
         this.isArray = isArray;
@@ -56,8 +55,8 @@ public class ASTTypeDeclaration extends ASTTypeDefinition {
      * @param begin the beginning position
      * @param end   the end position
      */
-    public ASTTypeDeclaration(final StreamPosition begin,
-                              final StreamPosition end) {
+    public ASTTypeDeclaration(final int begin,
+                              final int end) {
         super(begin, end, ASTType.TYPE);
 
         this.type    = null;
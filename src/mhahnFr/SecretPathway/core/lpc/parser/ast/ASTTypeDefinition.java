@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 /**
  * This class consolidates type declarations.
  *
@@ -35,7 +33,7 @@ public abstract class ASTTypeDefinition extends ASTExpression {
      * @param end   the end position
      * @param type  the type of this AST node
      */
-    protected ASTTypeDefinition(StreamPosition begin, StreamPosition end, ASTType type) {
+    protected ASTTypeDefinition(int begin, int end, ASTType type) {
         super(begin, end, type);
     }
 
@@ -20,7 +20,6 @@
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
-import mhahnFr.utils.StreamPosition;
 
 import java.util.Collections;
 import java.util.List;
@@ -35,7 +34,7 @@ public class ASTUnaryOperator extends ASTExpression {
     /** The type of the operator.                        */
     private final TokenType operatorType;
     /** The identifier to which the operator is applied. */
-    private final ASTExpression identifier;
+    private ASTExpression identifier;
 
     /**
      * Constructs this AST node using the given information.
@@ -44,9 +43,9 @@ public class ASTUnaryOperator extends ASTExpression {
      * @param operatorType the type of this operator
      * @param identifier   the identifier to which to apply this operator
      */
-    public ASTUnaryOperator(final StreamPosition begin,
-                            final TokenType      operatorType,
-                            final ASTExpression  identifier) {
+    public ASTUnaryOperator(final int           begin,
+                            final TokenType     operatorType,
+                            final ASTExpression identifier) {
         super(begin, identifier.getEnd(), ASTType.UNARY_OPERATOR);
 
         this.operatorType = operatorType;
@@ -71,6 +70,13 @@ public class ASTUnaryOperator extends ASTExpression {
         return identifier;
     }
 
+    @Override
+    public ASTUnaryOperator copy(final int delta) {
+        final var copy = (ASTUnaryOperator) super.copy(delta);
+        copy.identifier = copyOf(identifier, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.List;
 import java.util.Vector;
 
@@ -32,11 +30,11 @@ import java.util.Vector;
  */
 public class ASTVariableDefinition extends ASTExpression {
     /** The modifiers of this variable. */
-    private final List<ASTExpression> modifiers;
+    private List<ASTExpression> modifiers;
     /** The type of this variable.      */
-    private final ASTExpression type;
+    private ASTExpression type;
     /** The name of this variable.      */
-    private final ASTExpression name;
+    private ASTExpression name;
 
     /**
      * Constructs this AST node for variable definitions using the
@@ -48,8 +46,8 @@ public class ASTVariableDefinition extends ASTExpression {
      * @param type      the declared type of this variable definition
      * @param name      the declared name of this variable definition
      */
-    public ASTVariableDefinition(final StreamPosition      begin,
-                                 final StreamPosition      end,
+    public ASTVariableDefinition(final int                 begin,
+                                 final int                 end,
                                  final List<ASTExpression> modifiers,
                                  final ASTExpression       type,
                                  final ASTExpression       name) {
@@ -87,6 +85,15 @@ public class ASTVariableDefinition extends ASTExpression {
         return name;
     }
 
+    @Override
+    public ASTVariableDefinition copy(final int delta) {
+        final var copy = (ASTVariableDefinition) super.copy(delta);
+        copy.modifiers = copyAll(modifiers, delta);
+        copy.type      = copyOf(type, delta);
+        copy.name      = copyOf(name, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
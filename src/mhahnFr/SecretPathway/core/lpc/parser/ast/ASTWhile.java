@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.ast;
 
-import mhahnFr.utils.StreamPosition;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,9 +30,9 @@ import java.util.List;
  */
 public class ASTWhile extends ASTExpression {
     /** The condition expression. */
-    private final ASTExpression condition;
+    private ASTExpression condition;
     /** The loop's body.          */
-    private final ASTExpression body;
+    private ASTExpression body;
 
     /**
      * Constructs this AST node using the given information.
@@ -44,10 +42,10 @@ public class ASTWhile extends ASTExpression {
      * @param body      the body
      * @param doWhile   whether this loop is a {@code do while} loop
      */
-    public ASTWhile(final StreamPosition begin,
-                    final ASTExpression  condition,
-                    final ASTExpression  body,
-                    final boolean        doWhile) {
+    public ASTWhile(final int           begin,
+                    final ASTExpression condition,
+                    final ASTExpression body,
+                    final boolean       doWhile) {
         super(begin, body.getEnd(), doWhile ? ASTType.DO_WHILE : ASTType.AST_WHILE);
 
         this.condition = condition;
@@ -72,6 +70,14 @@ public class ASTWhile extends ASTExpression {
         return body;
     }
 
+    @Override
+    public ASTWhile copy(final int delta) {
+        final var copy = (ASTWhile) super.copy(delta);
+        copy.condition = copyOf(condition, delta);
+        copy.body      = copyOf(body, delta);
+        return copy;
+    }
+
     @Override
     public void visit(ASTVisitor visitor) {
         if (visitor.maybeVisit(this)) {
@@ -43,7 +43,7 @@ public class ASTWrong extends ASTHole {
     public ASTWrong(final Token        token,
                     final String       message,
                     final HighlightType expected) {
-        super(token.beginPos(), token.endPos(), message, ASTType.WRONG, expected);
+        super(token.begin(), token.end(), message, ASTType.WRONG, expected);
 
         this.message = message;
     }
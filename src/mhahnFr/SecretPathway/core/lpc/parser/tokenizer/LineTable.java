@@ -0,0 +1,124 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * This class maps offsets in a source text to lines. The beginnings
+ * of the lines are collected once on the first query, the queries are
+ * answered using a binary search.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LineTable {
+    /** The source text.                    */
+    private final String source;
+    /** The beginning offsets of the lines. */
+    private volatile int[] lineBegins;
+
+    /**
+     * Constructs a line table for the given source text.
+     *
+     * @param source the source text
+     */
+    public LineTable(final String source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the beginning offsets of the lines, collecting them
+     * if necessary.
+     *
+     * @return the beginning offsets of the lines
+     */
+    private int[] getLineBegins() {
+        var begins = lineBegins;
+        if (begins == null) {
+            begins = new int[Math.max(16, source.length() / 32)];
+            int count = 1;
+            for (int i = source.indexOf('\n'); i >= 0; i = source.indexOf('\n', i + 1)) {
+                if (count == begins.length) {
+                    begins = Arrays.copyOf(begins, count * 2);
+                }
+                begins[count++] = i + 1;
+            }
+            begins     = Arrays.copyOf(begins, count);
+            lineBegins = begins;
+        }
+        return begins;
+    }
+
+    /**
+     * Returns the index of the line containing the given offset.
+     *
+     * @param offset the offset in the source text
+     * @return the zero based index of the line
+     */
+    public int lineOf(final int offset) {
+        final var index = Arrays.binarySearch(getLineBegins(), offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Returns whether the two given offsets are on the same line.
+     *
+     * @param first  the first offset
+     * @param second the second offset
+     * @return whether both offsets are on the same line
+     */
+    public boolean isOnSameLine(final int first, final int second) {
+        return lineOf(first) == lineOf(second);
+    }
+
+    /**
+     * Returns the beginning offset of the line containing the given offset.
+     *
+     * @param offset the offset in the source text
+     * @return the beginning offset of the line
+     */
+    public int getLineBegin(final int offset) {
+        return getLineBegins()[lineOf(offset)];
+    }
+
+    /**
+     * Returns the end offset of the line containing the given offset.
+     * The line end is the offset of the newline character, or the length
+     * of the source text for the last line.
+     *
+     * @param offset the offset in the source text
+     * @return the end offset of the line
+     */
+    public int getLineEnd(final int offset) {
+        final var begins = getLineBegins();
+        final var line   = lineOf(offset);
+        return line + 1 < begins.length ? begins[line + 1] - 1 : source.length();
+    }
+
+    /**
+     * Returns the amount of lines in the source text.
+     *
+     * @return the amount of lines
+     */
+    public int getLineCount() {
+        return getLineBegins().length;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
+
+/**
+ * This class interns the names of identifiers of source code being edited.
+ * The names known to the parent table are mapped to their symbols in that
+ * table, so they stay comparable to the ones of the other source files.
+ * The other names, such as the ones of half typed identifiers, are only
+ * held by this table; they are mapped to negative symbols below
+ * {@link #NONE}. The size of this table is the amount of these names.
+ * <br>
+ * If the parent table interns a name that is held by this table, the
+ * symbols of that name are no longer comparable, this table has become
+ * stale. A stale table should be replaced by a new one.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+public class ScratchSymbolTable extends SymbolTable {
+    /** The table the known names are looked up in.            */
+    private final SymbolTable parent;
+    /** The size of the parent table when it was last checked. */
+    private int checkedSize;
+    /** Indicates whether the parent table knows a held name.  */
+    private boolean stale;
+
+    /**
+     * Constructs a scratch table on top of the given table.
+     *
+     * @param parent the table the known names are looked up in
+     */
+    public ScratchSymbolTable(final SymbolTable parent) {
+        if (parent == null) {
+            throw new IllegalArgumentException("The parent table must not be null!");
+        }
+
+        this.parent      = parent;
+        this.checkedSize = parent.size();
+    }
+
+    /**
+     * Converts the given symbol of this table into the index of its name
+     * and the other way around.
+     *
+     * @param symbol the symbol or the index
+     * @return the index or the symbol
+     */
+    private static int flip(final int symbol) {
+        return NONE - 1 - symbol;
+    }
+
+    @Override
+    public int intern(final String name) {
+        final var local = super.lookup(name);
+        if (local != NONE) {
+            return flip(local);
+        }
+        final var symbol = parent.lookup(name);
+        if (symbol != NONE) {
+            return symbol;
+        }
+        return flip(super.intern(name));
+    }
+
+    @Override
+    public int lookup(final String name) {
+        final var local = super.lookup(name);
+        return local != NONE ? flip(local) : parent.lookup(name);
+    }
+
+    @Override
+    public String nameOf(final int symbol) {
+        if (symbol == NONE) {
+            return null;
+        }
+        return symbol < NONE ? super.nameOf(flip(symbol)) : parent.nameOf(symbol);
+    }
+
+    /**
+     * Returns whether the parent table has interned a name held by this
+     * table since this table has been created.
+     *
+     * @return whether this table is stale
+     */
+    public synchronized boolean isStale() {
+        final var size = parent.size();
+        if (!stale && size != checkedSize) {
+            checkedSize = size;
+            for (int i = 0; i < size() && !stale; ++i) {
+                stale = parent.lookup(super.nameOf(i)) != NONE;
+            }
+        }
+        return stale;
+    }
+}
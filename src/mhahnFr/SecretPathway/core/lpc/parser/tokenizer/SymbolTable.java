@@ -0,0 +1,119 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class interns the names of identifiers. Every name is mapped to
+ * a compact symbol, which can be compared instead of the name. A table
+ * is shared by all source files of a workspace, so the names found in
+ * different files are held only once.
+ * <br>
+ * Source code being edited should be interned by a {@link ScratchSymbolTable},
+ * so that its changing names do not pile up in the shared table.
+ * <br>
+ * The table may be used by multiple threads.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+public class SymbolTable {
+    /** The symbol of an absent name.                */
+    public static final int NONE = -1;
+
+    /** The symbols of the interned names.           */
+    private final Map<String, Integer> symbols = new ConcurrentHashMap<>();
+    /** The interned names, indexed by their symbol. */
+    private volatile String[] names = new String[256];
+    /** The amount of interned names.                */
+    private int size;
+
+    /**
+     * Returns the symbol of the given name. If the name has not been
+     * interned yet, a new symbol is created for it.
+     *
+     * @param name the name to be interned
+     * @return the symbol of the name
+     */
+    public int intern(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("The name must not be null!");
+        }
+
+        final var symbol = symbols.get(name);
+        if (symbol != null) {
+            return symbol;
+        }
+        return symbols.computeIfAbsent(name, this::add);
+    }
+
+    /**
+     * Returns the symbol of the given name. If the name has not been
+     * interned, {@link #NONE} is returned.
+     *
+     * @param name the name to be looked up
+     * @return the symbol of the name or {@link #NONE}
+     */
+    public int lookup(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("The name must not be null!");
+        }
+
+        final var symbol = symbols.get(name);
+        return symbol == null ? NONE : symbol;
+    }
+
+    /**
+     * Adds the given name, creating a new symbol for it.
+     *
+     * @param name the name to be added
+     * @return the symbol of the added name
+     */
+    private synchronized Integer add(final String name) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = name;
+        return size++;
+    }
+
+    /**
+     * Returns the name of the given symbol. For {@link #NONE},
+     * {@code null} is returned.
+     *
+     * @param symbol the symbol
+     * @return the interned name
+     */
+    public String nameOf(final int symbol) {
+        return symbol == NONE ? null : names[symbol];
+    }
+
+    /**
+     * Returns the amount of interned names.
+     *
+     * @return the amount of names
+     */
+    public int size() {
+        return symbols.size();
+    }
+}
@@ -19,8 +19,6 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
 
-import mhahnFr.utils.StreamPosition;
-
 /**
  * This record holds all information related to a specific Token.
  *
@@ -29,48 +27,60 @@ import mhahnFr.utils.StreamPosition;
  */
 public class Token {
     /** The beginning position of this token. */
-    private final StreamPosition beginPos;
+    private final int begin;
     /** The end position of this token.       */
-    private final StreamPosition endPos;
+    private final int end;
     /** The type of this token.               */
     private final TokenType type;
     /** The optional payload of this token.   */
     private final Object payload;
+    /** The symbol of an identifier token.    */
+    private final int symbol;
 
     /**
      * Constructs this token using the given information.
      *
-     * @param beginPos the beginning of this token in the text
+     * @param begin the beginning of this token in the text
      * @param type the type of this token
      * @param payload the payload held by this token
-     * @param endPos the end of this token in the text
+     * @param end the end of this token in the text
      */
-    public Token(final StreamPosition beginPos,
-                 final TokenType      type,
-                 final Object         payload,
-                 final StreamPosition endPos) {
-        this.beginPos = beginPos;
-        this.type     = type;
-        this.payload  = payload;
-        this.endPos   = endPos;
+    public Token(final int       begin,
+                 final TokenType type,
+                 final Object    payload,
+                 final int       end) {
+        this(begin, type, payload, end, SymbolTable.NONE);
     }
 
     /**
-     * Returns the beginning index inside the original text.
+     * Constructs this token using the given information.
      *
-     * @return the beginning index
+     * @param begin   the beginning of this token in the text
+     * @param type    the type of this token
+     * @param payload the payload held by this token
+     * @param end     the end of this token in the text
+     * @param symbol  the symbol of the identifier
+     * @see SymbolTable
      */
-    public int begin() {
-        return beginPos.position();
+    public Token(final int       begin,
+                 final TokenType type,
+                 final Object    payload,
+                 final int       end,
+                 final int       symbol) {
+        this.begin   = begin;
+        this.type    = type;
+        this.payload = payload;
+        this.end     = end;
+        this.symbol  = symbol;
     }
 
     /**
-     * Returns the beginning position of this token.
+     * Returns the beginning index inside the original text.
      *
-     * @return the beginning position
+     * @return the beginning index
      */
-    public StreamPosition beginPos() {
-        return beginPos;
+    public int begin() {
+        return begin;
     }
 
     /**
@@ -92,21 +102,22 @@ public class Token {
     }
 
     /**
-     * Returns the end index inside the original text.
+     * Returns the symbol of the identifier represented by this
+     * token. For other tokens, {@link SymbolTable#NONE} is returned.
      *
-     * @return the end index
+     * @return the symbol
      */
-    public int end() {
-        return endPos.position();
+    public int symbol() {
+        return symbol;
     }
 
     /**
-     * Returns the end position of this token.
+     * Returns the end index inside the original text.
      *
-     * @return the end position
+     * @return the end index
      */
-    public StreamPosition endPos() {
-        return endPos;
+    public int end() {
+        return end;
     }
 
     /**
@@ -0,0 +1,368 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the tokens of a source text in parallel arrays.
+ * Only the type and the ranges of the tokens are stored; the payloads
+ * are sliced from the source text when they are requested. Identifiers
+ * are stored as the symbols of their names in a {@link SymbolTable}.
+ * <br>
+ * A buffer is filled once by a {@link Tokenizer} and not changed
+ * afterwards, so it can be shared between threads once it is published.
+ * After an edit, a new buffer is created from the previous one by
+ * re-tokenizing only the changed range; the range is recorded in the
+ * new buffer.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class TokenBuffer {
+    /** The token types, indexed by their ordinal. */
+    private static final TokenType[] TYPES = TokenType.values();
+
+    /** The tokenized source text.                   */
+    private final String source;
+    /** The lines of the source text.                */
+    private final LineTable lines;
+    /** The table interning the identifiers.         */
+    private final SymbolTable symbolTable;
+    /** The ordinals of the token types.             */
+    private byte[] types;
+    /** The beginning indices of the tokens.         */
+    private int[] begins;
+    /** The end indices of the tokens.               */
+    private int[] ends;
+    /** The beginning indices of the token payloads. */
+    private int[] payloadBegins;
+    /** The end indices of the token payloads.       */
+    private int[] payloadEnds;
+    /** The symbols of the identifier tokens.        */
+    private int[] symbols;
+    /** The amount of stored tokens.                 */
+    private int size;
+    /** The beginning of the re-tokenized range.     */
+    private int changedBegin;
+    /** The end of the re-tokenized range.           */
+    private int changedEnd;
+
+    /**
+     * Constructs an empty buffer for the given source text.
+     *
+     * @param source      the tokenized source text
+     * @param symbolTable the table interning the identifiers
+     * @param capacity    the initial capacity
+     */
+    TokenBuffer(final String source, final SymbolTable symbolTable, final int capacity) {
+        this.source      = source;
+        this.lines       = new LineTable(source);
+        this.symbolTable = symbolTable;
+        this.changedEnd  = source.length();
+
+        types         = new byte[capacity];
+        begins        = new int[capacity];
+        ends          = new int[capacity];
+        payloadBegins = new int[capacity];
+        payloadEnds   = new int[capacity];
+        symbols       = new int[capacity];
+    }
+
+    /**
+     * Appends a token.
+     *
+     * @param type         the type of the token
+     * @param begin        the beginning index of the token
+     * @param end          the end index of the token
+     * @param payloadBegin the beginning index of the payload
+     * @param payloadEnd   the end index of the payload
+     * @param symbol       the symbol of an identifier token
+     */
+    void add(final TokenType type,
+             final int       begin,
+             final int       end,
+             final int       payloadBegin,
+             final int       payloadEnd,
+             final int       symbol) {
+        ensureCapacity(size + 1);
+        types[size]         = (byte) type.ordinal();
+        begins[size]        = begin;
+        ends[size]          = end;
+        payloadBegins[size] = payloadBegin;
+        payloadEnds[size]   = payloadEnd;
+        symbols[size]       = symbol;
+        ++size;
+    }
+
+    /**
+     * Appends the given range of tokens of the given buffer. Their
+     * indices are moved by the given amount.
+     *
+     * @param other the buffer to copy the tokens from
+     * @param from  the index of the first token to be copied
+     * @param to    the index after the last token to be copied
+     * @param delta the amount to move the indices by
+     */
+    void addAll(final TokenBuffer other, final int from, final int to, final int delta) {
+        final var count = to - from;
+        ensureCapacity(size + count);
+        System.arraycopy(other.types, from, types, size, count);
+        System.arraycopy(other.begins, from, begins, size, count);
+        System.arraycopy(other.ends, from, ends, size, count);
+        System.arraycopy(other.payloadBegins, from, payloadBegins, size, count);
+        System.arraycopy(other.payloadEnds, from, payloadEnds, size, count);
+        System.arraycopy(other.symbols, from, symbols, size, count);
+        if (delta != 0) {
+            for (int i = size; i < size + count; ++i) {
+                begins[i]        += delta;
+                ends[i]          += delta;
+                payloadBegins[i] += delta;
+                payloadEnds[i]   += delta;
+            }
+        }
+        size += count;
+    }
+
+    /**
+     * Makes sure the arrays can hold the given amount of tokens.
+     *
+     * @param capacity the needed capacity
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= types.length) return;
+
+        final var newCapacity = Math.max(capacity, types.length * 2);
+        types         = Arrays.copyOf(types, newCapacity);
+        begins        = Arrays.copyOf(begins, newCapacity);
+        ends          = Arrays.copyOf(ends, newCapacity);
+        payloadBegins = Arrays.copyOf(payloadBegins, newCapacity);
+        payloadEnds   = Arrays.copyOf(payloadEnds, newCapacity);
+        symbols       = Arrays.copyOf(symbols, newCapacity);
+    }
+
+    /**
+     * Sets the range that has been re-tokenized to create this buffer.
+     *
+     * @param begin the beginning of the range
+     * @param end   the end of the range, exclusive
+     */
+    void setChanged(final int begin, final int end) {
+        changedBegin = begin;
+        changedEnd   = end;
+    }
+
+    /**
+     * Returns the beginning of the range that has been re-tokenized to
+     * create this buffer. The tokens outside of the range are the ones
+     * of the previous buffer.
+     *
+     * @return the beginning of the changed range
+     */
+    public int getChangedBegin() {
+        return changedBegin;
+    }
+
+    /**
+     * Returns the end of the range that has been re-tokenized to create
+     * this buffer.
+     *
+     * @return the end of the changed range, exclusive
+     * @see #getChangedBegin()
+     */
+    public int getChangedEnd() {
+        return changedEnd;
+    }
+
+    /**
+     * Returns the tokenized source text.
+     *
+     * @return the source text
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the amount of tokens in this buffer. The final
+     * {@link TokenType#EOF} token is not stored.
+     *
+     * @return the amount of tokens
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of the token at the given index.
+     *
+     * @param index the index of the token
+     * @return the type of the token
+     */
+    public TokenType type(final int index) {
+        return index < size ? TYPES[types[index]] : TokenType.EOF;
+    }
+
+    /**
+     * Returns the beginning index of the token at the given index
+     * inside the source text.
+     *
+     * @param index the index of the token
+     * @return the beginning index
+     */
+    public int begin(final int index) {
+        return index < size ? begins[index] : source.length();
+    }
+
+    /**
+     * Returns the end index of the token at the given index inside
+     * the source text.
+     *
+     * @param index the index of the token
+     * @return the end index
+     */
+    public int end(final int index) {
+        return index < size ? ends[index] : source.length();
+    }
+
+    /**
+     * Returns the symbol of the token at the given index. Tokens other
+     * than identifiers have the symbol {@link SymbolTable#NONE}.
+     *
+     * @param index the index of the token
+     * @return the symbol of the token
+     */
+    public int symbol(final int index) {
+        return index < size ? symbols[index] : SymbolTable.NONE;
+    }
+
+    /**
+     * Returns the payload of the token at the given index. It is
+     * created from the source text on every call, except for the
+     * names of identifiers, which are interned.
+     *
+     * @param index the index of the token
+     * @return the payload of the token
+     */
+    public Object payload(final int index) {
+        if (index >= size) return null;
+        if (symbols[index] != SymbolTable.NONE) return symbolTable.nameOf(symbols[index]);
+
+        return payloadOf(source, TYPES[types[index]], begins[index], ends[index], payloadBegins[index], payloadEnds[index]);
+    }
+
+    /**
+     * Creates a {@link Token} of the token at the given index. Indices
+     * after the last token yield the {@link TokenType#EOF} token.
+     *
+     * @param index the index of the token
+     * @return the created token
+     */
+    public Token get(final int index) {
+        return new Token(begin(index), type(index), payload(index), end(index), symbol(index));
+    }
+
+    /**
+     * Returns the table interning the identifiers of this buffer.
+     *
+     * @return the symbol table
+     */
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Returns the lines of the source text.
+     *
+     * @return the line table of the source text
+     */
+    public LineTable getLineTable() {
+        return lines;
+    }
+
+    /**
+     * Returns the index of the token containing the given offset. An
+     * offset on the beginning of a token is not considered to be
+     * contained, as is an offset on its end.
+     *
+     * @param offset the offset in the source text
+     * @return the index of the token or {@code -1} if no token contains the offset
+     */
+    public int indexAt(final int offset) {
+        var low  = 0;
+        var high = size - 1;
+        while (low <= high) {
+            final var middle = low + high >>> 1;
+            if (begins[middle] < offset) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high >= 0 && offset < ends[high] ? high : -1;
+    }
+
+    /**
+     * Returns the index of the first token ending after the given offset.
+     *
+     * @param offset the offset in the source text
+     * @return the index of the token or the amount of tokens if there is none
+     */
+    public int firstEndingAfter(final int offset) {
+        var low  = 0;
+        var high = size - 1;
+        while (low <= high) {
+            final var middle = low + high >>> 1;
+            if (ends[middle] <= offset) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Creates the payload of a token.
+     *
+     * @param source       the source text
+     * @param type         the type of the token
+     * @param begin        the beginning index of the token
+     * @param end          the end index of the token
+     * @param payloadBegin the beginning index of the payload
+     * @param payloadEnd   the end index of the payload
+     * @return the payload or {@code null} if the token type has none
+     */
+    static Object payloadOf(final String    source,
+                            final TokenType type,
+                            final int       begin,
+                            final int       end,
+                            final int       payloadBegin,
+                            final int       payloadEnd) {
+        return switch (type) {
+            case INTEGER -> (int) Tokenizer.scanInteger(source, begin, end);
+
+            case IDENTIFIER, STRING, CHARACTER, SYMBOL, COMMENT_BLOCK, COMMENT_LINE ->
+                    source.substring(payloadBegin, payloadEnd);
+
+            default -> null;
+        };
+    }
+}
@@ -19,27 +19,124 @@
 
 package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
 
-import mhahnFr.utils.StringStream;
-
 /**
  * This class tokenizes a text into tokens.
+ * <br>
+ * The text is scanned in a single pass: the first character of a token
+ * selects its kind, the following characters are only looked at when
+ * they can change the recognized token. Keywords are recognized using a
+ * perfect hash over the characters of the word.
  *
  * @author mhahnFr
  * @since 27.12.22
  */
 public class Tokenizer {
-    /** The stream of the source text.                      */
-    private final StringStream stream;
+    /** The size of the keyword table, a power of two.        */
+    private static final int KEYWORD_TABLE_SIZE = 128;
+    /** The length of the longest keyword.                    */
+    private static final int MAX_KEYWORD_LENGTH = 10;
+    /** The keywords, stored at the slot of their hash value. */
+    private static final String[] KEYWORDS = new String[KEYWORD_TABLE_SIZE];
+    /** The token types of the keywords in the keyword table. */
+    private static final TokenType[] KEYWORD_TYPES = new TokenType[KEYWORD_TABLE_SIZE];
+    /** Indicates which ASCII characters are part of words.   */
+    private static final boolean[] WORD_CHARACTERS = new boolean[128];
+    /** Indicates which ASCII characters are whitespaces.     */
+    private static final boolean[] WHITESPACES = new boolean[128];
+
+    static {
+        for (char c = 0; c < 128; ++c) {
+            WORD_CHARACTERS[c] = !isSpecial(c);
+            WHITESPACES[c]     = Character.isWhitespace(c);
+        }
+
+        addKeyword("#include",   TokenType.INCLUDE);
+        addKeyword("inherit",    TokenType.INHERIT);
+        addKeyword("private",    TokenType.PRIVATE);
+        addKeyword("protected",  TokenType.PROTECTED);
+        addKeyword("public",     TokenType.PUBLIC);
+        addKeyword("override",   TokenType.OVERRIDE);
+        addKeyword("deprecated", TokenType.DEPRECATED);
+        addKeyword("nosave",     TokenType.NOSAVE);
+        addKeyword("new",        TokenType.NEW);
+        addKeyword("this",       TokenType.THIS);
+        addKeyword("nil",        TokenType.NIL);
+        addKeyword("true",       TokenType.TRUE);
+        addKeyword("false",      TokenType.FALSE);
+        addKeyword("sizeof",     TokenType.SIZEOF);
+        addKeyword("is",         TokenType.IS);
+        addKeyword("class",      TokenType.CLASS);
+        addKeyword("void",       TokenType.VOID);
+        addKeyword("char",       TokenType.CHAR_KEYWORD);
+        addKeyword("int",        TokenType.INT_KEYWORD);
+        addKeyword("bool",       TokenType.BOOL);
+        addKeyword("object",     TokenType.OBJECT);
+        addKeyword("string",     TokenType.STRING_KEYWORD);
+        addKeyword("symbol",     TokenType.SYMBOL_KEYWORD);
+        addKeyword("mapping",    TokenType.MAPPING);
+        addKeyword("any",        TokenType.ANY);
+        addKeyword("mixed",      TokenType.MIXED);
+        addKeyword("auto",       TokenType.AUTO);
+        addKeyword("let",        TokenType.LET);
+        addKeyword("if",         TokenType.IF);
+        addKeyword("else",       TokenType.ELSE);
+        addKeyword("while",      TokenType.WHILE);
+        addKeyword("do",         TokenType.DO);
+        addKeyword("foreach",    TokenType.FOREACH);
+        addKeyword("for",        TokenType.FOR);
+        addKeyword("switch",     TokenType.SWITCH);
+        addKeyword("case",       TokenType.CASE);
+        addKeyword("default",    TokenType.DEFAULT);
+        addKeyword("break",      TokenType.BREAK);
+        addKeyword("continue",   TokenType.CONTINUE);
+        addKeyword("return",     TokenType.RETURN);
+        addKeyword("try",        TokenType.TRY);
+        addKeyword("catch",      TokenType.CATCH);
+        addKeyword("operator",   TokenType.OPERATOR);
+    }
+
+    /** The source text.                                    */
+    private final String source;
+    /** The table interning the names of identifiers.       */
+    private final SymbolTable symbols;
+    /** The length of the source text.                      */
+    private final int length;
+    /** The index of the next character to be read.         */
+    private int index;
+    /** The beginning index of the last scanned token.      */
+    private int begin;
+    /** The beginning index of the last scanned payload.    */
+    private int payloadBegin;
+    /** The end index of the last scanned payload.          */
+    private int payloadEnd;
     /** Indicates whether comment tokens should be emitted. */
     private boolean commentTokens;
 
     /**
-     * Constructs this Tokenizer using the given {@link StringStream}.
+     * Constructs this Tokenizer using the given source text. The
+     * identifiers are interned in a new {@link SymbolTable}.
+     *
+     * @param source the source text to be tokenized
+     */
+    public Tokenizer(final String source) {
+        this(source, new SymbolTable());
+    }
+
+    /**
+     * Constructs this Tokenizer using the given source text and
+     * the given table to intern the identifiers.
      *
-     * @param stream the stream to read the source text from
+     * @param source  the source text to be tokenized
+     * @param symbols the table interning the identifiers
      */
-    public Tokenizer(StringStream stream) {
-        this.stream = stream;
+    public Tokenizer(final String source, final SymbolTable symbols) {
+        if (symbols == null) {
+            throw new IllegalArgumentException("The symbol table must not be null!");
+        }
+
+        this.source  = source;
+        this.length  = source.length();
+        this.symbols = symbols;
     }
 
     /**
@@ -57,216 +154,398 @@ public class Tokenizer {
      * @return the next token found in the stream
      */
     public Token nextToken() {
-        skipWhitespaces();
-
-        if (!stream.hasNext()) {
-            return new Token(stream.getStreamPosition(), TokenType.EOF, null, stream.getStreamPosition());
-        } else if (stream.peek("/*!")) {
-            return new Token(stream.getStreamPosition(), TokenType.STRING, readTill("!*/", 3), stream.getStreamPosition());
-        } else if (stream.peek("/*")) {
-            final var begin = stream.getStreamPosition();
-            final var comment = readTill("*/", 2);
-            if (commentTokens) {
-                return new Token(begin, TokenType.COMMENT_BLOCK, comment, stream.getStreamPosition());
-            } else {
-                return nextToken();
-            }
-        } else if (stream.peek("//")) {
-            final var begin = stream.getStreamPosition();
-            final var comment = readTill("\n", 2);
-            if (commentTokens) {
-                return new Token(begin, TokenType.COMMENT_LINE, comment, stream.getStreamPosition());
-            } else {
-                return nextToken();
-            }
+        final var type   = scan();
+        final var symbol = symbolOf(type);
+        if (symbol != SymbolTable.NONE) {
+            return new Token(begin, type, symbols.nameOf(symbol), index, symbol);
         }
-        else if (stream.peek('('))   return new Token(stream.getStreamPosition(), TokenType.LEFT_PAREN,         null, stream.skip());
-        else if (stream.peek(')'))   return new Token(stream.getStreamPosition(), TokenType.RIGHT_PAREN,        null, stream.skip());
-        else if (stream.peek('['))   return new Token(stream.getStreamPosition(), TokenType.LEFT_BRACKET,       null, stream.skip());
-        else if (stream.peek(']'))   return new Token(stream.getStreamPosition(), TokenType.RIGHT_BRACKET,      null, stream.skip());
-        else if (stream.peek('{'))   return new Token(stream.getStreamPosition(), TokenType.LEFT_CURLY,         null, stream.skip());
-        else if (stream.peek('}'))   return new Token(stream.getStreamPosition(), TokenType.RIGHT_CURLY,        null, stream.skip());
-        else if (stream.peek("...")) return new Token(stream.getStreamPosition(), TokenType.ELLIPSIS,           null, stream.skip(3));
-        else if (stream.peek(".."))  return new Token(stream.getStreamPosition(), TokenType.RANGE,              null, stream.skip(2));
-        else if (stream.peek('.'))   return new Token(stream.getStreamPosition(), TokenType.DOT,                null, stream.skip());
-        else if (stream.peek(','))   return new Token(stream.getStreamPosition(), TokenType.COMMA,              null, stream.skip());
-        else if (stream.peek("::"))  return new Token(stream.getStreamPosition(), TokenType.SCOPE,              null, stream.skip(2));
-        else if (stream.peek(':'))   return new Token(stream.getStreamPosition(), TokenType.COLON,              null, stream.skip());
-        else if (stream.peek(';'))   return new Token(stream.getStreamPosition(), TokenType.SEMICOLON,          null, stream.skip());
-        else if (stream.peek("=="))  return new Token(stream.getStreamPosition(), TokenType.EQUALS,             null, stream.skip(2));
-        else if (stream.peek("!="))  return new Token(stream.getStreamPosition(), TokenType.NOT_EQUAL,          null, stream.skip(2));
-        else if (stream.peek("<<"))  return new Token(stream.getStreamPosition(), TokenType.LEFT_SHIFT,         null, stream.skip(2));
-        else if (stream.peek(">>"))  return new Token(stream.getStreamPosition(), TokenType.RIGHT_SHIFT,        null, stream.skip(2));
-        else if (stream.peek("<="))  return new Token(stream.getStreamPosition(), TokenType.LESS_OR_EQUAL,      null, stream.skip(2));
-        else if (stream.peek('<'))   return new Token(stream.getStreamPosition(), TokenType.LESS,               null, stream.skip());
-        else if (stream.peek(">="))  return new Token(stream.getStreamPosition(), TokenType.GREATER_OR_EQUAL,   null, stream.skip(2));
-        else if (stream.peek('>'))   return new Token(stream.getStreamPosition(), TokenType.GREATER,            null, stream.skip());
-        else if (stream.peek("&&"))  return new Token(stream.getStreamPosition(), TokenType.AND,                null, stream.skip(2));
-        else if (stream.peek("||"))  return new Token(stream.getStreamPosition(), TokenType.OR,                 null, stream.skip(2));
-        else if (stream.peek('!'))   return new Token(stream.getStreamPosition(), TokenType.NOT,                null, stream.skip());
-        else if (stream.peek('='))   return new Token(stream.getStreamPosition(), TokenType.ASSIGNMENT,         null, stream.skip());
-        else if (stream.peek("->"))  return new Token(stream.getStreamPosition(), TokenType.ARROW,              null, stream.skip(2));
-        else if (stream.peek('&'))   return new Token(stream.getStreamPosition(), TokenType.AMPERSAND,          null, stream.skip());
-        else if (stream.peek('|'))   return new Token(stream.getStreamPosition(), TokenType.PIPE,               null, stream.skip());
-        else if (stream.peek("??"))  return new Token(stream.getStreamPosition(), TokenType.DOUBLE_QUESTION,    null, stream.skip(2));
-        else if (stream.peek('?'))   return new Token(stream.getStreamPosition(), TokenType.QUESTION,           null, stream.skip());
-        else if (stream.peek("+="))  return new Token(stream.getStreamPosition(), TokenType.ASSIGNMENT_PLUS,    null, stream.skip(2));
-        else if (stream.peek("-="))  return new Token(stream.getStreamPosition(), TokenType.ASSIGNMENT_MINUS,   null, stream.skip(2));
-        else if (stream.peek("*="))  return new Token(stream.getStreamPosition(), TokenType.ASSIGNMENT_STAR,    null, stream.skip(2));
-        else if (stream.peek("/="))  return new Token(stream.getStreamPosition(), TokenType.ASSIGNMENT_SLASH,   null, stream.skip(2));
-        else if (stream.peek("%="))  return new Token(stream.getStreamPosition(), TokenType.ASSIGNMENT_PERCENT, null, stream.skip(2));
-        else if (stream.peek("++"))  return new Token(stream.getStreamPosition(), TokenType.INCREMENT,          null, stream.skip(2));
-        else if (stream.peek("--"))  return new Token(stream.getStreamPosition(), TokenType.DECREMENT,          null, stream.skip(2));
-        else if (stream.peek('+'))   return new Token(stream.getStreamPosition(), TokenType.PLUS,               null, stream.skip());
-        else if (stream.peek('-'))   return new Token(stream.getStreamPosition(), TokenType.MINUS,              null, stream.skip());
-        else if (stream.peek('*'))   return new Token(stream.getStreamPosition(), TokenType.STAR,               null, stream.skip());
-        else if (stream.peek('/'))   return new Token(stream.getStreamPosition(), TokenType.SLASH,              null, stream.skip());
-        else if (stream.peek('%'))   return new Token(stream.getStreamPosition(), TokenType.PERCENT,            null, stream.skip());
-        else if (stream.peek('"'))   return new Token(stream.getStreamPosition(), TokenType.STRING,    readTill("\""),   stream.getStreamPosition());
-        else if (stream.peek('\''))  return new Token(stream.getStreamPosition(), TokenType.CHARACTER, readTill("'"),    stream.getStreamPosition());
-        else if (stream.peek("#'"))  return new Token(stream.getStreamPosition(), TokenType.SYMBOL,    readTill("'", 2), stream.getStreamPosition());
-        else if (stream.peek("#:"))  return new Token(stream.getStreamPosition(), TokenType.SYMBOL,    readSymbol(),     stream.getStreamPosition());
-
-        return nextWord();
+        return new Token(begin, type, TokenBuffer.payloadOf(source, type, begin, index, payloadBegin, payloadEnd), index);
     }
 
     /**
-     * Constructs and returns a token from the next word read in the stream.
+     * Returns the symbol of the last scanned token. Only identifiers
+     * have a symbol, it is interned in the symbol table.
      *
-     * @return a token constructed from the next read word
+     * @param type the type of the last scanned token
+     * @return the symbol or {@link SymbolTable#NONE}
      */
-    private Token nextWord() {
-        final var begin = stream.getStreamPosition();
-        final var word  = readWord();
-        final var end   = stream.getStreamPosition();
-
-        switch (word) {
-            case "#include"   -> { return new Token(begin, TokenType.INCLUDE,        null, end); }
-            case "inherit"    -> { return new Token(begin, TokenType.INHERIT,        null, end); }
-            case "private"    -> { return new Token(begin, TokenType.PRIVATE,        null, end); }
-            case "protected"  -> { return new Token(begin, TokenType.PROTECTED,      null, end); }
-            case "public"     -> { return new Token(begin, TokenType.PUBLIC,         null, end); }
-            case "override"   -> { return new Token(begin, TokenType.OVERRIDE,       null, end); }
-            case "deprecated" -> { return new Token(begin, TokenType.DEPRECATED,     null, end); }
-            case "nosave"     -> { return new Token(begin, TokenType.NOSAVE,         null, end); }
-            case "new"        -> { return new Token(begin, TokenType.NEW,            null, end); }
-            case "this"       -> { return new Token(begin, TokenType.THIS,           null, end); }
-            case "nil"        -> { return new Token(begin, TokenType.NIL,            null, end); }
-            case "true"       -> { return new Token(begin, TokenType.TRUE,           null, end); }
-            case "false"      -> { return new Token(begin, TokenType.FALSE,          null, end); }
-            case "sizeof"     -> { return new Token(begin, TokenType.SIZEOF,         null, end); }
-            case "is"         -> { return new Token(begin, TokenType.IS,             null, end); }
-            case "class"      -> { return new Token(begin, TokenType.CLASS,          null, end); }
-            case "void"       -> { return new Token(begin, TokenType.VOID,           null, end); }
-            case "char"       -> { return new Token(begin, TokenType.CHAR_KEYWORD,   null, end); }
-            case "int"        -> { return new Token(begin, TokenType.INT_KEYWORD,    null, end); }
-            case "bool"       -> { return new Token(begin, TokenType.BOOL,           null, end); }
-            case "object"     -> { return new Token(begin, TokenType.OBJECT,         null, end); }
-            case "string"     -> { return new Token(begin, TokenType.STRING_KEYWORD, null, end); }
-            case "symbol"     -> { return new Token(begin, TokenType.SYMBOL_KEYWORD, null, end); }
-            case "mapping"    -> { return new Token(begin, TokenType.MAPPING,        null, end); }
-            case "any"        -> { return new Token(begin, TokenType.ANY,            null, end); }
-            case "mixed"      -> { return new Token(begin, TokenType.MIXED,          null, end); }
-            case "auto"       -> { return new Token(begin, TokenType.AUTO,           null, end); }
-            case "let"        -> { return new Token(begin, TokenType.LET,            null, end); }
-            case "if"         -> { return new Token(begin, TokenType.IF,             null, end); }
-            case "else"       -> { return new Token(begin, TokenType.ELSE,           null, end); }
-            case "while"      -> { return new Token(begin, TokenType.WHILE,          null, end); }
-            case "do"         -> { return new Token(begin, TokenType.DO,             null, end); }
-            case "foreach"    -> { return new Token(begin, TokenType.FOREACH,        null, end); }
-            case "for"        -> { return new Token(begin, TokenType.FOR,            null, end); }
-            case "switch"     -> { return new Token(begin, TokenType.SWITCH,         null, end); }
-            case "case"       -> { return new Token(begin, TokenType.CASE,           null, end); }
-            case "default"    -> { return new Token(begin, TokenType.DEFAULT,        null, end); }
-            case "break"      -> { return new Token(begin, TokenType.BREAK,          null, end); }
-            case "continue"   -> { return new Token(begin, TokenType.CONTINUE,       null, end); }
-            case "return"     -> { return new Token(begin, TokenType.RETURN,         null, end); }
-            case "try"        -> { return new Token(begin, TokenType.TRY,            null, end); }
-            case "catch"      -> { return new Token(begin, TokenType.CATCH,          null, end); }
-            case "operator"   -> { return new Token(begin, TokenType.OPERATOR,       null, end); }
+    private int symbolOf(final TokenType type) {
+        if (type != TokenType.IDENTIFIER) {
+            return SymbolTable.NONE;
         }
+        return symbols.intern(source.substring(payloadBegin, payloadEnd));
+    }
 
-        try {
-            return new Token(begin, TokenType.INTEGER, Integer.decode(word), end);
-        } catch (NumberFormatException e) {
-            return new Token(begin, TokenType.IDENTIFIER, word, end);
+    /**
+     * Tokenizes the remaining source text into a {@link TokenBuffer}.
+     *
+     * @return the buffer holding the remaining tokens
+     */
+    public TokenBuffer tokenize() {
+        final var buffer = new TokenBuffer(source, symbols, Math.max(16, (length - index) / 4));
+        buffer.setChanged(index, length);
+
+        TokenType type;
+        while ((type = scan()) != TokenType.EOF) {
+            buffer.add(type, begin, index, payloadBegin, payloadEnd, symbolOf(type));
         }
+        return buffer;
     }
 
     /**
-     * Reads and returns a word from the stream.
+     * Tokenizes the source text, which is the source text of the given
+     * buffer after the given edit. Only the tokens around the edit are
+     * re-tokenized.
+     * <br>
+     * Scanning restarts at the end of the token before the edit, that is
+     * the last token ending before the offset of the edit, so that a token
+     * touching the edit is scanned again. The tokens before it are kept.
+     * <br>
+     * Scanning stops as soon as a new token begins where an old token began
+     * after the edit, once that token is moved by the length difference.
+     * The scanner carries no state from one token to the next except the
+     * position, so it is in the same state there as when the old token
+     * was scanned. As the text from there on is unchanged, the remaining
+     * tokens are the moved old ones. The comment tokens must be enabled
+     * as they were for the given buffer.
      *
-     * @return the read word
+     * @param previous the buffer of the source text before the edit
+     * @param offset   the offset of the edit
+     * @param removed  the amount of removed characters
+     * @param inserted the amount of inserted characters
+     * @return the buffer holding the tokens of the source text
+     * @throws IllegalArgumentException if the given buffer uses another symbol table
      */
-    private String readWord() {
-        final var buffer = new StringBuilder();
-        while (stream.hasNext() && !isSpecial(stream.peek())) {
-            buffer.append(stream.next());
+    public TokenBuffer tokenize(final TokenBuffer previous, final int offset, final int removed, final int inserted) {
+        if (previous.getSymbolTable() != symbols) {
+            throw new IllegalArgumentException("The previous buffer must use the same symbol table!");
+        }
+
+        final var delta   = inserted - removed;
+        final var editEnd = offset + removed;
+        final var first   = previous.firstEndingAfter(offset - 1);
+
+        final var buffer = new TokenBuffer(source, symbols, previous.size() + 16);
+        buffer.addAll(previous, 0, first, 0);
+
+        index = first > 0 ? previous.end(first - 1) : 0;
+        final var restart = index;
+
+        var old = first;
+        TokenType type;
+        while ((type = scan()) != TokenType.EOF) {
+            while (old < previous.size() && previous.begin(old) + delta < begin) {
+                ++old;
+            }
+            if (old < previous.size() && previous.begin(old) >= editEnd && previous.begin(old) + delta == begin) {
+                buffer.addAll(previous, old, previous.size(), delta);
+                buffer.setChanged(restart, begin);
+                return buffer;
+            }
+            buffer.add(type, begin, index, payloadBegin, payloadEnd, symbolOf(type));
         }
-        if (buffer.isEmpty() && stream.hasNext()) {
-            // Unrecognized character used as word to prevent endless loop
-            buffer.append(stream.next());
+        buffer.setChanged(restart, length);
+        return buffer;
+    }
+
+    /**
+     * Scans the next token. Its beginning index and its payload range
+     * are stored, its end is the current index.
+     *
+     * @return the type of the scanned token
+     */
+    private TokenType scan() {
+        for (;;) {
+            skipWhitespaces();
+
+            begin = index;
+            if (index >= length) {
+                return TokenType.EOF;
+            }
+
+            switch (source.charAt(index)) {
+                case '(' -> { return token(TokenType.LEFT_PAREN,    1); }
+                case ')' -> { return token(TokenType.RIGHT_PAREN,   1); }
+                case '[' -> { return token(TokenType.LEFT_BRACKET,  1); }
+                case ']' -> { return token(TokenType.RIGHT_BRACKET, 1); }
+                case '{' -> { return token(TokenType.LEFT_CURLY,    1); }
+                case '}' -> { return token(TokenType.RIGHT_CURLY,   1); }
+                case ',' -> { return token(TokenType.COMMA,         1); }
+                case ';' -> { return token(TokenType.SEMICOLON,     1); }
+
+                case '.' -> {
+                    if (!peek(1, '.')) return token(TokenType.DOT,   1);
+                    if (!peek(2, '.')) return token(TokenType.RANGE, 2);
+                    return token(TokenType.ELLIPSIS, 3);
+                }
+                case ':' -> { return peek(1, ':') ? token(TokenType.SCOPE,           2) : token(TokenType.COLON,      1); }
+                case '=' -> { return peek(1, '=') ? token(TokenType.EQUALS,          2) : token(TokenType.ASSIGNMENT, 1); }
+                case '!' -> { return peek(1, '=') ? token(TokenType.NOT_EQUAL,       2) : token(TokenType.NOT,        1); }
+                case '&' -> { return peek(1, '&') ? token(TokenType.AND,             2) : token(TokenType.AMPERSAND,  1); }
+                case '|' -> { return peek(1, '|') ? token(TokenType.OR,              2) : token(TokenType.PIPE,       1); }
+                case '?' -> { return peek(1, '?') ? token(TokenType.DOUBLE_QUESTION, 2) : token(TokenType.QUESTION,   1); }
+                case '*' -> { return peek(1, '=') ? token(TokenType.ASSIGNMENT_STAR,    2) : token(TokenType.STAR,    1); }
+                case '%' -> { return peek(1, '=') ? token(TokenType.ASSIGNMENT_PERCENT, 2) : token(TokenType.PERCENT, 1); }
+
+                case '<' -> {
+                    if (peek(1, '<')) return token(TokenType.LEFT_SHIFT,    2);
+                    if (peek(1, '=')) return token(TokenType.LESS_OR_EQUAL, 2);
+                    return token(TokenType.LESS, 1);
+                }
+                case '>' -> {
+                    if (peek(1, '>')) return token(TokenType.RIGHT_SHIFT,      2);
+                    if (peek(1, '=')) return token(TokenType.GREATER_OR_EQUAL, 2);
+                    return token(TokenType.GREATER, 1);
+                }
+                case '+' -> {
+                    if (peek(1, '=')) return token(TokenType.ASSIGNMENT_PLUS, 2);
+                    if (peek(1, '+')) return token(TokenType.INCREMENT,       2);
+                    return token(TokenType.PLUS, 1);
+                }
+                case '-' -> {
+                    if (peek(1, '>')) return token(TokenType.ARROW,            2);
+                    if (peek(1, '=')) return token(TokenType.ASSIGNMENT_MINUS, 2);
+                    if (peek(1, '-')) return token(TokenType.DECREMENT,        2);
+                    return token(TokenType.MINUS, 1);
+                }
+
+                case '/' -> {
+                    if (peek(1, '*')) {
+                        if (peek(2, '!')) {
+                            readTill("!*/", 3);
+                            return TokenType.STRING;
+                        }
+                        readTill("*/", 2);
+                        if (commentTokens) {
+                            return TokenType.COMMENT_BLOCK;
+                        }
+                        continue;
+                    } else if (peek(1, '/')) {
+                        readTill("\n", 2);
+                        if (commentTokens) {
+                            return TokenType.COMMENT_LINE;
+                        }
+                        continue;
+                    }
+                    return peek(1, '=') ? token(TokenType.ASSIGNMENT_SLASH, 2) : token(TokenType.SLASH, 1);
+                }
+
+                case '"' -> {
+                    readTill("\"", 1);
+                    return TokenType.STRING;
+                }
+                case '\'' -> {
+                    readTill("'", 1);
+                    return TokenType.CHARACTER;
+                }
+                case '#' -> {
+                    if (peek(1, '\'')) {
+                        readTill("'", 2);
+                        return TokenType.SYMBOL;
+                    } else if (peek(1, ':')) {
+                        index       += 2;
+                        payloadBegin = index;
+                        payloadEnd   = skipWord();
+                        return TokenType.SYMBOL;
+                    }
+                    return scanWord();
+                }
+
+                default -> { return scanWord(); }
+            }
         }
-        return buffer.toString();
     }
 
     /**
-     * Skips remaining whitespaces in the stream.
+     * Returns whether the character at the given offset from the
+     * current index is the given one.
+     *
+     * @param offset the offset to the current index
+     * @param c      the expected character
+     * @return whether the character at the given offset is the given one
      */
-    private void skipWhitespaces() {
-        while (stream.hasNext() && Character.isWhitespace(stream.peek())) {
-            stream.skip();
+    private boolean peek(final int offset, final char c) {
+        return index + offset < length && source.charAt(index + offset) == c;
+    }
+
+    /**
+     * Consumes the given amount of characters of a token without payload.
+     *
+     * @param type  the type of the token
+     * @param count the amount of characters of the token
+     * @return the given type
+     */
+    private TokenType token(final TokenType type, final int count) {
+        index += count;
+        return type;
+    }
+
+    /**
+     * Scans the next word and classifies it as keyword, integer literal
+     * or identifier. The word is the payload.
+     *
+     * @return the type of the scanned word
+     */
+    private TokenType scanWord() {
+        if (skipWord() == begin) {
+            ++index;
+        }
+        payloadBegin = begin;
+        payloadEnd   = index;
+
+        final var keyword = keywordOf(source, begin, index);
+        if (keyword != null) {
+            return keyword;
         }
+        return scanInteger(source, begin, index) >= 0 ? TokenType.INTEGER : TokenType.IDENTIFIER;
     }
 
     /**
-     * Reads and returns a symbol name from the stream.
+     * Scans the integer literal in the given range. Decimal, hexadecimal
+     * ({@code 0x} or {@code #}), octal (leading {@code 0}) and binary
+     * ({@code 0b}) literals are recognized. The digits may be separated
+     * by underscores.
      *
-     * @return the read symbol name
+     * @param text  the text containing the word
+     * @param begin the beginning index of the word
+     * @param end   the end index of the word, exclusive
+     * @return the value of the literal or {@code -1} if the word is no integer literal
      */
-    private String readSymbol() {
-        stream.skip(2);
+    static long scanInteger(final String text, final int begin, final int end) {
+        final var first = text.charAt(begin);
+        if (!Character.isDigit(first) && first != '#') return -1;
+
+        final int radix, digits;
+        if (first == '#') {
+            radix  = 16;
+            digits = begin + 1;
+        } else if (first == '0' && end - begin > 1) {
+            switch (text.charAt(begin + 1)) {
+                case 'x', 'X' -> { radix = 16; digits = begin + 2; }
+                case 'b', 'B' -> { radix = 2;  digits = begin + 2; }
+                default       -> { radix = 8;  digits = begin + 1; }
+            }
+        } else {
+            radix  = 10;
+            digits = begin;
+        }
+        if (digits >= end || text.charAt(digits) == '_' || text.charAt(end - 1) == '_') return -1;
+
+        long value = 0;
+        for (int i = digits; i < end; ++i) {
+            final var c = text.charAt(i);
+            if (c == '_') continue;
+
+            final var digit = Character.digit(c, radix);
+            if (digit < 0) return -1;
 
-        final var buffer = new StringBuilder();
-        while (stream.hasNext() && !isSpecial(stream.peek())) {
-            buffer.append(stream.next());
+            value = value * radix + digit;
+            if (value > Integer.MAX_VALUE) return -1;
         }
-        return buffer.toString();
+        return value;
     }
 
     /**
-     * Reads a string from the stream until the given string has been
-     * read or the end of the stream has been reached.
+     * Skips the characters of a word. An unrecognized character is not
+     * skipped; the caller has to consume it to prevent an endless loop.
      *
-     * @param string the string the read one should end with
-     * @return the read string
+     * @return the index after the word
+     */
+    private int skipWord() {
+        while (index < length) {
+            final var c = source.charAt(index);
+            if (c < 128 ? !WORD_CHARACTERS[c] : isSpecial(c)) break;
+            ++index;
+        }
+        return index;
+    }
+
+    /**
+     * Skips remaining whitespaces in the stream.
      */
-    private String readTill(final String string) {
-        return readTill(string, 1);
+    private void skipWhitespaces() {
+        while (index < length) {
+            final var c = source.charAt(index);
+            if (c < 128 ? !WHITESPACES[c] : !Character.isWhitespace(c)) break;
+            ++index;
+        }
     }
 
     /**
-     * Reads a string from the stream until the given string has been
-     * read or the end of the stream has been reached.
+     * Reads from the stream until the given string has been read or the
+     * end of the stream has been reached. The characters read before the
+     * given string are the payload.
      *
      * @param string the string the read one should end with
      * @param skipping the amount of characters to be skipped
-     * @return the read string
      */
-    private String readTill(String string, final int skipping) {
-        stream.skip(skipping);
+    private void readTill(final String string, final int skipping) {
+        index = Math.min(length, index + skipping);
 
-        final var buffer = new StringBuilder();
+        final var first = string.charAt(0);
         char previous     = '\0',
              overPrevious = '\0';
-        while (stream.hasNext() && !(stream.peek(string) && (previous != '\\' || overPrevious == '\\'))) {
+        payloadBegin = index;
+        while (index < length) {
+            final var c = source.charAt(index);
+            if (c == first && source.startsWith(string, index) && (previous != '\\' || overPrevious == '\\')) break;
+
             overPrevious = previous;
-            previous     = stream.next();
+            previous     = c;
+            ++index;
+        }
+        payloadEnd = index;
+        index      = Math.min(length, index + string.length());
+    }
+
+    /**
+     * Adds the given keyword to the keyword table.
+     *
+     * @param keyword the keyword
+     * @param type    the token type of the keyword
+     * @throws IllegalStateException if the slot of the keyword is already taken
+     */
+    private static void addKeyword(final String keyword, final TokenType type) {
+        final var slot = hash(keyword, 0, keyword.length());
+        if (KEYWORDS[slot] != null) {
+            throw new IllegalStateException("Keyword hash collision: " + keyword + " and " + KEYWORDS[slot]);
+        }
+        KEYWORDS[slot]      = keyword;
+        KEYWORD_TYPES[slot] = type;
+    }
+
+    /**
+     * Computes the keyword hash of the given word. The hash is perfect
+     * for the keywords; only words of at least two characters are hashed.
+     *
+     * @param text  the text containing the word
+     * @param begin the beginning index of the word
+     * @param end   the end index of the word, exclusive
+     * @return the slot in the keyword table
+     */
+    private static int hash(final String text, final int begin, final int end) {
+        return text.charAt(begin) + 7 * text.charAt(begin + 1) + 48 * text.charAt(end - 1) + (end - begin)
+                & KEYWORD_TABLE_SIZE - 1;
+    }
+
+    /**
+     * Returns the token type of the keyword in the given range.
+     *
+     * @param text  the text containing the word
+     * @param begin the beginning index of the word
+     * @param end   the end index of the word, exclusive
+     * @return the token type of the keyword or {@code null} if the word is no keyword
+     */
+    private static TokenType keywordOf(final String text, final int begin, final int end) {
+        final var wordLength = end - begin;
+        if (wordLength < 2 || wordLength > MAX_KEYWORD_LENGTH) return null;
 
-            buffer.append(previous);
+        final var slot    = hash(text, begin, end);
+        final var keyword = KEYWORDS[slot];
+        if (keyword == null || keyword.length() != wordLength || !text.regionMatches(begin, keyword, 0, wordLength)) {
+            return null;
         }
-        stream.skip(string.length());
-        return buffer.toString();
+        return KEYWORD_TYPES[slot];
     }
 
     /**
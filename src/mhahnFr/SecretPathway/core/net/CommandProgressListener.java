@@ -0,0 +1,40 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+/**
+ * An interface to listen to the progress of the commands sent by a
+ * {@link CommandScheduler}.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public interface CommandProgressListener {
+    /**
+     * Called when a command has been sent, when the pending commands
+     * have been cancelled or when the sending of the next command waits
+     * for a prompt.
+     *
+     * @param sent    the amount of sent commands of the current batch
+     * @param total   the total amount of commands of the current batch
+     * @param waiting whether the next command waits for a prompt
+     */
+    void progressChanged(int sent, int total, boolean waiting);
+}
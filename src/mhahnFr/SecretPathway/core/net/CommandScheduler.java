@@ -0,0 +1,281 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+import java.io.Closeable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class paces the commands sent to the server. Multi-line text is
+ * split into single commands, which are sent in order by a background
+ * thread. Optionally, the commands are throttled by a token bucket, and
+ * the next command of a batch is only sent once a prompt has been
+ * received for the previous one or after a timeout.
+ * <br>
+ * The commands are sent and the listener is called without holding the
+ * lock of this scheduler.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class CommandScheduler implements Closeable {
+    /** The maximum milliseconds to wait for a prompt. */
+    private static final long PROMPT_WAIT = 5000;
+
+    /** The function actually sending a command.                          */
+    private final Consumer<String> sender;
+    /** The listener to be notified about the progress.                   */
+    private final CommandProgressListener listener;
+    /** The queue of the commands to be sent.                             */
+    private final LinkedBlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+    /** The permits of received prompts.                                  */
+    private final Semaphore prompts = new Semaphore(0);
+    /** The thread sending the commands.                                  */
+    private final Thread worker;
+    /** Indicates whether the commands are throttled.                     */
+    private volatile boolean throttle;
+    /** The tokens refilled per second.                                   */
+    private volatile double rate;
+    /** The maximum amount of tokens.                                     */
+    private volatile int burst;
+    /** Indicates whether to wait for a prompt between commands.          */
+    private volatile boolean waitForPrompt;
+    /** The currently available tokens.                                   */
+    private double tokens;
+    /** The time of the last refill of the tokens in nanoseconds.         */
+    private long lastRefill = System.nanoTime();
+    /** The batch of the last sent command.                               */
+    private long lastBatch = -1;
+    /** The number of the current batch, incremented by every submission. */
+    private long batch;
+    /** The first batch whose commands have not been cancelled.           */
+    private volatile long validBatch;
+    /** The amount of sent commands of the current batches.               */
+    private int sent;
+    /** The total amount of commands of the current batches.              */
+    private int total;
+
+    /**
+     * This record represents a pending command.
+     *
+     * @param text  the text of the command
+     * @param batch the batch the command belongs to
+     */
+    private record Command(String text, long batch) {}
+
+    /**
+     * Constructs a command scheduler. Its sending thread is started
+     * immediately.
+     *
+     * @param sender        the function actually sending a command
+     * @param listener      the listener to be notified about the progress
+     * @param throttle      whether to throttle the commands
+     * @param rate          the commands permitted per second
+     * @param burst         the amount of commands permitted at once
+     * @param waitForPrompt whether to wait for a prompt between the commands of a batch
+     * @param name          the name of the sending thread
+     * @throws IllegalArgumentException if the sender or the listener is {@code null}
+     */
+    public CommandScheduler(final Consumer<String>        sender,
+                            final CommandProgressListener listener,
+                            final boolean                 throttle,
+                            final double                  rate,
+                            final int                     burst,
+                            final boolean                 waitForPrompt,
+                            final String                  name) {
+        if (sender   == null) throw new IllegalArgumentException("The sender must not be null!");
+        if (listener == null) throw new IllegalArgumentException("The listener must not be null!");
+
+        this.sender   = sender;
+        this.listener = listener;
+        setPacing(throttle, rate, burst, waitForPrompt);
+        this.tokens   = this.burst;
+
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Sets how the commands are paced. The rate and the burst are only
+     * used if the commands are throttled.
+     *
+     * @param throttle      whether to throttle the commands
+     * @param rate          the commands permitted per second
+     * @param burst         the amount of commands permitted at once
+     * @param waitForPrompt whether to wait for a prompt between the commands of a batch
+     */
+    public void setPacing(final boolean throttle, final double rate, final int burst, final boolean waitForPrompt) {
+        this.throttle      = throttle;
+        this.rate          = Math.max(rate, 0.1);
+        this.burst         = Math.max(burst, 1);
+        this.waitForPrompt = waitForPrompt;
+    }
+
+    /**
+     * Submits the given text. Every line of the text is sent as a
+     * separate command; a trailing line break is ignored.
+     *
+     * @param text the text to be sent
+     */
+    public void submit(final String text) {
+        final var lines = text.split("\r?\n", -1);
+        final var count = lines.length > 1 && lines[lines.length - 1].isEmpty() ? lines.length - 1 : lines.length;
+
+        final int currentSent, currentTotal;
+        synchronized (this) {
+            final var number = batch++;
+            for (int i = 0; i < count; ++i) {
+                queue.add(new Command(lines[i], number));
+            }
+            total += count;
+            currentSent  = sent;
+            currentTotal = total;
+        }
+        if (currentTotal > 1) {
+            listener.progressChanged(currentSent, currentTotal, false);
+        }
+    }
+
+    /**
+     * Cancels all pending commands.
+     */
+    public void cancel() {
+        final int     cancelledSent;
+        final boolean notify;
+        synchronized (this) {
+            validBatch = batch;
+            queue.clear();
+            prompts.release();
+            cancelledSent = sent;
+            notify        = total > 1;
+            sent  = 0;
+            total = 0;
+        }
+        if (notify) {
+            listener.progressChanged(cancelledSent, cancelledSent, false);
+        }
+    }
+
+    /**
+     * Notifies this scheduler about a received prompt.
+     */
+    public void promptReceived() {
+        prompts.release();
+    }
+
+    /**
+     * Returns whether there are commands waiting to be sent.
+     *
+     * @return whether commands are pending
+     */
+    public boolean isBusy() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Takes one token from the bucket, waiting until one is available.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    private void takeToken() throws InterruptedException {
+        while (true) {
+            final var now = System.nanoTime();
+            tokens     = Math.min(burst, tokens + (now - lastRefill) / 1e9 * rate);
+            lastRefill = now;
+            if (tokens >= 1) {
+                --tokens;
+                return;
+            }
+            TimeUnit.NANOSECONDS.sleep((long) Math.ceil((1 - tokens) / rate * 1e9));
+        }
+    }
+
+    /**
+     * Waits for a prompt to be received for the previous command. The
+     * listener is told about the waiting, so that it can be shown; the
+     * waiting ends after {@link #PROMPT_WAIT} milliseconds at the latest
+     * or when the pending commands are cancelled.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    private void awaitPrompt() throws InterruptedException {
+        if (prompts.tryAcquire()) return;
+
+        final int currentSent, currentTotal;
+        synchronized (this) {
+            currentSent  = sent;
+            currentTotal = total;
+        }
+        if (currentTotal > 1) {
+            listener.progressChanged(currentSent, currentTotal, true);
+        }
+        prompts.tryAcquire(PROMPT_WAIT, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the queued commands until the sending thread is interrupted.
+     */
+    private void run() {
+        try {
+            while (true) {
+                final var command = queue.take();
+                if (command.batch() < validBatch) continue;
+
+                if (waitForPrompt && command.batch() == lastBatch) {
+                    awaitPrompt();
+                }
+                if (throttle) {
+                    takeToken();
+                }
+                synchronized (this) {
+                    if (command.batch() < validBatch) continue;
+
+                    prompts.drainPermits();
+                    lastBatch = command.batch();
+                }
+                sender.accept(command.text());
+
+                final int currentSent, currentTotal;
+                synchronized (this) {
+                    if (command.batch() < validBatch) continue;
+
+                    currentSent  = ++sent;
+                    currentTotal = total;
+                    if (queue.isEmpty()) {
+                        sent  = 0;
+                        total = 0;
+                    }
+                }
+                if (currentTotal > 1) {
+                    listener.progressChanged(currentSent, currentTotal, false);
+                }
+            }
+        } catch (InterruptedException ignored) {}
+    }
+
+    @Override
+    public void close() {
+        worker.interrupt();
+    }
+}
@@ -36,6 +36,8 @@ public abstract class Connection implements Closeable, AutoCloseable {
     protected String name;
     /** The listener to be called for relevant events.                              */
     protected ConnectionListener listener;
+    /** Indicates whether TLS certificates are verified against the hostname.       */
+    protected volatile boolean verifyHostname = true;
 
     /**
      * Constructs a new connection using the given hostname and port.
@@ -88,6 +90,22 @@ public abstract class Connection implements Closeable, AutoCloseable {
      */
     public ConnectionListener getConnectionListener() { return listener; }
 
+    /**
+     * Sets whether the certificates of TLS connections are verified against
+     * the hostname. Defaults to {@code true}.
+     *
+     * @param verifyHostname whether to verify the hostname
+     */
+    public void setVerifyHostname(final boolean verifyHostname) { this.verifyHostname = verifyHostname; }
+
+    /**
+     * Returns whether the certificates of TLS connections are verified
+     * against the hostname.
+     *
+     * @return whether the hostname is verified
+     */
+    public boolean isVerifyingHostname() { return verifyHostname; }
+
     /**
      * This method establishes a connection to the remote host.
      */
@@ -21,7 +21,6 @@ package mhahnFr.SecretPathway.core.net;
 
 import mhahnFr.utils.Pair;
 
-import javax.net.ssl.SSLSocketFactory;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -38,15 +37,17 @@ import java.util.List;
  */
 public class ConnectionImpl extends Connection {
     /** The underlying socket.                                            */
-    private Socket socket;
+    private volatile Socket socket;
     /** The input stream associated with the held socket.                 */
-    private BufferedInputStream in;
+    private volatile BufferedInputStream in;
     /** The output stream associated with the held socket.                */
-    private BufferedOutputStream out;
+    private volatile BufferedOutputStream out;
+    /** The lock ordering the writes and the replacement of the streams.  */
+    private final Object streamLock = new Object();
     /** Indicates whether this connection has been closed.                */
-    private boolean closed;
+    private volatile boolean closed;
     /** Indicates whether this connection is using TLS.                   */
-    private boolean secure;
+    private volatile boolean secure;
     /** A buffer used to buffer incoming data before the listener is set. */
     private final List<Pair<byte[], Integer>> emergencyBuffer = new ArrayList<>();
 
@@ -73,7 +74,8 @@ public class ConnectionImpl extends Connection {
     }
 
     /**
-     * Settles the streams.
+     * Settles the streams. Should be called while holding the
+     * {@link #streamLock}.
      *
      * @throws IOException as thrown by the underlying streams and socket
      */
@@ -131,18 +133,27 @@ public class ConnectionImpl extends Connection {
         }
     }
 
+    /**
+     * Layers TLS over the current connection. The hostname of this
+     * connection is used, so that the certificate is verified against
+     * it and a cached session of it can be resumed. The handshake is done
+     * before this method returns and the streams are replaced, so it
+     * should be called on the receiving thread.
+     * <br>
+     * Data sent while the handshake is in progress is held back until the
+     * new streams are in place, so it is never sent in plain text.
+     */
     @Override
     public void startTLS() {
-        if (!secure) {
-            try {
-                socket = ((SSLSocketFactory) SSLSocketFactory.getDefault()).createSocket(
-                        socket,
-                        socket.getInetAddress().getHostAddress(),
-                        socket.getPort(),
-                        true);
-                secure = true;
-            } catch (IOException e) {
-                handleException(e);
+        synchronized (streamLock) {
+            if (!secure) {
+                try {
+                    socket = TLSSessions.getInstance().wrap(socket, hostname, port, verifyHostname);
+                    setupStreams();
+                    secure = true;
+                } catch (IOException e) {
+                    handleException(e);
+                }
             }
         }
     }
@@ -150,12 +161,14 @@ public class ConnectionImpl extends Connection {
     @Override
     public void establishConnection() {
         try {
-            if (secure) {
-                socket = SSLSocketFactory.getDefault().createSocket(hostname, port);
-            } else {
-                socket = new Socket(hostname, port);
+            synchronized (streamLock) {
+                if (secure) {
+                    socket = TLSSessions.getInstance().createSocket(hostname, port, verifyHostname);
+                } else {
+                    socket = new Socket(hostname, port);
+                }
+                setupStreams();
             }
-            setupStreams();
             startReceiving();
         } catch (IOException e) {
             handleException(e);
@@ -175,8 +188,10 @@ public class ConnectionImpl extends Connection {
     @Override
     public boolean send(byte[] data, int length) {
         try {
-            out.write(data, 0, length);
-            out.flush();
+            synchronized (streamLock) {
+                out.write(data, 0, length);
+                out.flush();
+            }
         } catch (IOException e) {
             handleException(e);
             return false;
@@ -81,4 +81,16 @@ public interface ConnectionSender {
      * @param text the text to be displayed
      */
     void setPromptText(final String text);
+
+    /**
+     * Marks the end of a prompt, signalled by the telnet
+     * commands {@code GA} or {@code EOR}.
+     */
+    void markPrompt();
+
+    /**
+     * Called when the answer to a timing mark request has been received,
+     * signalled by {@code WILL} or {@code WONT TIMING-MARK}.
+     */
+    void timingMarkReceived();
 }
@@ -0,0 +1,153 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class represents a histogram of latencies. The buckets are fixed:
+ * their upper bounds grow by the factor of the square root of two, from
+ * 100 microseconds to about one and a half minutes. Recording a sample
+ * does not allocate and does not block, so samples may be recorded from
+ * any thread.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LatencyHistogram {
+    /** The amount of buckets, the last one collecting all larger samples. */
+    private static final int BUCKETS = 41;
+    /** The upper bounds of the buckets in nanoseconds.                    */
+    private static final long[] BOUNDS = new long[BUCKETS];
+
+    static {
+        for (int i = 0; i < BUCKETS; ++i) {
+            BOUNDS[i] = i + 1 == BUCKETS ? Long.MAX_VALUE : Math.round(100_000 * Math.pow(Math.sqrt(2), i));
+        }
+    }
+
+    /** The counts of the buckets.             */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /** The total amount of samples.           */
+    private final AtomicLong count = new AtomicLong();
+    /** The sum of all samples in nanoseconds. */
+    private final AtomicLong sum = new AtomicLong();
+    /** The largest sample in nanoseconds.     */
+    private final AtomicLong max = new AtomicLong();
+    /** The most recent sample in nanoseconds. */
+    private volatile long last;
+
+    /**
+     * Records the given sample.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        var bucket = 0;
+        while (BOUNDS[bucket] < nanos) {
+            ++bucket;
+        }
+        counts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+        last = nanos;
+    }
+
+    /**
+     * Returns the amount of recorded samples.
+     *
+     * @return the amount of samples
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the recorded samples.
+     *
+     * @return the mean in nanoseconds, {@code 0} if there are no samples
+     */
+    public long getMean() {
+        final var samples = count.get();
+        return samples == 0 ? 0 : sum.get() / samples;
+    }
+
+    /**
+     * Returns the largest recorded sample.
+     *
+     * @return the largest sample in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the most recently recorded sample.
+     *
+     * @return the last sample in nanoseconds
+     */
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded
+     * samples, that is the upper bound of the bucket containing it.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the percentile in nanoseconds, {@code 0} if there are no samples
+     */
+    public long getPercentile(final double percentile) {
+        final var samples = count.get();
+        if (samples == 0) return 0;
+
+        final var rank = Math.max(1, (long) Math.ceil(samples * percentile / 100));
+        var seen = 0L;
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(BOUNDS[i], max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns a textual representation of the non-empty buckets.
+     *
+     * @return the buckets as text, one per line
+     */
+    public String describeBuckets() {
+        final var builder = new StringBuilder();
+        for (int i = 0; i < BUCKETS; ++i) {
+            final var bucketCount = counts.get(i);
+            if (bucketCount == 0) continue;
+
+            builder.append(i + 1 == BUCKETS ? String.format("  > %9.1f ms", BOUNDS[i - 1] / 1e6)
+                                            : String.format(" <= %9.1f ms", BOUNDS[i] / 1e6))
+                   .append(": ")
+                   .append(bucketCount)
+                   .append('\n');
+        }
+        return builder.toString();
+    }
+}
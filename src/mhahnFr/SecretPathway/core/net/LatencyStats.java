@@ -0,0 +1,151 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class collects the latency statistics of a connection: the round
+ * trip times of telnet timing mark probes and the times from a sent
+ * command to the first byte of the response. The statistics can be
+ * registered as an MBean.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LatencyStats implements LatencyStatsMBean {
+    /** The histogram of the round trip times.                     */
+    private final LatencyHistogram roundTrips = new LatencyHistogram();
+    /** The histogram of the times from a command to its response. */
+    private final LatencyHistogram responses  = new LatencyHistogram();
+    /** The name this instance is registered with, if registered.  */
+    private ObjectName name;
+
+    /**
+     * Returns the histogram of the round trip times.
+     *
+     * @return the round trip histogram
+     */
+    public LatencyHistogram getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * Returns the histogram of the times from a command to its first response.
+     *
+     * @return the response histogram
+     */
+    public LatencyHistogram getResponses() {
+        return responses;
+    }
+
+    /**
+     * Registers this instance at the platform MBean server for the given
+     * connection. Failures are printed and otherwise ignored.
+     *
+     * @param hostname the hostname of the connection
+     * @param port     the port of the connection
+     */
+    public synchronized void register(final String hostname, final int port) {
+        try {
+            final var server = ManagementFactory.getPlatformMBeanServer();
+            final var newName = new ObjectName("mhahnFr.SecretPathway:type=Latency,connection="
+                                               + ObjectName.quote(hostname + ":" + port));
+            if (server.isRegistered(newName)) {
+                server.unregisterMBean(newName);
+            }
+            server.registerMBean(this, newName);
+            name = newName;
+        } catch (JMException e) {
+            Diagnostics.error("Latency", "Could not register the latency statistics", e);
+        }
+    }
+
+    /**
+     * Unregisters this instance from the platform MBean server, if registered.
+     */
+    public synchronized void unregister() {
+        if (name == null) return;
+
+        try {
+            final var server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            Diagnostics.error("Latency", "Could not unregister the latency statistics", e);
+        }
+        name = null;
+    }
+
+    /**
+     * Converts the given nanoseconds to milliseconds.
+     *
+     * @param nanos the nanoseconds
+     * @return the milliseconds
+     */
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+
+    @Override
+    public long getRoundTripCount() {
+        return roundTrips.getCount();
+    }
+
+    @Override
+    public double getRoundTripLastMillis() {
+        return millis(roundTrips.getLast());
+    }
+
+    @Override
+    public double getRoundTripMedianMillis() {
+        return millis(roundTrips.getPercentile(50));
+    }
+
+    @Override
+    public double getRoundTrip99thMillis() {
+        return millis(roundTrips.getPercentile(99));
+    }
+
+    @Override
+    public long getResponseCount() {
+        return responses.getCount();
+    }
+
+    @Override
+    public double getResponseLastMillis() {
+        return millis(responses.getLast());
+    }
+
+    @Override
+    public double getResponseMedianMillis() {
+        return millis(responses.getPercentile(50));
+    }
+
+    @Override
+    public double getResponse99thMillis() {
+        return millis(responses.getPercentile(99));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+/**
+ * This interface defines the latency statistics of a connection
+ * exposed through JMX.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public interface LatencyStatsMBean {
+    /**
+     * Returns the amount of answered round trip probes.
+     *
+     * @return the amount of round trip samples
+     */
+    long getRoundTripCount();
+
+    /**
+     * Returns the most recent round trip time.
+     *
+     * @return the last round trip time in milliseconds
+     */
+    double getRoundTripLastMillis();
+
+    /**
+     * Returns the median round trip time.
+     *
+     * @return the median round trip time in milliseconds
+     */
+    double getRoundTripMedianMillis();
+
+    /**
+     * Returns the 99th percentile of the round trip times.
+     *
+     * @return the 99th percentile in milliseconds
+     */
+    double getRoundTrip99thMillis();
+
+    /**
+     * Returns the amount of commands whose response has been timed.
+     *
+     * @return the amount of response samples
+     */
+    long getResponseCount();
+
+    /**
+     * Returns the most recent time from a command to its first response.
+     *
+     * @return the last response time in milliseconds
+     */
+    double getResponseLastMillis();
+
+    /**
+     * Returns the median time from a command to its first response.
+     *
+     * @return the median response time in milliseconds
+     */
+    double getResponseMedianMillis();
+
+    /**
+     * Returns the 99th percentile of the times from a command to its first response.
+     *
+     * @return the 99th percentile in milliseconds
+     */
+    double getResponse99thMillis();
+}
@@ -0,0 +1,216 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertificateException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class creates the TLS sockets of the client. All of them share
+ * one {@link SSLContext}, whose session cache keeps the sessions for each
+ * host and port, so that reconnects resume the previous session instead
+ * of doing a full handshake. The durations of the full and the resumed
+ * handshakes are recorded.
+ * <br>
+ * The certificates are verified against the hostname of the server,
+ * unless the verification is turned off for a connection.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public final class TLSSessions {
+    /** The maximum amount of cached sessions. */
+    private static final int CACHE_SIZE      = 256;
+    /** The seconds a cached session is kept.  */
+    private static final int SESSION_TIMEOUT = 24 * 60 * 60;
+    /** The algorithm verifying the hostname.  */
+    private static final String ENDPOINT_IDENTIFICATION = "HTTPS";
+    /** The one instance of this class.        */
+    private static final TLSSessions instance = new TLSSessions();
+
+    /** The factory creating the sockets.        */
+    private final SSLSocketFactory factory;
+    /** The cache of the client sessions.        */
+    private final SSLSessionContext sessions;
+    /** The durations of the full handshakes.    */
+    private final LatencyHistogram fullHandshakes    = new LatencyHistogram();
+    /** The durations of the resumed handshakes. */
+    private final LatencyHistogram resumedHandshakes = new LatencyHistogram();
+
+    /**
+     * Initializes the shared {@link SSLContext}. If it cannot be created,
+     * the default socket factory is used.
+     */
+    private TLSSessions() {
+        SSLSocketFactory  socketFactory;
+        SSLSessionContext sessionContext;
+        try {
+            final var context = SSLContext.getInstance("TLS");
+            context.init(null, null, null);
+
+            sessionContext = context.getClientSessionContext();
+            sessionContext.setSessionCacheSize(CACHE_SIZE);
+            sessionContext.setSessionTimeout(SESSION_TIMEOUT);
+
+            socketFactory = context.getSocketFactory();
+        } catch (GeneralSecurityException e) {
+            Diagnostics.error("TLS", "Could not create the TLS context, using the default one", e);
+            socketFactory  = (SSLSocketFactory) SSLSocketFactory.getDefault();
+            sessionContext = null;
+        }
+        factory  = socketFactory;
+        sessions = sessionContext;
+    }
+
+    /**
+     * Returns the one instance of this class.
+     *
+     * @return the instance
+     */
+    public static TLSSessions getInstance() {
+        return instance;
+    }
+
+    /**
+     * Connects to the given endpoint using TLS. The handshake is done
+     * before this method returns.
+     *
+     * @param hostname       the hostname to connect to
+     * @param port           the port to connect to
+     * @param verifyHostname whether to verify the certificate against the hostname
+     * @return the connected socket
+     * @throws IOException if the connection or the handshake fails
+     */
+    public SSLSocket createSocket(final String hostname, final int port, final boolean verifyHostname) throws IOException {
+        return handshake((SSLSocket) factory.createSocket(hostname, port), hostname, verifyHostname);
+    }
+
+    /**
+     * Layers TLS over the given connected socket. The handshake is done
+     * before this method returns. The given hostname is used for finding
+     * a cached session and, if requested, for the verification of the
+     * certificate.
+     *
+     * @param socket         the connected socket
+     * @param hostname       the hostname of the endpoint
+     * @param port           the port of the endpoint
+     * @param verifyHostname whether to verify the certificate against the hostname
+     * @return the socket using TLS
+     * @throws IOException if the handshake fails
+     */
+    public SSLSocket wrap(final Socket  socket,
+                          final String  hostname,
+                          final int     port,
+                          final boolean verifyHostname) throws IOException {
+        return handshake((SSLSocket) factory.createSocket(socket, hostname, port, true), hostname, verifyHostname);
+    }
+
+    /**
+     * Returns the identifiers of the currently cached sessions.
+     *
+     * @return the identifiers of the cached sessions
+     */
+    private Set<ByteBuffer> getCachedIds() {
+        final var ids = new HashSet<ByteBuffer>();
+        if (sessions != null) {
+            final var enumeration = sessions.getIds();
+            while (enumeration.hasMoreElements()) {
+                ids.add(ByteBuffer.wrap(enumeration.nextElement()));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Does the handshake on the given socket and records its duration. A
+     * session that has been cached before the handshake is a resumed one.
+     * <br>
+     * If the certificate of the peer is verified against the hostname
+     * and the verification fails, an {@link SSLHandshakeException} telling
+     * that the verification can be turned off is thrown.
+     *
+     * @param socket         the socket
+     * @param hostname       the hostname of the endpoint
+     * @param verifyHostname whether to verify the certificate against the hostname
+     * @return the given socket
+     * @throws IOException if the handshake fails
+     */
+    private SSLSocket handshake(final SSLSocket socket, final String hostname, final boolean verifyHostname) throws IOException {
+        if (verifyHostname) {
+            final var parameters = socket.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm(ENDPOINT_IDENTIFICATION);
+            socket.setSSLParameters(parameters);
+        }
+
+        final var cached = getCachedIds();
+        final var start  = System.nanoTime();
+        try {
+            socket.startHandshake();
+        } catch (SSLHandshakeException e) {
+            final var cause = e.getCause();
+            if (verifyHostname && cause != null && cause.getClass() == CertificateException.class) {
+                final var exception = new SSLHandshakeException("The certificate of \"" + hostname +
+                        "\" could not be verified (" + cause.getMessage() + "). If the server is trusted, " +
+                        "the verification of its hostname can be turned off in the connection options.");
+                exception.initCause(e);
+                throw exception;
+            }
+            throw e;
+        }
+        final var duration = System.nanoTime() - start;
+
+        if (cached.contains(ByteBuffer.wrap(socket.getSession().getId()))) {
+            resumedHandshakes.record(duration);
+        } else {
+            fullHandshakes.record(duration);
+        }
+        return socket;
+    }
+
+    /**
+     * Returns the durations of the full handshakes.
+     *
+     * @return the histogram of the full handshakes
+     */
+    public LatencyHistogram getFullHandshakes() {
+        return fullHandshakes;
+    }
+
+    /**
+     * Returns the durations of the resumed handshakes.
+     *
+     * @return the histogram of the resumed handshakes
+     */
+    public LatencyHistogram getResumedHandshakes() {
+        return resumedHandshakes;
+    }
+}
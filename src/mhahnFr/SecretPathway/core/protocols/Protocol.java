@@ -126,8 +126,20 @@ public class Protocol {
     }
 
     public void onConnectionError() {
+        lastPlugin = null;
         for (final var plugin : plugins) {
             plugin.onConnectionError();
         }
     }
+
+    /**
+     * Notifies all plugins that the connection has been established.
+     * A sequence received in parts on a previous connection is dropped.
+     */
+    public void onConnectionEstablished() {
+        lastPlugin = null;
+        for (final var plugin : plugins) {
+            plugin.onConnectionEstablished();
+        }
+    }
 }
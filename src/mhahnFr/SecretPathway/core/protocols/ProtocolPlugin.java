@@ -55,4 +55,11 @@ public interface ProtocolPlugin {
     boolean process(byte b, ConnectionSender sender);
 
     default void onConnectionError() {}
+
+    /**
+     * Called when the connection has been established. A plugin should
+     * discard the state of a sequence that has only been received in
+     * parts on a previous connection.
+     */
+    default void onConnectionEstablished() {}
 }
@@ -19,6 +19,7 @@
 
 package mhahnFr.SecretPathway.core.protocols.ansi;
 
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
 import mhahnFr.SecretPathway.core.net.ConnectionSender;
 import mhahnFr.SecretPathway.core.protocols.ProtocolPlugin;
 import mhahnFr.SecretPathway.gui.ConnectionDelegate;
@@ -218,11 +219,11 @@ public class ANSIPlugin implements ProtocolPlugin {
                         }
                     }
 
-                    default -> System.err.println("Code not supported: " + splits[i] + "!");
+                    default -> Diagnostics.warning("ANSI", "Code not supported: " + splits[i] + "!");
                 }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            Diagnostics.error("ANSI", "Malformed escape sequence", e);
             current = before;
             result = false;
         }
@@ -0,0 +1,430 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.gmcp;
+
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class decodes GMCP messages while their bytes are received. A
+ * message consists of its name, optionally followed by a space and a
+ * JSON value. The JSON value is tokenized byte by byte, the strings are
+ * decoded as UTF-8. Once a message is complete, it is published on the
+ * {@link GMCPEventBus}. Malformed messages are dropped.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class GMCPDecoder {
+    /** The maximum amount of bytes of a single message. */
+    private static final int MAX_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * The states of the decoder.
+     */
+    private enum State {
+        /** Reading the name of the message.                 */
+        NAME,
+        /** Expecting a value.                               */
+        VALUE,
+        /** Expecting a key or the end of an object.         */
+        KEY_OR_END,
+        /** Expecting a key.                                 */
+        KEY,
+        /** Expecting the colon after a key.                 */
+        COLON,
+        /** Expecting a comma or the end of a container.     */
+        NEXT,
+        /** Reading a string.                                */
+        STRING,
+        /** Reading the character after a backslash.         */
+        ESCAPE,
+        /** Reading the hexadecimal digits of an escape.     */
+        UNICODE,
+        /** Reading a number.                                */
+        NUMBER,
+        /** Reading one of the literals true, false or null. */
+        LITERAL,
+        /** The value has been read completely.              */
+        DONE,
+        /** The message is malformed.                        */
+        ERROR
+    }
+
+    /** The bus the decoded messages are published on.           */
+    private final GMCPEventBus bus;
+    /** The bytes of the currently read name, string or number.  */
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    /** The decoded characters of the current string.            */
+    private final StringBuilder string = new StringBuilder();
+    /** The opened containers, the innermost last.               */
+    private final List<Object> containers = new ArrayList<>();
+    /** The keys of the opened objects awaiting their values.    */
+    private final List<String> keys = new ArrayList<>();
+    /** The current state.                                       */
+    private State state = State.DONE;
+    /** The name of the current message.                         */
+    private String name;
+    /** The decoded value of the current message.                */
+    private Object value;
+    /** Indicates whether the current string is a key.           */
+    private boolean isKey;
+    /** The code unit of the current unicode escape.             */
+    private int unicode;
+    /** The amount of read digits of the current unicode escape. */
+    private int unicodeDigits;
+    /** The literal currently read.                              */
+    private String literal;
+    /** The amount of matched characters of the current literal. */
+    private int literalIndex;
+    /** The amount of bytes of the current message.              */
+    private int size;
+
+    /**
+     * Constructs a decoder publishing on the given bus.
+     *
+     * @param bus the bus to publish the decoded messages on
+     * @throws IllegalArgumentException if the given bus is {@code null}
+     */
+    public GMCPDecoder(final GMCPEventBus bus) {
+        if (bus == null) throw new IllegalArgumentException("The event bus must not be null!");
+
+        this.bus = bus;
+    }
+
+    /**
+     * Begins a new message.
+     */
+    public void begin() {
+        bytes.reset();
+        string.setLength(0);
+        containers.clear();
+        keys.clear();
+        state = State.NAME;
+        name  = null;
+        value = null;
+        size  = 0;
+    }
+
+    /**
+     * Discards the partially received message, if any. It is neither
+     * published nor reported as malformed.
+     */
+    public void reset() {
+        bytes.reset();
+        string.setLength(0);
+        containers.clear();
+        keys.clear();
+        state = State.DONE;
+        name  = null;
+        value = null;
+        size  = 0;
+    }
+
+    /**
+     * Ends the current message. If it has been decoded successfully,
+     * it is published.
+     */
+    public void end() {
+        if (state == State.NAME) {
+            name  = bytes.toString(StandardCharsets.UTF_8);
+            state = State.DONE;
+        } else if (state == State.NUMBER && containers.isEmpty()) {
+            finishNumber();
+        } else if (state == State.VALUE && containers.isEmpty()) {
+            state = State.DONE;
+        }
+        if (state == State.DONE && name != null && !name.isEmpty()) {
+            bus.publish(new GMCPMessage(name, value));
+        } else if (state != State.DONE) {
+            Diagnostics.warning("GMCP", "Dropped malformed message" + (name == null ? "" : " " + name) + "!");
+        }
+        state = State.DONE;
+    }
+
+    /**
+     * Decodes the given byte of the current message.
+     *
+     * @param b the received byte
+     */
+    public void feed(final byte b) {
+        if (state == State.ERROR || state == State.DONE && name == null) return;
+        if (++size > MAX_SIZE) {
+            state = State.ERROR;
+            return;
+        }
+
+        switch (state) {
+            case NAME -> {
+                if (b == ' ') {
+                    name  = bytes.toString(StandardCharsets.UTF_8);
+                    state = State.VALUE;
+                    bytes.reset();
+                } else {
+                    bytes.write(b);
+                }
+            }
+
+            case STRING -> {
+                if (b == '"') {
+                    flushBytes();
+                    finishString();
+                } else if (b == '\\') {
+                    flushBytes();
+                    state = State.ESCAPE;
+                } else {
+                    bytes.write(b);
+                }
+            }
+
+            case ESCAPE  -> escape(b);
+            case UNICODE -> unicodeDigit(b);
+
+            case NUMBER -> {
+                if (b >= '0' && b <= '9' || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+                    bytes.write(b);
+                } else {
+                    finishNumber();
+                    structural(b);
+                }
+            }
+
+            case LITERAL -> {
+                if (b != literal.charAt(literalIndex++)) {
+                    state = State.ERROR;
+                } else if (literalIndex == literal.length()) {
+                    finishValue(switch (literal) {
+                        case "true"  -> Boolean.TRUE;
+                        case "false" -> Boolean.FALSE;
+                        default      -> null;
+                    });
+                }
+            }
+
+            default -> structural(b);
+        }
+    }
+
+    /**
+     * Handles the given byte outside of strings, numbers and literals.
+     *
+     * @param b the byte
+     */
+    private void structural(final byte b) {
+        if (b == ' ' || b == '\t' || b == '\n' || b == '\r') return;
+
+        switch (state) {
+            case VALUE -> beginValue(b);
+
+            case KEY_OR_END, KEY -> {
+                if (b == '"') {
+                    isKey = true;
+                    state = State.STRING;
+                } else if (b == '}' && state == State.KEY_OR_END) {
+                    closeContainer();
+                } else {
+                    state = State.ERROR;
+                }
+            }
+
+            case COLON -> state = b == ':' ? State.VALUE : State.ERROR;
+
+            case NEXT -> {
+                final var container = containers.get(containers.size() - 1);
+                if (b == ',') {
+                    state = container instanceof Map ? State.KEY : State.VALUE;
+                } else if (b == '}' && container instanceof Map || b == ']' && container instanceof List) {
+                    closeContainer();
+                } else {
+                    state = State.ERROR;
+                }
+            }
+
+            default -> state = State.ERROR;
+        }
+    }
+
+    /**
+     * Begins the value starting with the given byte.
+     *
+     * @param b the first byte of the value
+     */
+    private void beginValue(final byte b) {
+        switch (b) {
+            case '"' -> {
+                isKey = false;
+                state = State.STRING;
+            }
+            case '{' -> {
+                containers.add(new LinkedHashMap<String, Object>());
+                state = State.KEY_OR_END;
+            }
+            case '[' -> {
+                containers.add(new ArrayList<>());
+                state = State.VALUE;
+            }
+            case ']' -> {
+                if (!containers.isEmpty() && containers.get(containers.size() - 1) instanceof final List<?> list && list.isEmpty()) {
+                    closeContainer();
+                } else {
+                    state = State.ERROR;
+                }
+            }
+            case 't', 'f', 'n' -> {
+                literal      = b == 't' ? "true" : b == 'f' ? "false" : "null";
+                literalIndex = 1;
+                state        = State.LITERAL;
+            }
+            default -> {
+                if (b == '-' || b >= '0' && b <= '9') {
+                    bytes.reset();
+                    bytes.write(b);
+                    state = State.NUMBER;
+                } else {
+                    state = State.ERROR;
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles the given byte following a backslash in a string.
+     *
+     * @param b the escaped byte
+     */
+    private void escape(final byte b) {
+        state = State.STRING;
+        switch (b) {
+            case '"', '\\', '/' -> string.append((char) b);
+            case 'b' -> string.append('\b');
+            case 'f' -> string.append('\f');
+            case 'n' -> string.append('\n');
+            case 'r' -> string.append('\r');
+            case 't' -> string.append('\t');
+            case 'u' -> {
+                unicode       = 0;
+                unicodeDigits = 0;
+                state         = State.UNICODE;
+            }
+            default -> state = State.ERROR;
+        }
+    }
+
+    /**
+     * Handles the given hexadecimal digit of a unicode escape.
+     *
+     * @param b the digit
+     */
+    private void unicodeDigit(final byte b) {
+        final var digit = Character.digit(b, 16);
+        if (digit < 0) {
+            state = State.ERROR;
+            return;
+        }
+        unicode = unicode << 4 | digit;
+        if (++unicodeDigits == 4) {
+            string.append((char) unicode);
+            state = State.STRING;
+        }
+    }
+
+    /**
+     * Decodes the collected bytes of the current string and appends them.
+     */
+    private void flushBytes() {
+        if (bytes.size() > 0) {
+            string.append(bytes.toString(StandardCharsets.UTF_8));
+            bytes.reset();
+        }
+    }
+
+    /**
+     * Finishes the current string, either as key or as value.
+     */
+    private void finishString() {
+        final var result = string.toString();
+        string.setLength(0);
+        if (isKey) {
+            keys.add(result);
+            state = State.COLON;
+        } else {
+            finishValue(result);
+        }
+    }
+
+    /**
+     * Finishes the current number. Integral numbers are decoded as
+     * {@link Long}s if they fit, all others as {@link Double}s.
+     */
+    private void finishNumber() {
+        final var text = bytes.toString(StandardCharsets.US_ASCII);
+        bytes.reset();
+        try {
+            Object number;
+            if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                try {
+                    number = Long.parseLong(text);
+                } catch (NumberFormatException __) {
+                    number = Double.parseDouble(text);
+                }
+            } else {
+                number = Double.parseDouble(text);
+            }
+            finishValue(number);
+        } catch (NumberFormatException __) {
+            state = State.ERROR;
+        }
+    }
+
+    /**
+     * Closes the innermost container, which is then a finished value.
+     */
+    private void closeContainer() {
+        finishValue(containers.remove(containers.size() - 1));
+    }
+
+    /**
+     * Stores the given finished value in the innermost container or as
+     * the value of the message.
+     *
+     * @param finished the finished value
+     */
+    @SuppressWarnings("unchecked")
+    private void finishValue(final Object finished) {
+        if (containers.isEmpty()) {
+            value = finished;
+            state = State.DONE;
+            return;
+        }
+        final var container = containers.get(containers.size() - 1);
+        if (container instanceof final Map<?, ?> map) {
+            ((Map<String, Object>) map).put(keys.remove(keys.size() - 1), finished);
+        } else {
+            ((List<Object>) container).add(finished);
+        }
+        state = State.NEXT;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.gmcp;
+
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class distributes the received GMCP messages to the subscribed
+ * listeners. The subscriptions are kept in an array that is replaced on
+ * every change, so publishing a message neither locks nor allocates.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class GMCPEventBus {
+    /**
+     * This class represents a subscription of a listener.
+     *
+     * @param name     the subscribed name or package, empty for all messages
+     * @param listener the listener
+     */
+    private record Subscription(String name, GMCPListener listener) {
+        /**
+         * Returns whether the given message name is subscribed: either the
+         * name itself or a package containing it. The case is ignored.
+         *
+         * @param messageName the name of a message
+         * @return whether the message is subscribed
+         */
+        boolean matches(final String messageName) {
+            final var length = name.length();
+            return messageName.regionMatches(true, 0, name, 0, length)
+                    && (messageName.length() == length || length == 0 || messageName.charAt(length) == '.');
+        }
+    }
+
+    /** The current subscriptions. */
+    private final AtomicReference<Subscription[]> subscriptions = new AtomicReference<>(new Subscription[0]);
+
+    /**
+     * Subscribes the given listener to the messages of the given name. If
+     * a package name such as {@code Char} is given, all messages of it
+     * are delivered.
+     *
+     * @param name     the name of the message or of the package, empty for all messages
+     * @param listener the listener
+     * @throws IllegalArgumentException if one of the arguments is {@code null}
+     */
+    public void subscribe(final String name, final GMCPListener listener) {
+        if (name     == null) throw new IllegalArgumentException("The name must not be null!");
+        if (listener == null) throw new IllegalArgumentException("The listener must not be null!");
+
+        final var subscription = new Subscription(name, listener);
+        subscriptions.updateAndGet(current -> {
+            final var result = Arrays.copyOf(current, current.length + 1);
+            result[current.length] = subscription;
+            return result;
+        });
+    }
+
+    /**
+     * Removes all subscriptions of the given listener.
+     *
+     * @param listener the listener
+     */
+    public void unsubscribe(final GMCPListener listener) {
+        subscriptions.updateAndGet(current -> Arrays.stream(current)
+                                                    .filter(it -> it.listener() != listener)
+                                                    .toArray(Subscription[]::new));
+    }
+
+    /**
+     * Delivers the given message to the listeners subscribed to it.
+     * Exceptions of a listener do not prevent the delivery to the others.
+     *
+     * @param message the message
+     */
+    public void publish(final GMCPMessage message) {
+        for (final var subscription : subscriptions.get()) {
+            if (!subscription.matches(message.getName())) continue;
+
+            try {
+                subscription.listener().messageReceived(message);
+            } catch (Exception e) {
+                Diagnostics.error("GMCP", "Listener failed on " + message.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.gmcp;
+
+/**
+ * This interface defines a listener of GMCP messages.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+@FunctionalInterface
+public interface GMCPListener {
+    /**
+     * Called when a subscribed message has been received. It is called
+     * on the receiving thread of the connection, so listeners updating
+     * the user interface have to hand the message over to the event
+     * dispatching thread.
+     *
+     * @param message the received message
+     */
+    void messageReceived(final GMCPMessage message);
+}
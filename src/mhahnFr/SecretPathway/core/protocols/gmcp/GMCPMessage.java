@@ -0,0 +1,129 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.gmcp;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a decoded GMCP message. Its value consists of
+ * {@link Map}s, {@link List}s, {@link String}s, {@link Long}s,
+ * {@link Double}s, {@link Boolean}s and {@code null}.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class GMCPMessage {
+    /** The name of the message, including its package. */
+    private final String name;
+    /** The decoded value, {@code null} if none was sent. */
+    private final Object value;
+
+    /**
+     * Constructs a message.
+     *
+     * @param name  the name of the message, including its package
+     * @param value the decoded value
+     */
+    public GMCPMessage(final String name, final Object value) {
+        if (name == null) throw new IllegalArgumentException("The name must not be null!");
+
+        this.name  = name;
+        this.value = value;
+    }
+
+    /**
+     * Returns the name of the message, such as {@code Char.Vitals}.
+     *
+     * @return the name of the message
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the package of the message, such as {@code Char} for
+     * {@code Char.Vitals}.
+     *
+     * @return the package of the message
+     */
+    public String getPackage() {
+        final var index = name.lastIndexOf('.');
+        return index < 0 ? name : name.substring(0, index);
+    }
+
+    /**
+     * Returns the decoded value of the message.
+     *
+     * @return the value, {@code null} if none was sent
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the value of the given key, if the value of this message
+     * is an object.
+     *
+     * @param key the key
+     * @return the value of the key, {@code null} if not present
+     */
+    public Object get(final String key) {
+        return value instanceof final Map<?, ?> map ? map.get(key) : null;
+    }
+
+    /**
+     * Returns the value of the given key as a string. Numbers and booleans
+     * are converted.
+     *
+     * @param key the key
+     * @return the string value, {@code null} if not present
+     */
+    public String getString(final String key) {
+        final var result = get(key);
+        return result instanceof String || result instanceof Number || result instanceof Boolean ? result.toString() : null;
+    }
+
+    /**
+     * Returns the value of the given key as a number. Strings holding a
+     * number are converted, as some servers send numbers as strings.
+     *
+     * @param key      the key
+     * @param fallback the value returned if the key holds no number
+     * @return the numeric value
+     */
+    public double getNumber(final String key, final double fallback) {
+        final var result = get(key);
+        if (result instanceof final Number number) return number.doubleValue();
+        if (result instanceof final String string) {
+            try {
+                return Double.parseDouble(string.trim());
+            } catch (NumberFormatException __) {
+                return fallback;
+            }
+        }
+        return fallback;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + value;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.spp;
+
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+import mhahnFr.SecretPathway.core.net.TLSSessions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class represents a secondary connection carrying the file
+ * operations of the SecretPathwayProtocol (SPP), so that they do not
+ * block the game output on the main connection.
+ * <br>
+ * The channel is offered by the server on the main connection using
+ * {@code channel:offer:<port>:<token>:<tls|plain>}. The client connects
+ * to the same host on the offered port and authenticates by sending
+ * {@code channel:auth:<token>}. Once the server answers with
+ * {@code channel:ready}, the file commands are sent on this channel and
+ * their responses are expected on it. The messages are framed the same
+ * way as on the main connection. If the channel cannot be established
+ * or is lost, the file commands are sent on the main connection again.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class SPPDataChannel implements Runnable {
+    /** The milliseconds to wait for the connection to be established. */
+    private static final int CONNECT_TIMEOUT = 5000;
+
+    /** The plugin the received messages are handed to.                */
+    private final SPPPlugin plugin;
+    /** The hostname to connect to.                                    */
+    private final String hostname;
+    /** The port to connect to.                                        */
+    private final int port;
+    /** The token used for the authentication.                         */
+    private final String token;
+    /** Indicates whether to use TLS.                                  */
+    private final boolean secure;
+    /** Indicates whether to verify the certificate against the host.  */
+    private final boolean verifyHostname;
+    /** The buffer of the currently received message.                  */
+    private final ByteArrayOutputStream message = new ByteArrayOutputStream(1024);
+    /** The underlying socket.                                         */
+    private volatile Socket socket;
+    /** The output stream of the socket.                               */
+    private OutputStream out;
+    /** Indicates whether a message is currently being received.       */
+    private boolean inMessage;
+    /** Indicates whether this channel has been closed.                */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a data channel. It is not connected before it is run.
+     *
+     * @param plugin   the plugin to hand the received messages to
+     * @param hostname the hostname to connect to
+     * @param port     the port to connect to
+     * @param token    the token used for the authentication
+     * @param secure         whether to use TLS
+     * @param verifyHostname whether to verify the certificate against the hostname
+     */
+    SPPDataChannel(final SPPPlugin plugin,
+                   final String    hostname,
+                   final int       port,
+                   final String    token,
+                   final boolean   secure,
+                   final boolean   verifyHostname) {
+        this.plugin         = plugin;
+        this.hostname       = hostname;
+        this.port           = port;
+        this.token          = token;
+        this.secure         = secure;
+        this.verifyHostname = verifyHostname;
+    }
+
+    /**
+     * Connects, authenticates and receives the messages of this channel
+     * until it is closed. The plugin is notified once this channel is
+     * no longer usable.
+     */
+    @Override
+    public void run() {
+        try {
+            final var plain = new Socket();
+            plain.connect(new InetSocketAddress(hostname, port), CONNECT_TIMEOUT);
+            socket = secure ? TLSSessions.getInstance().wrap(plain, hostname, port, verifyHostname) : plain;
+            if (closed) return;
+
+            out = socket.getOutputStream();
+            if (!send(SPPPlugin.frame("channel:auth:" + token))) return;
+
+            receive(socket.getInputStream());
+        } catch (IOException e) {
+            if (!closed) {
+                Diagnostics.error("SPP", "Data channel lost", e);
+            }
+        } finally {
+            close();
+            plugin.dataChannelClosed(this);
+        }
+    }
+
+    /**
+     * Receives the messages of the given stream until it ends. The bytes
+     * between the framing bytes are copied in bulk.
+     *
+     * @param in the stream to read from
+     * @throws IOException if an I/O error occurs
+     */
+    private void receive(final InputStream in) throws IOException {
+        final var buffer = new byte[65536];
+        int length;
+        while (!closed && (length = in.read(buffer)) > 0) {
+            var i = 0;
+            while (i < length) {
+                if (!inMessage) {
+                    while (i < length && buffer[i] != 0x02) ++i;
+                    if (i == length) break;
+
+                    inMessage = true;
+                    message.reset();
+                    ++i;
+                }
+                final var begin = i;
+                while (i < length && buffer[i] != 0x03) ++i;
+                message.write(buffer, begin, i - begin);
+                if (i < length) {
+                    inMessage = false;
+                    ++i;
+                    handle(message.toString(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles the given received message.
+     *
+     * @param text the message
+     */
+    private void handle(final String text) {
+        if (text.equals("channel:ready")) {
+            plugin.dataChannelReady(this);
+        } else {
+            plugin.processMessage(text);
+        }
+    }
+
+    /**
+     * Sends the given framed message.
+     *
+     * @param bytes the framed message
+     * @return whether the message has been sent
+     */
+    synchronized boolean send(final byte[] bytes) {
+        if (closed || out == null) return false;
+
+        try {
+            out.write(bytes);
+            out.flush();
+            return true;
+        } catch (IOException e) {
+            close();
+            return false;
+        }
+    }
+
+    /**
+     * Closes this channel.
+     */
+    void close() {
+        closed = true;
+        final var current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                Diagnostics.error("SPP", "Could not close the data channel", e);
+            }
+        }
+    }
+}
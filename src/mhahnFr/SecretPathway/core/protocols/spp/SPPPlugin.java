@@ -19,12 +19,15 @@
 
 package mhahnFr.SecretPathway.core.protocols.spp;
 
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
 import mhahnFr.SecretPathway.core.net.ConnectionSender;
 import mhahnFr.SecretPathway.core.protocols.ProtocolPlugin;
 import mhahnFr.utils.ByteHelper;
 import mhahnFr.utils.Pair;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,20 +43,32 @@ public class SPPPlugin implements ProtocolPlugin {
     /** The buffer for a message in the SPP.                                */
     private final List<Byte> buffer = new Vector<>(256);
     /** A map with all registered fetchers that are waiting for a response. */
-    private final Map<Object, Pair<String, String>> fetchers = new HashMap<>(); // FIXME: Multithreading?
+    private final Map<Object, Pair<String, String>> fetchers = Collections.synchronizedMap(new HashMap<>());
     /** The sender used for sending messages. */
     private final ConnectionSender sender;
+    /** The hostname of the connection, used for the data channel.          */
+    private final String hostname;
+    /** Indicates whether the data channel verifies the hostname.           */
+    private final boolean verifyHostname;
     /** Indicates whether this plugin is active.                            */
     private boolean active;
     private boolean connectionError;
+    /** The offered data channel, {@code null} if none has been offered.    */
+    private SPPDataChannel offeredChannel;
+    /** The data channel used for the file commands, {@code null} if none.  */
+    private volatile SPPDataChannel dataChannel;
 
     /**
      * Constructs this plugin using the given sender.
      *
-     * @param sender the sender used for sending messages
+     * @param sender         the sender used for sending messages
+     * @param hostname       the hostname of the connection
+     * @param verifyHostname whether the data channel verifies its certificate against the hostname
      */
-    public SPPPlugin(final ConnectionSender sender) {
-        this.sender = sender;
+    public SPPPlugin(final ConnectionSender sender, final String hostname, final boolean verifyHostname) {
+        this.sender         = sender;
+        this.hostname       = hostname;
+        this.verifyHostname = verifyHostname;
     }
 
     @Override
@@ -75,6 +90,7 @@ public class SPPPlugin implements ProtocolPlugin {
     @Override
     public void onConnectionError() {
         connectionError = true;
+        closeDataChannel();
         fetchers.clear();
     }
 
@@ -85,9 +101,11 @@ public class SPPPlugin implements ProtocolPlugin {
      * @param newValue the result
      */
     private void setFetchedValue(final String fileName, final Pair<String, String> newValue) {
-        for (final var entry : fetchers.entrySet()) {
-            if (entry.getValue().getFirst().equals(fileName)) {
-                entry.setValue(newValue);
+        synchronized (fetchers) {
+            for (final var entry : fetchers.entrySet()) {
+                if (entry.getValue() != null && entry.getValue().getFirst().equals(fileName)) {
+                    entry.setValue(newValue);
+                }
             }
         }
     }
@@ -142,12 +160,36 @@ public class SPPPlugin implements ProtocolPlugin {
         }
     }
 
+    /**
+     * Handles a data channel command of the SPP.
+     *
+     * @param command the command
+     */
+    private void handleChannelCommand(final String command) {
+        final var parts = command.split(":");
+        if (parts.length != 4 || !parts[0].equals("offer")) return;
+
+        try {
+            openDataChannel(Integer.parseInt(parts[1]), parts[2], parts[3].equals("tls"));
+        } catch (NumberFormatException __) {
+            Diagnostics.warning("SPP", "Invalid data channel offer: " + command);
+        }
+    }
+
     /**
      * Handles the received SPP message.
      */
     private void processBuffer() {
-        final var str = new String(ByteHelper.castToByte(buffer.toArray(new Byte[0])), StandardCharsets.UTF_8);
+        processMessage(new String(ByteHelper.castToByte(buffer.toArray(new Byte[0])), StandardCharsets.UTF_8));
+    }
 
+    /**
+     * Handles the given SPP message, received on the main connection or
+     * on the data channel.
+     *
+     * @param str the message
+     */
+    void processMessage(final String str) {
         final var index = str.indexOf(':');
 
         final String code      = str.substring(0, index),
@@ -158,6 +200,7 @@ public class SPPPlugin implements ProtocolPlugin {
             case "prompt"      -> sender.setPromptText(remainder.isEmpty() ? null : remainder);
             case "file"        -> handleFileCommand(remainder);
             case "editor"      -> handleEditorCommand(remainder);
+            case "channel"     -> handleChannelCommand(remainder);
         }
     }
 
@@ -171,11 +214,12 @@ public class SPPPlugin implements ProtocolPlugin {
     }
 
     /**
-     * Sends the given message in the SPP.
+     * Frames the given message for sending it in the SPP.
      *
-     * @param message the message to be sent
+     * @param message the message to be framed
+     * @return the framed message
      */
-    private void send(final String message) {
+    static byte[] frame(final String message) {
         final var bytes = message.getBytes(StandardCharsets.UTF_8);
 
         final var sendBytes = new byte[bytes.length + 3];
@@ -185,7 +229,98 @@ public class SPPPlugin implements ProtocolPlugin {
         sendBytes[sendBytes.length - 2] = 0x03;
         sendBytes[sendBytes.length - 1] = (byte) '\n';
 
-         sender.send(sendBytes);
+        return sendBytes;
+    }
+
+    /**
+     * Sends the given message in the SPP.
+     *
+     * @param message the message to be sent
+     */
+    private void send(final String message) {
+         sender.send(frame(message));
+    }
+
+    /**
+     * Sends the given file command. It is sent on the data channel if
+     * one is established, otherwise on the main connection.
+     *
+     * @param message the message to be sent
+     */
+    private void sendFileCommand(final String message) {
+        final var channel = dataChannel;
+        if (channel == null || !channel.send(frame(message))) {
+            send(message);
+        }
+    }
+
+    /**
+     * Opens the offered data channel in the background. If a data channel
+     * has already been offered, the offer is ignored.
+     *
+     * @param port   the offered port
+     * @param token  the token used for the authentication
+     * @param secure whether to use TLS
+     */
+    private synchronized void openDataChannel(final int port, final String token, final boolean secure) {
+        if (offeredChannel != null || connectionError) return;
+
+        offeredChannel = new SPPDataChannel(this, hostname, port, token, secure, verifyHostname);
+        final var thread = new Thread(offeredChannel, "SPP data channel");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Called once the given data channel has been authenticated. The file
+     * commands are then sent on it.
+     *
+     * @param channel the ready data channel
+     */
+    synchronized void dataChannelReady(final SPPDataChannel channel) {
+        if (channel == offeredChannel) {
+            dataChannel = channel;
+        }
+    }
+
+    /**
+     * Called once the given data channel has been closed. The file commands
+     * are sent on the main connection again; if the channel has been in use,
+     * the pending fetches are requested again on it.
+     *
+     * @param channel the closed data channel
+     */
+    void dataChannelClosed(final SPPDataChannel channel) {
+        final boolean wasReady;
+        synchronized (this) {
+            if (channel != offeredChannel) return;
+
+            wasReady    = dataChannel == channel;
+            dataChannel = null;
+        }
+        if (connectionError || !wasReady) return;
+
+        final var pending = new ArrayList<String>();
+        synchronized (fetchers) {
+            for (final var fetcher : fetchers.values()) {
+                if (fetcher != null && fetcher.getSecond() == null) {
+                    pending.add(fetcher.getFirst());
+                }
+            }
+        }
+        for (final var fileName : pending) {
+            send("file:fetch:" + fileName);
+        }
+    }
+
+    /**
+     * Closes the data channel, if one has been offered.
+     */
+    public synchronized void closeDataChannel() {
+        if (offeredChannel != null) {
+            offeredChannel.close();
+        }
+        dataChannel = null;
     }
 
     /**
@@ -237,8 +372,8 @@ public class SPPPlugin implements ProtocolPlugin {
                             final String fileName) {
         if (connectionError) return null;
 
-        send("file:fetch:" + fileName);
         registerFetcher(id, fileName);
+        sendFileCommand("file:fetch:" + fileName);
         while (fetcherWaiting(id)) {
             Thread.onSpinWait();
         }
@@ -255,7 +390,7 @@ public class SPPPlugin implements ProtocolPlugin {
      */
     public void saveFile(final String fileName,
                          final String content) {
-        send("file:store:" + fileName + ":" + content);
+        sendFileCommand("file:store:" + fileName + ":" + content);
     }
 
     /**
@@ -264,7 +399,7 @@ public class SPPPlugin implements ProtocolPlugin {
      * @param fileName the file to be compiled
      */
     public void compileFile(final String fileName) {
-        send("file:compile:" + fileName);
+        sendFileCommand("file:compile:" + fileName);
     }
 
     /**
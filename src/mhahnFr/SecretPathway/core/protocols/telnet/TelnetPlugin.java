@@ -19,11 +19,15 @@
 
 package mhahnFr.SecretPathway.core.protocols.telnet;
 
+import mhahnFr.SecretPathway.core.Constants;
 import mhahnFr.SecretPathway.core.Settings;
 import mhahnFr.SecretPathway.core.net.ConnectionSender;
 import mhahnFr.SecretPathway.core.protocols.ProtocolPlugin;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPDecoder;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPEventBus;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Vector;
 
@@ -94,7 +98,9 @@ public class TelnetPlugin implements ProtocolPlugin {
 
     /** An enumeration of the basic telnet functions. */
     abstract static class TelnetFunction {
+        final static short EOR  = 239;
         final static short SE   = 240;
+        final static short GA   = 249;
         final static short SB   = 250;
         final static short WILL = 251;
         final static short WONT = 252;
@@ -129,7 +135,8 @@ public class TelnetPlugin implements ProtocolPlugin {
 
     /** An enumeration containing MUD specific additions. */
     abstract static class MudExtensions {
-        final static short SPP = 103;
+        final static short SPP  = 103;
+        final static short GMCP = 201;
     }
 
     /** Indicates whether the currently received telnet sequence ends with IAC SE. */
@@ -138,6 +145,42 @@ public class TelnetPlugin implements ProtocolPlugin {
     private short last = TelnetFunction.IAC;
     /** A buffer storing longer received telnet sequences.                         */
     private final Vector<Short> buffer = new Vector<>();
+    /** The decoder of the GMCP messages, streamed without using the buffer.       */
+    private final GMCPDecoder gmcp;
+    /** Indicates whether a GMCP message is currently received.                    */
+    private boolean inGMCP = false;
+
+    /**
+     * Constructs this plugin. The received GMCP messages are published
+     * on the given bus.
+     *
+     * @param gmcpBus the bus to publish the GMCP messages on
+     */
+    public TelnetPlugin(final GMCPEventBus gmcpBus) {
+        gmcp = new GMCPDecoder(gmcpBus);
+    }
+
+    @Override
+    public void onConnectionError() {
+        reset();
+    }
+
+    @Override
+    public void onConnectionEstablished() {
+        reset();
+    }
+
+    /**
+     * Discards the currently received telnet sequence, including a
+     * partially decoded GMCP message.
+     */
+    private void reset() {
+        hasEnd = null;
+        last   = TelnetFunction.IAC;
+        buffer.clear();
+        inGMCP = false;
+        gmcp.reset();
+    }
 
     @Override
     public boolean isBegin(byte b) {
@@ -154,15 +197,20 @@ public class TelnetPlugin implements ProtocolPlugin {
             if (hasEnd) {
                 if (bb == TelnetFunction.IAC) {
                     if (last == TelnetFunction.IAC) {
-                        buffer.add(bb);
+                        store(bb);
                     } else {
                         last = TelnetFunction.IAC;
                     }
                     result = true;
                 } else if (bb == TelnetFunction.SE && last == TelnetFunction.IAC) {
-                    parseBuffer(buffer, sender);
+                    if (inGMCP) {
+                        inGMCP = false;
+                        gmcp.end();
+                    } else {
+                        parseBuffer(buffer, sender);
+                    }
                 } else {
-                    buffer.add(bb);
+                    store(bb);
                     result = true;
                 }
             } else {
@@ -179,6 +227,8 @@ public class TelnetPlugin implements ProtocolPlugin {
                     hasEnd = true;
                     result = true;
                 }
+
+                case TelnetFunction.GA, TelnetFunction.EOR -> sender.markPrompt();
             }
             last = bb;
         }
@@ -192,6 +242,23 @@ public class TelnetPlugin implements ProtocolPlugin {
         return result;
     }
 
+    /**
+     * Stores the given byte of a sub negotiation. The bytes of a GMCP
+     * message are decoded right away, all others are buffered.
+     *
+     * @param bb the received byte
+     */
+    private void store(final short bb) {
+        if (inGMCP) {
+            gmcp.feed((byte) bb);
+        } else if (buffer.isEmpty() && bb == MudExtensions.GMCP) {
+            inGMCP = true;
+            gmcp.begin();
+        } else {
+            buffer.add(bb);
+        }
+    }
+
     /**
      * Parses the given telnet buffer. It should consist of the contents
      * of an SB sub negotiation, but without the telnet control characters.
@@ -295,6 +362,36 @@ public class TelnetPlugin implements ProtocolPlugin {
                 }
             }
 
+            case Code.EOR -> {
+                switch (previous) {
+                    case TelnetFunction.WILL -> sendSingle(TelnetFunction.DO, option, sender);
+                    case TelnetFunction.WONT -> sendSingle(TelnetFunction.DONT, option, sender);
+
+                    default -> refuse = true;
+                }
+            }
+
+            case Code.TIMING_MARK -> {
+                switch (previous) {
+                    case TelnetFunction.WILL, TelnetFunction.WONT -> sender.timingMarkReceived();
+
+                    default -> refuse = true;
+                }
+            }
+
+            case MudExtensions.GMCP -> {
+                switch (previous) {
+                    case TelnetFunction.WILL -> {
+                        sendSingle(TelnetFunction.DO, option, sender);
+                        sendGMCP(sender, "Core.Hello {\"client\":\"" + Constants.NAME + "\",\"version\":\"" + Constants.VERSION + "\"}");
+                        sendGMCP(sender, "Core.Supports.Set [\"Char 1\",\"Char.Items 1\",\"Room 1\",\"Comm.Channel 1\"]");
+                    }
+                    case TelnetFunction.WONT -> sendSingle(TelnetFunction.DONT, option, sender);
+
+                    default -> refuse = true;
+                }
+            }
+
             case MudExtensions.SPP -> {
                 sendSingle(TelnetFunction.DO, MudExtensions.SPP, sender);
                 sender.enableSPP();
@@ -313,6 +410,18 @@ public class TelnetPlugin implements ProtocolPlugin {
         }
     }
 
+    /**
+     * Returns the telnet command asking the remote host for a timing mark:
+     * {@code IAC DO TIMING-MARK}. The remote host answers it once it has
+     * processed everything sent before, which makes it usable for measuring
+     * the round trip time.
+     *
+     * @return the bytes of the timing mark request
+     */
+    public static byte[] timingMarkRequest() {
+        return new byte[] { (byte) TelnetFunction.IAC, (byte) TelnetFunction.DO, (byte) Code.TIMING_MARK };
+    }
+
     /**
      * Sends back a single telnet function response. The message sent looks
      * like: {@code IAC <previous> <option>}.
@@ -331,6 +440,26 @@ public class TelnetPlugin implements ProtocolPlugin {
         sender.send(bytes);
     }
 
+    /**
+     * Sends the given GMCP message in a telnet sub negotiation.
+     *
+     * @param sender  the sender used for sending the message
+     * @param message the message, consisting of its name and its JSON value
+     */
+    private void sendGMCP(ConnectionSender sender, final String message) {
+        final var payload = message.getBytes(StandardCharsets.UTF_8);
+        final var bytes   = new byte[payload.length + 5];
+
+        bytes[0] = (byte) TelnetFunction.IAC;
+        bytes[1] = (byte) TelnetFunction.SB;
+        bytes[2] = (byte) MudExtensions.GMCP;
+        System.arraycopy(payload, 0, bytes, 3, payload.length);
+        bytes[bytes.length - 2] = (byte) TelnetFunction.IAC;
+        bytes[bytes.length - 1] = (byte) TelnetFunction.SE;
+
+        sender.send(bytes);
+    }
+
     /**
      * Sends a telnet sub negotiation using the given sender.
      *
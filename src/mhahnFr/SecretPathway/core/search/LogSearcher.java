@@ -0,0 +1,180 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.search;
+
+import mhahnFr.SecretPathway.core.log.SessionLogReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class searches a session log using a {@link TrigramIndex}.
+ * The index is built when the log is searched the first time and
+ * extended by the entries appended since the last search.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LogSearcher {
+    /** The maximum amount of postings stored for a log. */
+    private static final int MAX_POSTINGS = 1024 * 1024;
+
+    /** The reader of the searched log.                            */
+    private final SessionLogReader reader;
+    /** The searched log file.                                     */
+    private final Path file;
+    /** The index over the lines of the log.                       */
+    private final TrigramIndex index = new TrigramIndex(MAX_POSTINGS);
+    /** The positions of the entries the lines begin in.           */
+    private long[] linePositions = new long[1024];
+    /** The offsets of the lines inside the entries they begin in. */
+    private int[] lineOffsets = new int[1024];
+    /** The amount of lines whose beginning is known.              */
+    private int lineCount;
+    /** The position behind the last indexed entry.                */
+    private long indexedEnd;
+
+    /**
+     * Constructs a searcher for the given session log.
+     *
+     * @param file the session log to be searched
+     * @throws IllegalArgumentException if the given file is {@code null}
+     */
+    public LogSearcher(final Path file) {
+        if (file == null) throw new IllegalArgumentException("The log file must not be null!");
+
+        this.file   = file;
+        this.reader = new SessionLogReader(file);
+    }
+
+    /**
+     * Indexes the entries appended to the log since the last update.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void update() throws IOException {
+        if (lineCount == 0) {
+            addLineStart(0, 0);
+        }
+        indexedEnd = reader.forEach(indexedEnd, (record, position) -> {
+            final var text = record.text();
+            index.append(text);
+            for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+                addLineStart(position, i + 1);
+            }
+        });
+    }
+
+    /**
+     * Remembers the beginning of the next line.
+     *
+     * @param position the position of the entry the line begins in
+     * @param offset   the offset of the line inside the entry
+     */
+    private void addLineStart(final long position, final int offset) {
+        if (lineCount == linePositions.length) {
+            linePositions = Arrays.copyOf(linePositions, lineCount * 2);
+            lineOffsets   = Arrays.copyOf(lineOffsets,   lineCount * 2);
+        }
+        linePositions[lineCount] = position;
+        lineOffsets[lineCount]   = offset;
+        ++lineCount;
+    }
+
+    /**
+     * Reads the given line from the log.
+     *
+     * @param line the index of the line
+     * @return the text of the line without the line break
+     */
+    private String readLine(final int line) {
+        try {
+            final var builder  = new StringBuilder();
+            var       position = linePositions[line];
+            var       offset   = lineOffsets[line];
+            while (true) {
+                final var record = reader.read(position);
+                if (record == null) break;
+
+                final var text = record.text();
+                final var end  = text.indexOf('\n', offset);
+                if (end >= 0) {
+                    builder.append(text, offset, end);
+                    break;
+                }
+                builder.append(text, offset, text.length());
+                position += record.getSize();
+                offset    = 0;
+            }
+            return builder.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Searches the lines of the log matching the given query.
+     *
+     * @param query      the query
+     * @param maxResults the maximum amount of results
+     * @return the matching lines, the newest ones first
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized List<Result> search(final SearchQuery query, final int maxResults) throws IOException {
+        update();
+
+        final var result = new ArrayList<Result>();
+        try {
+            var line = lineCount - 1;
+            while (result.size() < maxResults && line >= 0) {
+                line = index.find(query, line, false, this::readLine, lineCount);
+                if (line < 0) break;
+
+                result.add(new Result(file, line, readLine(line)));
+                --line;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the searched log file.
+     *
+     * @return the log file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * This record represents a line of a session log matching a query.
+     *
+     * @param file the log file
+     * @param line the index of the line inside the log
+     * @param text the text of the line
+     */
+    public record Result(Path file, int line, String text) {}
+}
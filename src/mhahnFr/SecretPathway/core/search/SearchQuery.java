@@ -0,0 +1,292 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * This class represents a compiled search query. A query is either
+ * a plain text searched ignoring the case or a regular expression.
+ * For regular expressions, the literal texts every match has to
+ * contain are extracted, so they can be used to prefilter the lines.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class SearchQuery {
+    /** Matches the inline flags turning on the comments mode. */
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z]*x[a-zA-Z]*(-[a-zA-Z]*)?[:)]");
+
+    /** The searched text or the source of the regular expression.     */
+    private final String text;
+    /** The compiled regular expression, {@code null} for plain texts. */
+    private final Pattern pattern;
+    /** The literal texts every match has to contain.                  */
+    private final List<String> literals;
+
+    /**
+     * Constructs a search query.
+     *
+     * @param text  the text to be searched or the regular expression
+     * @param regex whether the text is a regular expression
+     * @throws IllegalArgumentException if the given text is {@code null} or empty
+     * @throws PatternSyntaxException   if the regular expression is invalid
+     */
+    public SearchQuery(final String text, final boolean regex) {
+        if (text == null || text.isEmpty()) throw new IllegalArgumentException("The searched text must not be empty!");
+
+        this.text = text;
+        if (regex) {
+            pattern  = Pattern.compile(text, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            literals = extractLiterals(text);
+        } else {
+            pattern  = null;
+            literals = List.of(text);
+        }
+    }
+
+    /**
+     * Extracts the literal texts a match of the given regular expression
+     * has to contain. Only the top level of the expression is analyzed;
+     * if it contains an alternation, no literals are returned. Escapes
+     * other than escaped punctuation and quotations are treated as one
+     * opaque atom, including their arguments. If the comments flag is
+     * used, no literals are returned either.
+     *
+     * @param regex the regular expression
+     * @return the required literal texts
+     */
+    static List<String> extractLiterals(final String regex) {
+        if (COMMENTS_FLAG.matcher(regex).find()) return Collections.emptyList();
+
+        final var result  = new ArrayList<String>();
+        final var current = new StringBuilder();
+        var depth = 0;
+        for (int i = 0; i < regex.length(); ++i) {
+            final var c = regex.charAt(i);
+            if (depth > 0) {
+                switch (c) {
+                    case '\\' -> i = skipEscape(regex, i);
+                    case '['  -> i = skipClass(regex, i);
+                    case '('  -> ++depth;
+                    case ')'  -> {
+                        --depth;
+                        if (depth == 0 && i + 1 < regex.length() && isQuantifier(regex.charAt(i + 1))) {
+                            ++i;
+                        }
+                    }
+                }
+                continue;
+            }
+            switch (c) {
+                case '|' -> { return Collections.emptyList(); }
+                case '(' -> {
+                    flush(current, result);
+                    ++depth;
+                }
+                case '[' -> {
+                    flush(current, result);
+                    i = skipClass(regex, i);
+                }
+                case '*', '?', '{', '+' -> {
+                    if (c != '+' && !current.isEmpty()) current.setLength(current.length() - 1);
+                    flush(current, result);
+                    if (c == '{') {
+                        final var end = regex.indexOf('}', i);
+                        i = end < 0 ? regex.length() : end;
+                    }
+                    if (i + 1 < regex.length() && (regex.charAt(i + 1) == '?' || regex.charAt(i + 1) == '+')) {
+                        ++i;
+                    }
+                }
+                case '.', '^', '$' -> flush(current, result);
+                case '\\' -> {
+                    if (i + 1 >= regex.length()) break;
+
+                    final var next = regex.charAt(i + 1);
+                    if (next == 'Q') {
+                        final var end = regex.indexOf("\\E", i + 2);
+                        current.append(regex, i + 2, end < 0 ? regex.length() : end);
+                        i = end < 0 ? regex.length() : end + 1;
+                    } else if (Character.isLetterOrDigit(next)) {
+                        flush(current, result);
+                        i = skipEscape(regex, i);
+                    } else {
+                        current.append(next);
+                        ++i;
+                    }
+                }
+                default -> current.append(c);
+            }
+        }
+        flush(current, result);
+        return result;
+    }
+
+    /**
+     * Returns whether the given character is a quantifier.
+     *
+     * @param c the character to be checked
+     * @return whether the character is a quantifier
+     */
+    private static boolean isQuantifier(final char c) {
+        return c == '*' || c == '?' || c == '+' || c == '{';
+    }
+
+    /**
+     * Returns the index of the last character of the escape starting at
+     * the given index. The arguments of the escape are included, that is
+     * the digits of hexadecimal, Unicode and octal escapes, the control
+     * character, the name of named references and the text of quotations.
+     *
+     * @param regex the regular expression
+     * @param begin the index of the backslash
+     * @return the index of the last character of the escape
+     */
+    private static int skipEscape(final String regex, final int begin) {
+        var i = begin + 1;
+        if (i >= regex.length()) return i;
+
+        return switch (regex.charAt(i)) {
+            case 'x'      -> i + 1 < regex.length() && regex.charAt(i + 1) == '{' ? skipTo(regex, i + 1, '}')
+                                                                                  : Math.min(i + 2, regex.length() - 1);
+            case 'u'      -> Math.min(i + 4, regex.length() - 1);
+            case '0'      -> {
+                var digits = 0;
+                while (digits < 3 && i + 1 < regex.length() && regex.charAt(i + 1) >= '0' && regex.charAt(i + 1) <= '7') {
+                    ++i;
+                    ++digits;
+                }
+                yield i;
+            }
+            case 'c'      -> Math.min(i + 1, regex.length() - 1);
+            case 'k'      -> skipTo(regex, i, '>');
+            case 'p', 'P' -> i + 1 < regex.length() && regex.charAt(i + 1) == '{' ? skipTo(regex, i + 1, '}') : i + 1;
+            case 'N'      -> skipTo(regex, i, '}');
+            case 'Q'      -> {
+                final var end = regex.indexOf("\\E", i);
+                yield end < 0 ? regex.length() : end + 1;
+            }
+            case '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+                while (i + 1 < regex.length() && Character.isDigit(regex.charAt(i + 1))) ++i;
+                yield i;
+            }
+            default -> i;
+        };
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given character
+     * after the given index.
+     *
+     * @param regex the regular expression
+     * @param begin the index to start searching after
+     * @param c     the searched character
+     * @return the index of the character or the last index if not found
+     */
+    private static int skipTo(final String regex, final int begin, final char c) {
+        final var end = regex.indexOf(c, begin + 1);
+        return end < 0 ? regex.length() - 1 : end;
+    }
+
+    /**
+     * Returns the index of the end of the character class starting at the given index.
+     *
+     * @param regex the regular expression
+     * @param begin the index of the opening bracket
+     * @return the index of the closing bracket
+     */
+    private static int skipClass(final String regex, final int begin) {
+        var i = begin + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') ++i;
+        if (i < regex.length() && regex.charAt(i) == ']') ++i;
+        for (; i < regex.length(); ++i) {
+            switch (regex.charAt(i)) {
+                case '\\' -> i = skipEscape(regex, i);
+                case '['  -> i = skipClass(regex, i);
+                case ']'  -> { return i; }
+            }
+        }
+        return regex.length();
+    }
+
+    /**
+     * Adds the given literal to the given list if it is not empty and clears it.
+     *
+     * @param literal the collected literal
+     * @param list    the list of literals
+     */
+    private static void flush(final StringBuilder literal, final List<String> list) {
+        if (!literal.isEmpty()) {
+            list.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Returns whether the given line matches this query.
+     *
+     * @param line the line to be checked
+     * @return whether the line matches
+     */
+    public boolean matches(final CharSequence line) {
+        if (pattern != null) {
+            return pattern.matcher(line).find();
+        }
+        final var string = line.toString();
+        for (int i = 0; i + text.length() <= string.length(); ++i) {
+            if (string.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the literal texts every match has to contain.
+     *
+     * @return the required literal texts
+     */
+    public List<String> getLiterals() {
+        return literals;
+    }
+
+    /**
+     * Returns whether this query is a regular expression.
+     *
+     * @return whether this query is a regular expression
+     */
+    public boolean isRegex() {
+        return pattern != null;
+    }
+
+    /**
+     * Returns the searched text or the source of the regular expression.
+     *
+     * @return the text of this query
+     */
+    public String getText() {
+        return text;
+    }
+}
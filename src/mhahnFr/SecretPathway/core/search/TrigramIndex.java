@@ -0,0 +1,399 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntFunction;
+
+/**
+ * This class represents an incrementally maintained index over lines
+ * of text. For every trigram, the lines containing it are stored in
+ * ascending posting lists. The case is ignored by folding the characters.
+ * <br>
+ * The amount of stored postings is bounded: if it is exceeded, the
+ * oldest quarter of the indexed lines is dropped from the index.
+ * Lines not covered by the index are searched by scanning them.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class TrigramIndex {
+    /** The default maximum amount of stored postings.  */
+    public static final int DEFAULT_MAX_POSTINGS = 4 * 1024 * 1024;
+    /** The marker of occupied slots in the hash table. */
+    private static final long OCCUPIED = 1L << 63;
+
+    /** The maximum amount of stored postings.               */
+    private final int maxPostings;
+    /** The text of the current, not yet complete line.      */
+    private final StringBuilder partial = new StringBuilder();
+    /** The trigram keys of the hash table slots.            */
+    private long[] keys = new long[1024];
+    /** The posting lists of the hash table slots.           */
+    private int[][] lists = new int[1024][];
+    /** The sizes of the posting lists.                      */
+    private int[] sizes = new int[1024];
+    /** The amount of occupied slots.                        */
+    private int used;
+    /** The total amount of stored postings.                 */
+    private long postings;
+    /** The first line covered by the index.                 */
+    private int firstLine;
+    /** The amount of complete lines appended to this index. */
+    private int lineCount;
+
+    /**
+     * Constructs an index using the {@link #DEFAULT_MAX_POSTINGS}.
+     */
+    public TrigramIndex() {
+        this(DEFAULT_MAX_POSTINGS);
+    }
+
+    /**
+     * Constructs an index storing at most the given amount of postings.
+     *
+     * @param maxPostings the maximum amount of postings
+     * @throws IllegalArgumentException if the given amount is not positive
+     */
+    public TrigramIndex(final int maxPostings) {
+        if (maxPostings <= 0) throw new IllegalArgumentException("The maximum amount of postings must be positive!");
+
+        this.maxPostings = maxPostings;
+    }
+
+    /**
+     * Appends the given text. Every complete line is indexed, the
+     * remainder is kept until its line is completed.
+     *
+     * @param text the text to be appended
+     */
+    public synchronized void append(final CharSequence text) {
+        var begin = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            if (text.charAt(i) != '\n') continue;
+
+            if (partial.isEmpty()) {
+                addLine(text, begin, i);
+            } else {
+                partial.append(text, begin, i);
+                addLine(partial, 0, partial.length());
+                partial.setLength(0);
+            }
+            begin = i + 1;
+        }
+        partial.append(text, begin, text.length());
+    }
+
+    /**
+     * Appends the given complete line. A remainder of previously
+     * appended text is completed by it.
+     *
+     * @param line the line, without its line break
+     */
+    public synchronized void appendLine(final CharSequence line) {
+        if (partial.isEmpty()) {
+            addLine(line, 0, line.length());
+        } else {
+            partial.append(line);
+            addLine(partial, 0, partial.length());
+            partial.setLength(0);
+        }
+    }
+
+    /**
+     * Folds the given character, so that characters considered equal
+     * when ignoring the case are folded to the same character.
+     *
+     * @param c the character to be folded
+     * @return the folded character
+     */
+    private static char fold(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Computes the key of the trigram starting at the given index.
+     *
+     * @param text  the text
+     * @param index the index of the trigram
+     * @return the key of the trigram
+     */
+    private static long keyOf(final CharSequence text, final int index) {
+        return OCCUPIED | (long) fold(text.charAt(index)) << 32
+                        | (long) fold(text.charAt(index + 1)) << 16
+                        | fold(text.charAt(index + 2));
+    }
+
+    /**
+     * Returns the slot of the given key in the hash table.
+     *
+     * @param key the key
+     * @return the slot of the key or the free slot it would occupy
+     */
+    private int slotOf(final long key) {
+        final var mask = keys.length - 1;
+        var slot = (int) (key ^ key >>> 29) * 0x9E3779B9 & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Indexes the given line.
+     *
+     * @param text  the text containing the line
+     * @param begin the beginning of the line
+     * @param end   the end of the line, excluding the line break
+     */
+    private void addLine(final CharSequence text, final int begin, final int end) {
+        final var line = lineCount++;
+        for (int i = begin; i + 3 <= end; ++i) {
+            final var slot = slotOf(keyOf(text, i));
+            if (keys[slot] == 0) {
+                keys[slot]  = keyOf(text, i);
+                lists[slot] = new int[4];
+                ++used;
+            } else if (lists[slot][sizes[slot] - 1] == line) {
+                continue;
+            }
+            if (sizes[slot] == lists[slot].length) {
+                lists[slot] = Arrays.copyOf(lists[slot], sizes[slot] * 2);
+            }
+            lists[slot][sizes[slot]++] = line;
+            ++postings;
+
+            if (used * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+        }
+        if (postings > maxPostings) {
+            evict(firstLine + Math.max(1, (lineCount - firstLine) / 4));
+        }
+    }
+
+    /**
+     * Rebuilds the hash table using the given capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(final int capacity) {
+        final var oldKeys  = keys;
+        final var oldLists = lists;
+        final var oldSizes = sizes;
+        keys  = new long[capacity];
+        lists = new int[capacity][];
+        sizes = new int[capacity];
+        used  = 0;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] == 0 || oldSizes[i] == 0) continue;
+
+            final var slot = slotOf(oldKeys[i]);
+            keys[slot]  = oldKeys[i];
+            lists[slot] = oldLists[i];
+            sizes[slot] = oldSizes[i];
+            ++used;
+        }
+    }
+
+    /**
+     * Removes the lines before the given line from the index.
+     *
+     * @param line the new first line covered by the index
+     */
+    private void evict(final int line) {
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] == 0) continue;
+
+            final var list  = lists[i];
+            final var index = Arrays.binarySearch(list, 0, sizes[i], line);
+            final var from  = index < 0 ? -index - 1 : index;
+            if (from == 0) continue;
+
+            final var remaining = sizes[i] - from;
+            postings -= from;
+            if (remaining == 0) {
+                sizes[i] = 0;
+            } else {
+                lists[i] = Arrays.copyOfRange(list, from, from + Math.max(remaining, 4));
+                sizes[i] = remaining;
+            }
+        }
+        firstLine = line;
+
+        var capacity = keys.length;
+        while (capacity > 1024 && countNonEmpty() * 4 < capacity) {
+            capacity /= 2;
+        }
+        rehash(capacity);
+    }
+
+    /**
+     * Returns the amount of slots holding a non-empty posting list.
+     *
+     * @return the amount of non-empty posting lists
+     */
+    private int countNonEmpty() {
+        var result = 0;
+        for (final var size : sizes) {
+            if (size > 0) ++result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the posting list of the given trigram.
+     *
+     * @param text  the text containing the trigram
+     * @param index the index of the trigram
+     * @return the posting list, an empty one if the trigram is unknown
+     */
+    private int[] postingsOf(final CharSequence text, final int index) {
+        final var slot = slotOf(keyOf(text, index));
+        return keys[slot] == 0 ? new int[0] : Arrays.copyOf(lists[slot], sizes[slot]);
+    }
+
+    /**
+     * Returns the indexed lines possibly matching the given query. The
+     * posting lists of the trigrams of the literals of the query are
+     * intersected, the shortest ones first.
+     *
+     * @param query the query
+     * @return the ascending candidate lines or {@code null} if the query cannot be prefiltered
+     */
+    private int[] candidatesFor(final SearchQuery query) {
+        final var postingLists = new ArrayList<int[]>();
+        for (final var literal : query.getLiterals()) {
+            for (int i = 0; i + 3 <= literal.length(); ++i) {
+                postingLists.add(postingsOf(literal, i));
+            }
+        }
+        if (postingLists.isEmpty()) return null;
+
+        postingLists.sort(Comparator.comparingInt(it -> it.length));
+        var result = postingLists.get(0);
+        for (int i = 1; i < postingLists.size() && result.length > 0; ++i) {
+            result = intersect(result, postingLists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Intersects the two given ascending lists.
+     *
+     * @param a the shorter list
+     * @param b the other list
+     * @return the intersection
+     */
+    private static int[] intersect(final int[] a, final int[] b) {
+        final var result = new int[a.length];
+        var count = 0;
+        var j     = 0;
+        for (final var value : a) {
+            final var found = Arrays.binarySearch(b, j, b.length, value);
+            if (found >= 0) {
+                result[count++] = value;
+                j = found + 1;
+            } else {
+                j = -found - 1;
+            }
+            if (j >= b.length) break;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Searches the next line matching the given query, starting at the
+     * given line. Indexed lines are only checked if they are candidates;
+     * lines not covered by the index are scanned.
+     *
+     * @param query      the query
+     * @param from       the line to start searching at
+     * @param forward    whether to search towards the newer lines
+     * @param lineSource the function returning the text of a line
+     * @param totalLines the total amount of lines, including the not indexed ones
+     * @return the index of the matching line or {@code -1} if not found
+     */
+    public int find(final SearchQuery query,
+                    final int from,
+                    final boolean forward,
+                    final IntFunction<String> lineSource,
+                    final int totalLines) {
+        final int[] candidates;
+        final int   indexBegin, indexEnd;
+        synchronized (this) {
+            candidates = candidatesFor(query);
+            indexBegin = firstLine;
+            indexEnd   = lineCount;
+        }
+
+        var line = from;
+        while (line >= 0 && line < totalLines) {
+            if (candidates != null && line >= indexBegin && line < indexEnd) {
+                final var index = Arrays.binarySearch(candidates, line);
+                final var next  = index >= 0 ? index : forward ? -index - 1 : -index - 2;
+                if (next < 0 || next >= candidates.length) {
+                    line = forward ? indexEnd : indexBegin - 1;
+                    continue;
+                }
+                line = candidates[next];
+            }
+            final var text = lineSource.apply(line);
+            if (text != null && query.matches(text)) {
+                return line;
+            }
+            line += forward ? 1 : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the amount of complete lines appended to this index.
+     *
+     * @return the amount of complete lines
+     */
+    public synchronized int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the first line covered by this index.
+     *
+     * @return the first indexed line
+     */
+    public synchronized int getFirstLine() {
+        return firstLine;
+    }
+
+    /**
+     * Returns the approximate amount of bytes used by this index.
+     *
+     * @return the amount of used bytes
+     */
+    public synchronized long getByteSize() {
+        var result = keys.length * (8L + 8L + 4L);
+        for (int i = 0; i < keys.length; ++i) {
+            if (lists[i] != null) result += 16L + lists[i].length * 4L;
+        }
+        return result + partial.capacity() * 2L;
+    }
+}
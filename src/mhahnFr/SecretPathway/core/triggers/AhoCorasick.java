@@ -0,0 +1,186 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.triggers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * This class represents an Aho-Corasick automaton matching multiple
+ * literal patterns in one pass over a text. The case is ignored by
+ * folding the characters. The transitions are stored in sorted arrays
+ * per state; failure transitions are followed at match time.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class AhoCorasick {
+    /** The sorted characters of the transitions of each state.    */
+    private final char[][] transitionChars;
+    /** The target states of the transitions of each state.        */
+    private final int[][] transitionTargets;
+    /** The failure transition of each state.                      */
+    private final int[] failures;
+    /** The patterns ending in each state, including the suffixes. */
+    private final int[][] outputs;
+
+    /**
+     * Constructs the automaton for the given patterns. The index of a
+     * pattern in the given list is reported when it is matched. Empty
+     * patterns are never matched.
+     *
+     * @param patterns the patterns to be matched
+     */
+    public AhoCorasick(final List<String> patterns) {
+        final var chars   = new ArrayList<StringBuilder>();
+        final var targets = new ArrayList<List<Integer>>();
+        final var ends    = new ArrayList<List<Integer>>();
+        chars.add(new StringBuilder());
+        targets.add(new ArrayList<>());
+        ends.add(new ArrayList<>());
+
+        for (int i = 0; i < patterns.size(); ++i) {
+            final var pattern = patterns.get(i);
+            if (pattern.isEmpty()) continue;
+
+            var state = 0;
+            for (int j = 0; j < pattern.length(); ++j) {
+                final var c     = fold(pattern.charAt(j));
+                final var index = chars.get(state).indexOf(String.valueOf(c));
+                if (index >= 0) {
+                    state = targets.get(state).get(index);
+                } else {
+                    chars.get(state).append(c);
+                    targets.get(state).add(chars.size());
+                    state = chars.size();
+                    chars.add(new StringBuilder());
+                    targets.add(new ArrayList<>());
+                    ends.add(new ArrayList<>());
+                }
+            }
+            ends.get(state).add(i);
+        }
+
+        final var stateCount = chars.size();
+        transitionChars   = new char[stateCount][];
+        transitionTargets = new int[stateCount][];
+        for (int state = 0; state < stateCount; ++state) {
+            final var stateChars = chars.get(state).toString().toCharArray();
+            final var order      = new Integer[stateChars.length];
+            for (int i = 0; i < order.length; ++i) order[i] = i;
+            Arrays.sort(order, (a, b) -> Character.compare(stateChars[a], stateChars[b]));
+
+            transitionChars[state]   = new char[order.length];
+            transitionTargets[state] = new int[order.length];
+            for (int i = 0; i < order.length; ++i) {
+                transitionChars[state][i]   = stateChars[order[i]];
+                transitionTargets[state][i] = targets.get(state).get(order[i]);
+            }
+        }
+
+        failures = new int[stateCount];
+        outputs  = new int[stateCount][];
+        outputs[0] = ends.get(0).stream().mapToInt(Integer::intValue).toArray();
+        final var queue = new ArrayDeque<Integer>();
+        for (final var child : transitionTargets[0]) {
+            failures[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            final var own   = ends.get(state);
+            final var inherited = outputs[failures[state]];
+            final var merged    = new int[own.size() + inherited.length];
+            for (int i = 0; i < own.size(); ++i) merged[i] = own.get(i);
+            System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+            outputs[state] = merged;
+
+            for (int i = 0; i < transitionChars[state].length; ++i) {
+                final var c     = transitionChars[state][i];
+                final var child = transitionTargets[state][i];
+                var failure = failures[state];
+                while (failure != 0 && next(failure, c) < 0) {
+                    failure = failures[failure];
+                }
+                final var target = next(failure, c);
+                failures[child] = target >= 0 && target != child ? target : 0;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Folds the given character, so that characters considered equal
+     * when ignoring the case are folded to the same character.
+     *
+     * @param c the character to be folded
+     * @return the folded character
+     */
+    private static char fold(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Returns the target of the transition of the given state using the given character.
+     *
+     * @param state the state
+     * @param c     the folded character
+     * @return the target state or {@code -1} if there is no such transition
+     */
+    private int next(final int state, final char c) {
+        final var index = Arrays.binarySearch(transitionChars[state], c);
+        return index < 0 ? -1 : transitionTargets[state][index];
+    }
+
+    /**
+     * Searches the patterns in the given text. For every occurrence, the
+     * index of the matched pattern is passed to the given consumer.
+     *
+     * @param text     the text to be searched
+     * @param consumer the consumer called with the indices of the matched patterns
+     */
+    public void match(final CharSequence text, final IntConsumer consumer) {
+        var state = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            final var c = fold(text.charAt(i));
+            var target = next(state, c);
+            while (target < 0 && state != 0) {
+                state  = failures[state];
+                target = next(state, c);
+            }
+            state = Math.max(target, 0);
+            for (final var pattern : outputs[state]) {
+                consumer.accept(pattern);
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of states of this automaton.
+     *
+     * @return the amount of states
+     */
+    public int getStateCount() {
+        return failures.length;
+    }
+}
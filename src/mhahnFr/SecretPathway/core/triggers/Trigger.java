@@ -0,0 +1,162 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.triggers;
+
+import mhahnFr.SecretPathway.core.search.SearchQuery;
+
+import java.awt.Color;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents a trigger. A trigger consists of a query
+ * matched against the incoming lines and of an action applied to
+ * the matching lines.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class Trigger {
+    /** The query matched against the lines.                */
+    private final SearchQuery query;
+    /** The action of this trigger.                         */
+    private final Action action;
+    /** The color used for highlighting the matching lines. */
+    private final Color color;
+    /** The text sent as response to a matching line.       */
+    private final String response;
+    /** The amount of lines matched by this trigger.        */
+    private final AtomicLong hits  = new AtomicLong();
+    /** The nanoseconds spent on matching this trigger.     */
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * This enumeration contains the possible actions of a trigger.
+     */
+    public enum Action {
+        /** Highlights the matching line.           */
+        HIGHLIGHT,
+        /** Hides the matching line.                */
+        GAG,
+        /** Sends a response for the matching line. */
+        RESPOND
+    }
+
+    /**
+     * Constructs a trigger.
+     *
+     * @param query    the query matched against the lines
+     * @param action   the action of this trigger
+     * @param color    the color used for highlighting, needed for highlighting triggers
+     * @param response the text sent as response, needed for responding triggers
+     * @throws IllegalArgumentException if the query or the action is {@code null} or
+     *                                  if the argument needed for the action is {@code null}
+     */
+    public Trigger(final SearchQuery query,
+                   final Action      action,
+                   final Color       color,
+                   final String      response) {
+        if (query  == null) throw new IllegalArgumentException("The query must not be null!");
+        if (action == null) throw new IllegalArgumentException("The action must not be null!");
+        if (action == Action.HIGHLIGHT && color    == null) throw new IllegalArgumentException("The color must not be null!");
+        if (action == Action.RESPOND   && response == null) throw new IllegalArgumentException("The response must not be null!");
+
+        this.query    = query;
+        this.action   = action;
+        this.color    = color;
+        this.response = response;
+    }
+
+    /**
+     * Returns whether the given line matches this trigger.
+     * The time spent is added to the statistics of this trigger.
+     *
+     * @param line the line to be checked
+     * @return whether the line matches
+     */
+    boolean matches(final CharSequence line) {
+        final var begin  = System.nanoTime();
+        final var result = query.matches(line);
+        nanos.addAndGet(System.nanoTime() - begin);
+        return result;
+    }
+
+    /**
+     * Counts a line matched by this trigger.
+     */
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Returns the query of this trigger.
+     *
+     * @return the query
+     */
+    public SearchQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the action of this trigger.
+     *
+     * @return the action
+     */
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * Returns the color used for highlighting the matching lines.
+     *
+     * @return the color or {@code null} if this trigger does not highlight
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Returns the text sent as response to a matching line.
+     *
+     * @return the response or {@code null} if this trigger does not respond
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * Returns the amount of lines matched by this trigger.
+     *
+     * @return the amount of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the nanoseconds spent on evaluating the regular
+     * expression of this trigger. Literal triggers are matched
+     * by the shared automaton only.
+     *
+     * @return the spent time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos.get();
+    }
+}
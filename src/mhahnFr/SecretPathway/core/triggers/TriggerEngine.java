@@ -0,0 +1,300 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.triggers;
+
+import mhahnFr.SecretPathway.core.Constants;
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+import mhahnFr.SecretPathway.core.search.SearchQuery;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * This class evaluates a set of triggers on lines. The literal texts of
+ * all triggers are compiled into one {@link AhoCorasick} automaton, so
+ * that only the regular expressions of the triggers whose literal has
+ * been found in a line need to be evaluated for this line.
+ * <p>
+ * The lines are evaluated by the receiving thread as well as by the
+ * thread flushing the prompts after a timeout. Therefore, the state of
+ * an evaluation is guarded by the lock of the engine; the statistics may
+ * be read from any thread without locking.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class TriggerEngine {
+    /** The name of the file the triggers are loaded from.                   */
+    public static final String FILE_NAME = "triggers.txt";
+
+    /** The triggers, in the order of their definition.                    */
+    private final List<Trigger> triggers;
+    /** The automaton matching the literal texts of the triggers.          */
+    private final AhoCorasick automaton;
+    /** The index of the trigger each pattern of the automaton belongs to. */
+    private final int[] owners;
+    /** The indices of the triggers without a literal text.                */
+    private final int[] unfiltered;
+    /** The number of the evaluation each trigger was last a candidate in. */
+    private final int[] marks;
+    /** The candidates of the current evaluation.                          */
+    private final int[] candidates;
+    /** The number of the current evaluation.                              */
+    private int evaluation;
+    /** The amount of evaluated lines.                                     */
+    private final AtomicLong lines = new AtomicLong();
+    /** The nanoseconds spent on running the automaton.                    */
+    private final AtomicLong automatonNanos = new AtomicLong();
+
+    /**
+     * Constructs a trigger engine for the given triggers.
+     *
+     * @param triggers the triggers to be evaluated
+     * @throws IllegalArgumentException if the given list is {@code null}
+     */
+    public TriggerEngine(final List<Trigger> triggers) {
+        if (triggers == null) throw new IllegalArgumentException("The triggers must not be null!");
+
+        this.triggers = List.copyOf(triggers);
+
+        final var patterns       = new ArrayList<String>();
+        final var ownerList      = new ArrayList<Integer>();
+        final var unfilteredList = new ArrayList<Integer>();
+        for (int i = 0; i < this.triggers.size(); ++i) {
+            final var literal = longestLiteral(this.triggers.get(i).getQuery());
+            if (literal == null) {
+                unfilteredList.add(i);
+            } else {
+                patterns.add(literal);
+                ownerList.add(i);
+            }
+        }
+        automaton  = new AhoCorasick(patterns);
+        owners     = ownerList.stream().mapToInt(Integer::intValue).toArray();
+        unfiltered = unfilteredList.stream().mapToInt(Integer::intValue).toArray();
+        marks      = new int[this.triggers.size()];
+        candidates = new int[this.triggers.size()];
+    }
+
+    /**
+     * Returns the longest literal text every match of the given query
+     * contains.
+     *
+     * @param query the query
+     * @return the longest literal or {@code null} if the query has none
+     */
+    private static String longestLiteral(final SearchQuery query) {
+        String result = null;
+        for (final var literal : query.getLiterals()) {
+            if (result == null || literal.length() > result.length()) {
+                result = literal;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the triggers on the given line. The matching triggers are
+     * returned in the order of their definition. Only one line is evaluated
+     * at a time.
+     *
+     * @param line the line without its line break
+     * @return the matching triggers
+     */
+    public synchronized List<Trigger> evaluate(final CharSequence line) {
+        if (triggers.isEmpty()) return Collections.emptyList();
+
+        lines.incrementAndGet();
+        if (++evaluation == 0) {
+            Arrays.fill(marks, 0);
+            evaluation = 1;
+        }
+        final var count = new int[] { 0 };
+        final var begin = System.nanoTime();
+        automaton.match(line, pattern -> {
+            final var owner = owners[pattern];
+            if (marks[owner] != evaluation) {
+                marks[owner] = evaluation;
+                candidates[count[0]++] = owner;
+            }
+        });
+        automatonNanos.addAndGet(System.nanoTime() - begin);
+        for (final var index : unfiltered) {
+            candidates[count[0]++] = index;
+        }
+        Arrays.sort(candidates, 0, count[0]);
+
+        List<Trigger> result = null;
+        for (int i = 0; i < count[0]; ++i) {
+            final var trigger = triggers.get(candidates[i]);
+            if (!trigger.getQuery().isRegex() || trigger.matches(line)) {
+                trigger.hit();
+                if (result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(trigger);
+            }
+        }
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    /**
+     * Returns whether this engine has no triggers.
+     *
+     * @return whether there are no triggers
+     */
+    public boolean isEmpty() {
+        return triggers.isEmpty();
+    }
+
+    /**
+     * Returns the triggers of this engine.
+     *
+     * @return the triggers
+     */
+    public List<Trigger> getTriggers() {
+        return triggers;
+    }
+
+    /**
+     * Returns the amount of lines evaluated by this engine.
+     *
+     * @return the amount of evaluated lines
+     */
+    public long getLineCount() {
+        return lines.get();
+    }
+
+    /**
+     * Returns the nanoseconds spent on running the automaton.
+     *
+     * @return the spent time in nanoseconds
+     */
+    public long getAutomatonNanos() {
+        return automatonNanos.get();
+    }
+
+    /**
+     * Returns the file the triggers are loaded from.
+     *
+     * @return the path of the trigger file
+     */
+    public static Path getFile() {
+        return Path.of(System.getProperty("user.home"), "." + Constants.NAME, FILE_NAME);
+    }
+
+    /**
+     * Loads the triggers from the {@link #getFile() trigger file}. If it
+     * does not exist or cannot be read, an empty engine is returned.
+     *
+     * @return the loaded trigger engine
+     * @see #parse(List)
+     */
+    public static TriggerEngine load() {
+        try {
+            return new TriggerEngine(parse(Files.readAllLines(getFile(), StandardCharsets.UTF_8)));
+        } catch (NoSuchFileException e) {
+            return new TriggerEngine(Collections.emptyList());
+        } catch (IOException e) {
+            Diagnostics.error("Triggers", "Could not load the triggers", e);
+            return new TriggerEngine(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Parses the given trigger definitions. Each line defines one trigger
+     * by the tab separated action ({@code highlight}, {@code gag} or
+     * {@code respond}), the kind of the pattern ({@code literal} or
+     * {@code regex}), the pattern and - for highlighting and responding
+     * triggers - the color as {@code #rrggbb} or the response. Empty lines
+     * and lines starting with {@code #} are ignored, as are invalid lines.
+     *
+     * @param definitions the lines of the trigger definitions
+     * @return the parsed triggers
+     */
+    public static List<Trigger> parse(final List<String> definitions) {
+        final var result = new ArrayList<Trigger>();
+        for (int i = 0; i < definitions.size(); ++i) {
+            final var line = definitions.get(i);
+            if (line.isBlank() || line.startsWith("#")) continue;
+
+            try {
+                result.add(parseTrigger(line));
+            } catch (IllegalArgumentException e) {
+                Diagnostics.warning("Triggers", "Ignoring trigger in line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses the given trigger definition.
+     *
+     * @param line the definition
+     * @return the parsed trigger
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    private static Trigger parseTrigger(final String line) {
+        final var parts = line.split("\t");
+        if (parts.length < 3) throw new IllegalArgumentException("Expected an action, a kind and a pattern!");
+
+        final Trigger.Action action;
+        try {
+            action = Trigger.Action.valueOf(parts[0].trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown action \"" + parts[0] + "\"!");
+        }
+        final boolean regex = switch (parts[1].trim()) {
+            case "literal" -> false;
+            case "regex"   -> true;
+            default        -> throw new IllegalArgumentException("Unknown pattern kind \"" + parts[1] + "\"!");
+        };
+        final SearchQuery query;
+        try {
+            query = new SearchQuery(parts[2], regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regular expression: " + e.getDescription());
+        }
+        if (action != Trigger.Action.GAG && parts.length < 4) {
+            throw new IllegalArgumentException("Missing argument for the action!");
+        }
+        return switch (action) {
+            case HIGHLIGHT -> {
+                try {
+                    yield new Trigger(query, action, Color.decode(parts[3].trim()), null);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid color \"" + parts[3] + "\"!");
+                }
+            }
+            case GAG     -> new Trigger(query, action, null, null);
+            case RESPOND -> new Trigger(query, action, null, parts[3]);
+        };
+    }
+}
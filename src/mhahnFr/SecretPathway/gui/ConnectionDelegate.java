@@ -20,28 +20,43 @@
 package mhahnFr.SecretPathway.gui;
 
 import mhahnFr.SecretPathway.core.Settings;
+import mhahnFr.SecretPathway.core.completion.CompletionIndex;
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+import mhahnFr.SecretPathway.core.lines.Line;
+import mhahnFr.SecretPathway.core.lines.LineAssembler;
+import mhahnFr.SecretPathway.core.log.SessionLog;
+import mhahnFr.SecretPathway.core.net.CommandScheduler;
 import mhahnFr.SecretPathway.core.net.Connection;
 import mhahnFr.SecretPathway.core.net.ConnectionListener;
 import mhahnFr.SecretPathway.core.net.ConnectionSender;
+import mhahnFr.SecretPathway.core.net.LatencyStats;
 import mhahnFr.SecretPathway.core.protocols.Protocol;
 import mhahnFr.SecretPathway.core.protocols.ansi.ANSIPlugin;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPEventBus;
 import mhahnFr.SecretPathway.core.protocols.spp.SPPPlugin;
 import mhahnFr.SecretPathway.core.protocols.telnet.TelnetPlugin;
+import mhahnFr.SecretPathway.core.search.TrigramIndex;
+import mhahnFr.SecretPathway.core.triggers.TriggerEngine;
 import mhahnFr.SecretPathway.gui.helper.MessageReceiver;
+import mhahnFr.SecretPathway.gui.output.OutputView;
 import mhahnFr.utils.ByteHelper;
 import mhahnFr.utils.Pair;
 import mhahnFr.utils.gui.abstraction.FStyle;
 
 import javax.swing.*;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.Style;
 import java.awt.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An implementation of the {@link ConnectionListener}.
@@ -50,26 +65,37 @@ import java.util.concurrent.Future;
  * @author mhahnFr
  */
 public class ConnectionDelegate implements ConnectionListener, ConnectionSender {
+    /** The milliseconds after which an incomplete line is considered to be a prompt. */
+    private static final int PROMPT_TIMEOUT = 200;
+    /** The prompt timeout used once the server marks its prompts.                    */
+    private static final int MARKED_PROMPT_TIMEOUT = 1000;
+    /** The seconds between two round trip probes.                                    */
+    private static final int PROBE_INTERVAL = 30;
+
     /** The style used for user input.                                             */
     private final FStyle inputStyle;
     /** The underlying connection to be controlled.                                */
     private final Connection connection;
-    /** The default style used by the main text pane.                              */
-    private final Style defaultStyle;
-    /** The text pane used to write the output.                                    */
-    private final JTextPane pane;
+    /** The output view used to write the output.                                  */
+    private final OutputView output;
+    /** The index over the lines of the output.                                    */
+    private final TrigramIndex searchIndex;
     /** The receiver of messages to be displayed for a specified amount of time.   */
     private final MessageReceiver receiver;
     /** The protocol abstraction.                                                  */
     private final Protocol protocols;
     /** The thread pool to be used.                                                */
     private final ExecutorService threads = Executors.newCachedThreadPool();
+    /** The executor writing the sent data in order.                               */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    /** The lock keeping the output view and the search index in step.             */
+    private final Object outputLock = new Object();
     /** The future representing the running listening end of the connection.       */
     private Future<?> listenFuture;
     /** A timer triggering reconnection tries if necessary.                        */
     private Timer reconnectTimer;
     /** Indicates whether something has been received on this connection.          */
-    private boolean firstReceive = true;
+    private volatile boolean firstReceive = true;
     /** Indicates whether the {@link #current current style} has been changed.     */
     private boolean styleChanged = false;
     /** Indicates whether incoming data should be sent to the protocol abstraction.*/
@@ -87,33 +113,83 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
     /** A buffer used for broken unicode characters.                               */
     private final Vector<Byte> unicodeBuffer = new Vector<>();
     /** The SP plugin.                                                             */
-    private final SPPPlugin sppPlugin = new SPPPlugin(this);
+    private final SPPPlugin sppPlugin;
+    /** The scheduler pacing the sent commands.                                    */
+    private final CommandScheduler commands;
+    /** The session log, {@code null} if the session is not logged.                */
+    private final SessionLog log;
+    /** The triggers evaluated on the received lines.                              */
+    private final TriggerEngine triggers = TriggerEngine.load();
+    /** The assembler of the received lines.                                       */
+    private final LineAssembler lines = new LineAssembler();
+    /** The executor used for the timeout of the prompt detection.                 */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    /** The pending timeout of the prompt detection.                               */
+    private ScheduledFuture<?> promptTimeout;
+    /** Indicates whether a telnet prompt mark has been received.                  */
+    private boolean promptMarked = false;
+    /** The latency statistics of this connection.                                 */
+    private final LatencyStats latency = new LatencyStats();
+    /** The time the pending round trip probe has been sent, {@code 0} if none.    */
+    private final AtomicLong probeSent = new AtomicLong();
+    /** The time the awaited command has been sent, {@code 0} if none.             */
+    private final AtomicLong commandSent = new AtomicLong();
 
     /**
      * Constructs this delegate.
      *
-     * @param connection the connection to be controlled by this delegate
-     * @throws IllegalArgumentException if the given connection is {@code null}
+     * @param connection  the connection to be controlled by this delegate
+     * @param receiver    the receiver of the status messages
+     * @param output      the output view to write the received text to
+     * @param searchIndex the index over the lines of the output view
+     * @param completions the index of the words used for completing the prompt
+     * @param gmcp        the bus to publish the received GMCP messages on
+     * @throws IllegalArgumentException if one of the given arguments is {@code null}
      */
-    ConnectionDelegate(final Connection connection, final MessageReceiver receiver, final JTextPane pane) {
-        if (connection == null) throw new IllegalArgumentException("The connection must not be null!");
-        if (receiver   == null) throw new IllegalArgumentException("The message receiver must not be null!");
-        if (pane       == null) throw new IllegalArgumentException("The text-pane must not be null!");
-
-        this.connection = connection;
-        this.receiver   = receiver;
-        this.pane       = pane;
+    ConnectionDelegate(final Connection      connection,
+                       final MessageReceiver receiver,
+                       final OutputView      output,
+                       final TrigramIndex    searchIndex,
+                       final CompletionIndex completions,
+                       final GMCPEventBus    gmcp) {
+        if (connection  == null) throw new IllegalArgumentException("The connection must not be null!");
+        if (receiver    == null) throw new IllegalArgumentException("The message receiver must not be null!");
+        if (output      == null) throw new IllegalArgumentException("The output view must not be null!");
+        if (searchIndex == null) throw new IllegalArgumentException("The search index must not be null!");
+        if (completions == null) throw new IllegalArgumentException("The completion index must not be null!");
+        if (gmcp        == null) throw new IllegalArgumentException("The GMCP event bus must not be null!");
+
+        this.connection  = connection;
+        this.receiver    = receiver;
+        this.output      = output;
+        this.searchIndex = searchIndex;
+        this.log         = Settings.getInstance().getSessionLog() ? SessionLog.create(connection.getHostname(), connection.getPort())
+                                                                  : null;
+
+        final var settings = Settings.getInstance();
+        connection.setVerifyHostname(settings.getVerifyHostname(connection.getHostname(), connection.getPort()));
+        this.sppPlugin = new SPPPlugin(this, connection.getHostname(), connection.isVerifyingHostname());
+        this.commands = new CommandScheduler(text -> sendCommand(text, false), this::commandProgress,
+                                             settings.getThrottle(connection.getHostname(), connection.getPort()),
+                                             settings.getSendRate(connection.getHostname(), connection.getPort()),
+                                             settings.getSendBurst(connection.getHostname(), connection.getPort()),
+                                             settings.getWaitForPrompt(connection.getHostname(), connection.getPort()),
+                                             "Command sender " + connection.getName());
 
         this.connection.setConnectionListener(this);
+        lines.addListener(this::lineReceived);
+        lines.addListener(completions);
 
         inputStyle = new FStyle();
         inputStyle.setForeground(Color.gray);
-        defaultStyle = this.pane.getLogicalStyle();
         current = new FStyle();
         protocols = new Protocol(this, sppPlugin,
-                                       new TelnetPlugin(),
+                                       new TelnetPlugin(gmcp),
                                        new ANSIPlugin(this));
 
+        latency.register(connection.getHostname(), connection.getPort());
+        scheduler.scheduleAtFixedRate(this::sendProbe, PROBE_INTERVAL, PROBE_INTERVAL, TimeUnit.SECONDS);
+
         receiver.showMessageFrom(this, "Connecting...", null, 0);
 
         listenFuture = threads.submit(connection::establishConnection);
@@ -134,22 +210,88 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
     }
 
     /**
-     * Sends the given text. Appends a newline character to the given text and
-     * inserts the text into the main text pane.
+     * Sends the given text. Unless the password mode is active, every line
+     * of the text is sent as a separate command, paced by the {@link
+     * CommandScheduler}.
      *
      * @param text    the text to be sent
      * @param pwdMode whether to prevent the text from being displayed
      */
     void send(final String text, final boolean pwdMode) {
-        final var document = pane.getDocument();
-        try {
-            document.insertString(document.getLength(), (pwdMode ? "*".repeat(text.length()) : text) + '\n', inputStyle.asStyle(defaultStyle));
-        } catch (BadLocationException e) {
-            throw new RuntimeException(e);
+        if (pwdMode) {
+            sendCommand(text, true);
+        } else {
+            commands.submit(text);
+        }
+    }
+
+    /**
+     * Returns the scheduler pacing the sent commands.
+     *
+     * @return the command scheduler
+     */
+    CommandScheduler getCommands() {
+        return commands;
+    }
+
+    /**
+     * Returns the latency statistics of this connection.
+     *
+     * @return the latency statistics
+     */
+    LatencyStats getLatency() {
+        return latency;
+    }
+
+    /**
+     * Sends a timing mark request used for measuring the round trip time.
+     * It is not sent before the connection has been established. An
+     * unanswered request is given up once the next one is sent.
+     */
+    private void sendProbe() {
+        if (firstReceive) return;
+
+        probeSent.set(System.nanoTime());
+        send(TelnetPlugin.timingMarkRequest());
+    }
+
+    /**
+     * Displays the progress of the sent commands.
+     *
+     * @param sent    the amount of sent commands
+     * @param total   the total amount of commands
+     * @param waiting whether the next command waits for a prompt
+     */
+    private void commandProgress(final int sent, final int total, final boolean waiting) {
+        EventQueue.invokeLater(() -> ((MainWindow) receiver).showSendProgress(sent, total, waiting));
+    }
+
+    /**
+     * Sends the given command. Appends a newline character to the given text and
+     * appends the text to the output view.
+     *
+     * @param text    the text to be sent
+     * @param pwdMode whether to prevent the text from being displayed
+     */
+    private void sendCommand(final String text, final boolean pwdMode) {
+        final var echo = (pwdMode ? "*".repeat(text.length()) : text) + '\n';
+        synchronized (outputLock) {
+            display(List.of(new Pair<>(echo, inputStyle)));
+            searchIndex.append(echo);
         }
+        commandSent.compareAndSet(0, System.nanoTime());
         send((text + '\n').getBytes(currentCharset));
     }
 
+    /**
+     * Returns the trigger engine evaluating the received lines.
+     *
+     * @return the trigger engine
+     */
+    public TriggerEngine getTriggers() {
+        return triggers;
+    }
+
     /**
      * Returns whether the SecretPathwayProtocol (SPP) is currently
      * active.
@@ -162,6 +304,7 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
 
     @Override
     public void setPromptText(String text) {
+        commands.promptReceived();
         EventQueue.invokeLater(() -> ((MainWindow) receiver).setPromptText(text));
     }
 
@@ -175,14 +318,25 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
         ((MainWindow) receiver).setPasswordModeEnabled(enabled);
     }
 
+    /**
+     * Sends the given bytes. They are written by a single thread, so
+     * they reach the connection in the order they have been sent.
+     *
+     * @param bytes the bytes to be sent
+     */
     @Override
     public void send(byte[] bytes) {
-        threads.execute(() -> connection.send(bytes));
+        writer.execute(() -> connection.send(bytes));
     }
 
+    /**
+     * Starts TLS on the connection. It is called while the received data
+     * is processed, so the handshake is done on the receiving thread before
+     * anything else is read.
+     */
     @Override
     public void startTLS() {
-        threads.execute(connection::startTLS);
+        connection.startTLS();
     }
 
     @Override
@@ -195,6 +349,19 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
         currentCharset = charset;
     }
 
+    @Override
+    public void markPrompt() {
+        promptMarked = true;
+    }
+
+    @Override
+    public void timingMarkReceived() {
+        final var sent = probeSent.getAndSet(0);
+        if (sent != 0) {
+            latency.getRoundTrips().record(System.nanoTime() - sent);
+        }
+    }
+
     /**
      * Closes the underlying connection and all other active resources this delegate uses.
      */
@@ -204,7 +371,16 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
         }
         connection.close();
         listenFuture.cancel(false);
+        commands.cancel();
+        commands.close();
+        sppPlugin.closeDataChannel();
         threads.shutdown();
+        writer.shutdown();
+        scheduler.shutdownNow();
+        latency.unregister();
+        if (log != null) {
+            log.close();
+        }
     }
 
     /**
@@ -230,14 +406,12 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
     }
 
     /**
-     * Prints the stack trace of the given exception. Indicates that it has been handled.
+     * Logs the given exception as a diagnostic. Indicates that it has been handled.
      *
      * @param exception the exception to print
      */
     private void printException(Exception exception) {
-        System.err.println("Handled error:");
-        exception.printStackTrace();
-        System.err.println("--------------");
+        Diagnostics.error("Connection " + connection.getName(), "Handled error", exception);
     }
 
     /**
@@ -294,7 +468,7 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
         try {
             receiveImpl(data, length);
         } catch (Exception e) {
-            e.printStackTrace();
+            Diagnostics.error("Connection " + connection.getName(), "Could not process the received data", e);
         }
     }
 
@@ -305,13 +479,17 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
      * @param length the amount of received bytes
      */
     private void receiveImpl(byte[] data, int length) {
+        final var receiveTime = System.nanoTime();
         if (firstReceive) {
             stopTimer();
             firstReceive = false;
+            protocols.onConnectionEstablished();
             EventQueue.invokeLater(() -> receiver.showMessageFrom(this, "Connected.", Color.green, 5000));
         }
 
-        var document  = pane.getDocument();
+        if (promptTimeout != null) {
+            promptTimeout.cancel(false);
+        }
 
         var text      = new Vector<>(unicodeBuffer);
         var ansiBegin = 0;
@@ -322,6 +500,7 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
         unicodeBuffer.clear();
 
         var closedStyles = new Vector<Pair<Integer, FStyle>>();
+        var prompts      = new ArrayList<Integer>();
 
         for (int i = 0; i < length; ++i) {
             if (telnetEscape) {
@@ -351,6 +530,10 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
                     ansiBegin = charCount;
                 }
             }
+            if (promptMarked) {
+                prompts.add(charCount);
+                promptMarked = false;
+            }
             if (styleChanged) {
                 if (ansiBegin != 0 && closedStyles.isEmpty()) {
                     closedStyles.add(new Pair<>(0, new FStyle(oldStyle, false)));
@@ -361,40 +544,140 @@ public class ConnectionDelegate implements ConnectionListener, ConnectionSender
             }
         }
 
+        if (!text.isEmpty()) {
+            final var sent = commandSent.getAndSet(0);
+            if (sent != 0) {
+                latency.getResponses().record(receiveTime - sent);
+            }
+        }
+
         fixUnicode(text);
 
         var appendix = new String(ByteHelper.castToByte(text.toArray(new Byte[0])), currentCharset);
-        try {
-            if (closedStyles.isEmpty()) {
-                document.insertString(document.getLength(), appendix, current.asStyle(defaultStyle));
-            } else {
-                for (int i = 0; i < closedStyles.size(); ++i) {
-                    final var element = closedStyles.get(i);
-
-                    final var wasShift = shiftByOne;
-                    shiftByOne = false;
-
-                    int len;
-                    if (i + 1 < closedStyles.size()) {
-                        len = closedStyles.get(i + 1).getFirst();
-                        if (appendix.length() > len && Character.isHighSurrogate(appendix.charAt(len > 0 ? len - 1 : 0))) {
-                            ++len;
-                            shiftByOne = true;
-                        }
-                    } else {
-                        len = appendix.length();
+        if (closedStyles.isEmpty()) {
+            feed(List.of(new Pair<>(appendix, new FStyle(current, false))), prompts);
+        } else {
+            final var runs = new ArrayList<Pair<String, FStyle>>(closedStyles.size());
+            for (int i = 0; i < closedStyles.size(); ++i) {
+                final var element = closedStyles.get(i);
+
+                final var wasShift = shiftByOne;
+                shiftByOne = false;
+
+                int len;
+                if (i + 1 < closedStyles.size()) {
+                    len = closedStyles.get(i + 1).getFirst();
+                    if (appendix.length() > len && Character.isHighSurrogate(appendix.charAt(len > 0 ? len - 1 : 0))) {
+                        ++len;
+                        shiftByOne = true;
                     }
+                } else {
+                    len = appendix.length();
+                }
 
-                    int begin = element.getFirst();
-                    if (wasShift && begin < len) {
-                        ++begin;
-                    }
+                int begin = element.getFirst();
+                if (wasShift && begin < len) {
+                    ++begin;
+                }
+
+                runs.add(new Pair<>(appendix.substring(begin, len), element.getSecond()));
+            }
+            feed(runs, prompts);
+        }
+        if (lines.hasPartialLine()) {
+            final var timeout = lines.usesPromptMarks() ? MARKED_PROMPT_TIMEOUT : PROMPT_TIMEOUT;
+            promptTimeout = scheduler.schedule(lines::flushPrompt, timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Feeds the given received runs into the line assembler. At the given
+     * positions, the end of a prompt is marked.
+     *
+     * @param runs    the received text runs along with their styles
+     * @param prompts the positions of the received prompt marks
+     */
+    private void feed(final List<Pair<String, FStyle>> runs, final List<Integer> prompts) {
+        var position = 0;
+        var next     = 0;
+        for (final var run : runs) {
+            final var text = run.getFirst();
+
+            var begin = 0;
+            while (next < prompts.size() && prompts.get(next) - position <= text.length()) {
+                final var end = Math.max(begin, prompts.get(next++) - position);
+                lines.append(text, begin, end, run.getSecond());
+                lines.markPrompt();
+                begin = end;
+            }
+            lines.append(text, begin, text.length(), run.getSecond());
+            position += text.length();
+        }
+        for (; next < prompts.size(); ++next) {
+            lines.markPrompt();
+        }
+    }
 
-                    document.insertString(document.getLength(), appendix.substring(begin, len), element.getSecond().asStyle(defaultStyle));
+    /**
+     * Handles a line assembled from the received text. The triggers are
+     * applied on the line, before it is displayed, written to the session
+     * log and added to the search index. The responses of the triggers
+     * are sent after the line has been displayed.
+     *
+     * @param line the assembled line
+     */
+    private void lineReceived(final Line line) {
+        if (line.isPrompt()) {
+            commands.promptReceived();
+        }
+        final var responses = new ArrayList<String>(0);
+        Color   highlight = null;
+        boolean gag       = false;
+        for (final var trigger : triggers.evaluate(line.getText())) {
+            switch (trigger.getAction()) {
+                case HIGHLIGHT -> {
+                    if (highlight == null) highlight = trigger.getColor();
                 }
+                case GAG       -> gag = true;
+                case RESPOND   -> responses.add(trigger.getResponse());
+            }
+        }
+        if (!gag) {
+            final var runs = line.toRuns();
+            if (highlight != null) {
+                final var color = highlight;
+                runs.replaceAll(run -> {
+                    final var style = new FStyle(run.getSecond(), false);
+                    style.setForeground(color);
+                    return new Pair<>(run.getFirst(), style);
+                });
+            }
+            synchronized (outputLock) {
+                display(runs);
+                if (line.isTerminated()) {
+                    searchIndex.appendLine(line.getText());
+                } else {
+                    searchIndex.append(line.getText());
+                }
+            }
+        }
+        for (final var response : responses) {
+            send(response, false);
+        }
+    }
+
+    /**
+     * Appends the given runs to the output view. They are also written
+     * to the session log, if any.
+     *
+     * @param runs the text runs along with their styles
+     */
+    private void display(final List<Pair<String, FStyle>> runs) {
+        output.appendAll(runs);
+        if (log != null) {
+            for (final var run : runs) {
+                log.write(run.getFirst(), run.getSecond());
             }
-        } catch (BadLocationException e) {
-            throw new RuntimeException(e);
         }
     }
 
@@ -21,29 +21,51 @@ package mhahnFr.SecretPathway.gui;
 
 import mhahnFr.SecretPathway.core.Constants;
 import mhahnFr.SecretPathway.core.Settings;
+import mhahnFr.SecretPathway.core.completion.CompletionIndex;
+import mhahnFr.SecretPathway.core.diagnostics.Diagnostics;
+import mhahnFr.SecretPathway.core.log.SessionLog;
+import mhahnFr.SecretPathway.core.log.SessionLogReader;
 import mhahnFr.SecretPathway.core.lpc.LocalFileManager;
+import mhahnFr.SecretPathway.core.search.LogSearcher;
+import mhahnFr.SecretPathway.core.search.SearchQuery;
+import mhahnFr.SecretPathway.core.search.TrigramIndex;
+import mhahnFr.SecretPathway.core.triggers.TriggerEngine;
 import mhahnFr.SecretPathway.core.net.Connection;
 
 import mhahnFr.SecretPathway.core.net.ConnectionFactory;
+import mhahnFr.SecretPathway.core.net.TLSSessions;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPEventBus;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPMessage;
 import mhahnFr.SecretPathway.core.protocols.spp.SPPFileManager;
 import mhahnFr.SecretPathway.gui.editor.EditorView;
 import mhahnFr.SecretPathway.gui.editor.EditorWindow;
 import mhahnFr.SecretPathway.gui.helper.MessageReceiver;
+import mhahnFr.SecretPathway.gui.output.LineOutputView;
+import mhahnFr.SecretPathway.gui.output.OutputView;
+import mhahnFr.SecretPathway.gui.output.TextPaneOutput;
+import mhahnFr.utils.Pair;
+import mhahnFr.utils.gui.abstraction.FStyle;
 import mhahnFr.utils.gui.components.DarkComponent;
 import mhahnFr.utils.gui.components.DarkTextComponent;
-import mhahnFr.utils.gui.DocumentAdapter;
 import mhahnFr.utils.gui.components.HintTextField;
 import mhahnFr.utils.gui.menu.MenuFactory;
 import mhahnFr.utils.gui.menu.MenuFrame;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.event.DocumentEvent;
-import javax.swing.text.BadLocationException;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Instances of this class represent a window in which the user can play a MUD.
@@ -52,6 +74,15 @@ import java.util.List;
  * @author mhahnFr
  */
 public class MainWindow extends MenuFrame implements ActionListener, MessageReceiver {
+    /** The amount of lines restored from the previous session log.    */
+    private static final int RESTORED_LINES = 500;
+    /** The maximum amount of results of a search in the session logs. */
+    private static final int MAX_LOG_RESULTS = 200;
+    /** The maximum amount of session logs whose index is kept.        */
+    private static final int MAX_LOG_SEARCHERS = 8;
+    /** The maximum amount of completions cycled through for a word.   */
+    private static final int MAX_COMPLETIONS = 10;
+
     /** A list with the components that should be capable to become dark. */
     private final List<DarkComponent<? extends JComponent>> components = new ArrayList<>();
     /** Indicates whether the settings for a deployed app should be used. */
@@ -60,8 +91,8 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
     private Connection connection;
     /** The delegate of the connection.                                   */
     private ConnectionDelegate delegate;
-    /** The main {@link JTextPane} which contains the incoming text.      */
-    private JTextPane mainPane;
+    /** The main {@link OutputView} which contains the incoming text.     */
+    private OutputView output;
     /** The text field for text to be sent.                               */
     private JTextField promptField;
     /** The label for the message overlay.                                */
@@ -73,12 +104,51 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
     private JPanel promptWrapperPanel;
     /** The timer for the message overlay.                                */
     private Timer messageTimer;
+    /** The label displaying the latency of the connection.               */
+    private JLabel latencyLabel;
+    /** The label displaying the vitals received using GMCP.              */
+    private JLabel vitalsLabel;
+    /** The timer refreshing the {@link #latencyLabel}.                   */
+    private Timer latencyTimer;
     /** Indicates whether the dark mode is active.                        */
     private boolean dark;
     /** Indicates whether the editor is currently inlined.                */
     private boolean editorShowing;
     /** Indicates whether the password mode is currently active.          */
     private boolean passwordMode;
+    /** The index over the lines of the {@link #output}.                  */
+    private final TrigramIndex searchIndex = new TrigramIndex();
+    /** The index of the words used for completing the prompt.            */
+    private final CompletionIndex completions = new CompletionIndex();
+    /** The bus distributing the received GMCP messages.                  */
+    private final GMCPEventBus gmcp = new GMCPEventBus();
+    /** The completions of the word currently completed in the prompt.    */
+    private List<String> completionCandidates;
+    /** The typed prefix of the word currently completed in the prompt.   */
+    private String completionPrefix;
+    /** The text of the prompt after the last completion.                 */
+    private String completionText;
+    /** The beginning of the word currently completed in the prompt.      */
+    private int completionBegin;
+    /** The end of the word currently completed in the prompt.            */
+    private int completionEnd;
+    /** The index of the currently used completion.                       */
+    private int completionPosition;
+    /** The searchers of the recently searched session logs.              */
+    private final Map<Path, LogSearcher> logSearchers = new LinkedHashMap<>(MAX_LOG_SEARCHERS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Path, LogSearcher> eldest) {
+            return size() > MAX_LOG_SEARCHERS;
+        }
+    };
+    /** The panel containing the search bar.                              */
+    private JPanel searchPanel;
+    /** The text field for the text to be searched.                       */
+    private JTextField searchField;
+    /** The check box indicating whether to search a regular expression.  */
+    private JCheckBox regexBox;
+    /** The line of the last search match, {@code -1} if there is none.   */
+    private int searchLine = -1;
 
     /**
      * Constructs a MainWindow. The given connection is used to connect to a MUD if given,
@@ -107,7 +177,42 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
 
         setDark(settings.getDarkMode());
 
-        delegate = new ConnectionDelegate(this.connection, this, mainPane);
+        restoreSession();
+        gmcp.subscribe("Char.Vitals", message -> EventQueue.invokeLater(() -> showVitals(message)));
+        delegate = new ConnectionDelegate(this.connection, this, output, searchIndex, completions, gmcp);
+
+        latencyTimer = new Timer(1000, __ -> updateLatency());
+        latencyTimer.start();
+    }
+
+    /**
+     * Restores the last lines of the most recent session log of the
+     * current connection endpoint into the {@link #output}, if session
+     * logs are enabled.
+     */
+    private void restoreSession() {
+        if (!Settings.getInstance().getSessionLog()) return;
+
+        final var file = SessionLog.findLatest(connection.getHostname(), connection.getPort());
+        if (file == null) return;
+
+        try {
+            final var records = new SessionLogReader(file).readLast(RESTORED_LINES);
+            if (records.isEmpty()) return;
+
+            final var runs = new ArrayList<Pair<String, FStyle>>(records.size() + 1);
+            for (final var record : records) {
+                runs.add(new Pair<>(record.text(), record.toStyle()));
+            }
+            final var separatorStyle = new FStyle();
+            separatorStyle.setForeground(Color.gray);
+            separatorStyle.setItalic(true);
+            final var lastText = records.get(records.size() - 1).text();
+            runs.add(new Pair<>((lastText.endsWith("\n") ? "" : "\n") + "--- Restored from the previous session ---\n", separatorStyle));
+            appendOutput(runs);
+        } catch (IOException e) {
+            Diagnostics.error("Session log", "Could not restore the previous session", e);
+        }
     }
 
     @Override
@@ -132,13 +237,14 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
     }
 
     /**
-     * Changes the font size of the {@link #mainPane} to the
+     * Changes the font size of the {@link #output} to the
      * given size.
      *
      * @param size the new font size
      */
     private void changeFontSize(final int size) {
-        mainPane.setFont(mainPane.getFont().deriveFont((float) size));
+        final var component = output.getComponent();
+        component.setFont(component.getFont().deriveFont((float) size));
     }
 
     /**
@@ -241,19 +347,58 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
      */
     private void createContent() {
         mainPanel = new DarkComponent<>(new JPanel(new BorderLayout()), components).getComponent();
-            messageLabel = new DarkComponent<>(new JLabel(Constants.NAME + " " + Constants.VERSION, SwingConstants.CENTER), components).getComponent();
-            messageLabel.setVisible(false);
-
-                      mainPane   = new DarkTextComponent<>(new JTextPane(), components).getComponent();
-            final var scrollPane = new DarkComponent<>(new JScrollPane(mainPane), components).getComponent();
-            mainPane.setEditable(false);
-            mainPane.setFont(Constants.UI.FONT.deriveFont((float) Settings.getInstance().getFontSize()));
-            mainPane.getDocument().addDocumentListener(new DocumentAdapter() {
-                @Override
-                public void insertUpdate(DocumentEvent e) {
-                    mainPane.setCaretPosition(mainPane.getText().length());
-                }
-            });
+            final var topPanel = new DarkComponent<>(new JPanel(new BorderLayout()), components).getComponent();
+                searchPanel = new DarkComponent<>(new JPanel(), components).getComponent();
+                searchPanel.setLayout(new BoxLayout(searchPanel, BoxLayout.X_AXIS));
+                    searchField = new DarkTextComponent<>(new HintTextField("Search the output..."), components).getComponent();
+                    searchField.setFont(Constants.UI.FONT);
+                    searchField.setActionCommand(Constants.Actions.SEARCH_PREVIOUS);
+                    searchField.addActionListener(this);
+                    searchField.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), Constants.Actions.SEARCH_CLOSE);
+                    searchField.getActionMap().put(Constants.Actions.SEARCH_CLOSE, new AbstractAction() {
+                        @Override
+                        public void actionPerformed(ActionEvent e) {
+                            closeSearch();
+                        }
+                    });
+
+                    regexBox = new DarkComponent<>(new JCheckBox("Regex"), components).getComponent();
+
+                    final var previousButton = new JButton("Previous");
+                    previousButton.setActionCommand(Constants.Actions.SEARCH_PREVIOUS);
+                    previousButton.addActionListener(this);
+
+                    final var nextButton = new JButton("Next");
+                    nextButton.setActionCommand(Constants.Actions.SEARCH_NEXT);
+                    nextButton.addActionListener(this);
+
+                    final var logsButton = new JButton("Search logs");
+                    logsButton.setActionCommand(Constants.Actions.SEARCH_LOGS);
+                    logsButton.addActionListener(this);
+
+                    final var closeButton = new JButton("Done");
+                    closeButton.setActionCommand(Constants.Actions.SEARCH_CLOSE);
+                    closeButton.addActionListener(this);
+                searchPanel.add(searchField);
+                searchPanel.add(regexBox);
+                searchPanel.add(previousButton);
+                searchPanel.add(nextButton);
+                searchPanel.add(logsButton);
+                searchPanel.add(closeButton);
+                searchPanel.setVisible(false);
+
+                messageLabel = new DarkComponent<>(new JLabel(Constants.NAME + " " + Constants.VERSION, SwingConstants.CENTER), components).getComponent();
+                messageLabel.setVisible(false);
+            topPanel.add(searchPanel, BorderLayout.NORTH);
+            topPanel.add(messageLabel, BorderLayout.SOUTH);
+
+            if (Settings.getInstance().getLineOutputView()) {
+                output = new DarkComponent<>(new LineOutputView(), components).getComponent();
+            } else {
+                output = new TextPaneOutput(new DarkTextComponent<>(new JTextPane(), components).getComponent());
+            }
+            final var scrollPane = new DarkComponent<>(new JScrollPane(output.getComponent()), components).getComponent();
+            output.getComponent().setFont(Constants.UI.FONT.deriveFont((float) Settings.getInstance().getFontSize()));
 
             final var promptPanel = new DarkComponent<>(new JPanel(), components).getComponent();
             promptPanel.setLayout(new BoxLayout(promptPanel, BoxLayout.X_AXIS));
@@ -264,16 +409,28 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
                     promptField.setFont(Constants.UI.FONT);
                     promptField.setActionCommand(Constants.Actions.SEND);
                     promptField.addActionListener(this);
+                    configurePromptField(promptField);
                 promptWrapperPanel.add(promptField, BorderLayout.CENTER);
 
                 final var sendButton = new JButton("Send");
                 sendButton.setActionCommand(Constants.Actions.SEND);
                 sendButton.addActionListener(this);
+
+                vitalsLabel = new DarkComponent<>(new JLabel(), components).getComponent();
+                vitalsLabel.setFont(Constants.UI.FONT);
+
+                latencyLabel = new DarkComponent<>(new JLabel(), components).getComponent();
+                latencyLabel.setFont(Constants.UI.FONT);
+                latencyLabel.setToolTipText("Round trip time / time until the first response of the last command");
             promptPanel.add(promptLabel);
             promptPanel.add(promptWrapperPanel);
             promptPanel.add(sendButton);
+            promptPanel.add(Box.createHorizontalStrut(5));
+            promptPanel.add(vitalsLabel);
+            promptPanel.add(Box.createHorizontalStrut(5));
+            promptPanel.add(latencyLabel);
 
-        mainPanel.add(messageLabel, BorderLayout.NORTH);
+        mainPanel.add(topPanel, BorderLayout.NORTH);
         mainPanel.add(scrollPane, BorderLayout.CENTER);
         mainPanel.add(promptPanel, BorderLayout.SOUTH);
 
@@ -285,6 +442,19 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
         setPreferredSize(new Dimension(750, 500));
     }
 
+    /**
+     * Appends the given runs to the {@link #output} and
+     * adds them to the {@link #searchIndex}.
+     *
+     * @param runs the text runs along with their styles
+     */
+    private void appendOutput(final List<Pair<String, FStyle>> runs) {
+        output.appendAll(runs);
+        for (final var run : runs) {
+            searchIndex.append(run.getFirst());
+        }
+    }
+
     /**
      * Sets the prompt text.
      *
@@ -309,6 +479,7 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
             newDarkField = new DarkTextComponent<>(new JPasswordField(), components);
         } else {
             newDarkField = new DarkTextComponent<>(new HintTextField("Enter something..."), components);
+            configurePromptField(newDarkField.getComponent());
         }
         newDarkField.setDark(dark);
         final var newField = newDarkField.getComponent();
@@ -332,17 +503,77 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
     private void sendText() {
         final var prompt = promptLabel.getText();
         if (!prompt.isEmpty()) {
-            final var doc = mainPane.getDocument();
-            try {
-                doc.insertString(doc.getLength(), prompt + (prompt.charAt(prompt.length() - 1) == ' ' ? "" : " "), null);
-            } catch (BadLocationException e) {
-                throw new RuntimeException(e);
-            }
+            appendOutput(List.of(new Pair<>(prompt + (prompt.charAt(prompt.length() - 1) == ' ' ? "" : " "), null)));
+        }
+        if (!passwordMode) {
+            completions.addWords(promptField.getText());
         }
         delegate.send(promptField.getText(), passwordMode);
         promptField.setText("");
     }
 
+    /**
+     * Configures the given prompt field: newlines are kept, so that
+     * multi-line text can be pasted, and the key bindings for the word
+     * completion and for cancelling the pending commands are installed.
+     *
+     * @param field the prompt field
+     */
+    private void configurePromptField(final JTextField field) {
+        field.getDocument().putProperty("filterNewlines", Boolean.FALSE);
+        field.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), Constants.Actions.CANCEL_SEND);
+        field.getActionMap().put(Constants.Actions.CANCEL_SEND, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                delegate.getCommands().cancel();
+            }
+        });
+        field.setFocusTraversalKeysEnabled(false);
+        field.getInputMap().put(Constants.UI.COMPLETE, Constants.Actions.COMPLETE);
+        field.getActionMap().put(Constants.Actions.COMPLETE, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                completeWord();
+            }
+        });
+    }
+
+    /**
+     * Completes the word in front of the caret of the prompt field using
+     * the most frequent word of the {@link #completions}. If the prompt has
+     * not been changed since the last completion, the next completion of
+     * the same word is used instead.
+     */
+    private void completeWord() {
+        final var text  = promptField.getText();
+        final var caret = promptField.getCaretPosition();
+        if (completionCandidates != null && text.equals(completionText) && caret == completionEnd) {
+            completionPosition = (completionPosition + 1) % completionCandidates.size();
+        } else {
+            var begin = caret;
+            while (begin > 0 && CompletionIndex.isWordChar(text.charAt(begin - 1))) {
+                --begin;
+            }
+            completionCandidates = begin == caret ? List.of()
+                                                  : completions.complete(text.substring(begin, caret), MAX_COMPLETIONS);
+            if (completionCandidates.isEmpty()) {
+                completionCandidates = null;
+                Toolkit.getDefaultToolkit().beep();
+                return;
+            }
+            completionPrefix   = text.substring(begin, caret);
+            completionBegin    = begin;
+            completionEnd      = caret;
+            completionPosition = 0;
+        }
+        final var word = completionPrefix + completionCandidates.get(completionPosition).substring(completionPrefix.length());
+
+        completionText = text.substring(0, completionBegin) + word + text.substring(completionEnd);
+        completionEnd  = completionBegin + word.length();
+        promptField.setText(completionText);
+        promptField.setCaretPosition(completionEnd);
+    }
+
     /**
      * Opens the editor, according to {@link Settings#getEditorInlined()}
      * either inlined or as a separate window.
@@ -388,14 +619,386 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
         }
     }
 
+    /**
+     * Lets the user choose a session log and exports it to a plain
+     * text or an ANSI file. The export itself runs in the background.
+     */
+    private void exportSessionLog() {
+        final var chooser = new JFileChooser(SessionLog.getDirectory().toFile());
+        chooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+        chooser.setMultiSelectionEnabled(false);
+        chooser.setFileFilter(new FileNameExtensionFilter("Session logs", SessionLog.EXTENSION.substring(1)));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        final var source  = chooser.getSelectedFile();
+        final var formats = new String[] { "Plain text", "ANSI" };
+        final var format  = JOptionPane.showOptionDialog(this, "Export the session log as:",
+                Constants.NAME + ": Export session log", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE,
+                null, formats, formats[0]);
+        if (format < 0) return;
+
+        final var ansi  = format == 1;
+        final var name  = source.getName();
+        final var saver = new JFileChooser();
+        saver.setSelectedFile(new File(name.substring(0, name.length() - SessionLog.EXTENSION.length()) + (ansi ? ".ans" : ".txt")));
+        if (saver.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        final var target = saver.getSelectedFile().toPath();
+        new Thread(() -> {
+            try {
+                new SessionLogReader(source.toPath()).export(target, ansi);
+                EventQueue.invokeLater(() -> showMessage("Session log exported.", Color.green, 5000));
+            } catch (IOException e) {
+                EventQueue.invokeLater(() -> showMessage("Could not export the session log: " + e.getLocalizedMessage(), Color.red, 0));
+            }
+        }, "Session log exporter").start();
+    }
+
+    /**
+     * Shows the search bar and focuses its text field.
+     */
+    private void openSearch() {
+        searchPanel.setVisible(true);
+        mainPanel.revalidate();
+        searchField.selectAll();
+        searchField.requestFocusInWindow();
+    }
+
+    /**
+     * Hides the search bar and focuses the prompt field.
+     */
+    private void closeSearch() {
+        searchPanel.setVisible(false);
+        mainPanel.revalidate();
+        searchLine = -1;
+        promptField.requestFocusInWindow();
+    }
+
+    /**
+     * Creates the query for the text of the search field.
+     *
+     * @return the query or {@code null} if the search field is empty or the query is invalid
+     */
+    private SearchQuery createQuery() {
+        final var text = searchField.getText();
+        if (text.isEmpty()) return null;
+
+        try {
+            return new SearchQuery(text, regexBox.isSelected());
+        } catch (PatternSyntaxException e) {
+            showMessage("Invalid regular expression: " + e.getDescription(), Color.red, 5000);
+            return null;
+        }
+    }
+
+    /**
+     * Searches the output for the text of the search field, starting
+     * next to the last match. If the beginning or the end of the output
+     * is reached, the search continues at the other end. The matching
+     * line is scrolled to.
+     *
+     * @param forward whether to search towards the newer lines
+     */
+    private void searchOutput(final boolean forward) {
+        final var query = createQuery();
+        if (query == null) return;
+
+        final var lineCount = output.getLineCount();
+        final var from      = searchLine < 0 ? (forward ? 0 : lineCount - 1)
+                                             : searchLine + (forward ? 1 : -1);
+        var line = searchIndex.find(query, from, forward, output::getLine, lineCount);
+        if (line < 0) {
+            line = searchIndex.find(query, forward ? 0 : lineCount - 1, forward, output::getLine, lineCount);
+        }
+        if (line < 0) {
+            showMessage("No match found.", Color.red, 3000);
+            return;
+        }
+        searchLine = line;
+        output.showLine(line);
+    }
+
+    /**
+     * Searches the session logs for the text of the search field, the
+     * most recently written logs first. The search runs in the background,
+     * the results are displayed in a dialog.
+     */
+    private void searchLogs() {
+        final var query = createQuery();
+        if (query == null) return;
+
+        showMessage("Searching the session logs...", null, 0);
+        new Thread(() -> {
+            final var results = new ArrayList<LogSearcher.Result>();
+            try (final var files = Files.list(SessionLog.getDirectory())) {
+                final var logs = files.filter(it -> it.toString().endsWith(SessionLog.EXTENSION))
+                                      .sorted(Comparator.comparingLong(this::lastModified).reversed())
+                                      .toList();
+                for (final var log : logs) {
+                    if (results.size() >= MAX_LOG_RESULTS) break;
+
+                    final LogSearcher searcher;
+                    synchronized (logSearchers) {
+                        searcher = logSearchers.computeIfAbsent(log, LogSearcher::new);
+                    }
+                    results.addAll(searcher.search(query, MAX_LOG_RESULTS - results.size()));
+                }
+            } catch (IOException e) {
+                EventQueue.invokeLater(() -> showMessage("Could not search the session logs: " + e.getLocalizedMessage(), Color.red, 0));
+                return;
+            }
+            EventQueue.invokeLater(() -> showLogResults(query, results));
+        }, "Session log search").start();
+    }
+
+    /**
+     * Returns the time the given file has been modified the last time.
+     *
+     * @param file the file
+     * @return the time of the last modification in milliseconds or {@code 0} if unknown
+     */
+    private long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Displays the given results of a search in the session logs.
+     *
+     * @param query   the searched query
+     * @param results the matching lines
+     */
+    private void showLogResults(final SearchQuery query, final List<LogSearcher.Result> results) {
+        showMessage(results.size() + " matches found in the session logs.", Color.green, 5000);
+        if (results.isEmpty()) return;
+
+        final var list = new JList<>(results.stream()
+                                            .map(it -> it.file().getFileName() + ":" + (it.line() + 1) + ": " + it.text())
+                                            .toArray(String[]::new));
+        list.setFont(Constants.UI.FONT);
+        final var scrollPane = new JScrollPane(list);
+        scrollPane.setPreferredSize(new Dimension(600, 300));
+        JOptionPane.showMessageDialog(this, scrollPane, Constants.NAME + ": Search results for \"" + query.getText() + "\"",
+                                      JOptionPane.PLAIN_MESSAGE);
+    }
+
+    /**
+     * Displays the memory statistics of the {@link #output}.
+     */
+    private void showOutputStatistics() {
+        JOptionPane.showMessageDialog(this, output.getStatistics(),
+                Constants.NAME + ": Output statistics", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Displays the progress of the commands sent by the delegate, along
+     * with the amount of queued commands.
+     *
+     * @param sent    the amount of sent commands
+     * @param total   the total amount of commands
+     * @param waiting whether the next command waits for a prompt
+     */
+    void showSendProgress(final int sent, final int total, final boolean waiting) {
+        if (sent < total) {
+            showMessage("Sending commands: " + sent + " / " + total + ", " + (total - sent) + " queued" +
+                        (waiting ? ", waiting for the prompt" : "") + " - press Escape to cancel", null, 0);
+        } else {
+            showMessage(sent + " commands sent.", Color.green, 3000);
+        }
+    }
+
+    /**
+     * Lets the user choose how the commands sent to the current server
+     * are paced and whether the certificate of the server is verified
+     * against its hostname. The choice is stored for the server.
+     */
+    private void showSendOptions() {
+        final var settings = Settings.getInstance();
+        final var hostname = connection.getHostname();
+        final var port     = connection.getPort();
+
+        final var throttleBox  = new JCheckBox("Throttle the sent commands", settings.getThrottle(hostname, port));
+        final var rateSpinner  = new JSpinner(new SpinnerNumberModel(settings.getSendRate(hostname, port), 0.5, 100, 0.5));
+        final var burstSpinner = new JSpinner(new SpinnerNumberModel(settings.getSendBurst(hostname, port), 1, 100, 1));
+        final var promptBox    = new JCheckBox("Wait for the prompt between pasted commands",
+                                               settings.getWaitForPrompt(hostname, port));
+        final var verifyBox    = new JCheckBox("Verify the hostname of the TLS certificate",
+                                               settings.getVerifyHostname(hostname, port));
+
+        rateSpinner.setEnabled(throttleBox.isSelected());
+        burstSpinner.setEnabled(throttleBox.isSelected());
+        throttleBox.addActionListener(__ -> {
+            rateSpinner.setEnabled(throttleBox.isSelected());
+            burstSpinner.setEnabled(throttleBox.isSelected());
+        });
+
+        final var panel = new JPanel(new GridLayout(5, 2));
+        panel.add(throttleBox);
+        panel.add(new JLabel());
+        panel.add(new JLabel("Commands per second:"));
+        panel.add(rateSpinner);
+        panel.add(new JLabel("Commands at once:"));
+        panel.add(burstSpinner);
+        panel.add(promptBox);
+        panel.add(new JLabel());
+        panel.add(verifyBox);
+
+        if (JOptionPane.showConfirmDialog(this, panel, Constants.NAME + ": Connection options for " + connection.getName(),
+                                          JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        final var rate  = ((Number) rateSpinner.getValue()).doubleValue();
+        final var burst = ((Number) burstSpinner.getValue()).intValue();
+        settings.setSendPacing(hostname, port, throttleBox.isSelected(), rate, burst, promptBox.isSelected());
+        delegate.getCommands().setPacing(throttleBox.isSelected(), rate, burst, promptBox.isSelected());
+        settings.setVerifyHostname(hostname, port, verifyBox.isSelected());
+        connection.setVerifyHostname(verifyBox.isSelected());
+    }
+
+    /**
+     * Displays the values of the given vitals message in the {@link #vitalsLabel}.
+     *
+     * @param message the received vitals message
+     */
+    private void showVitals(final GMCPMessage message) {
+        if (!(message.getValue() instanceof final Map<?, ?> values)) return;
+
+        final var text = new StringBuilder();
+        for (final var entry : values.entrySet()) {
+            if (!text.isEmpty()) text.append(' ');
+            text.append(entry.getKey()).append(' ').append(entry.getValue());
+        }
+        vitalsLabel.setText(text.toString());
+    }
+
+    /**
+     * Refreshes the {@link #latencyLabel} using the latency statistics of
+     * the current connection.
+     */
+    private void updateLatency() {
+        final var latency = delegate.getLatency();
+
+        final var roundTrips = latency.getRoundTrips();
+        final var responses  = latency.getResponses();
+        if (roundTrips.getCount() == 0 && responses.getCount() == 0) {
+            latencyLabel.setText("");
+        } else {
+            latencyLabel.setText(String.format("%s / %s",
+                                               roundTrips.getCount() == 0 ? "-" : String.format("%.0f ms", latency.getRoundTripLastMillis()),
+                                               responses.getCount()  == 0 ? "-" : String.format("%.0f ms", latency.getResponseLastMillis())));
+        }
+    }
+
+    /**
+     * Displays the latency statistics of the current connection along
+     * with the statistics of the TLS handshakes.
+     */
+    private void showLatencyStatistics() {
+        final var latency = delegate.getLatency();
+
+        final var text = new StringBuilder();
+        text.append(String.format("Round trip times: %d probes, median %.1f ms, 99th percentile %.1f ms, maximum %.1f ms%n",
+                                  latency.getRoundTripCount(), latency.getRoundTripMedianMillis(),
+                                  latency.getRoundTrip99thMillis(), latency.getRoundTrips().getMax() / 1_000_000.0))
+            .append(latency.getRoundTrips().describeBuckets())
+            .append(String.format("%nCommand response times: %d commands, median %.1f ms, 99th percentile %.1f ms, maximum %.1f ms%n",
+                                  latency.getResponseCount(), latency.getResponseMedianMillis(),
+                                  latency.getResponse99thMillis(), latency.getResponses().getMax() / 1_000_000.0))
+            .append(latency.getResponses().describeBuckets());
+
+        final var sessions = TLSSessions.getInstance();
+        final var full     = sessions.getFullHandshakes();
+        final var resumed  = sessions.getResumedHandshakes();
+        text.append(String.format("%nTLS handshakes: %d full, median %.1f ms; %d resumed, median %.1f ms%n",
+                                  full.getCount(), full.getPercentile(50) / 1_000_000.0,
+                                  resumed.getCount(), resumed.getPercentile(50) / 1_000_000.0));
+
+        final var area = new JTextArea(text.toString());
+        area.setFont(Constants.UI.FONT);
+        area.setEditable(false);
+        final var scrollPane = new JScrollPane(area);
+        scrollPane.setPreferredSize(new Dimension(600, 300));
+        JOptionPane.showMessageDialog(this, scrollPane, Constants.NAME + ": Latency statistics", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    /**
+     * Displays the recent diagnostic messages, the most recent first.
+     */
+    private void showDiagnostics() {
+        final var entries = Diagnostics.getRecent();
+        final var text    = new StringBuilder();
+        for (int i = entries.size() - 1; i >= 0; --i) {
+            text.append(entries.get(i).format());
+        }
+
+        final var area = new JTextArea(text.isEmpty() ? "No diagnostic messages." : text.toString());
+        area.setFont(Constants.UI.FONT);
+        area.setEditable(false);
+        area.setCaretPosition(0);
+        final var scrollPane = new JScrollPane(area);
+        scrollPane.setPreferredSize(new Dimension(700, 400));
+
+        final var panel = new JPanel(new BorderLayout());
+        panel.add(new JLabel(String.format("%d repetitions suppressed, %d messages rate limited, %d lost. Written to %s.",
+                                           Diagnostics.getSuppressedCount(), Diagnostics.getDroppedCount(),
+                                           Diagnostics.getLostCount(), Diagnostics.getFile())), BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, Constants.NAME + ": Diagnostics", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    /**
+     * Displays the statistics of the triggers of the current connection.
+     */
+    private void showTriggerStatistics() {
+        final var engine   = delegate.getTriggers();
+        final var triggers = engine.getTriggers();
+        final var rows     = new Object[triggers.size()][];
+        for (int i = 0; i < triggers.size(); ++i) {
+            final var trigger = triggers.get(i);
+            rows[i] = new Object[] {
+                    trigger.getAction().name().toLowerCase(),
+                    trigger.getQuery().getText(),
+                    trigger.getHits(),
+                    String.format("%.3f", trigger.getNanos() / 1_000_000.0)
+            };
+        }
+        final var table = new JTable(rows, new String[] { "Action", "Pattern", "Hits", "Time (ms)" });
+        table.setAutoCreateRowSorter(true);
+        table.setDefaultEditor(Object.class, null);
+        final var scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(600, 300));
+
+        final var panel = new JPanel(new BorderLayout());
+        panel.add(new JLabel(String.format("%d triggers from %s, %d lines evaluated, %.3f ms in the automaton.",
+                                           triggers.size(), TriggerEngine.getFile(), engine.getLineCount(),
+                                           engine.getAutomatonNanos() / 1_000_000.0)), BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, Constants.NAME + ": Trigger statistics", JOptionPane.PLAIN_MESSAGE);
+    }
+
     @Override
     public void actionPerformed(ActionEvent e) {
         switch (e.getActionCommand()) {
-            case Constants.Actions.SEND           -> sendText();
-            case Constants.Actions.CLOSE          -> maybeCloseConnection();
-            case Constants.Actions.RECONNECT      -> maybeReconnect();
-            case Constants.Actions.NEW            -> maybeNewConnection();
-            case Constants.Actions.OPEN_EDITOR    -> openEditor();
+            case Constants.Actions.SEND            -> sendText();
+            case Constants.Actions.CLOSE           -> maybeCloseConnection();
+            case Constants.Actions.RECONNECT       -> maybeReconnect();
+            case Constants.Actions.NEW             -> maybeNewConnection();
+            case Constants.Actions.OPEN_EDITOR     -> openEditor();
+            case Constants.Actions.OUTPUT_STATS    -> showOutputStatistics();
+            case Constants.Actions.EXPORT_LOG      -> exportSessionLog();
+            case Constants.Actions.SEARCH          -> openSearch();
+            case Constants.Actions.SEARCH_NEXT     -> searchOutput(true);
+            case Constants.Actions.SEARCH_PREVIOUS -> searchOutput(false);
+            case Constants.Actions.SEARCH_LOGS     -> searchLogs();
+            case Constants.Actions.SEARCH_CLOSE    -> closeSearch();
+            case Constants.Actions.TRIGGER_STATS   -> showTriggerStatistics();
+            case Constants.Actions.SEND_OPTIONS    -> showSendOptions();
+            case Constants.Actions.CANCEL_SEND     -> delegate.getCommands().cancel();
+            case Constants.Actions.LATENCY_STATS   -> showLatencyStatistics();
+            case Constants.Actions.DIAGNOSTICS     -> showDiagnostics();
 
             default -> throw new IllegalStateException("Unexpected action command: " + e.getActionCommand());
         }
@@ -404,6 +1007,7 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
     @Override
     public void dispose() {
         if (!maybeCloseConnection()) { return; }
+        latencyTimer.stop();
         saveSettings();
         super.dispose();
         System.exit(0);
@@ -424,7 +1028,7 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
         if (connection != null && promptConnectionClosing()) {
             delegate.closeConnection();
             this.connection = connection;
-            delegate = new ConnectionDelegate(this.connection, this, mainPane);
+            delegate = new ConnectionDelegate(this.connection, this, output, searchIndex, completions, gmcp);
             setTitle(Constants.NAME + ": " + this.connection.getName());
         }
     }
@@ -449,7 +1053,7 @@ public class MainWindow extends MenuFrame implements ActionListener, MessageRece
     private void maybeReconnect() {
         if (maybeCloseConnection()) {
             connection = ConnectionFactory.create(connection.getHostname(), connection.getPort());
-            delegate = new ConnectionDelegate(connection, this, mainPane);
+            delegate = new ConnectionDelegate(connection, this, output, searchIndex, completions, gmcp);
         }
     }
 
@@ -102,7 +102,7 @@ public class SettingsWindow extends JDialog implements SettingsListener {
             spinnerPanel.add(stepperLabel);
             spinnerPanel.add(stepper);
 
-            final var checkBoxes = new DarkComponent<>(new JPanel(new GridLayout(6, 1)), components).getComponent();
+            final var checkBoxes = new DarkComponent<>(new JPanel(new GridLayout(8, 1)), components).getComponent();
                 final var darkBox = new DarkComponent<>(new JCheckBox("Enable dark mode"), components).getComponent();
 
                 final var nativeLF = new DarkComponent<>(new JCheckBox("Use native Look & Feel"), components).getComponent();
@@ -114,12 +114,18 @@ public class SettingsWindow extends JDialog implements SettingsListener {
                 final var enableStartTlS = new DarkComponent<>(new JCheckBox("Enable StartTLS"), components).getComponent();
 
                 final var enableUTF8 = new DarkComponent<>(new JCheckBox("Enable UTF-8 by default"), components).getComponent();
+
+                final var lineOutput = new DarkComponent<>(new JCheckBox("Use the fast line-based output view (applied after restart)"), components).getComponent();
+
+                final var sessionLog = new DarkComponent<>(new JCheckBox("Write the output of new sessions to a log file"), components).getComponent();
             checkBoxes.add(darkBox);
             checkBoxes.add(nativeLF);
             checkBoxes.add(editorInlined);
             checkBoxes.add(editorHighlighting);
             checkBoxes.add(enableStartTlS);
             checkBoxes.add(enableUTF8);
+            checkBoxes.add(lineOutput);
+            checkBoxes.add(sessionLog);
 
             final var themePanel = new DarkComponent<>(new JPanel(new GridLayout(2, 1)), components).getComponent();
             themePanel.setBorder(new EtchedBorder());
@@ -151,6 +157,8 @@ public class SettingsWindow extends JDialog implements SettingsListener {
         editorHighlighting.setSelected(settings.getSyntaxHighlighting());
         enableStartTlS.setSelected(settings.getStartTLS());
         enableUTF8.setSelected(settings.useUTF8());
+        lineOutput.setSelected(settings.getLineOutputView());
+        sessionLog.setSelected(settings.getSessionLog());
 
         darkBox.addItemListener(__ -> settings.setDarkMode(darkBox.isSelected()));
         nativeLF.addItemListener(this::updateLookAndFeel);
@@ -158,6 +166,8 @@ public class SettingsWindow extends JDialog implements SettingsListener {
         editorHighlighting.addItemListener(__ -> settings.setSyntaxHighlighting(editorHighlighting.isSelected()));
         enableStartTlS.addItemListener(__ -> settings.setStartTLS(enableStartTlS.isSelected()));
         enableUTF8.addItemListener(__ -> settings.setUseUTF8(enableUTF8.isSelected()));
+        lineOutput.addItemListener(__ -> settings.setLineOutputView(lineOutput.isSelected()));
+        sessionLog.addItemListener(__ -> settings.setSessionLog(sessionLog.isSelected()));
 
         themeButton.addActionListener(__ -> themeButtonClick());
 
@@ -94,17 +94,62 @@ public class SharedMenuProvider extends MenuProvider {
             reconnectItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_R, mask));
             reconnectItem.setActionCommand(Constants.Actions.RECONNECT);
             reconnectItem.addActionListener(listener);
+
+            final var sendOptionsItem = new JMenuItem("Connection options...");
+            sendOptionsItem.setActionCommand(Constants.Actions.SEND_OPTIONS);
+            sendOptionsItem.addActionListener(listener);
+
+            final var cancelSendItem = new JMenuItem("Cancel sending");
+            cancelSendItem.setActionCommand(Constants.Actions.CANCEL_SEND);
+            cancelSendItem.addActionListener(listener);
+
+            final var exportLogItem = new JMenuItem("Export session log...");
+            exportLogItem.setActionCommand(Constants.Actions.EXPORT_LOG);
+            exportLogItem.addActionListener(listener);
         connectionMenu.add(newItem);
         connectionMenu.add(closeItem);
         connectionMenu.addSeparator();
         connectionMenu.add(reconnectItem);
+        connectionMenu.addSeparator();
+        connectionMenu.add(sendOptionsItem);
+        connectionMenu.add(cancelSendItem);
+        connectionMenu.addSeparator();
+        connectionMenu.add(exportLogItem);
 
         final var windowMenu = new JMenu("Window");
             final var openEditorItem = new JMenuItem("LPC Editor");
             openEditorItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_0, mask));
             openEditorItem.setActionCommand(Constants.Actions.OPEN_EDITOR);
             openEditorItem.addActionListener(listener);
+
+            final var searchItem = new JMenuItem("Search output...");
+            searchItem.setAccelerator(Constants.UI.SEARCH);
+            searchItem.setActionCommand(Constants.Actions.SEARCH);
+            searchItem.addActionListener(listener);
+
+            final var statisticsItem = new JMenuItem("Output statistics...");
+            statisticsItem.setActionCommand(Constants.Actions.OUTPUT_STATS);
+            statisticsItem.addActionListener(listener);
+
+            final var triggerStatisticsItem = new JMenuItem("Trigger statistics...");
+            triggerStatisticsItem.setActionCommand(Constants.Actions.TRIGGER_STATS);
+            triggerStatisticsItem.addActionListener(listener);
+
+            final var latencyStatisticsItem = new JMenuItem("Latency statistics...");
+            latencyStatisticsItem.setActionCommand(Constants.Actions.LATENCY_STATS);
+            latencyStatisticsItem.addActionListener(listener);
+
+            final var diagnosticsItem = new JMenuItem("Diagnostics...");
+            diagnosticsItem.setActionCommand(Constants.Actions.DIAGNOSTICS);
+            diagnosticsItem.addActionListener(listener);
         windowMenu.add(openEditorItem);
+        windowMenu.addSeparator();
+        windowMenu.add(searchItem);
+        windowMenu.add(statisticsItem);
+        windowMenu.add(triggerStatisticsItem);
+        windowMenu.add(latencyStatisticsItem);
+        windowMenu.addSeparator();
+        windowMenu.add(diagnosticsItem);
 
         if (mainMenu != null) {
             toReturn.add(mainMenu);
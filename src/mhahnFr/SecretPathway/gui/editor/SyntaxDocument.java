@@ -25,9 +25,13 @@ import mhahnFr.SecretPathway.core.lpc.interpreter.Context;
 import mhahnFr.SecretPathway.core.lpc.interpreter.Interpreter;
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.Highlight;
 import mhahnFr.SecretPathway.core.lpc.interpreter.highlight.MessagedHighlight;
+import mhahnFr.SecretPathway.core.lpc.parser.ParseResult;
 import mhahnFr.SecretPathway.core.lpc.parser.Parser;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.*;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.LineTable;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.ScratchSymbolTable;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Token;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenBuffer;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Tokenizer;
 import mhahnFr.SecretPathway.gui.editor.suggestions.Suggestion;
@@ -35,7 +39,6 @@ import mhahnFr.SecretPathway.gui.editor.suggestions.SuggestionType;
 import mhahnFr.SecretPathway.gui.editor.suggestions.SuggestionVisitor;
 import mhahnFr.SecretPathway.gui.editor.theme.SPTheme;
 import mhahnFr.utils.Pair;
-import mhahnFr.utils.StringStream;
 
 import javax.swing.text.*;
 import java.awt.*;
@@ -43,6 +46,7 @@ import java.util.*;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class serves as a syntax aware document for LPC
@@ -70,12 +74,24 @@ public class SyntaxDocument extends DefaultStyledDocument {
     private volatile Context context;
     /** The ranges containing syntax errors.                                   */
     private volatile List<Highlight<?>> highlights;
+    /** The tracked ranges of the currently applied highlights.                */
+    private volatile List<Pair<Position, Position>> appliedHighlights = List.of();
     /** The AST generated by the parsing thread.                               */
     private volatile List<ASTExpression> ast = new Vector<>(0);
-    /** The execution service for interpreting the code.                       */
+    /** The result of the last parsing, reused by the next one.                */
+    private ParseResult parsed;
+    /** The lines of the source code the AST has been generated for.           */
+    private volatile LineTable lines;
+    /** The execution service parsing and interpreting the code in edit order. */
+    private final ExecutorService parsing = Executors.newSingleThreadExecutor();
+    /** The execution service for computing the suggestion contexts.           */
     private final ExecutorService threads = Executors.newCachedThreadPool();
     /** All previously recognized tokens.                                      */
-    private final Vector<Token> tokens = new Vector<>();
+    private volatile TokenBuffer tokens;
+    /** The table interning the identifiers of the tokens.                     */
+    private volatile ScratchSymbolTable symbols;
+    /** The size of the symbol table causing the tokens to be recognized anew. */
+    private int symbolLimit;
     /** The loader used for loading referenced LPC source files.               */
     private final LPCFileManager loader;
     /** The AST visitor for querying additional suggestion information.        */
@@ -424,7 +440,7 @@ public class SyntaxDocument extends DefaultStyledDocument {
         if (cursorDelta != 0 && caretMover != null) {
             caretMover.move(cursorDelta);
         }
-        maybeUpdateHighlight();
+        maybeUpdateHighlight(offs, 0, insertion.length());
     }
 
     /**
@@ -455,14 +471,11 @@ public class SyntaxDocument extends DefaultStyledDocument {
      * @return whether the position is in a token of the given type
      */
     private boolean isInToken(final int offset, final TokenType... type) {
-        final var types = Arrays.asList(type);
+        final var tokens = this.tokens;
+        if (tokens == null) return false;
 
-        for (final var token : tokens) {
-            if (types.contains(token.type()) && offset < token.end() && offset > token.begin()) {
-                return true;
-            }
-        }
-        return false;
+        final var index = tokens.indexAt(offset);
+        return index >= 0 && Arrays.asList(type).contains(tokens.type(index));
     }
 
     /**
@@ -633,7 +646,7 @@ public class SyntaxDocument extends DefaultStyledDocument {
             }
         }
 
-        maybeUpdateHighlight();
+        maybeUpdateHighlight(offs, len, 0);
     }
 
     /**
@@ -682,60 +695,172 @@ public class SyntaxDocument extends DefaultStyledDocument {
         }
     }
 
+    /**
+     * Updates the syntax-highlighting after the given edit if it is
+     * activated. Otherwise, the recognized tokens are discarded, as they
+     * no longer match the text.
+     *
+     * @param offset   the offset of the edit
+     * @param removed  the amount of removed characters
+     * @param inserted the amount of inserted characters
+     * @see #updateHighlight(int, int, int)
+     */
+    private void maybeUpdateHighlight(final int offset, final int removed, final int inserted) {
+        if (highlighting) {
+            updateHighlight(offset, removed, inserted);
+        } else {
+            tokens = null;
+        }
+    }
+
     /**
      * Updates the syntax highlight. If no theme is set,
      * nothing is done.
+     * <br>
+     * The identifiers are interned by a new scratch symbol table on top of
+     * the one of the loader, so the names of half typed identifiers do not
+     * remain in the latter.
      *
      * @see #getTheme()
      * @see #setTheme(SPTheme)
      * @see #theme
      */
     private void updateHighlight() {
-        if (theme == null) return;
+        if (theme == null) {
+            tokens = null;
+            return;
+        }
 
-        clearHighlight();
+        final var symbols   = new ScratchSymbolTable(loader.getSymbols());
+        final var tokenizer = new Tokenizer(getAllText(), symbols);
+        tokenizer.setCommentTokensEnabled(true);
 
-        final var text = getAllText();
+        final var tokens = tokenizer.tokenize();
+        this.symbols     = symbols;
+        this.symbolLimit = 2 * symbols.size() + 1024;
+        applyTokens(tokens);
+    }
 
-        final var tokenizer = new Tokenizer(new StringStream(text));
+    /**
+     * Updates the syntax highlight after the given edit. Only the tokens
+     * around the edit are recognized again and restyled; if there are no
+     * previously recognized tokens, or if their symbol table has grown too
+     * large, the whole text is highlighted.
+     *
+     * @param offset   the offset of the edit
+     * @param removed  the amount of removed characters
+     * @param inserted the amount of inserted characters
+     */
+    private void updateHighlight(final int offset, final int removed, final int inserted) {
+        final var previous = tokens;
+        if (theme == null || previous == null || symbols.size() > symbolLimit) {
+            updateHighlight();
+            return;
+        }
+
+        final var tokenizer = new Tokenizer(getAllText(), previous.getSymbolTable());
         tokenizer.setCommentTokensEnabled(true);
 
-        tokens.clear();
+        applyTokens(tokenizer.tokenize(previous, offset, removed, inserted));
+    }
 
-        Token token;
-        while ((token = tokenizer.nextToken()).type() != TokenType.EOF) {
-            final var style = theme.styleFor(token.type());
-            setCharacterAttributes(token.begin(), token.end() - token.begin(),
-                    style == null ? def : style.asStyle(def), true);
-            tokens.add(token);
-        }
+    /**
+     * Restyles the changed range of the given tokens and parses them
+     * in the background. Once parsed, the highlights of the interpreter
+     * are applied. If the interpretation has made the symbol table of the
+     * tokens stale, the whole text is highlighted again.
+     *
+     * @param tokens the newly recognized tokens
+     */
+    private void applyTokens(final TokenBuffer tokens) {
+        restyle(tokens, tokens.getChangedBegin(), tokens.getChangedEnd());
+        this.tokens = tokens;
 
-        final var roTokens = new Vector<>(tokens);
-        threads.execute(() -> {
+        parsing.execute(() -> {
             final var interpreter = new Interpreter(loader);
-            this.ast        = new Parser(text).parse();
-            this.context    = interpreter.createContextFor(this.ast);
+            final var parser      = new Parser(tokens);
+            parsed = parsed == null || parsed.getTokens().getSymbolTable() != tokens.getSymbolTable()
+                         ? parser.parseConcurrently(ForkJoinPool.commonPool())
+                         : parser.parseFile(parsed);
+
+            this.ast        = parsed.getExpressions();
+            this.lines      = tokens.getLineTable();
+            this.context    = interpreter.createContextFor(this.ast, tokens.getLineTable());
             this.highlights = interpreter.getHighlights();
-            for (final var range : highlights) {
-                final var style = theme.styleFor(range.getType());
-                if (style != null) {
-                    setCharacterAttributes(range.getBegin(), range.getEnd() - range.getBegin(),
-                            style.asStyle(def), false);
+
+            if (tokens.getSymbolTable() == symbols && symbols.isStale()) {
+                EventQueue.invokeLater(this::maybeUpdateHighlight);
+            }
+
+            final var current = this.tokens;
+            if (current != null) {
+                for (final var range : appliedHighlights) {
+                    restyle(current, range.getFirst().getOffset(), range.getSecond().getOffset());
                 }
             }
-            for (final var t : roTokens) {
-                if (t.is(TokenType.COMMENT_LINE) || t.is(TokenType.COMMENT_BLOCK)) {
-                    final var style = theme.styleFor(t.type());
-                    setCharacterAttributes(t.begin(), t.end() - t.begin(),
-                            style == null ? def : style.asStyle(def), true);
+
+            final var applied = new ArrayList<Pair<Position, Position>>();
+            for (final var range : highlights) {
+                final var style = theme.styleFor(range.getType());
+                if (style == null) continue;
+
+                setCharacterAttributes(range.getBegin(), range.getEnd() - range.getBegin(),
+                        style.asStyle(def), false);
+                restyleComments(tokens, range.getBegin(), range.getEnd());
+                try {
+                    applied.add(new Pair<>(createPosition(Math.min(range.getBegin(), getLength())),
+                                           createPosition(Math.min(range.getEnd(), getLength()))));
+                } catch (BadLocationException e) {
+                    throw new RuntimeException(e);
                 }
             }
+            appliedHighlights = applied;
+
             if (updateCallback != null) {
                 updateCallback.run();
             }
         });
     }
 
+    /**
+     * Resets the style of the given range and styles the given tokens
+     * inside of it.
+     *
+     * @param tokens the tokens
+     * @param from   the beginning of the range
+     * @param to     the end of the range, exclusive
+     */
+    private void restyle(final TokenBuffer tokens, final int from, final int to) {
+        if (to <= from) return;
+
+        setCharacterAttributes(from, to - from, def, true);
+        for (int i = tokens.firstEndingAfter(from); i < tokens.size() && tokens.begin(i) < to; ++i) {
+            final var style = theme.styleFor(tokens.type(i));
+            if (style != null) {
+                setCharacterAttributes(tokens.begin(i), tokens.end(i) - tokens.begin(i), style.asStyle(def), true);
+            }
+        }
+    }
+
+    /**
+     * Styles the comment tokens in the given range again, so that
+     * highlights inside of comments are not visible.
+     *
+     * @param tokens the tokens
+     * @param from   the beginning of the range
+     * @param to     the end of the range, exclusive
+     */
+    private void restyleComments(final TokenBuffer tokens, final int from, final int to) {
+        for (int i = tokens.firstEndingAfter(from); i < tokens.size() && tokens.begin(i) < to; ++i) {
+            final var type = tokens.type(i);
+            if (type == TokenType.COMMENT_LINE || type == TokenType.COMMENT_BLOCK) {
+                final var style = theme.styleFor(type);
+                setCharacterAttributes(tokens.begin(i), tokens.end(i) - tokens.begin(i),
+                        style == null ? def : style.asStyle(def), true);
+            }
+        }
+    }
+
     /**
      * Returns a list with the available suggestions at the
      * given text position.
@@ -778,12 +903,12 @@ public class SyntaxDocument extends DefaultStyledDocument {
      */
     private void visit(final int position) {
         for (final var node : ast) {
-            if (position >= node.getBegin().position() && position <= node.getEnd().position()) {
-                visitor.visit(node, position, context);
+            if (position >= node.getBegin() && position <= node.getEnd()) {
+                visitor.visit(node, position, context, lines);
                 return;
             }
         }
-        visitor.visit(ast.get(ast.size() - 1), position, context);
+        visitor.visit(ast.get(ast.size() - 1), position, context, lines);
     }
 
     /**
@@ -21,6 +21,7 @@ package mhahnFr.SecretPathway.gui.editor.suggestions;
 
 import mhahnFr.SecretPathway.core.lpc.interpreter.*;
 import mhahnFr.SecretPathway.core.lpc.parser.ast.*;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.LineTable;
 import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenType;
 
 import java.util.List;
@@ -41,6 +42,8 @@ public class SuggestionVisitor {
     private ASTExpression lastVisited = null;
     /** The expected return type.                */
     private ASTTypeDefinition returnType;
+    /** The lines of the visited source code.    */
+    private LineTable lines;
 
     /**
      * Returns the requested return type at the last visited
@@ -48,7 +51,7 @@ public class SuggestionVisitor {
      * expected.
      *
      * @return the requested return type
-     * @see #visit(ASTExpression, int, Context)
+     * @see #visit(ASTExpression, int, Context, LineTable)
      */
     public ASTTypeDefinition getType() {
         return returnType;
@@ -59,7 +62,7 @@ public class SuggestionVisitor {
      * visited position.
      *
      * @return the type of suggestions
-     * @see #visit(ASTExpression, int, Context)
+     * @see #visit(ASTExpression, int, Context, LineTable)
      */
     public SuggestionType getSuggestionType() {
         return type;
@@ -72,10 +75,14 @@ public class SuggestionVisitor {
      * @param node     the AST node to be visited
      * @param position the position
      * @param context  the interpretation context
+     * @param lines    the lines of the source code
      * @return the type of suggestions that should be shown
      * @see #getSuggestionType()
      */
-    public SuggestionType visit(final ASTExpression node, final int position, final Context context) {
+    public SuggestionType visit(final ASTExpression node,
+                                final int           position,
+                                final Context       context,
+                                final LineTable     lines) {
         if (this.position    == position &&
             this.lastVisited == node) {
             return type;
@@ -83,6 +90,7 @@ public class SuggestionVisitor {
 
         this.position    = position;
         this.lastVisited = node;
+        this.lines       = lines;
         returnType       = null;
         return (type = visitImpl(node, position, context));
     }
@@ -95,7 +103,7 @@ public class SuggestionVisitor {
      * @param position the position
      * @param context  the interpretation context
      * @return the type of suggestions that should be shown
-     * @see #visit(ASTExpression, int, Context)
+     * @see #visit(ASTExpression, int, Context, LineTable)
      */
     private SuggestionType visitImpl(final ASTExpression node, final int position, final Context context) {
         switch (node.getASTType()) {
@@ -105,16 +113,16 @@ public class SuggestionVisitor {
                 final var funcModifiers  = func.getModifiers();
                 final var funcParameters = func.getParameters();
                 if (funcModifiers != null && !funcModifiers.isEmpty() &&
-                        position <= funcModifiers.get(func.getModifiers().size() - 1).getEnd().position()) {
+                        position <= funcModifiers.get(func.getModifiers().size() - 1).getEnd()) {
                     return SuggestionType.TYPE_MODIFIER;
-                } else if (position <= func.getType().getEnd().position()) {
+                } else if (position <= func.getType().getEnd()) {
                     return SuggestionType.TYPE_MODIFIER;
-                } else if (position <= func.getName().getEnd().position()) {
+                } else if (position <= func.getName().getEnd()) {
                     return SuggestionType.LITERAL;
                 } else if (!funcParameters.isEmpty() &&
-                        position <= funcParameters.get(funcParameters.size() - 1).getEnd().position()) {
+                        position <= funcParameters.get(funcParameters.size() - 1).getEnd()) {
                     for (final var parameter : funcParameters) {
-                        if (position >= parameter.getBegin().position() && position <= parameter.getEnd().position()) {
+                        if (position >= parameter.getBegin() && position <= parameter.getEnd()) {
                             return visitImpl(parameter, position, context);
                         }
                     }
@@ -126,20 +134,20 @@ public class SuggestionVisitor {
             case VARIABLE_DEFINITION -> {
                 final var variable = (ASTVariableDefinition) node;
 
-                if (!variable.getType().getEnd().isOnSameLine(variable.getName().getBegin())) {
+                if (!lines.isOnSameLine(variable.getType().getEnd(), variable.getName().getBegin())) {
                     // Assume this expression is not intended to be a variable definition.
                     return context.isGlobalScope(position) ? SuggestionType.TYPE_MODIFIER : SuggestionType.ANY;
                 }
                 final var varModifiers = variable.getModifiers();
                 if (varModifiers != null && !varModifiers.isEmpty() &&
-                        position >= varModifiers.get(0).getBegin().position() &&
-                        position <= varModifiers.get(varModifiers.size() - 1).getEnd().position()) {
+                        position >= varModifiers.get(0).getBegin() &&
+                        position <= varModifiers.get(varModifiers.size() - 1).getEnd()) {
                     return SuggestionType.TYPE_MODIFIER;
-                } else if (position >= variable.getType().getBegin().position() &&
-                        position <= variable.getType().getEnd().position()) {
+                } else if (position >= variable.getType().getBegin() &&
+                        position <= variable.getType().getEnd()) {
                     return SuggestionType.TYPE_MODIFIER;
-                } else if (position >= variable.getName().getBegin().position() &&
-                        position <= variable.getName().getEnd().position()) {
+                } else if (position >= variable.getName().getBegin() &&
+                        position <= variable.getName().getEnd()) {
                     return SuggestionType.LITERAL;
                 }
             }
@@ -152,14 +160,14 @@ public class SuggestionVisitor {
                     switch (lhs.getASTType()) {
                         case VARIABLE_DEFINITION -> returnType = cast(ASTTypeDefinition.class, ((ASTVariableDefinition) lhs).getType());
                         case NAME -> {
-                            final var defs = context.digOutIdentifiers(((ASTName) lhs).getName(), position);
+                            final var defs = context.digOutIdentifiers(((ASTName) lhs).getSymbol(), position);
                             if (!defs.isEmpty()) {
                                 returnType = defs.get(0).getReturnType();
                             }
                         }
                     }
                 }
-                if (position <= op.getLhs().getEnd().position()) {
+                if (position <= op.getLhs().getEnd()) {
                     return visitImpl(op.getLhs(), position, context);
                 } else {
                     return visitImpl(op.getRhs(), position, context);
@@ -173,7 +181,7 @@ public class SuggestionVisitor {
             case PARAMETER -> {
                 final var param = (ASTParameter) node;
 
-                if (position <= param.getType().getEnd().position()) {
+                if (position <= param.getType().getEnd()) {
                     return SuggestionType.TYPE;
                 } else {
                     return SuggestionType.LITERAL;
@@ -189,7 +197,7 @@ public class SuggestionVisitor {
                     returnType = func.getReturnType();
                 }
                 if (returned != null &&
-                        position >= returned.getBegin().position() && position <= returned.getEnd().position()) {
+                        position >= returned.getBegin() && position <= returned.getEnd()) {
                     if (returned.hasSubExpressions()) {
                         return visitImpl(returned, position, context);
                     }
@@ -200,11 +208,11 @@ public class SuggestionVisitor {
             case FUNCTION_CALL -> {
                 final var call = (ASTFunctionCall) node;
 
-                if (position <= call.getName().getEnd().position()) {
+                if (position <= call.getName().getEnd()) {
                     return SuggestionType.IDENTIFIER;
                 }
 
-                final var func = context.getIdentifiers(cast(ASTName.class, call.getName()).getName(), position);
+                final var func = context.getIdentifiers(cast(ASTName.class, call.getName()).getSymbol(), position);
                 final List<Definition> args;
                 final FunctionDefinition funcDef;
                 if (func instanceof final FunctionDefinition def) {
@@ -219,7 +227,7 @@ public class SuggestionVisitor {
                 for (int i = 0; i < callArgs.size(); ++i) {
                     final var param = callArgs.get(i);
 
-                    if (position >= param.getBegin().position() && position <= param.getEnd().position()) {
+                    if (position >= param.getBegin() && position <= param.getEnd()) {
                         if (param.hasSubExpressions()) {
                             return visitImpl(param, position, context);
                         }
@@ -242,7 +250,7 @@ public class SuggestionVisitor {
             case CAST -> {
                 final var c = (ASTCast) node;
 
-                if (position <= c.getType().getEnd().position()) {
+                if (position <= c.getType().getEnd()) {
                     return SuggestionType.TYPE;
                 }
                 returnType = cast(ASTTypeDefinition.class, c.getType());
@@ -264,7 +272,7 @@ public class SuggestionVisitor {
             default -> {
                 if (node.hasSubExpressions()) {
                     for (final var subNode : node.getSubExpressions()) {
-                        if (position >= subNode.getBegin().position() && position <= subNode.getEnd().position()) {
+                        if (position >= subNode.getBegin() && position <= subNode.getEnd()) {
                             return visitImpl(subNode, position, context);
                         }
                     }
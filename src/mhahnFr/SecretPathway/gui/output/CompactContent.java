@@ -0,0 +1,598 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a document content optimized for the output
+ * of a MUD. The text is stored in chunks, which store their characters
+ * as Latin-1 bytes if possible and as UTF-16 characters otherwise.
+ * Appending text and removing text at the beginning is fast, other
+ * modifications are supported but slower.
+ * <br>
+ * Offsets are stored in absolute coordinates, which do not change when
+ * text is removed at the head. Before they can overflow, they are rebased
+ * to the current head. The {@link Segment}s handed out for
+ * UTF-16 chunks point directly into the chunk, Latin-1 chunks are
+ * inflated into a small cache of recently used chunks.
+ * <br>
+ * Modifications are not undoable, as the output is not editable.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class CompactContent implements AbstractDocument.Content {
+    /** The maximum amount of characters stored in a chunk.        */
+    private static final int CHUNK_SIZE       = 4096;
+    /** The amount of inflated Latin-1 chunks kept in the cache.   */
+    private static final int CACHE_SIZE       = 8;
+    /** The amount of removed characters causing a rebase.         */
+    private static final int REBASE_THRESHOLD = 1 << 30;
+
+    /** The chunks storing the text.                               */
+    private Chunk[] chunks = new Chunk[16];
+    /** The absolute start offsets of the chunks.                  */
+    private int[] starts = new int[16];
+    /** The index of the first used chunk.                         */
+    private int first;
+    /** The index after the last used chunk.                       */
+    private int count;
+    /** The amount of characters removed at the head.              */
+    private int removed;
+    /** The amount of stored characters.                           */
+    private int length;
+    /** The references to the marks, sorted by their offset.       */
+    private final List<MarkReference> marks = new ArrayList<>();
+    /** The amount of marks after the last purge.                  */
+    private int purgedSize = 64;
+    /** The cache with the inflated Latin-1 chunks.                */
+    private final Map<Chunk, char[]> inflated = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Chunk, char[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    @Override
+    public synchronized Position createPosition(final int offset) throws BadLocationException {
+        if (offset < 0 || offset > length + 1) throw new BadLocationException("Invalid position", offset);
+
+        if (marks.size() > purgedSize * 2) {
+            marks.removeIf(reference -> reference.get() == null);
+            purgedSize = Math.max(64, marks.size());
+        }
+
+        final var absolute = offset + removed;
+        final var index    = lowerMark(absolute);
+        for (int i = index; i < marks.size() && marks.get(i).offset == absolute; ++i) {
+            final var mark = marks.get(i).get();
+            if (mark != null) {
+                return mark;
+            }
+        }
+        final var mark = new Mark(absolute);
+        marks.add(index, mark.reference);
+        return mark;
+    }
+
+    /**
+     * Returns the index of the first mark whose offset is equal to
+     * or greater than the given absolute offset.
+     *
+     * @param absolute the absolute offset
+     * @return the index of the first mark not before the given offset
+     */
+    private int lowerMark(final int absolute) {
+        int low = 0, high = marks.size();
+        while (low < high) {
+            final var mid = (low + high) >>> 1;
+            if (marks.get(mid).offset < absolute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public synchronized int length() {
+        return length + 1;
+    }
+
+    @Override
+    public synchronized UndoableEdit insertString(final int where, final String str) throws BadLocationException {
+        if (where < 0 || where > length) throw new BadLocationException("Invalid insert", where);
+        if (str.isEmpty()) return null;
+
+        if (where == length) {
+            appendChars(str);
+        } else {
+            insertInside(where + removed, str);
+        }
+        length += str.length();
+
+        final var absolute = where + removed;
+        for (int i = lowerMark(where == 0 ? absolute + 1 : absolute); i < marks.size(); ++i) {
+            marks.get(i).offset += str.length();
+        }
+        return null;
+    }
+
+    /**
+     * Appends the given string to the last chunk, adding new chunks
+     * as needed. A Latin-1 chunk is inflated if non Latin-1 characters
+     * are appended to it.
+     *
+     * @param str the string to be appended
+     */
+    private void appendChars(final String str) {
+        final var n = str.length();
+        var end = length + removed;
+        for (int i = 0; i < n;) {
+            var last = count > first ? chunks[count - 1] : null;
+            if (last == null || last.capacityLeft() == 0) {
+                final var pieceEnd = Math.min(n, i + CHUNK_SIZE);
+                last = new Chunk(CHUNK_SIZE, isLatin1(str, i, pieceEnd));
+                addChunk(count, last, end);
+            }
+            final var take = Math.min(n - i, last.capacityLeft());
+            if (last.latin1 != null && !isLatin1(str, i, i + take)) {
+                last.inflate();
+            }
+            last.put(str, i, take);
+            inflated.remove(last);
+
+            i   += take;
+            end += take;
+        }
+    }
+
+    /**
+     * Inserts the given string at the given absolute offset, which
+     * has to be inside the stored text.
+     *
+     * @param absolute the absolute offset
+     * @param str      the string to be inserted
+     */
+    private void insertInside(final int absolute, final String str) {
+        final var index = chunkAt(absolute);
+        final var chunk = chunks[index];
+        final var local = absolute - starts[index];
+        final var text  = chunk.toString(0, local) + str + chunk.toString(local, chunk.length());
+
+        replaceChunks(index, index + 1, text, str.length());
+    }
+
+    /**
+     * Replaces the chunks in the given range by chunks containing the
+     * given text. The start offsets of the following chunks are shifted
+     * by the given difference.
+     *
+     * @param from       the index of the first chunk to be replaced
+     * @param to         the index after the last chunk to be replaced
+     * @param text       the text of the new chunks
+     * @param difference the difference of the length
+     */
+    private void replaceChunks(final int from, final int to, final String text, final int difference) {
+        final var start = starts[from];
+        for (int i = from; i < to; ++i) {
+            inflated.remove(chunks[i]);
+        }
+        System.arraycopy(chunks, to, chunks, from, count - to);
+        System.arraycopy(starts, to, starts, from, count - to);
+        count -= to - from;
+
+        var index = from;
+        for (int i = 0; i < text.length(); i += CHUNK_SIZE) {
+            final var pieceEnd = Math.min(text.length(), i + CHUNK_SIZE);
+            final var chunk    = new Chunk(pieceEnd - i, isLatin1(text, i, pieceEnd));
+            chunk.put(text, i, pieceEnd - i);
+            addChunk(index++, chunk, start + i);
+        }
+        for (int i = index; i < count; ++i) {
+            starts[i] += difference;
+        }
+    }
+
+    /**
+     * Adds the given chunk at the given index.
+     *
+     * @param index the index
+     * @param chunk the chunk to be added
+     * @param start the absolute start offset of the chunk
+     */
+    private void addChunk(final int index, final Chunk chunk, final int start) {
+        if (count == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            starts = Arrays.copyOf(starts, starts.length * 2);
+        }
+        System.arraycopy(chunks, index, chunks, index + 1, count - index);
+        System.arraycopy(starts, index, starts, index + 1, count - index);
+        chunks[index] = chunk;
+        starts[index] = start;
+        ++count;
+    }
+
+    /**
+     * Moves the used chunks to the beginning of the arrays.
+     */
+    private void compact() {
+        final var used = count - first;
+        System.arraycopy(chunks, first, chunks, 0, used);
+        System.arraycopy(starts, first, starts, 0, used);
+        Arrays.fill(chunks, used, count, null);
+        first = 0;
+        count = used;
+    }
+
+    /**
+     * Returns the index of the chunk containing the given absolute offset.
+     *
+     * @param absolute the absolute offset
+     * @return the index of the chunk
+     */
+    private int chunkAt(final int absolute) {
+        int low = first, high = count - 1;
+        while (low < high) {
+            final var mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= absolute) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public synchronized UndoableEdit remove(final int where, final int nitems) throws BadLocationException {
+        if (where < 0 || nitems < 0 || where + nitems > length) throw new BadLocationException("Invalid remove", where + nitems);
+        if (nitems == 0) return null;
+
+        if (where == 0) {
+            removeHead(nitems);
+        } else {
+            final var absolute = where + removed;
+            final var from     = chunkAt(absolute);
+            final var to       = chunkAt(absolute + nitems - 1);
+            final var text     = chunks[from].toString(0, absolute - starts[from])
+                               + chunks[to].toString(absolute + nitems - starts[to], chunks[to].length());
+            replaceChunks(from, to + 1, text, -nitems);
+
+            for (int i = lowerMark(absolute + 1); i < marks.size(); ++i) {
+                final var reference = marks.get(i);
+                reference.offset = reference.offset <= absolute + nitems ? absolute : reference.offset - nitems;
+            }
+        }
+        length -= nitems;
+        return null;
+    }
+
+    /**
+     * Removes the given amount of characters at the head. Fully removed
+     * chunks are dropped, the first remaining chunk is trimmed without
+     * copying. The marks are adjusted implicitly.
+     *
+     * @param amount the amount of characters to be removed
+     */
+    private void removeHead(final int amount) {
+        removed += amount;
+        while (first < count && starts[first] + chunks[first].length() <= removed) {
+            inflated.remove(chunks[first]);
+            chunks[first++] = null;
+        }
+        if (first < count) {
+            final var chunk = chunks[first];
+            chunk.begin    += removed - starts[first];
+            starts[first]   = removed;
+            inflated.remove(chunk);
+        } else {
+            first = 0;
+            count = 0;
+        }
+        if (first > 16 && first > count - first) {
+            compact();
+        }
+        if (removed >= REBASE_THRESHOLD) {
+            rebase();
+        }
+    }
+
+    /**
+     * Rebases the absolute offsets to the current head, so that they
+     * cannot overflow. Marks pointing into the removed text are moved
+     * to the head.
+     */
+    private void rebase() {
+        for (int i = first; i < count; ++i) {
+            starts[i] -= removed;
+        }
+        for (final var reference : marks) {
+            reference.offset = Math.max(0, reference.offset - removed);
+        }
+        removed = 0;
+    }
+
+    @Override
+    public synchronized String getString(final int where, final int len) throws BadLocationException {
+        final var segment = new Segment();
+        getChars(where, len, segment);
+        return segment.toString();
+    }
+
+    @Override
+    public synchronized void getChars(final int where, final int len, final Segment txt) throws BadLocationException {
+        if (where < 0 || len < 0 || where + len > length + 1) throw new BadLocationException("Invalid range", where + len);
+
+        final var stored = Math.min(len, length - where);
+        if (stored > 0) {
+            final var absolute = where + removed;
+            final var index    = chunkAt(absolute);
+            final var chunk    = chunks[index];
+            final var local    = absolute - starts[index];
+            final var inChunk  = Math.min(stored, chunk.length() - local);
+
+            if (inChunk == len || (txt.isPartialReturn() && inChunk > 0)) {
+                if (chunk.utf16 != null) {
+                    txt.array  = chunk.utf16;
+                    txt.offset = chunk.begin + local;
+                } else {
+                    txt.array  = inflatedChars(chunk);
+                    txt.offset = local;
+                }
+                txt.count = inChunk;
+                return;
+            }
+        }
+
+        final var result = new char[len];
+        var position = 0;
+        if (stored > 0) {
+            var absolute = where + removed;
+            for (int index = chunkAt(absolute); position < stored; ++index) {
+                final var chunk = chunks[index];
+                final var local = absolute - starts[index];
+                final var take  = Math.min(stored - position, chunk.length() - local);
+                chunk.getChars(local, take, result, position);
+                position += take;
+                absolute += take;
+            }
+        }
+        if (position < len) {
+            result[position] = '\n';
+        }
+        txt.array  = result;
+        txt.offset = 0;
+        txt.count  = len;
+    }
+
+    /**
+     * Returns the inflated characters of the given Latin-1 chunk.
+     * The inflated characters are cached.
+     *
+     * @param chunk the chunk whose characters to return
+     * @return the inflated characters
+     */
+    private char[] inflatedChars(final Chunk chunk) {
+        var result = inflated.get(chunk);
+        if (result == null) {
+            result = new char[chunk.length()];
+            chunk.getChars(0, result.length, result, 0);
+            inflated.put(chunk, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the approximate amount of bytes used to store the text.
+     *
+     * @return the amount of bytes used for the text
+     */
+    public synchronized long getByteSize() {
+        long result = 0;
+        for (int i = first; i < count; ++i) {
+            result += chunks[i].latin1 != null ? chunks[i].latin1.length : chunks[i].utf16.length * 2L;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the characters in the given range can be
+     * stored as Latin-1.
+     *
+     * @param str  the string
+     * @param from the index of the first character
+     * @param to   the index after the last character
+     * @return whether all characters in the range are Latin-1 characters
+     */
+    private static boolean isLatin1(final String str, final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            if (str.charAt(i) > 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This class represents a chunk of text.
+     */
+    private static final class Chunk {
+        /** The Latin-1 characters, {@code null} if UTF-16 is used. */
+        byte[] latin1;
+        /** The UTF-16 characters, {@code null} if Latin-1 is used. */
+        char[] utf16;
+        /** The index of the first used character.                 */
+        int begin;
+        /** The index after the last used character.               */
+        int end;
+
+        /**
+         * Constructs a chunk with the given capacity.
+         *
+         * @param capacity the capacity of the chunk
+         * @param latin1   whether to store the characters as Latin-1
+         */
+        Chunk(final int capacity, final boolean latin1) {
+            if (latin1) {
+                this.latin1 = new byte[capacity];
+            } else {
+                this.utf16  = new char[capacity];
+            }
+        }
+
+        /**
+         * Returns the amount of characters stored in this chunk.
+         *
+         * @return the length of this chunk
+         */
+        int length() {
+            return end - begin;
+        }
+
+        /**
+         * Returns the amount of characters that can still be appended.
+         *
+         * @return the remaining capacity
+         */
+        int capacityLeft() {
+            return (latin1 != null ? latin1.length : utf16.length) - end;
+        }
+
+        /**
+         * Converts this chunk to store UTF-16 characters.
+         */
+        void inflate() {
+            utf16 = new char[latin1.length];
+            for (int i = begin; i < end; ++i) {
+                utf16[i] = (char) (latin1[i] & 0xff);
+            }
+            latin1 = null;
+        }
+
+        /**
+         * Appends the given range of the given string. If this chunk
+         * stores Latin-1 characters, the characters have to be Latin-1.
+         *
+         * @param str    the string
+         * @param from   the index of the first character to be appended
+         * @param amount the amount of characters to be appended
+         */
+        void put(final String str, final int from, final int amount) {
+            if (latin1 != null) {
+                for (int i = 0; i < amount; ++i) {
+                    latin1[end + i] = (byte) str.charAt(from + i);
+                }
+            } else {
+                str.getChars(from, from + amount, utf16, end);
+            }
+            end += amount;
+        }
+
+        /**
+         * Copies the given range of characters into the given array.
+         *
+         * @param from     the index of the first character relative to the start of the chunk
+         * @param amount   the amount of characters to be copied
+         * @param dest     the destination array
+         * @param destPos  the index in the destination array
+         */
+        void getChars(final int from, final int amount, final char[] dest, final int destPos) {
+            if (latin1 != null) {
+                for (int i = 0; i < amount; ++i) {
+                    dest[destPos + i] = (char) (latin1[begin + from + i] & 0xff);
+                }
+            } else {
+                System.arraycopy(utf16, begin + from, dest, destPos, amount);
+            }
+        }
+
+        /**
+         * Returns the given range of characters as string.
+         *
+         * @param from the index of the first character relative to the start of the chunk
+         * @param to   the index after the last character relative to the start of the chunk
+         * @return the characters in the given range
+         */
+        String toString(final int from, final int to) {
+            if (latin1 != null) {
+                return new String(latin1, begin + from, to - from, StandardCharsets.ISO_8859_1);
+            }
+            return new String(utf16, begin + from, to - from);
+        }
+    }
+
+    /**
+     * This class represents the weak reference to a mark, storing
+     * the absolute offset of the mark.
+     */
+    private static final class MarkReference extends WeakReference<Mark> {
+        /** The absolute offset of the referenced mark. */
+        int offset;
+
+        /**
+         * Constructs a reference to the given mark.
+         *
+         * @param mark   the referenced mark
+         * @param offset the absolute offset of the mark
+         */
+        MarkReference(final Mark mark, final int offset) {
+            super(mark);
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * This class represents a position in this content.
+     */
+    private final class Mark implements Position {
+        /** The reference storing the offset of this mark. */
+        private final MarkReference reference;
+
+        /**
+         * Constructs a mark at the given absolute offset.
+         *
+         * @param offset the absolute offset
+         */
+        Mark(final int offset) {
+            reference = new MarkReference(this, offset);
+        }
+
+        @Override
+        public int getOffset() {
+            synchronized (CompactContent.this) {
+                return Math.max(0, reference.offset - removed);
+            }
+        }
+    }
+}
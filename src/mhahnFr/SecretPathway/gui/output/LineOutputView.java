@@ -0,0 +1,513 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.SecretPathway.core.Constants;
+import mhahnFr.utils.Pair;
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents an output view backed by a {@link LineStore}.
+ * Only the currently visible lines are painted. The lines are not
+ * wrapped but scrolled horizontally, so resizing this view does not
+ * depend on the amount of stored lines. Every style run is measured
+ * using the metrics of its font, so that bold, italic and wide
+ * characters are placed correctly.
+ * <br>
+ * The text can be selected using the mouse, copied and searched.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LineOutputView extends JComponent implements Scrollable, OutputView {
+    /** The store containing the displayed lines.                   */
+    private final LineStore store = new LineStore();
+    /** Indicates whether an update of this view is already queued. */
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    /** The bold variant of the font.                               */
+    private Font boldFont;
+    /** The italic variant of the font.                             */
+    private Font italicFont;
+    /** The bold and italic variant of the font.                    */
+    private Font boldItalicFont;
+    /** The height of a line.                                       */
+    private int lineHeight;
+    /** The width of a character, used as scrolling unit.           */
+    private int charWidth;
+    /** The width of the widest measured line.                      */
+    private int maxLineWidth;
+    /** The amount of lines whose width has been measured.          */
+    private int measuredLines;
+    /** The ascent of the font.                                     */
+    private int ascent;
+    /** The line of the selection anchor, {@code -1} if none.       */
+    private int anchorLine = -1;
+    /** The column of the selection anchor.                         */
+    private int anchorColumn;
+    /** The line of the selection end.                              */
+    private int caretLine;
+    /** The column of the selection end.                            */
+    private int caretColumn;
+
+    /**
+     * Constructs this output view.
+     */
+    public LineOutputView() {
+        setOpaque(true);
+        setFocusable(true);
+        setFont(Constants.UI.FONT);
+        setCursor(Cursor.getPredefinedCursor(Cursor.TEXT_CURSOR));
+
+        final var mouseHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                final var position = positionAt(e.getPoint());
+                if (anchorLine < 0 || (e.getModifiersEx() & InputEvent.SHIFT_DOWN_MASK) == 0) {
+                    anchorLine   = position[0];
+                    anchorColumn = position[1];
+                }
+                caretLine   = position[0];
+                caretColumn = position[1];
+                repaint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                final var position = positionAt(e.getPoint());
+                caretLine   = position[0];
+                caretColumn = position[1];
+                scrollRectToVisible(new Rectangle(e.getX(), e.getY(), 1, 1));
+                repaint();
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+
+        final var inputMap  = getInputMap(WHEN_FOCUSED);
+        final var actionMap = getActionMap();
+        inputMap.put(Constants.UI.COPY,       "copy");
+        inputMap.put(Constants.UI.SELECT_ALL, "selectAll");
+        actionMap.put("copy", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                copy();
+            }
+        });
+        actionMap.put("selectAll", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                selectAll();
+            }
+        });
+    }
+
+    @Override
+    public void setFont(final Font font) {
+        super.setFont(font);
+
+        boldFont       = font.deriveFont(Font.BOLD);
+        italicFont     = font.deriveFont(Font.ITALIC);
+        boldItalicFont = font.deriveFont(Font.BOLD | Font.ITALIC);
+
+        final var metrics = getFontMetrics(font);
+        lineHeight = metrics.getHeight();
+        charWidth  = Math.max(1, metrics.charWidth('m'));
+        ascent     = metrics.getAscent();
+
+        maxLineWidth  = 0;
+        measuredLines = 0;
+        measureLines();
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void append(final String text, final FStyle style) {
+        store.append(text, RunStyle.from(style));
+        scheduleUpdate();
+    }
+
+    @Override
+    public void appendAll(final List<Pair<String, FStyle>> runs) {
+        for (final var run : runs) {
+            store.append(run.getFirst(), RunStyle.from(run.getSecond()));
+        }
+        scheduleUpdate();
+    }
+
+    /**
+     * Queues an update of this view if none is pending yet.
+     */
+    private void scheduleUpdate() {
+        if (updatePending.compareAndSet(false, true)) {
+            EventQueue.invokeLater(this::update);
+        }
+    }
+
+    /**
+     * Updates this view after new text has been appended. If the
+     * end was visible before, this view is scrolled to the end again.
+     */
+    private void update() {
+        updatePending.set(false);
+
+        final var visible = getVisibleRect();
+        final var follow  = visible.y + visible.height >= getHeight() - lineHeight;
+
+        measureLines();
+        revalidate();
+        repaint();
+        if (follow) {
+            EventQueue.invokeLater(() -> scrollRectToVisible(new Rectangle(getVisibleRect().x, getHeight() - 1, 1, 1)));
+        }
+    }
+
+    /**
+     * Measures the lines appended since the last measurement. The last
+     * line is measured again next time, as it might still grow. Lines
+     * archived before being measured are measured once they are painted.
+     */
+    private void measureLines() {
+        final var lineCount = store.getLineCount();
+        for (int line = Math.max(measuredLines, store.getFirstLine()); line < lineCount; ++line) {
+            maxLineWidth = Math.max(maxLineWidth, columnX(line, Integer.MAX_VALUE));
+        }
+        measuredLines = Math.max(0, lineCount - 1);
+    }
+
+    /**
+     * Returns the metrics of the font used for the given style.
+     *
+     * @param style the style, {@code null} for the default style
+     * @return the font metrics
+     */
+    private FontMetrics metricsFor(final RunStyle style) {
+        return getFontMetrics(fontFor(style == null ? RunStyle.DEFAULT : style));
+    }
+
+    /**
+     * Returns the horizontal position of the given column in the given
+     * line, relative to the beginning of the line.
+     *
+     * @param line   the index of the line
+     * @param column the column
+     * @return the position of the column in pixels
+     */
+    private int columnX(final int line, final int column) {
+        final var result = new int[1];
+        store.forEachRun(line, (chars, offset, length, runColumn, style) -> {
+            if (runColumn < column) {
+                result[0] += metricsFor(style).charsWidth(chars, offset, Math.min(length, column - runColumn));
+            }
+        });
+        return result[0];
+    }
+
+    /**
+     * Returns the column of the given line nearest to the given position.
+     * Surrogate pairs are never split.
+     *
+     * @param line the index of the line
+     * @param x    the position relative to the beginning of the line
+     * @return the column at the position
+     */
+    private int columnAt(final int line, final int x) {
+        final var result   = new int[] { -1 };
+        final var position = new int[1];
+        store.forEachRun(line, (chars, offset, length, column, style) -> {
+            if (result[0] >= 0) return;
+
+            final var metrics = metricsFor(style);
+            for (int i = 0; i < length; ) {
+                final var size  = Character.charCount(Character.codePointAt(chars, offset + i, offset + length));
+                final var width = metrics.charsWidth(chars, offset + i, size);
+                if (x < position[0] + width / 2) {
+                    result[0] = column + i;
+                    return;
+                }
+                position[0] += width;
+                i           += size;
+            }
+        });
+        return result[0] < 0 ? store.getLineLength(line) : result[0];
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return this;
+    }
+
+    @Override
+    public int getLineCount() {
+        return store.getLineCount();
+    }
+
+    @Override
+    public String getLine(final int line) {
+        if (line < 0 || line >= store.getLineCount()) return null;
+
+        return store.getText(line, 0, line, store.getLineLength(line));
+    }
+
+    @Override
+    public void showLine(final int line) {
+        if (line < 0 || line >= store.getLineCount()) return;
+
+        anchorLine   = line;
+        anchorColumn = 0;
+        caretLine    = line;
+        caretColumn  = store.getLineLength(line);
+
+        final var insets = getInsets();
+        scrollRectToVisible(new Rectangle(insets.left, insets.top + line * lineHeight, 1, lineHeight));
+        repaint();
+    }
+
+    @Override
+    public String getStatistics() {
+        final var archive   = store.getArchive();
+        final var hotLines  = store.getLineCount() - store.getFirstLine();
+        final var hotBytes  = store.getByteSize();
+        final var coldLines = Math.max(1, archive.getLineCount());
+        final var coldBytes = archive.getByteSize();
+        return String.format("""
+                             Lines: %d, %d KiB (%.1f bytes per line)
+                             Archive: %d lines in %d compressed blocks, %d KiB (%.1f bytes per line)""",
+                             hotLines, hotBytes / 1024, (double) hotBytes / hotLines,
+                             archive.getLineCount(), archive.getBlockCount(), coldBytes / 1024, (double) coldBytes / coldLines);
+    }
+
+    /**
+     * Returns the line and the column at the given point.
+     *
+     * @param point the point
+     * @return an array containing the line and the column
+     */
+    private int[] positionAt(final Point point) {
+        final var insets = getInsets();
+        final var line   = Math.max(0, Math.min(store.getLineCount() - 1, (point.y - insets.top) / lineHeight));
+        final var column = columnAt(line, point.x - insets.left);
+
+        return new int[] { line, column };
+    }
+
+    /**
+     * Returns the normalized selection or {@code null} if nothing is selected.
+     *
+     * @return the start line, start column, end line and end column of the selection
+     */
+    private int[] getSelection() {
+        if (anchorLine < 0 || (anchorLine == caretLine && anchorColumn == caretColumn)) {
+            return null;
+        }
+        if (anchorLine < caretLine || (anchorLine == caretLine && anchorColumn < caretColumn)) {
+            return new int[] { anchorLine, anchorColumn, caretLine, caretColumn };
+        }
+        return new int[] { caretLine, caretColumn, anchorLine, anchorColumn };
+    }
+
+    /**
+     * Returns the currently selected text.
+     *
+     * @return the selected text or {@code null} if nothing is selected
+     */
+    public String getSelectedText() {
+        final var selection = getSelection();
+        return selection == null ? null : store.getText(selection[0], selection[1], selection[2], selection[3]);
+    }
+
+    /**
+     * Copies the selected text into the system clipboard.
+     */
+    public void copy() {
+        final var text = getSelectedText();
+        if (text != null) {
+            final var selection = new StringSelection(text);
+            getToolkit().getSystemClipboard().setContents(selection, selection);
+        }
+    }
+
+    /**
+     * Selects the whole text.
+     */
+    public void selectAll() {
+        anchorLine   = 0;
+        anchorColumn = 0;
+        caretLine    = store.getLineCount() - 1;
+        caretColumn  = store.getLineLength(caretLine);
+        repaint();
+    }
+
+    /**
+     * Searches the given text, ignoring the case, after the current selection.
+     * If it is found, it is selected and scrolled to.
+     *
+     * @param text the text to be searched
+     * @return whether the text was found
+     */
+    public boolean search(final String text) {
+        final var selection = getSelection();
+        final int line, column;
+        if (selection != null) {
+            line   = selection[0];
+            column = selection[1] + 1;
+        } else if (anchorLine >= 0) {
+            line   = caretLine;
+            column = caretColumn;
+        } else {
+            line   = 0;
+            column = 0;
+        }
+
+        final var match = store.find(text, line, Math.min(column, store.getLineLength(line)));
+        if (match == null) return false;
+
+        anchorLine   = match[0];
+        anchorColumn = match[1];
+        caretLine    = match[0];
+        caretColumn  = match[1] + text.length();
+
+        final var insets = getInsets();
+        final var begin  = columnX(anchorLine, anchorColumn);
+        scrollRectToVisible(new Rectangle(insets.left + begin, insets.top + anchorLine * lineHeight,
+                                          columnX(caretLine, caretColumn) - begin, lineHeight));
+        repaint();
+        return true;
+    }
+
+    /**
+     * Returns the font variant to be used for the given style.
+     *
+     * @param style the style
+     * @return the font to be used
+     */
+    private Font fontFor(final RunStyle style) {
+        if (style.bold()) {
+            return style.italic() ? boldItalicFont : boldFont;
+        }
+        return style.italic() ? italicFont : getFont();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        final var clip   = g.getClipBounds();
+        final var insets = getInsets();
+
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        }
+
+        final var lineCount = store.getLineCount();
+        final var first     = Math.max(0, (clip.y - insets.top) / lineHeight);
+        final var last      = Math.min(lineCount - 1, (clip.y + clip.height - insets.top) / lineHeight);
+        final var selection = getSelection();
+        final var selectionColor = UIManager.getColor("TextArea.selectionBackground");
+
+        for (int line = first; line <= last; ++line) {
+            final var y = insets.top + line * lineHeight;
+            final var x = new int[] { insets.left };
+
+            store.forEachRun(line, (chars, offset, length, column, style) -> {
+                final var width = metricsFor(style).charsWidth(chars, offset, length);
+                if (style != null && style.background() != null) {
+                    g.setColor(style.background());
+                    g.fillRect(x[0], y, width, lineHeight);
+                }
+                x[0] += width;
+            });
+            if (x[0] - insets.left > maxLineWidth) {
+                maxLineWidth = x[0] - insets.left;
+                revalidate();
+            }
+
+            if (selection != null && line >= selection[0] && line <= selection[2]) {
+                final var length = store.getLineLength(line);
+                final var from   = line == selection[0] ? columnX(line, selection[1]) : 0;
+                final var to     = line == selection[2] ? columnX(line, selection[3]) : columnX(line, length) + charWidth;
+                g.setColor(selectionColor == null ? Color.lightGray : selectionColor);
+                g.fillRect(insets.left + from, y, to - from, lineHeight);
+            }
+
+            x[0] = insets.left;
+            store.forEachRun(line, (chars, offset, length, column, style) -> {
+                final var s     = style == null ? RunStyle.DEFAULT : style;
+                final var width = metricsFor(s).charsWidth(chars, offset, length);
+
+                g.setColor(s.foreground() == null ? getForeground() : s.foreground());
+                g.setFont(fontFor(s));
+                g.drawChars(chars, offset, length, x[0], y + ascent);
+                if (s.underlined()) {
+                    g.drawLine(x[0], y + ascent + 1, x[0] + width, y + ascent + 1);
+                }
+                if (s.strikeThrough()) {
+                    g.drawLine(x[0], y + ascent / 2 + 1, x[0] + width, y + ascent / 2 + 1);
+                }
+                x[0] += width;
+            });
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        final var insets = getInsets();
+        return new Dimension(insets.left + insets.right  + maxLineWidth + charWidth,
+                             insets.top  + insets.bottom + store.getLineCount()     * lineHeight);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(80 * charWidth, 24 * lineHeight);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? lineHeight : charWidth;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() instanceof JViewport viewport && viewport.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport viewport && viewport.getHeight() > getPreferredSize().height;
+    }
+}
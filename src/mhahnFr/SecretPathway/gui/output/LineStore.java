@@ -0,0 +1,412 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * This class stores lines of styled text in a compact way. The
+ * characters of all lines are kept in one array, the lines are
+ * represented by their start offsets and the styles are stored
+ * as runs beginning at a given offset.
+ * <br>
+ * Only the most recent lines are kept this way; older lines are moved
+ * into a {@link ScrollbackArchive} in batches. The lines keep their
+ * indices when they are moved, the archived ones are read from the
+ * archive.
+ * <br>
+ * All methods of this class are thread-safe.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class LineStore {
+    /** The default maximum amount of lines not archived.   */
+    public static final int DEFAULT_MAX_LINES = 5000;
+    /** The amount of columns a tabulator advances to.      */
+    private static final int TAB_SIZE = 8;
+    /** The amount of lines moved at once into the archive. */
+    private static final int TRANSFER_LINES = 500;
+
+    /** The archive holding the lines moved out.          */
+    private final ScrollbackArchive archive = new ScrollbackArchive();
+    /** The maximum amount of lines not archived.         */
+    private final int maxLines;
+    /** The index of the first line not archived.         */
+    private int firstLine;
+    /** The characters of all lines.                      */
+    private char[] chars = new char[4096];
+    /** The amount of stored characters.                  */
+    private int charCount;
+    /** The start offsets of the lines.                   */
+    private int[] lineStarts = new int[256];
+    /** The amount of lines not archived.                 */
+    private int lineCount = 1;
+    /** The start offsets of the style runs.              */
+    private int[] runStarts = new int[64];
+    /** The styles of the style runs.                     */
+    private RunStyle[] runStyles = new RunStyle[64];
+    /** The amount of style runs.                         */
+    private int runCount;
+
+    /**
+     * Constructs a store keeping at most {@link #DEFAULT_MAX_LINES}
+     * lines before archiving them.
+     */
+    public LineStore() {
+        this(DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * Constructs a store keeping at most the given amount of lines
+     * before archiving them.
+     *
+     * @param maxLines the maximum amount of lines not archived
+     * @throws IllegalArgumentException if the given amount is not positive
+     */
+    public LineStore(final int maxLines) {
+        if (maxLines <= 0) throw new IllegalArgumentException("The maximum amount of lines must be positive!");
+
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Appends the given text using the given style. Line breaks
+     * start a new line, tabulators are expanded and other control
+     * characters are dropped.
+     *
+     * @param text  the text to be appended
+     * @param style the style to be used
+     */
+    public synchronized void append(final String text, final RunStyle style) {
+        if (text.isEmpty()) return;
+
+        if (runCount == 0 || !runStyles[runCount - 1].equals(style)) {
+            if (runCount > 0 && runStarts[runCount - 1] == charCount) {
+                runStyles[runCount - 1] = style;
+            } else {
+                if (runCount == runStarts.length) {
+                    runStarts = Arrays.copyOf(runStarts, runCount * 2);
+                    runStyles = Arrays.copyOf(runStyles, runCount * 2);
+                }
+                runStarts[runCount] = charCount;
+                runStyles[runCount] = style;
+                ++runCount;
+            }
+        }
+
+        ensureCapacity(text.length());
+        final var length = text.length();
+        for (int i = 0; i < length; ++i) {
+            final var c = text.charAt(i);
+            if (c == '\n') {
+                if (lineCount == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+                }
+                lineStarts[lineCount++] = charCount;
+            } else if (c == '\t') {
+                final var spaces = TAB_SIZE - (charCount - lineStarts[lineCount - 1]) % TAB_SIZE;
+                ensureCapacity(spaces + length - i);
+                for (int j = 0; j < spaces; ++j) {
+                    chars[charCount++] = ' ';
+                }
+            } else if (c >= ' ' || Character.isSurrogate(c)) {
+                chars[charCount++] = c;
+            }
+        }
+        trim();
+    }
+
+    /**
+     * Moves the oldest lines into the archive if too many lines are
+     * stored. The lines are moved in batches, so that the arrays are
+     * not compacted for every appended line.
+     */
+    private void trim() {
+        final var excess = lineCount - 1 - maxLines;
+        if (excess < TRANSFER_LINES) return;
+
+        for (int line = 0; line < excess; ++line) {
+            final var begin = lineStarts[line];
+            final var end   = lineStarts[line + 1];
+            forEachLocalRun(line, (array, offset, length, column, style) ->
+                    archive.append(new String(array, offset, length), style));
+            final var run = runAt(Math.max(begin, end - 1));
+            archive.append("\n", run < 0 ? null : runStyles[run]);
+        }
+
+        final var removed = lineStarts[excess];
+        System.arraycopy(chars, removed, chars, 0, charCount - removed);
+        charCount -= removed;
+        for (int i = excess; i < lineCount; ++i) {
+            lineStarts[i - excess] = lineStarts[i] - removed;
+        }
+        lineCount -= excess;
+        firstLine += excess;
+
+        final var firstRun = Math.max(0, runAt(removed));
+        for (int i = firstRun; i < runCount; ++i) {
+            runStarts[i - firstRun] = Math.max(0, runStarts[i] - removed);
+            runStyles[i - firstRun] = runStyles[i];
+        }
+        Arrays.fill(runStyles, runCount - firstRun, runCount, null);
+        runCount -= firstRun;
+    }
+
+    /**
+     * Makes sure the given amount of characters can be added to
+     * the character array.
+     *
+     * @param additional the amount of characters to be added
+     */
+    private void ensureCapacity(final int additional) {
+        if (charCount + additional > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + additional));
+        }
+    }
+
+    /**
+     * Returns the amount of stored lines.
+     *
+     * @return the amount of lines
+     */
+    public synchronized int getLineCount() {
+        return firstLine + lineCount;
+    }
+
+    /**
+     * Returns the index of the first line not moved into the archive.
+     *
+     * @return the index of the first line not archived
+     */
+    public synchronized int getFirstLine() {
+        return firstLine;
+    }
+
+    /**
+     * Returns the archive holding the lines moved out of this store.
+     *
+     * @return the scrollback archive
+     */
+    public ScrollbackArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Returns the approximate amount of bytes used by this store,
+     * excluding its archive.
+     *
+     * @return the amount of used bytes
+     */
+    public synchronized long getByteSize() {
+        return chars.length * 2L + lineStarts.length * 4L + runStarts.length * 4L + runStyles.length * 4L;
+    }
+
+    /**
+     * Returns the length of the given line.
+     *
+     * @param line the index of the line
+     * @return the length of the line in characters
+     */
+    public synchronized int getLineLength(final int line) {
+        return getContent(line).length();
+    }
+
+    /**
+     * Returns the characters of the given line. The characters of the
+     * lines not archived are not copied.
+     *
+     * @param line the index of the line
+     * @return the characters of the line
+     */
+    private CharSequence getContent(final int line) {
+        if (line < firstLine) return archive.getLine(line);
+
+        final var local = line - firstLine;
+        return CharBuffer.wrap(chars, lineStarts[local], lineEnd(local) - lineStarts[local]);
+    }
+
+    /**
+     * Returns the end offset of the given line not archived.
+     *
+     * @param line the local index of the line
+     * @return the offset after the last character of the line
+     */
+    private int lineEnd(final int line) {
+        return line + 1 < lineCount ? lineStarts[line + 1] : charCount;
+    }
+
+    /**
+     * Returns the index of the style run containing the given offset.
+     *
+     * @param offset the offset
+     * @return the index of the style run or {@code -1} if there is none
+     */
+    private int runAt(final int offset) {
+        final var index = Arrays.binarySearch(runStarts, 0, runCount, offset);
+        if (index >= 0) {
+            var i = index;
+            while (i + 1 < runCount && runStarts[i + 1] == offset) ++i;
+            return i;
+        }
+        return -index - 2;
+    }
+
+    /**
+     * Calls the given consumer for every style run of the given line.
+     *
+     * @param line     the index of the line
+     * @param consumer the consumer to be called
+     */
+    public synchronized void forEachRun(final int line, final RunConsumer consumer) {
+        if (line >= firstLine) {
+            forEachLocalRun(line - firstLine, consumer);
+            return;
+        }
+        final var column = new int[1];
+        archive.forEachRun(line, line + 1, (text, style) -> {
+            final var length = text.endsWith("\n") ? text.length() - 1 : text.length();
+            if (length > 0) {
+                consumer.accept(text.toCharArray(), 0, length, column[0], style);
+                column[0] += length;
+            }
+        });
+    }
+
+    /**
+     * Calls the given consumer for every style run of the given line
+     * not archived.
+     *
+     * @param line     the local index of the line
+     * @param consumer the consumer to be called
+     */
+    private void forEachLocalRun(final int line, final RunConsumer consumer) {
+        final var begin = lineStarts[line];
+        final var end   = lineEnd(line);
+        if (begin == end) return;
+
+        var run = runAt(begin);
+        var position = begin;
+        while (position < end) {
+            final var runEnd = run + 1 < runCount ? Math.min(runStarts[run + 1], end) : end;
+            if (runEnd > position) {
+                consumer.accept(chars, position, runEnd - position, position - begin, run < 0 ? null : runStyles[run]);
+            }
+            position = Math.max(position, runEnd);
+            ++run;
+        }
+    }
+
+    /**
+     * Returns the text between the two given positions. The lines
+     * are separated by line breaks.
+     *
+     * @param fromLine   the line of the first position
+     * @param fromColumn the column of the first position
+     * @param toLine     the line of the second position
+     * @param toColumn   the column of the second position
+     * @return the text between the two positions
+     */
+    public synchronized String getText(final int fromLine, final int fromColumn, final int toLine, final int toColumn) {
+        final var builder = new StringBuilder();
+        final var total = getLineCount();
+        for (int line = fromLine; line <= toLine && line < total; ++line) {
+            final var content = getContent(line);
+            final var length  = content.length();
+
+            final var from = line == fromLine ? Math.min(fromColumn, length) : 0;
+            final var to   = line == toLine   ? Math.min(toColumn,   length) : length;
+            builder.append(content, from, Math.max(from, to));
+            if (line != toLine) {
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Searches the given text, ignoring the case, starting at the given
+     * position. If it is not found until the end, the search is continued
+     * from the beginning. Matches spanning multiple lines are not found.
+     *
+     * @param text   the text to be searched
+     * @param line   the line to start searching in
+     * @param column the column to start searching at
+     * @return the line and the column of the match or {@code null} if not found
+     */
+    public synchronized int[] find(final String text, final int line, final int column) {
+        if (text.isEmpty()) return null;
+
+        final var total = getLineCount();
+        for (int i = 0; i <= total; ++i) {
+            final var current = (line + i) % total;
+            final var content = getContent(current);
+            final var length  = content.length();
+
+            final var from = i == 0 ? column : 0;
+            final var to   = i == total ? Math.min(column + text.length() - 1, length) : length;
+            for (int start = from; start + text.length() <= to; ++start) {
+                if (matchesAt(text, content, start)) {
+                    return new int[] { current, start };
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the given text is found at the given offset of
+     * the given line, ignoring the case.
+     *
+     * @param text    the text to be compared
+     * @param content the characters of a line
+     * @param offset  the offset in the characters of the line
+     * @return whether the text matches at the given offset
+     */
+    private static boolean matchesAt(final String text, final CharSequence content, final int offset) {
+        for (int i = 0; i < text.length(); ++i) {
+            final var a = content.charAt(offset + i);
+            final var b = text.charAt(i);
+            if (a != b && Character.toLowerCase(a) != Character.toLowerCase(b)
+                       && Character.toUpperCase(a) != Character.toUpperCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This interface defines a function called for a style run of a line.
+     */
+    @FunctionalInterface
+    public interface RunConsumer {
+        /**
+         * Called with the characters of a style run.
+         *
+         * @param chars  the array containing the characters
+         * @param offset the offset of the first character of the run in the array
+         * @param length the amount of characters in the run
+         * @param column the column in the line the run starts at
+         * @param style  the style of the run, {@code null} for the default style
+         */
+        void accept(char[] chars, int offset, int length, int column, RunStyle style);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.utils.Pair;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * This class represents a styled document for the output of a MUD.
+ * It allows to append a batch of styled runs at once, producing only
+ * one {@link javax.swing.event.DocumentEvent DocumentEvent} and taking
+ * the write lock only once for the whole batch.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class OutputDocument extends DefaultStyledDocument {
+    /**
+     * Constructs this document using a {@link CompactContent}.
+     */
+    public OutputDocument() {
+        super(new CompactContent(), new StyleContext());
+    }
+
+    /**
+     * Appends the given runs of text to the end of this document. The
+     * element specifications are created the same way as
+     * {@link DefaultStyledDocument#insertString(int, String, AttributeSet)}
+     * would, so the resulting element structure equals the one created
+     * by inserting the runs one by one. Empty runs are ignored.
+     *
+     * @param runs the text runs along with their attributes
+     */
+    public void append(final List<Pair<String, AttributeSet>> runs) {
+        final var nonEmpty = new ArrayList<Pair<String, AttributeSet>>(runs.size());
+        for (final var run : runs) {
+            if (run.getFirst().isEmpty()) continue;
+
+            nonEmpty.add(new Pair<>(run.getFirst(), run.getSecond() == null ? SimpleAttributeSet.EMPTY : run.getSecond()));
+        }
+        if (nonEmpty.isEmpty()) return;
+
+        writeLock();
+        try {
+            final var offset = getLength();
+            insert(offset, createSpecs(offset, nonEmpty));
+        } catch (BadLocationException e) {
+            throw new RuntimeException(e);
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Inserts the given runs of text at the beginning of this document.
+     * The runs are inserted under one write lock.
+     *
+     * @param runs the text runs along with their attributes
+     * @return the amount of inserted characters
+     */
+    public int prepend(final List<Pair<String, AttributeSet>> runs) {
+        var offset = 0;
+        writeLock();
+        try {
+            for (final var run : runs) {
+                insertString(offset, run.getFirst(), run.getSecond());
+                offset += run.getFirst().length();
+            }
+        } catch (BadLocationException e) {
+            throw new RuntimeException(e);
+        } finally {
+            writeUnlock();
+        }
+        return offset;
+    }
+
+    /**
+     * Removes the given amount of lines from the beginning of this document.
+     * Before they are removed, the style runs of the lines are passed to the
+     * given consumer, starting with the given line.
+     *
+     * @param lines    the amount of lines to be removed
+     * @param skip     the amount of lines not passed to the consumer
+     * @param consumer the consumer to be called with the text and the style of the runs
+     */
+    public void removeLines(final int lines, final int skip, final BiConsumer<String, RunStyle> consumer) {
+        writeLock();
+        try {
+            final var root  = getDefaultRootElement();
+            final var count = Math.min(lines, root.getElementCount() - 1);
+            if (count <= 0) return;
+
+            for (int i = skip; i < count; ++i) {
+                final var paragraph = root.getElement(i);
+                for (int j = 0; j < paragraph.getElementCount(); ++j) {
+                    final var leaf  = paragraph.getElement(j);
+                    final var start = leaf.getStartOffset();
+                    consumer.accept(getText(start, leaf.getEndOffset() - start), RunStyle.from(leaf.getAttributes()));
+                }
+            }
+            remove(0, root.getElement(count - 1).getEndOffset());
+        } catch (BadLocationException e) {
+            throw new RuntimeException(e);
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Creates the element specifications for appending the given runs
+     * at the given offset, which has to be the end of this document.
+     * Mirrors the behaviour of {@link DefaultStyledDocument#insertUpdate}
+     * for inserting the runs one after another.
+     * <br>
+     * Adjacent runs with equal attributes are merged. Whether the leaf
+     * of the final newline is joined with the text before it depends on
+     * every run inserted before, so that state is followed through the
+     * runs before they are merged.
+     *
+     * @param offset the offset to append the runs at
+     * @param runs   the non-empty runs to be appended
+     * @return the element specifications
+     * @throws BadLocationException should not happen
+     */
+    private ElementSpec[] createSpecs(final int offset, final List<Pair<String, AttributeSet>> runs) throws BadLocationException {
+        final var specs          = new ArrayList<ElementSpec>();
+        final var paragraphAttrs = getParagraphElement(offset).getAttributes();
+        final var afterNewline   = offset > 0 && getText(offset - 1, 1).charAt(0) == '\n';
+        final var previousAttrs  = getCharacterElement(Math.max(0, offset - 1)).getAttributes();
+        final var atBoundary     = offset > 0 && getCharacterElement(offset - 1).getEndOffset() == offset;
+
+        var tailAttrs  = previousAttrs;
+        var tailJoined = !atBoundary;
+        var newline    = afterNewline;
+
+        final var merged = new ArrayList<Pair<String, AttributeSet>>(runs.size());
+        for (final var run : runs) {
+            final var text       = run.getFirst();
+            final var attributes = run.getSecond();
+
+            final var breaks       = text.indexOf('\n') >= 0;
+            final var endsLine     = text.charAt(text.length() - 1) == '\n';
+            final var joinPrevious = !newline && isEqual(attributes, tailAttrs);
+            final var joinNext     = (breaks || newline) && !endsLine && tailJoined && isEqual(attributes, tailAttrs);
+            if (!joinNext && (breaks || !joinPrevious)) {
+                tailJoined = false;
+            }
+            tailAttrs = attributes;
+            newline   = endsLine;
+
+            if (!merged.isEmpty() && isEqual(merged.get(merged.size() - 1).getSecond(), attributes)) {
+                final var last = merged.remove(merged.size() - 1);
+                merged.add(new Pair<>(last.getFirst() + text, last.getSecond()));
+            } else {
+                merged.add(run);
+            }
+        }
+
+        ElementSpec lastStart = null;
+        if (afterNewline) {
+            specs.add(new ElementSpec(paragraphAttrs, ElementSpec.EndTagType));
+            lastStart = new ElementSpec(paragraphAttrs, ElementSpec.StartTagType);
+            specs.add(lastStart);
+        }
+        for (final var run : merged) {
+            final var text       = run.getFirst().toCharArray();
+            final var attributes = run.getSecond();
+
+            var lastOffset = 0;
+            for (int i = 0; i < text.length; ++i) {
+                if (text[i] == '\n') {
+                    specs.add(new ElementSpec(attributes, ElementSpec.ContentType, text, lastOffset, i + 1 - lastOffset));
+                    specs.add(new ElementSpec(null, ElementSpec.EndTagType));
+                    lastStart = new ElementSpec(paragraphAttrs, ElementSpec.StartTagType);
+                    specs.add(lastStart);
+                    lastOffset = i + 1;
+                }
+            }
+            if (lastOffset < text.length) {
+                specs.add(new ElementSpec(attributes, ElementSpec.ContentType, text, lastOffset, text.length - lastOffset));
+            }
+        }
+
+        final var first = specs.get(0);
+        final var last  = specs.get(specs.size() - 1);
+        if (afterNewline) {
+            lastStart.setDirection(atBoundary ? ElementSpec.JoinNextDirection : ElementSpec.JoinFractureDirection);
+        } else {
+            if (first.getType() == ElementSpec.ContentType && isEqual(first.getAttributes(), previousAttrs)) {
+                first.setDirection(ElementSpec.JoinPreviousDirection);
+            }
+            if (lastStart != null) {
+                lastStart.setDirection(ElementSpec.JoinFractureDirection);
+            }
+        }
+        if (tailJoined && last.getType() == ElementSpec.ContentType && last.getDirection() != ElementSpec.JoinPreviousDirection) {
+            last.setDirection(ElementSpec.JoinNextDirection);
+        }
+        return specs.toArray(new ElementSpec[0]);
+    }
+
+    /**
+     * Returns the approximate amount of bytes used to store the text
+     * of this document.
+     *
+     * @return the amount of bytes used for the text
+     * @see CompactContent#getByteSize()
+     */
+    public long getByteSize() {
+        return ((CompactContent) getContent()).getByteSize();
+    }
+
+    /**
+     * Returns whether the two given attribute sets are equal. Interned
+     * attribute sets are compared by their identity first.
+     *
+     * @param a the first attribute set
+     * @param b the second attribute set
+     * @return whether the two attribute sets are equal
+     */
+    private static boolean isEqual(final AttributeSet a, final AttributeSet b) {
+        return a == b || a.isEqual(b);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.utils.Pair;
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import javax.swing.JComponent;
+import java.util.List;
+
+/**
+ * This interface defines a component able to display the output
+ * of a MUD.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public interface OutputView {
+    /**
+     * Appends the given text using the given style. If the style
+     * is {@code null}, the default style of the view is used.
+     * This method can be called from any thread.
+     *
+     * @param text  the text to be appended
+     * @param style the style to be used or {@code null}
+     */
+    void append(String text, FStyle style);
+
+    /**
+     * Appends the given runs of text using their associated styles.
+     * Implementations should append the runs as one batch. This method
+     * can be called from any thread.
+     *
+     * @param runs the text runs along with their styles
+     * @see #append(String, FStyle)
+     */
+    default void appendAll(List<Pair<String, FStyle>> runs) {
+        for (final var run : runs) {
+            append(run.getFirst(), run.getSecond());
+        }
+    }
+
+    /**
+     * Returns the amount of lines of the output, including the
+     * last, possibly incomplete one.
+     *
+     * @return the amount of lines
+     */
+    int getLineCount();
+
+    /**
+     * Returns the text of the given line without its line break.
+     * This method can be called from any thread.
+     *
+     * @param line the index of the line, counted from the beginning of the output
+     * @return the text of the line or {@code null} if there is no such line
+     */
+    String getLine(int line);
+
+    /**
+     * Scrolls to the given line and selects it. This method has to be
+     * called on the event dispatch thread.
+     *
+     * @param line the index of the line to be shown
+     */
+    void showLine(int line);
+
+    /**
+     * Returns a human-readable description of the memory used by this view.
+     *
+     * @return the memory statistics
+     */
+    String getStatistics();
+
+    /**
+     * Returns the component actually displaying the output.
+     *
+     * @return the displaying component
+     */
+    JComponent getComponent();
+}
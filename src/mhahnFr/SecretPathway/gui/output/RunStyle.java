@@ -0,0 +1,97 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.StyleConstants;
+import java.awt.Color;
+
+/**
+ * This record represents an immutable snapshot of a {@link FStyle}.
+ * As it is immutable and comparable, it can be stored and used as key.
+ *
+ * @param foreground    the foreground colour, {@code null} for the default colour
+ * @param background    the background colour, {@code null} for no background
+ * @param bold          whether the text is bold
+ * @param italic        whether the text is italic
+ * @param underlined    whether the text is underlined
+ * @param strikeThrough whether the text is struck through
+ * @author agent
+ * @since 18.10.26
+ */
+public record RunStyle(Color foreground, Color background, boolean bold, boolean italic, boolean underlined, boolean strikeThrough) {
+    /** The default style. */
+    public static final RunStyle DEFAULT = new RunStyle(null, null, false, false, false, false);
+
+    /**
+     * Creates a snapshot of the given {@link FStyle}. If the given style
+     * is {@code null}, the {@link #DEFAULT} style is returned.
+     *
+     * @param style the style to be copied
+     * @return the snapshot of the given style
+     */
+    public static RunStyle from(final FStyle style) {
+        if (style == null) return DEFAULT;
+
+        return new RunStyle(style.getForeground(),
+                            style.getBackground(),
+                            Boolean.TRUE.equals(style.isBold()),
+                            Boolean.TRUE.equals(style.isItalic()),
+                            Boolean.TRUE.equals(style.isUnderlined()),
+                            Boolean.TRUE.equals(style.isStrikeThrough()));
+    }
+
+    /**
+     * Creates a snapshot of the given attributes. Only the attributes
+     * representable by this record are taken into account. If the given
+     * attributes are {@code null}, the {@link #DEFAULT} style is returned.
+     *
+     * @param attributes the attributes to be copied
+     * @return the snapshot of the given attributes
+     */
+    public static RunStyle from(final AttributeSet attributes) {
+        if (attributes == null) return DEFAULT;
+
+        return new RunStyle((Color) attributes.getAttribute(StyleConstants.Foreground),
+                            (Color) attributes.getAttribute(StyleConstants.Background),
+                            StyleConstants.isBold(attributes),
+                            StyleConstants.isItalic(attributes),
+                            StyleConstants.isUnderline(attributes),
+                            StyleConstants.isStrikeThrough(attributes));
+    }
+
+    /**
+     * Creates a {@link FStyle} looking like this style.
+     *
+     * @return a new {@link FStyle} representing this style
+     */
+    public FStyle toFStyle() {
+        final var result = new FStyle();
+        result.setForeground(foreground);
+        result.setBackground(background);
+        result.setBold(bold);
+        result.setItalic(italic);
+        result.setUnderlined(underlined);
+        result.setStrikeThrough(strikeThrough);
+        return result;
+    }
+}
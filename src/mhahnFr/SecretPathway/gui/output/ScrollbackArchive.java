@@ -0,0 +1,423 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * This class stores old lines of the output in deflate-compressed
+ * blocks of about 64 KB. The text of a block is stored as UTF-8, its
+ * style runs in a delta-encoded side table referring to the styles
+ * known to this archive. The most recently used blocks are kept
+ * decompressed in a small cache.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class ScrollbackArchive {
+    /** The amount of characters after which a block is sealed. */
+    private static final int BLOCK_SIZE = 64 * 1024;
+    /** The amount of decompressed blocks kept in memory.       */
+    private static final int CACHE_SIZE = 4;
+
+    /** The sealed and compressed blocks.         */
+    private final List<Block> blocks = new ArrayList<>();
+    /** The styles referred to by the style runs. */
+    private final List<RunStyle> styles = new ArrayList<>();
+    /** The indices of the known styles.          */
+    private final Map<RunStyle, Integer> styleIds = new HashMap<>();
+    /** The recently used decompressed blocks.    */
+    private final Map<Block, DecodedBlock> cache = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Block, DecodedBlock> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    /** The text of the block not yet sealed.                  */
+    private final StringBuilder openText = new StringBuilder();
+    /** The start offsets of the style runs of the open block. */
+    private int[] openRunStarts = new int[64];
+    /** The style indices of the style runs of the open block. */
+    private int[] openRunStyles = new int[64];
+    /** The amount of style runs of the open block.            */
+    private int openRunCount;
+    /** The amount of complete lines stored in sealed blocks.  */
+    private int sealedLineCount;
+    /** The amount of complete lines in the open block.        */
+    private int openLineCount;
+    /** The amount of compressed bytes of the sealed blocks.   */
+    private long compressedSize;
+
+    /**
+     * Appends the given text using the given style. Lines are
+     * terminated by a line break; a block is only sealed at the
+     * end of a line.
+     *
+     * @param text  the text to be appended
+     * @param style the style of the text
+     */
+    public synchronized void append(final String text, final RunStyle style) {
+        if (text.isEmpty()) return;
+
+        final var id = styleIdOf(style == null ? RunStyle.DEFAULT : style);
+        if (openRunCount == 0 || openRunStyles[openRunCount - 1] != id) {
+            if (openRunCount == openRunStarts.length) {
+                openRunStarts = Arrays.copyOf(openRunStarts, openRunCount * 2);
+                openRunStyles = Arrays.copyOf(openRunStyles, openRunCount * 2);
+            }
+            openRunStarts[openRunCount] = openText.length();
+            openRunStyles[openRunCount] = id;
+            ++openRunCount;
+        }
+        openText.append(text);
+        for (int i = 0; i < text.length(); ++i) {
+            if (text.charAt(i) == '\n') ++openLineCount;
+        }
+        if (openText.length() >= BLOCK_SIZE && text.charAt(text.length() - 1) == '\n') {
+            seal();
+        }
+    }
+
+    /**
+     * Returns the index of the given style, registering it if
+     * it is not yet known.
+     *
+     * @param style the style
+     * @return the index of the style
+     */
+    private int styleIdOf(final RunStyle style) {
+        final var id = styleIds.get(style);
+        if (id != null) return id;
+
+        styles.add(style);
+        styleIds.put(style, styles.size() - 1);
+        return styles.size() - 1;
+    }
+
+    /**
+     * Compresses the open block and adds it to the sealed blocks.
+     */
+    private void seal() {
+        final var text = openText.toString().getBytes(StandardCharsets.UTF_8);
+        final var raw  = new ByteArrayOutputStream(text.length + openRunCount * 3 + 8);
+        writeVarInt(raw, text.length);
+        raw.writeBytes(text);
+        writeVarInt(raw, openRunCount);
+        var previous = 0;
+        for (int i = 0; i < openRunCount; ++i) {
+            writeVarInt(raw, openRunStarts[i] - previous);
+            writeVarInt(raw, openRunStyles[i]);
+            previous = openRunStarts[i];
+        }
+        final var input = raw.toByteArray();
+
+        final var deflater = new Deflater();
+        final var output   = new ByteArrayOutputStream(input.length / 4);
+        final var buffer   = new byte[8192];
+        deflater.setInput(input);
+        deflater.finish();
+        while (!deflater.finished()) {
+            output.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        final var data = output.toByteArray();
+        blocks.add(new Block(data, input.length, sealedLineCount, openLineCount));
+        compressedSize  += data.length;
+        sealedLineCount += openLineCount;
+
+        openText.setLength(0);
+        openText.trimToSize();
+        openRunCount  = 0;
+        openLineCount = 0;
+    }
+
+    /**
+     * Writes the given non-negative number as variable length integer.
+     *
+     * @param out   the stream to write to
+     * @param value the value to be written
+     */
+    private static void writeVarInt(final ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Returns the decompressed block with the given index. The index
+     * of the open block is the amount of sealed blocks.
+     *
+     * @param index the index of the block
+     * @return the decompressed block
+     */
+    private DecodedBlock decode(final int index) {
+        if (index == blocks.size()) {
+            return new DecodedBlock(openText.toString(),
+                                    lineStartsOf(openText, openLineCount),
+                                    Arrays.copyOf(openRunStarts, openRunCount),
+                                    Arrays.copyOf(openRunStyles, openRunCount));
+        }
+        final var block  = blocks.get(index);
+        final var cached = cache.get(block);
+        if (cached != null) return cached;
+
+        final var raw      = new byte[block.rawSize()];
+        final var inflater = new Inflater();
+        try {
+            inflater.setInput(block.data());
+            var position = 0;
+            while (position < raw.length && !inflater.finished()) {
+                position += inflater.inflate(raw, position, raw.length - position);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted scrollback block", e);
+        } finally {
+            inflater.end();
+        }
+
+        final var position = new int[1];
+        final var textSize = readVarInt(raw, position);
+        final var text     = new String(raw, position[0], textSize, StandardCharsets.UTF_8);
+        position[0] += textSize;
+        final var runCount  = readVarInt(raw, position);
+        final var runStarts = new int[runCount];
+        final var runStyles = new int[runCount];
+        var previous = 0;
+        for (int i = 0; i < runCount; ++i) {
+            previous     += readVarInt(raw, position);
+            runStarts[i] = previous;
+            runStyles[i] = readVarInt(raw, position);
+        }
+        final var result = new DecodedBlock(text, lineStartsOf(text, block.lineCount()), runStarts, runStyles);
+        cache.put(block, result);
+        return result;
+    }
+
+    /**
+     * Reads a variable length integer.
+     *
+     * @param data     the data to read from
+     * @param position the position to read at, updated to point behind the number
+     * @return the read number
+     */
+    private static int readVarInt(final byte[] data, final int[] position) {
+        var result = 0;
+        var shift  = 0;
+        byte current;
+        do {
+            current = data[position[0]++];
+            result |= (current & 0x7F) << shift;
+            shift  += 7;
+        } while ((current & 0x80) != 0);
+        return result;
+    }
+
+    /**
+     * Computes the start offsets of the lines in the given text. One
+     * additional entry holds the end of the last complete line.
+     *
+     * @param text      the text
+     * @param lineCount the amount of complete lines in the text
+     * @return the start offsets of the lines
+     */
+    private static int[] lineStartsOf(final CharSequence text, final int lineCount) {
+        final var result = new int[lineCount + 1];
+        var line = 0;
+        for (int i = 0; i < text.length() && line < lineCount; ++i) {
+            if (text.charAt(i) == '\n') {
+                result[++line] = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the block containing the given line.
+     *
+     * @param line the index of the line
+     * @return the index of the block, the amount of sealed blocks for the open block
+     */
+    private int blockOf(final int line) {
+        if (line >= sealedLineCount) return blocks.size();
+
+        var low  = 0;
+        var high = blocks.size() - 1;
+        while (low < high) {
+            final var middle = (low + high + 1) >>> 1;
+            if (blocks.get(middle).firstLine() <= line) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first line of the block with the given index.
+     *
+     * @param index the index of the block
+     * @return the index of its first line
+     */
+    private int firstLineOf(final int index) {
+        return index == blocks.size() ? sealedLineCount : blocks.get(index).firstLine();
+    }
+
+    /**
+     * Calls the given consumer for every style run of the given complete lines.
+     * The text of a run includes the terminating line break, if any.
+     *
+     * @param fromLine the index of the first line
+     * @param toLine   the index behind the last line
+     * @param consumer the consumer to be called with the text and the style of the runs
+     */
+    public synchronized void forEachRun(final int fromLine, final int toLine, final BiConsumer<String, RunStyle> consumer) {
+        var line = fromLine;
+        while (line < toLine) {
+            final var index = blockOf(line);
+            final var block = decode(index);
+            final var first = firstLineOf(index);
+            final var last  = Math.min(toLine, first + block.lineStarts().length - 1);
+
+            final var begin = block.lineStarts()[line - first];
+            final var end   = block.lineStarts()[last - first];
+            var run = Arrays.binarySearch(block.runStarts(), begin);
+            if (run < 0) run = -run - 2;
+            var position = begin;
+            while (position < end) {
+                final var runEnd = run + 1 < block.runStarts().length ? Math.min(block.runStarts()[run + 1], end) : end;
+                if (runEnd > position) {
+                    consumer.accept(block.text().substring(position, runEnd), styles.get(block.runStyles()[run]));
+                }
+                position = Math.max(position, runEnd);
+                ++run;
+            }
+            line = last;
+        }
+    }
+
+    /**
+     * Returns the text of the given line without the line break.
+     *
+     * @param line the index of the line
+     * @return the text of the line
+     */
+    public synchronized String getLine(final int line) {
+        final var index = blockOf(line);
+        final var block = decode(index);
+        final var local = line - firstLineOf(index);
+        return block.text().substring(block.lineStarts()[local], block.lineStarts()[local + 1] - 1);
+    }
+
+    /**
+     * Searches the given text, ignoring the case, in the lines starting
+     * at the given line. Blocks searched into are decompressed.
+     *
+     * @param text     the text to be searched
+     * @param fromLine the line to start searching in
+     * @param forward  whether to search towards the newer lines
+     * @return the index of the first line containing the text or {@code -1} if not found
+     */
+    public synchronized int find(final String text, final int fromLine, final boolean forward) {
+        if (text.isEmpty()) return -1;
+
+        final var lineCount = getLineCount();
+        var index = -1;
+        DecodedBlock block = null;
+        for (int line = fromLine; line >= 0 && line < lineCount; line += forward ? 1 : -1) {
+            if (block == null || blockOf(line) != index) {
+                index = blockOf(line);
+                block = decode(index);
+            }
+            final var local = line - firstLineOf(index);
+            final var end   = block.lineStarts()[local + 1] - text.length();
+            for (int start = block.lineStarts()[local]; start < end; ++start) {
+                if (block.text().regionMatches(true, start, text, 0, text.length())) {
+                    return line;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the amount of complete lines stored in this archive.
+     *
+     * @return the amount of stored lines
+     */
+    public synchronized int getLineCount() {
+        return sealedLineCount + openLineCount;
+    }
+
+    /**
+     * Returns the amount of compressed blocks.
+     *
+     * @return the amount of sealed blocks
+     */
+    public synchronized int getBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Returns the approximate amount of bytes used by this archive,
+     * excluding the cache of decompressed blocks.
+     *
+     * @return the amount of used bytes
+     */
+    public synchronized long getByteSize() {
+        return compressedSize + 32L * blocks.size()
+                + openText.capacity() * 2L + openRunStarts.length * 8L
+                + styles.size() * 48L;
+    }
+
+    /**
+     * This record represents a sealed and compressed block.
+     *
+     * @param data      the compressed data
+     * @param rawSize   the size of the uncompressed data
+     * @param firstLine the index of the first line of the block
+     * @param lineCount the amount of lines stored in the block
+     */
+    private record Block(byte[] data, int rawSize, int firstLine, int lineCount) {}
+
+    /**
+     * This record represents a decompressed block.
+     *
+     * @param text       the text of the block
+     * @param lineStarts the start offsets of the lines, followed by the end of the last line
+     * @param runStarts  the start offsets of the style runs
+     * @param runStyles  the style indices of the style runs
+     */
+    private record DecodedBlock(String text, int[] lineStarts, int[] runStarts, int[] runStyles) {}
+}
@@ -0,0 +1,344 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.utils.Pair;
+import mhahnFr.utils.gui.abstraction.FStyle;
+
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultCaret;
+import javax.swing.text.Style;
+import java.awt.EventQueue;
+import java.awt.Point;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class adapts a {@link JTextPane} to be used as an {@link OutputView}.
+ * Only the most recent lines are kept in the document of the text pane,
+ * older lines are moved into a {@link ScrollbackArchive}. When the user
+ * scrolls to the top of the document, the preceding lines are restored
+ * from the archive.
+ *
+ * @author agent
+ * @since 18.10.26
+ */
+public class TextPaneOutput implements OutputView {
+    /** The maximum amount of interned styles.                             */
+    private static final int MAX_INTERNED_STYLES = 1024;
+    /** The amount of lines kept in the document while following the output. */
+    private static final int MAX_HOT_LINES = 5000;
+    /** The amount of lines moved at once between the document and archive. */
+    private static final int TRANSFER_LINES = 500;
+
+    /** The text pane used to display the output.                    */
+    private final JTextPane pane;
+    /** The document of the text pane.                               */
+    private final OutputDocument document;
+    /** The default style of the underlying text pane.               */
+    private final Style defaultStyle;
+    /** The interned attributes, mapped by the style they represent. */
+    private final Map<RunStyle, AttributeSet> interned = new ConcurrentHashMap<>();
+    /** The archive holding the lines moved out of the document.     */
+    private final ScrollbackArchive archive = new ScrollbackArchive();
+    /** The index of the first line of the document in the output.   */
+    private int firstLine;
+    /** Indicates whether the end of the output is followed.         */
+    private volatile boolean following = true;
+    /** The scroll pane the text pane is displayed in.               */
+    private JScrollPane scrollPane;
+    /** The last known maximum of the vertical scroll bar.           */
+    private int lastMaximum;
+
+    /**
+     * Constructs this output view using the given text pane.
+     * The text pane gets an {@link OutputDocument} and is made non-editable.
+     * Once it is placed inside a {@link JScrollPane}, it scrolls to the end
+     * whenever new text is appended, as long as the end was visible before.
+     *
+     * @param pane the text pane to be used
+     * @throws IllegalArgumentException if the given text pane is {@code null}
+     */
+    public TextPaneOutput(final JTextPane pane) {
+        if (pane == null) throw new IllegalArgumentException("The text-pane must not be null!");
+
+        this.pane     = pane;
+        this.document = new OutputDocument();
+
+        pane.setStyledDocument(document);
+        pane.setEditable(false);
+        defaultStyle = pane.getLogicalStyle();
+        if (pane.getCaret() instanceof DefaultCaret caret) {
+            caret.setUpdatePolicy(DefaultCaret.NEVER_UPDATE);
+        }
+        pane.addHierarchyListener(this::hierarchyChanged);
+    }
+
+    /**
+     * Installs the scroll listener once the text pane is placed
+     * inside a {@link JScrollPane}.
+     *
+     * @param event the hierarchy event
+     */
+    private void hierarchyChanged(final HierarchyEvent event) {
+        if (scrollPane != null || (event.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) == 0) return;
+
+        scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, pane);
+        if (scrollPane != null) {
+            scrollPane.getVerticalScrollBar().addAdjustmentListener(this::scrolled);
+        }
+    }
+
+    /**
+     * Called when the vertical scroll bar has been adjusted. If the content
+     * has grown while the end was followed, the end is scrolled to. Otherwise,
+     * it is remembered whether the end is visible. If the top is reached,
+     * the preceding lines are restored from the archive.
+     *
+     * @param event the adjustment event
+     */
+    private void scrolled(final AdjustmentEvent event) {
+        final var model = scrollPane.getVerticalScrollBar().getModel();
+        if (model.getMaximum() != lastMaximum) {
+            lastMaximum = model.getMaximum();
+            if (following) {
+                model.setValue(model.getMaximum() - model.getExtent());
+                return;
+            }
+        }
+        following = model.getValue() + model.getExtent() >= model.getMaximum();
+        if (!following && model.getValue() == model.getMinimum()) {
+            restoreLines();
+        }
+    }
+
+    /**
+     * Restores the lines preceding the document from the archive. The
+     * view is kept at the previously first line.
+     */
+    private void restoreLines() {
+        final int inserted;
+        synchronized (this) {
+            inserted = restoreLines(TRANSFER_LINES);
+        }
+        if (inserted == 0) return;
+
+        EventQueue.invokeLater(() -> {
+            scrollPane.validate();
+            try {
+                final var position = pane.modelToView2D(inserted);
+                if (position != null) {
+                    scrollPane.getViewport().setViewPosition(new Point(scrollPane.getViewport().getViewPosition().x,
+                                                                       (int) position.getY()));
+                }
+            } catch (BadLocationException ignored) {}
+        });
+    }
+
+    /**
+     * Restores the given amount of lines preceding the document from the
+     * archive. Has to be called while holding the lock of this instance.
+     *
+     * @param count the amount of lines to be restored
+     * @return the amount of inserted characters
+     */
+    private int restoreLines(final int count) {
+        final var lines = Math.min(count, firstLine);
+        if (lines == 0) return 0;
+
+        final var runs = new ArrayList<Pair<String, AttributeSet>>();
+        archive.forEachRun(firstLine - lines, firstLine, (text, style) -> runs.add(new Pair<>(text, attributesFor(style))));
+        firstLine -= lines;
+        return document.prepend(runs);
+    }
+
+    /**
+     * Moves the oldest lines of the document into the archive if the
+     * document holds too many lines and the end of the output is followed.
+     * Lines restored from the archive are dropped without being archived again.
+     */
+    private void trimDocument() {
+        if (!following) return;
+
+        final var excess = document.getDefaultRootElement().getElementCount() - 1 - MAX_HOT_LINES;
+        if (excess < TRANSFER_LINES) return;
+
+        synchronized (this) {
+            final var skip = Math.min(excess, archive.getLineCount() - firstLine);
+            document.removeLines(excess, skip, archive::append);
+            firstLine += excess;
+        }
+    }
+
+    /**
+     * Returns the archive holding the lines moved out of the document.
+     *
+     * @return the scrollback archive
+     */
+    public ScrollbackArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Returns the interned attributes for the given style. If the style
+     * is {@code null}, {@code null} is returned. Styles looking the same
+     * share the same attribute set instance.
+     *
+     * @param style the style whose attributes to return
+     * @return the interned attributes
+     */
+    private AttributeSet attributesFor(final FStyle style) {
+        if (style == null) return null;
+
+        return attributesFor(RunStyle.from(style), style);
+    }
+
+    /**
+     * Returns the interned attributes for the given style. For the
+     * default style, {@code null} is returned.
+     *
+     * @param style the style whose attributes to return
+     * @return the interned attributes
+     */
+    private AttributeSet attributesFor(final RunStyle style) {
+        if (RunStyle.DEFAULT.equals(style)) return null;
+
+        return attributesFor(style, null);
+    }
+
+    /**
+     * Returns the interned attributes for the given key. If they are not
+     * yet interned, they are created from the given style or, if it is
+     * {@code null}, from the key.
+     *
+     * @param key   the snapshot of the style
+     * @param style the style to create the attributes from or {@code null}
+     * @return the interned attributes
+     */
+    private AttributeSet attributesFor(final RunStyle key, final FStyle style) {
+        final var result = interned.get(key);
+        if (result != null) return result;
+
+        if (interned.size() >= MAX_INTERNED_STYLES) {
+            interned.clear();
+        }
+        final var attributes = (style == null ? key.toFStyle() : style).asStyle(defaultStyle);
+        interned.put(key, attributes);
+        return attributes;
+    }
+
+    @Override
+    public void append(final String text, final FStyle style) {
+        document.append(List.of(new Pair<>(text, attributesFor(style))));
+        trimDocument();
+    }
+
+    @Override
+    public void appendAll(final List<Pair<String, FStyle>> runs) {
+        final var batch = new ArrayList<Pair<String, AttributeSet>>(runs.size());
+        for (final var run : runs) {
+            batch.add(new Pair<>(run.getFirst(), attributesFor(run.getSecond())));
+        }
+        document.append(batch);
+        trimDocument();
+    }
+
+    @Override
+    public synchronized int getLineCount() {
+        return firstLine + document.getDefaultRootElement().getElementCount();
+    }
+
+    @Override
+    public synchronized String getLine(final int line) {
+        if (line < 0) return null;
+        if (line < firstLine) return archive.getLine(line);
+
+        final var result = new String[1];
+        document.render(() -> {
+            final var root = document.getDefaultRootElement();
+            if (line - firstLine >= root.getElementCount()) return;
+
+            final var paragraph = root.getElement(line - firstLine);
+            final var begin     = paragraph.getStartOffset();
+            final var end       = Math.min(paragraph.getEndOffset(), document.getLength());
+            try {
+                final var text = document.getText(begin, end - begin);
+                result[0] = text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+            } catch (BadLocationException ignored) {}
+        });
+        return result[0];
+    }
+
+    @Override
+    public void showLine(final int line) {
+        final int begin, end;
+        synchronized (this) {
+            if (line < firstLine) {
+                following = false;
+                restoreLines(firstLine - line);
+            }
+            final var root = document.getDefaultRootElement();
+            if (line - firstLine >= root.getElementCount()) return;
+
+            final var paragraph = root.getElement(line - firstLine);
+            begin = paragraph.getStartOffset();
+            end   = Math.min(paragraph.getEndOffset() - 1, document.getLength());
+        }
+        pane.getCaret().setSelectionVisible(true);
+        pane.select(begin, end);
+        EventQueue.invokeLater(() -> {
+            if (scrollPane != null) scrollPane.validate();
+            try {
+                final var position = pane.modelToView2D(begin);
+                if (position != null) {
+                    pane.scrollRectToVisible(position.getBounds());
+                }
+            } catch (BadLocationException ignored) {}
+        });
+    }
+
+    @Override
+    public String getStatistics() {
+        final var root      = document.getDefaultRootElement();
+        final var hotLines  = Math.max(1, root.getElementCount() - 1);
+        final var hotBytes  = document.getByteSize();
+        final var coldLines = Math.max(1, archive.getLineCount());
+        final var coldBytes = archive.getByteSize();
+        return String.format("""
+                             Document: %d lines, %d KiB of text (%.1f bytes per line)
+                             Archive: %d lines in %d compressed blocks, %d KiB (%.1f bytes per line)""",
+                             root.getElementCount() - 1, hotBytes / 1024, (double) hotBytes / hotLines,
+                             archive.getLineCount(), archive.getBlockCount(), coldBytes / 1024, (double) coldBytes / coldLines);
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return pane;
+    }
+}
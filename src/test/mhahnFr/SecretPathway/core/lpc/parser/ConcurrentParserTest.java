@@ -0,0 +1,82 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * These tests compare the concurrent parsing with the sequential one.
+ * The files are large enough to be split into several chunks.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class ConcurrentParserTest {
+    /** The pool parsing the chunks. */
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Asserts that the concurrent parsing of the given source code
+     * yields the same result as the sequential one.
+     *
+     * @param source the source code
+     */
+    private static void assertSameResult(final String source) {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            final var sequential = ParserCorpus.describe(new Parser(ParserCorpus.tokenize(source)).parseFile());
+            final var concurrent = ParserCorpus.describe(new Parser(ParserCorpus.tokenize(source)).parseConcurrently(pool));
+            assertEquals(sequential, concurrent);
+        });
+    }
+
+    @Test
+    void validFilesAreParsedTheSame() {
+        final var corpus = new ParserCorpus(1);
+        for (int i = 0; i < 4; ++i) {
+            assertSameResult(corpus.file(600));
+        }
+    }
+
+    @Test
+    void brokenFilesAreParsedTheSame() {
+        final var corpus = new ParserCorpus(2);
+        for (int i = 0; i < 12; ++i) {
+            assertSameResult(corpus.mutate(corpus.file(600), 1 + i * 4));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser;
+
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.ScratchSymbolTable;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.SymbolTable;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenBuffer;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Tokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * These tests edit source code the way the editor does: the tokens are
+ * recognized again around each edit and the previous result is reused
+ * by the parser. Every result is compared with a full parse of the
+ * edited source code.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class IncrementalParserTest {
+    /** The snippets inserted by the edits. */
+    private static final String[] SNIPPETS = { " ", "\n", ";", "{", "}", "(", ")", "x", "int ", "\"", "/*", "*/",
+                                               "//", ",", "1+2", "'a'", "0x1f", "...", "if (a) {", "foo(",
+                                               "void f() { return 1; }\n", "inherit \"b\";\n", "private ",
+                                               "class C { int a; };\n", "mixed y = ([ 1: 2 ]);\n" };
+
+    /**
+     * Applies random edits to the given source code, one after another.
+     * After each edit, the incremental result is compared with a full
+     * parse, and the previous result must not have been changed.
+     *
+     * @param source the source code
+     * @param random the source of randomness
+     * @param edits  the amount of edits
+     * @return the amount of reused top level expressions
+     */
+    private static int edit(String source, final Random random, final int edits) {
+        final var tokenizer = new Tokenizer(source, new ScratchSymbolTable(new SymbolTable()));
+        tokenizer.setCommentTokensEnabled(true);
+
+        TokenBuffer tokens   = tokenizer.tokenize();
+        ParseResult previous = new Parser(tokens).parseFile();
+
+        int reused = 0;
+        for (int i = 0; i < edits; ++i) {
+            final var offset   = random.nextInt(source.length() + 1);
+            final var removed  = random.nextInt(3) == 0 ? 0 : Math.min(source.length() - offset, random.nextInt(40));
+            final var snippet  = random.nextInt(3) == 0 ? "" : SNIPPETS[random.nextInt(SNIPPETS.length)];
+            final var edited   = source.substring(0, offset) + snippet + source.substring(offset + removed);
+            final var before   = ParserCorpus.describe(previous);
+
+            final var retokenizer = new Tokenizer(edited, tokens.getSymbolTable());
+            retokenizer.setCommentTokensEnabled(true);
+            tokens = retokenizer.tokenize(tokens, offset, removed, snippet.length());
+
+            final var result = new Parser(tokens).parseFile(previous);
+            final var full   = new Parser(ParserCorpus.tokenize(edited)).parseFile();
+
+            assertEquals(ParserCorpus.describe(full), ParserCorpus.describe(result), "Edit " + i);
+            assertEquals(before, ParserCorpus.describe(previous), "Previous result of edit " + i);
+
+            reused  += result.getReusedCount();
+            previous = result;
+            source   = edited;
+        }
+        return reused;
+    }
+
+    @Test
+    void editedFilesAreParsedLikeFullParses() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            final var corpus = new ParserCorpus(5);
+            final var random = new Random(5);
+
+            int reused = 0;
+            for (int i = 0; i < 10; ++i) {
+                reused += edit(corpus.file(40), random, 60);
+            }
+            assertTrue(reused > 0);
+        });
+    }
+}
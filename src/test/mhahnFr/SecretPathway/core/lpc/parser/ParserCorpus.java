@@ -0,0 +1,279 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser;
+
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.TokenBuffer;
+import mhahnFr.SecretPathway.core.lpc.parser.tokenizer.Tokenizer;
+
+import java.util.Random;
+
+/**
+ * This class generates synthetic LPC source code for the differential
+ * tests of the parser. The generated files are valid; broken variants
+ * are created by mutating them.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+final class ParserCorpus {
+    /** The types used in the generated code.               */
+    private static final String[] TYPES = { "int", "string", "object", "mapping", "mixed", "void", "bool",
+                                            "symbol", "any", "auto", "int*", "string*", "object*" };
+    /** The binary operators used in the generated code.    */
+    private static final String[] BINARY = { "+", "-", "*", "/", "%", "==", "!=", "<", "<=", ">", ">=", "&&",
+                                             "||", "&", "|", "<<", ">>", "??", "^" };
+    /** The assignment operators used in the generated code. */
+    private static final String[] ASSIGNMENTS = { "=", "+=", "-=", "*=", "/=", "%=", "|=", "&=", "<<=", ">>=" };
+    /** The identifiers used in the generated code.         */
+    private static final String[] NAMES = { "a", "b", "foo", "bar", "ob", "name", "data", "list", "count",
+                                            "x1", "_tmp", "query_name", "write", "this_player" };
+    /** The snippets inserted by the mutations.             */
+    private static final String[] SNIPPETS = { " ", "\n", ";", "{", "}", "(", ")", "x", "int ", "\"", "/*", "*/",
+                                               "//", ",", "[", "]", "=", "+=", "..", "?", ":", "->",
+                                               "void f() { return 1; }\n", "inherit \"b\";\n", "if (a) {",
+                                               "mixed y = ([ 1: 2 ]);\n", "foo(", "private " };
+
+    /** The source of randomness. */
+    private final Random random;
+
+    /**
+     * Constructs a generator using the given seed.
+     *
+     * @param seed the seed of the generated code
+     */
+    ParserCorpus(final long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Tokenizes the given source code, including the comments.
+     *
+     * @param source the source code
+     * @return the tokens
+     */
+    static TokenBuffer tokenize(final String source) {
+        final var tokenizer = new Tokenizer(source);
+        tokenizer.setCommentTokensEnabled(true);
+        return tokenizer.tokenize();
+    }
+
+    /**
+     * Describes the given result, including the token ranges of the
+     * top level expressions.
+     *
+     * @param result the result of the parsing
+     * @return the description of the result
+     */
+    static String describe(final ParseResult result) {
+        final var builder     = new StringBuilder();
+        final var expressions = result.getExpressions();
+        for (int i = 0; i < expressions.size(); ++i) {
+            builder.append(result.getStart(i)).append(',')
+                   .append(result.getNext(i)).append(',')
+                   .append(result.isStalled(i)).append('\n')
+                   .append(expressions.get(i).describe(0)).append('\n');
+        }
+        return builder.append(result.getStart(expressions.size())).append(',')
+                      .append(result.getNext(expressions.size())).toString();
+    }
+
+    /**
+     * Generates a file with the given amount of top level definitions.
+     *
+     * @param definitions the amount of top level definitions
+     * @return the source code of the file
+     */
+    String file(final int definitions) {
+        final var builder = new StringBuilder("/*\n * Generated\n */\ninherit \"/std/object\";\n\n");
+        for (int i = 0; i < definitions; ++i) {
+            switch (random.nextInt(6)) {
+                case 0 -> builder.append("private ").append(pick(TYPES)).append(' ').append(pick(NAMES)).append(i)
+                                 .append(" = ").append(expression(2)).append(";\n\n");
+                case 1 -> builder.append("class C").append(i).append(" {\n    int x;\n    string name;\n}\n\n");
+                case 2 -> builder.append("nosave mapping m").append(i).append(";\n\n");
+                default -> {
+                    builder.append(random.nextBoolean() ? "public " : "").append(pick(TYPES)).append(" fun").append(i)
+                           .append('(').append(pick(TYPES)).append(" p, mixed q...) {\n");
+                    block(builder, 0, "");
+                    builder.append("}\n\n");
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Applies the given amount of random edits to the given source code.
+     *
+     * @param source the source code
+     * @param edits  the amount of edits
+     * @return the edited source code
+     */
+    String mutate(String source, final int edits) {
+        for (int i = 0; i < edits; ++i) {
+            final var position = random.nextInt(source.length() + 1);
+            final var end      = Math.min(source.length(), position + random.nextInt(8));
+            source = switch (random.nextInt(3)) {
+                case 0  -> source.substring(0, position) + pick(SNIPPETS) + source.substring(position);
+                case 1  -> source.substring(0, position) + source.substring(end);
+                default -> source.substring(0, position) + pick(SNIPPETS) + source.substring(end);
+            };
+        }
+        return source;
+    }
+
+    /**
+     * Returns a random element of the given array.
+     *
+     * @param array the array
+     * @return the chosen element
+     */
+    private String pick(final String[] array) {
+        return array[random.nextInt(array.length)];
+    }
+
+    /**
+     * Generates an expression.
+     *
+     * @param depth the nesting depth of the expression
+     * @return the generated expression
+     */
+    String expression(final int depth) {
+        if (depth > 4) return random.nextBoolean() ? pick(NAMES) : literal();
+
+        return switch (random.nextInt(18)) {
+            case 0, 1 -> pick(NAMES);
+            case 2    -> literal();
+            case 3, 4 -> expression(depth + 1) + " " + pick(BINARY) + " " + expression(depth + 1);
+            case 5    -> "(" + expression(depth + 1) + ")";
+            case 6    -> pick(NAMES) + "(" + arguments(depth) + ")";
+            case 7    -> expression(depth + 1) + "->" + pick(NAMES) + "(" + arguments(depth) + ")";
+            case 8    -> expression(depth + 1) + "[" + expression(depth + 1) + "]";
+            case 9    -> expression(depth + 1) + "[" + expression(depth + 1) + ".." + expression(depth + 1) + "]";
+            case 10   -> "({ " + arguments(depth) + " })";
+            case 11   -> "([ " + expression(depth + 1) + ": " + expression(depth + 1) + " ])";
+            case 12   -> "!" + expression(depth + 1);
+            case 13   -> "-" + expression(depth + 1);
+            case 14   -> expression(depth + 1) + " ? " + expression(depth + 1) + " : " + expression(depth + 1);
+            case 15   -> pick(NAMES) + " " + pick(ASSIGNMENTS) + " " + expression(depth + 1);
+            case 16   -> "new(" + literal() + ")";
+            default   -> "sizeof(" + expression(depth + 1) + ")";
+        };
+    }
+
+    /**
+     * Generates a literal.
+     *
+     * @return the generated literal
+     */
+    private String literal() {
+        return switch (random.nextInt(8)) {
+            case 0  -> Integer.toString(random.nextInt(1000));
+            case 1  -> "0x" + Integer.toHexString(random.nextInt(4096));
+            case 2  -> "\"str" + random.nextInt(10) + "\\n\"";
+            case 3  -> "'c'";
+            case 4  -> "#'" + pick(NAMES) + "'";
+            case 5  -> random.nextBoolean() ? "true" : "false";
+            case 6  -> "nil";
+            default -> "this";
+        };
+    }
+
+    /**
+     * Generates the arguments of a call.
+     *
+     * @param depth the nesting depth of the call
+     * @return the generated arguments
+     */
+    private String arguments(final int depth) {
+        final var builder = new StringBuilder();
+        final var count   = random.nextInt(4);
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) builder.append(", ");
+            builder.append(expression(depth + 1));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Generates a block of statements.
+     *
+     * @param builder the builder to append to
+     * @param depth   the nesting depth of the block
+     * @param indent  the indentation of the enclosing statement
+     */
+    private void block(final StringBuilder builder, final int depth, final String indent) {
+        final var count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; ++i) {
+            statement(builder, depth + 1, indent + "    ");
+        }
+    }
+
+    /**
+     * Generates a statement.
+     *
+     * @param builder the builder to append to
+     * @param depth   the nesting depth of the statement
+     * @param indent  the indentation of the statement
+     */
+    private void statement(final StringBuilder builder, final int depth, final String indent) {
+        builder.append(indent);
+        if (depth > 3) {
+            builder.append(expression(2)).append(";\n");
+            return;
+        }
+        switch (random.nextInt(12)) {
+            case 0 -> builder.append(pick(TYPES)).append(' ').append(pick(NAMES)).append(" = ")
+                             .append(expression(1)).append(";\n");
+            case 1 -> {
+                builder.append("if (").append(expression(1)).append(") {\n");
+                block(builder, depth, indent);
+                builder.append(indent).append("} else\n");
+                statement(builder, depth + 1, indent + "    ");
+            }
+            case 2 -> {
+                builder.append("while (").append(expression(1)).append(") {\n");
+                block(builder, depth, indent);
+                builder.append(indent).append("}\n");
+            }
+            case 3 -> {
+                builder.append("for (int i = 0; i < ").append(expression(2)).append("; i++) {\n");
+                block(builder, depth, indent);
+                builder.append(indent).append("}\n");
+            }
+            case 4 -> {
+                builder.append("foreach (").append(pick(TYPES)).append(" e : ").append(expression(2)).append(") {\n");
+                block(builder, depth, indent);
+                builder.append(indent).append("}\n");
+            }
+            case 5 -> {
+                builder.append("do {\n");
+                block(builder, depth, indent);
+                builder.append(indent).append("} while (").append(expression(2)).append(");\n");
+            }
+            case 6 -> builder.append("return ").append(expression(1)).append(";\n");
+            case 7 -> builder.append("// a comment about ").append(pick(NAMES)).append('\n');
+            case 8 -> builder.append(pick(NAMES)).append(' ').append(pick(ASSIGNMENTS)).append(' ')
+                             .append(expression(1)).append(";\n");
+            case 9 -> builder.append("let ").append(pick(NAMES)).append(" = ").append(expression(1)).append(";\n");
+            default -> builder.append(expression(0)).append(";\n");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * These tests make sure the operator table of the parser produces the
+ * same trees as the recursive descent parser it replaced. The expected
+ * digests have been recorded with that parser for the same corpus.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class ParserEquivalenceTest {
+    /** The snippets covering the assignments and the operator names. */
+    private static final String SNIPPETS = """
+        void f() {
+            a = b = c;
+            a += b * c - d;
+            a -= b ? c : d = e;
+            x + y = 3;
+            -x = 3;
+            !x += 4;
+            f() = 3;
+            (x) = 3;
+            x++ = 3;
+            a[1] = b = c;
+            a[1 .. 2] = b;
+            a->b = c;
+            a = b[1 .. x = 2];
+            a *= sizeof b /= c %= d;
+            return a = 1 < b = 2;
+        }
+        int operator = (int x) { return x; }
+        int operator += (int x) { return x; }
+        int operator + (int x) { return x; }
+        """;
+
+    /**
+     * Returns the hexadecimal SHA-256 digest of the given descriptions.
+     *
+     * @param descriptions the descriptions of the parse results
+     * @return the digest
+     * @throws NoSuchAlgorithmException if SHA-256 is not available
+     */
+    private static String digest(final String... descriptions) throws NoSuchAlgorithmException {
+        final var digest = MessageDigest.getInstance("SHA-256");
+        for (final var description : descriptions) {
+            digest.update(description.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Parses the given source code and describes the result.
+     *
+     * @param source the source code
+     * @return the description of the parse result
+     */
+    private static String parse(final String source) {
+        return ParserCorpus.describe(new Parser(ParserCorpus.tokenize(source)).parseFile());
+    }
+
+    @Test
+    void assignmentsAreParsedTheSame() throws NoSuchAlgorithmException {
+        assertEquals("31298848ce67d4033f0769a905d7870c3a8783e96eb714abc60fdccf776f93f4", digest(parse(SNIPPETS)));
+    }
+
+    @Test
+    void validFilesAreParsedTheSame() throws NoSuchAlgorithmException {
+        final var corpus       = new ParserCorpus(3);
+        final var descriptions = new String[8];
+        for (int i = 0; i < descriptions.length; ++i) {
+            descriptions[i] = parse(corpus.file(150));
+        }
+        assertEquals("05648e8b9cb2fb73379988290893b581a2956c4a7ba9221f8232624429844efc", digest(descriptions));
+    }
+
+    @Test
+    void brokenFilesAreParsedTheSame() throws NoSuchAlgorithmException {
+        final var corpus       = new ParserCorpus(4);
+        final var descriptions = new String[8];
+        for (int i = 0; i < descriptions.length; ++i) {
+            descriptions[i] = parse(corpus.mutate(corpus.file(150), 1 + i * 3));
+        }
+        assertEquals("6f595f926e32edb3a920e0450a01c1f8206f0c6e9b808202280a66eaf3d28c12", digest(descriptions));
+    }
+}
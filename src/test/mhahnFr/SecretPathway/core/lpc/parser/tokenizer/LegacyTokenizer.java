@@ -0,0 +1,302 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
+
+import mhahnFr.utils.StreamPosition;
+import mhahnFr.utils.StringStream;
+
+/**
+ * This class is the tokenizer as it was before it scanned the source text
+ * with a switch on the first character of a token. It reads the text from
+ * a {@link StringStream} and compares the candidates of every token one
+ * after another. It is the reference of the differential tests of the
+ * {@link Tokenizer}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+final class LegacyTokenizer {
+    /** The stream of the source text.                      */
+    private final StringStream stream;
+    /** Indicates whether comment tokens should be emitted. */
+    private boolean commentTokens;
+
+    /**
+     * Constructs this Tokenizer using the given {@link StringStream}.
+     *
+     * @param stream the stream to read the source text from
+     */
+    LegacyTokenizer(StringStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Sets whether the tokenizer will emit comment tokens.
+     *
+     * @param enabled whether to emit comment tokens
+     */
+    void setCommentTokensEnabled(final boolean enabled) {
+        this.commentTokens = enabled;
+    }
+
+    /**
+     * Returns the next token found in the stream.
+     *
+     * @return the next token found in the stream
+     */
+    Token nextToken() {
+        skipWhitespaces();
+
+        if (!stream.hasNext()) {
+            return token(stream.getStreamPosition(), TokenType.EOF, null, stream.getStreamPosition());
+        } else if (stream.peek("/*!")) {
+            return token(stream.getStreamPosition(), TokenType.STRING, readTill("!*/", 3), stream.getStreamPosition());
+        } else if (stream.peek("/*")) {
+            final var begin = stream.getStreamPosition();
+            final var comment = readTill("*/", 2);
+            if (commentTokens) {
+                return token(begin, TokenType.COMMENT_BLOCK, comment, stream.getStreamPosition());
+            } else {
+                return nextToken();
+            }
+        } else if (stream.peek("//")) {
+            final var begin = stream.getStreamPosition();
+            final var comment = readTill("\n", 2);
+            if (commentTokens) {
+                return token(begin, TokenType.COMMENT_LINE, comment, stream.getStreamPosition());
+            } else {
+                return nextToken();
+            }
+        }
+        else if (stream.peek('('))   return token(stream.getStreamPosition(), TokenType.LEFT_PAREN,         null, stream.skip());
+        else if (stream.peek(')'))   return token(stream.getStreamPosition(), TokenType.RIGHT_PAREN,        null, stream.skip());
+        else if (stream.peek('['))   return token(stream.getStreamPosition(), TokenType.LEFT_BRACKET,       null, stream.skip());
+        else if (stream.peek(']'))   return token(stream.getStreamPosition(), TokenType.RIGHT_BRACKET,      null, stream.skip());
+        else if (stream.peek('{'))   return token(stream.getStreamPosition(), TokenType.LEFT_CURLY,         null, stream.skip());
+        else if (stream.peek('}'))   return token(stream.getStreamPosition(), TokenType.RIGHT_CURLY,        null, stream.skip());
+        else if (stream.peek("...")) return token(stream.getStreamPosition(), TokenType.ELLIPSIS,           null, stream.skip(3));
+        else if (stream.peek(".."))  return token(stream.getStreamPosition(), TokenType.RANGE,              null, stream.skip(2));
+        else if (stream.peek('.'))   return token(stream.getStreamPosition(), TokenType.DOT,                null, stream.skip());
+        else if (stream.peek(','))   return token(stream.getStreamPosition(), TokenType.COMMA,              null, stream.skip());
+        else if (stream.peek("::"))  return token(stream.getStreamPosition(), TokenType.SCOPE,              null, stream.skip(2));
+        else if (stream.peek(':'))   return token(stream.getStreamPosition(), TokenType.COLON,              null, stream.skip());
+        else if (stream.peek(';'))   return token(stream.getStreamPosition(), TokenType.SEMICOLON,          null, stream.skip());
+        else if (stream.peek("=="))  return token(stream.getStreamPosition(), TokenType.EQUALS,             null, stream.skip(2));
+        else if (stream.peek("!="))  return token(stream.getStreamPosition(), TokenType.NOT_EQUAL,          null, stream.skip(2));
+        else if (stream.peek("<<"))  return token(stream.getStreamPosition(), TokenType.LEFT_SHIFT,         null, stream.skip(2));
+        else if (stream.peek(">>"))  return token(stream.getStreamPosition(), TokenType.RIGHT_SHIFT,        null, stream.skip(2));
+        else if (stream.peek("<="))  return token(stream.getStreamPosition(), TokenType.LESS_OR_EQUAL,      null, stream.skip(2));
+        else if (stream.peek('<'))   return token(stream.getStreamPosition(), TokenType.LESS,               null, stream.skip());
+        else if (stream.peek(">="))  return token(stream.getStreamPosition(), TokenType.GREATER_OR_EQUAL,   null, stream.skip(2));
+        else if (stream.peek('>'))   return token(stream.getStreamPosition(), TokenType.GREATER,            null, stream.skip());
+        else if (stream.peek("&&"))  return token(stream.getStreamPosition(), TokenType.AND,                null, stream.skip(2));
+        else if (stream.peek("||"))  return token(stream.getStreamPosition(), TokenType.OR,                 null, stream.skip(2));
+        else if (stream.peek('!'))   return token(stream.getStreamPosition(), TokenType.NOT,                null, stream.skip());
+        else if (stream.peek('='))   return token(stream.getStreamPosition(), TokenType.ASSIGNMENT,         null, stream.skip());
+        else if (stream.peek("->"))  return token(stream.getStreamPosition(), TokenType.ARROW,              null, stream.skip(2));
+        else if (stream.peek('&'))   return token(stream.getStreamPosition(), TokenType.AMPERSAND,          null, stream.skip());
+        else if (stream.peek('|'))   return token(stream.getStreamPosition(), TokenType.PIPE,               null, stream.skip());
+        else if (stream.peek("??"))  return token(stream.getStreamPosition(), TokenType.DOUBLE_QUESTION,    null, stream.skip(2));
+        else if (stream.peek('?'))   return token(stream.getStreamPosition(), TokenType.QUESTION,           null, stream.skip());
+        else if (stream.peek("+="))  return token(stream.getStreamPosition(), TokenType.ASSIGNMENT_PLUS,    null, stream.skip(2));
+        else if (stream.peek("-="))  return token(stream.getStreamPosition(), TokenType.ASSIGNMENT_MINUS,   null, stream.skip(2));
+        else if (stream.peek("*="))  return token(stream.getStreamPosition(), TokenType.ASSIGNMENT_STAR,    null, stream.skip(2));
+        else if (stream.peek("/="))  return token(stream.getStreamPosition(), TokenType.ASSIGNMENT_SLASH,   null, stream.skip(2));
+        else if (stream.peek("%="))  return token(stream.getStreamPosition(), TokenType.ASSIGNMENT_PERCENT, null, stream.skip(2));
+        else if (stream.peek("++"))  return token(stream.getStreamPosition(), TokenType.INCREMENT,          null, stream.skip(2));
+        else if (stream.peek("--"))  return token(stream.getStreamPosition(), TokenType.DECREMENT,          null, stream.skip(2));
+        else if (stream.peek('+'))   return token(stream.getStreamPosition(), TokenType.PLUS,               null, stream.skip());
+        else if (stream.peek('-'))   return token(stream.getStreamPosition(), TokenType.MINUS,              null, stream.skip());
+        else if (stream.peek('*'))   return token(stream.getStreamPosition(), TokenType.STAR,               null, stream.skip());
+        else if (stream.peek('/'))   return token(stream.getStreamPosition(), TokenType.SLASH,              null, stream.skip());
+        else if (stream.peek('%'))   return token(stream.getStreamPosition(), TokenType.PERCENT,            null, stream.skip());
+        else if (stream.peek('"'))   return token(stream.getStreamPosition(), TokenType.STRING,    readTill("\""),   stream.getStreamPosition());
+        else if (stream.peek('\''))  return token(stream.getStreamPosition(), TokenType.CHARACTER, readTill("'"),    stream.getStreamPosition());
+        else if (stream.peek("#'"))  return token(stream.getStreamPosition(), TokenType.SYMBOL,    readTill("'", 2), stream.getStreamPosition());
+        else if (stream.peek("#:"))  return token(stream.getStreamPosition(), TokenType.SYMBOL,    readSymbol(),     stream.getStreamPosition());
+
+        return nextWord();
+    }
+
+    /**
+     * Creates a token spanning the given stream positions.
+     *
+     * @param begin   the beginning position
+     * @param type    the type of the token
+     * @param payload the payload of the token
+     * @param end     the end position
+     * @return the created token
+     */
+    private static Token token(final StreamPosition begin,
+                               final TokenType      type,
+                               final Object         payload,
+                               final StreamPosition end) {
+        return new Token(begin.position(), type, payload, end.position());
+    }
+
+    /**
+     * Constructs and returns a token from the next word read in the stream.
+     *
+     * @return a token constructed from the next read word
+     */
+    private Token nextWord() {
+        final var begin = stream.getStreamPosition();
+        final var word  = readWord();
+        final var end   = stream.getStreamPosition();
+
+        switch (word) {
+            case "#include"   -> { return token(begin, TokenType.INCLUDE,        null, end); }
+            case "inherit"    -> { return token(begin, TokenType.INHERIT,        null, end); }
+            case "private"    -> { return token(begin, TokenType.PRIVATE,        null, end); }
+            case "protected"  -> { return token(begin, TokenType.PROTECTED,      null, end); }
+            case "public"     -> { return token(begin, TokenType.PUBLIC,         null, end); }
+            case "override"   -> { return token(begin, TokenType.OVERRIDE,       null, end); }
+            case "deprecated" -> { return token(begin, TokenType.DEPRECATED,     null, end); }
+            case "nosave"     -> { return token(begin, TokenType.NOSAVE,         null, end); }
+            case "new"        -> { return token(begin, TokenType.NEW,            null, end); }
+            case "this"       -> { return token(begin, TokenType.THIS,           null, end); }
+            case "nil"        -> { return token(begin, TokenType.NIL,            null, end); }
+            case "true"       -> { return token(begin, TokenType.TRUE,           null, end); }
+            case "false"      -> { return token(begin, TokenType.FALSE,          null, end); }
+            case "sizeof"     -> { return token(begin, TokenType.SIZEOF,         null, end); }
+            case "is"         -> { return token(begin, TokenType.IS,             null, end); }
+            case "class"      -> { return token(begin, TokenType.CLASS,          null, end); }
+            case "void"       -> { return token(begin, TokenType.VOID,           null, end); }
+            case "char"       -> { return token(begin, TokenType.CHAR_KEYWORD,   null, end); }
+            case "int"        -> { return token(begin, TokenType.INT_KEYWORD,    null, end); }
+            case "bool"       -> { return token(begin, TokenType.BOOL,           null, end); }
+            case "object"     -> { return token(begin, TokenType.OBJECT,         null, end); }
+            case "string"     -> { return token(begin, TokenType.STRING_KEYWORD, null, end); }
+            case "symbol"     -> { return token(begin, TokenType.SYMBOL_KEYWORD, null, end); }
+            case "mapping"    -> { return token(begin, TokenType.MAPPING,        null, end); }
+            case "any"        -> { return token(begin, TokenType.ANY,            null, end); }
+            case "mixed"      -> { return token(begin, TokenType.MIXED,          null, end); }
+            case "auto"       -> { return token(begin, TokenType.AUTO,           null, end); }
+            case "let"        -> { return token(begin, TokenType.LET,            null, end); }
+            case "if"         -> { return token(begin, TokenType.IF,             null, end); }
+            case "else"       -> { return token(begin, TokenType.ELSE,           null, end); }
+            case "while"      -> { return token(begin, TokenType.WHILE,          null, end); }
+            case "do"         -> { return token(begin, TokenType.DO,             null, end); }
+            case "foreach"    -> { return token(begin, TokenType.FOREACH,        null, end); }
+            case "for"        -> { return token(begin, TokenType.FOR,            null, end); }
+            case "switch"     -> { return token(begin, TokenType.SWITCH,         null, end); }
+            case "case"       -> { return token(begin, TokenType.CASE,           null, end); }
+            case "default"    -> { return token(begin, TokenType.DEFAULT,        null, end); }
+            case "break"      -> { return token(begin, TokenType.BREAK,          null, end); }
+            case "continue"   -> { return token(begin, TokenType.CONTINUE,       null, end); }
+            case "return"     -> { return token(begin, TokenType.RETURN,         null, end); }
+            case "try"        -> { return token(begin, TokenType.TRY,            null, end); }
+            case "catch"      -> { return token(begin, TokenType.CATCH,          null, end); }
+            case "operator"   -> { return token(begin, TokenType.OPERATOR,       null, end); }
+        }
+
+        try {
+            return token(begin, TokenType.INTEGER, Integer.decode(word), end);
+        } catch (NumberFormatException e) {
+            return token(begin, TokenType.IDENTIFIER, word, end);
+        }
+    }
+
+    /**
+     * Reads and returns a word from the stream.
+     *
+     * @return the read word
+     */
+    private String readWord() {
+        final var buffer = new StringBuilder();
+        while (stream.hasNext() && !isSpecial(stream.peek())) {
+            buffer.append(stream.next());
+        }
+        if (buffer.isEmpty() && stream.hasNext()) {
+            // Unrecognized character used as word to prevent endless loop
+            buffer.append(stream.next());
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Skips remaining whitespaces in the stream.
+     */
+    private void skipWhitespaces() {
+        while (stream.hasNext() && Character.isWhitespace(stream.peek())) {
+            stream.skip();
+        }
+    }
+
+    /**
+     * Reads and returns a symbol name from the stream.
+     *
+     * @return the read symbol name
+     */
+    private String readSymbol() {
+        stream.skip(2);
+
+        final var buffer = new StringBuilder();
+        while (stream.hasNext() && !isSpecial(stream.peek())) {
+            buffer.append(stream.next());
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Reads a string from the stream until the given string has been
+     * read or the end of the stream has been reached.
+     *
+     * @param string the string the read one should end with
+     * @return the read string
+     */
+    private String readTill(final String string) {
+        return readTill(string, 1);
+    }
+
+    /**
+     * Reads a string from the stream until the given string has been
+     * read or the end of the stream has been reached.
+     *
+     * @param string the string the read one should end with
+     * @param skipping the amount of characters to be skipped
+     * @return the read string
+     */
+    private String readTill(String string, final int skipping) {
+        stream.skip(skipping);
+
+        final var buffer = new StringBuilder();
+        char previous     = '\0',
+             overPrevious = '\0';
+        while (stream.hasNext() && !(stream.peek(string) && (previous != '\\' || overPrevious == '\\'))) {
+            overPrevious = previous;
+            previous     = stream.next();
+
+            buffer.append(previous);
+        }
+        stream.skip(string.length());
+        return buffer.toString();
+    }
+
+    /**
+     * Returns whether the given character is a special one.
+     *
+     * @param c the character to be checked
+     * @return whether the given character is special
+     */
+    private static boolean isSpecial(char c) {
+        return !(Character.isAlphabetic(c) || Character.isDigit(c) || c == '_' || c == '$' || c == '#');
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.lpc.parser.tokenizer;
+
+import mhahnFr.utils.StringStream;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * These tests compare the {@link Tokenizer} and its {@link TokenBuffer}
+ * with the {@link LegacyTokenizer} on randomly assembled source texts.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class TokenizerTest {
+    /** The pieces the source texts are assembled from. */
+    private static final String[] PIECES = {
+            "int", "string", "mapping", "foreach", "#include", "#define", "inherit", " ", "\n", "\t", "\u000b",
+            "\u001c", "(", ")", "[", "]", "{", "}", ".", "..", "...", ",", ":", "::", ";", "=", "==", "!", "!=",
+            "<", "<<", "<=", ">", ">>", ">=", "&", "&&", "|", "||", "?", "??", "+", "+=", "++", "-", "-=", "--",
+            "->", "*", "*=", "/", "/=", "%", "%=", "\"", "'", "#'", "#:", "/*", "*/", "/*!", "!*/", "//", "\\",
+            "\\\\", "@", "~", "^", "0x1F", "0X7fffffff", "077", "08", "42", "-1", "2147483647", "2147483648",
+            "0x", "#12", "#0x10", "#", "foo", "_bar", "$x", "ä", "日本", "\ud800", "x1", "1x",
+            "this", "nil", "true", "false", "deprecated", "operator", "is", "do", "i", "iff", "ifs", "classy"
+    };
+
+    /** The words checked for integer literals.         */
+    private static final String[] NUMBERS = {
+            "0", "00", "007", "08", "09", "0x", "0X", "0x0", "0xG", "0X1f", "0xFFFFFFFF", "0x7fffffff",
+            "0x80000000", "#", "#1f", "#0x1", "#FF", "1", "42", "2147483647", "2147483648", "99999999999",
+            "1e5", "1$", "12ab", "0777", "0778", "000000000000000000001", "#7FFFFFFF",
+            "#80000000", "٣", "０", "x0"
+    };
+
+    /** The literals the legacy tokenizer did not know. */
+    private static final String[] NEW_NUMBERS = { "1_000", "0x1_0", "#FF_FF", "01_7", "0b101", "0B1_1", "0b0" };
+    /** The values of the new literals.                 */
+    private static final int[] NEW_VALUES = { 1000, 16, 0xFFFF, 15, 5, 3, 0 };
+    /** The words looking like the new literals.        */
+    private static final String[] NO_NUMBERS = { "1_", "_1", "0x_1", "0b", "0b2", "0b_1", "1__", "#_" };
+
+    /**
+     * Assembles a random source text.
+     *
+     * @param random the source of randomness
+     * @return the source text
+     */
+    private static String source(final Random random) {
+        final var builder = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; --i) {
+            builder.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Asserts that the given tokens are equal.
+     *
+     * @param source   the tokenized source text
+     * @param expected the expected token
+     * @param actual   the actual token
+     */
+    private static void assertSameToken(final String source, final Token expected, final Token actual) {
+        final var message = "Source: \"" + source + '"';
+        assertEquals(expected.type(),    actual.type(),    message);
+        assertEquals(expected.begin(),   actual.begin(),   message);
+        assertEquals(expected.end(),     actual.end(),     message);
+        assertEquals(expected.payload(), actual.payload(), message);
+    }
+
+    @Test
+    void nextTokenMatchesTheLegacyTokenizer() {
+        final var random = new Random(41);
+        for (int i = 0; i < 20000; ++i) {
+            final var source = source(random);
+            for (final var comments : new boolean[] { false, true }) {
+                final var legacy = new LegacyTokenizer(new StringStream(source));
+                legacy.setCommentTokensEnabled(comments);
+                final var tokenizer = new Tokenizer(source);
+                tokenizer.setCommentTokensEnabled(comments);
+
+                Token expected;
+                do {
+                    expected = legacy.nextToken();
+                    assertSameToken(source, expected, tokenizer.nextToken());
+                } while (expected.type() != TokenType.EOF);
+            }
+        }
+    }
+
+    @Test
+    void tokenBufferMatchesTheLegacyTokenizer() {
+        final var random = new Random(42);
+        for (int i = 0; i < 20000; ++i) {
+            final var source = source(random);
+            for (final var comments : new boolean[] { false, true }) {
+                final var legacy = new LegacyTokenizer(new StringStream(source));
+                legacy.setCommentTokensEnabled(comments);
+                final var tokenizer = new Tokenizer(source);
+                tokenizer.setCommentTokensEnabled(comments);
+                final var buffer = tokenizer.tokenize();
+
+                int index = 0;
+                Token expected;
+                do {
+                    expected = legacy.nextToken();
+                    assertSameToken(source, expected, buffer.get(index++));
+                } while (expected.type() != TokenType.EOF);
+                assertEquals(buffer.size(), index - 1, source);
+            }
+        }
+    }
+
+    @Test
+    void integersMatchTheLegacyTokenizer() {
+        for (final var number : NUMBERS) {
+            for (final var source : new String[] { number, "-" + number, "(" + number + ")", number + " " + number }) {
+                final var legacy    = new LegacyTokenizer(new StringStream(source));
+                final var tokenizer = new Tokenizer(source);
+
+                Token expected;
+                do {
+                    expected = legacy.nextToken();
+                    assertSameToken(source, expected, tokenizer.nextToken());
+                } while (expected.type() != TokenType.EOF);
+            }
+        }
+    }
+
+    @Test
+    void newIntegerLiteralsAreScanned() {
+        for (int i = 0; i < NEW_NUMBERS.length; ++i) {
+            final var token = new Tokenizer(NEW_NUMBERS[i]).nextToken();
+            assertEquals(TokenType.INTEGER, token.type(),    NEW_NUMBERS[i]);
+            assertEquals(NEW_VALUES[i],     token.payload(), NEW_NUMBERS[i]);
+        }
+        for (final var word : NO_NUMBERS) {
+            assertEquals(TokenType.IDENTIFIER, new Tokenizer(word).nextToken().type(), word);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * This class measures the recording of samples by the {@link LatencyHistogram}.
+ * The time and the bytes allocated per sample are printed, along with
+ * the reported and the exact median and 99th percentile.
+ * <br>
+ * Run using {@code ./gradlew benchmark -Pbenchmark=mhahnFr.SecretPathway.core.net.LatencyHistogramBenchmark}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+public final class LatencyHistogramBenchmark {
+    /** The amount of samples.         */
+    private static final int SAMPLES = 1 << 20;
+    /** The amount of measured rounds. */
+    private static final int ROUNDS  = 5;
+
+    /**
+     * Not used, this class only has static members.
+     */
+    private LatencyHistogramBenchmark() {}
+
+    /**
+     * Returns the amount of bytes allocated by the current thread, if
+     * the virtual machine supports measuring it.
+     *
+     * @return the allocated bytes or {@code -1}
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Runs the benchmark and prints the timings.
+     *
+     * @param args ignored
+     */
+    public static void main(final String[] args) {
+        final var samples   = LatencyHistogramTest.createSamples(SAMPLES, 1);
+        final var histogram = new LatencyHistogram();
+
+        for (int round = -1; round < ROUNDS; ++round) {
+            final var bytes = allocatedBytes();
+            final var start = System.nanoTime();
+            for (final var sample : samples) {
+                histogram.record(sample);
+            }
+            final var nanos     = System.nanoTime() - start;
+            final var allocated = allocatedBytes() - bytes;
+
+            if (round < 0) continue;
+
+            System.out.printf("Round %d: %.1f ns/sample, %d bytes allocated%n", round, (double) nanos / SAMPLES, allocated);
+        }
+
+        Arrays.sort(samples);
+        System.out.printf("Median %.1f ms (exact %.1f ms), 99th percentile %.1f ms (exact %.1f ms)%n",
+                          histogram.getPercentile(50) / 1e6, samples[SAMPLES / 2 - 1] / 1e6,
+                          histogram.getPercentile(99) / 1e6, samples[(int) Math.ceil(SAMPLES * 0.99) - 1] / 1e6);
+    }
+}
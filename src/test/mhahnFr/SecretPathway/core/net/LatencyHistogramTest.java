@@ -0,0 +1,107 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * These tests check the percentiles and the counting of the
+ * {@link LatencyHistogram}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class LatencyHistogramTest {
+    /**
+     * Creates log-normally distributed samples around 50 milliseconds.
+     *
+     * @param amount the amount of samples
+     * @param seed   the seed of the samples
+     * @return the samples in nanoseconds
+     */
+    static long[] createSamples(final int amount, final long seed) {
+        final var random  = new Random(seed);
+        final var samples = new long[amount];
+        for (int i = 0; i < amount; ++i) {
+            samples[i] = (long) Math.exp(random.nextGaussian() * 1.5 + Math.log(50e6));
+        }
+        return samples;
+    }
+
+    @Test
+    void percentilesAreWithinOneBucket() {
+        final var histogram = new LatencyHistogram();
+        final var samples   = createSamples(100_000, 36);
+        for (final var sample : samples) {
+            histogram.record(sample);
+        }
+        Arrays.sort(samples);
+
+        for (final var percentile : new double[] { 1, 10, 50, 90, 99, 99.9 }) {
+            final var exact    = samples[(int) Math.ceil(samples.length * percentile / 100) - 1];
+            final var reported = histogram.getPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * Math.sqrt(2) + 1,
+                       "Percentile " + percentile + ": " + reported + " for " + exact);
+        }
+        assertEquals(samples[samples.length - 1], histogram.getPercentile(100));
+        assertEquals(samples[samples.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        final var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    void concurrentSamplesAreCounted() throws InterruptedException {
+        final var histogram = new LatencyHistogram();
+        final var threads   = new ArrayList<Thread>();
+        for (int i = 0; i < 4; ++i) {
+            final var samples = createSamples(50_000, i);
+            final var thread  = new Thread(() -> {
+                for (final var sample : samples) {
+                    histogram.record(sample);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+        assertEquals(200_000, histogram.getCount());
+
+        var total = 0L;
+        for (final var line : histogram.describeBuckets().split("\n")) {
+            total += Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+        }
+        assertEquals(200_000, total);
+    }
+}
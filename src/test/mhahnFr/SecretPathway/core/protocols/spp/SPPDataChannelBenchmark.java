@@ -0,0 +1,83 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.spp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares a file fetch over the SPP data channel with
+ * feeding the same response byte by byte through the inline SPP parser,
+ * during which no game output could pass on the main connection. The
+ * data channel is served by the loopback stand-in server of the
+ * {@link SPPDataChannelTest}.
+ * <br>
+ * Run using {@code ./gradlew benchmark -Pbenchmark=mhahnFr.SecretPathway.core.protocols.spp.SPPDataChannelBenchmark}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+public final class SPPDataChannelBenchmark {
+    /** The amount of measured rounds. */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Not used, this class only has static members.
+     */
+    private SPPDataChannelBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints the timings.
+     *
+     * @param args ignored
+     * @throws Exception if the stand-in server fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final var server = new SPPDataChannelTest.StandInServer(false);
+        final var sender = new SPPDataChannelTest.RecordingSender();
+        final var plugin = new SPPDataChannelTest.ObservedPlugin(sender);
+        SPPDataChannelTest.feed(plugin, server.offer());
+        if (!plugin.ready.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The data channel did not become ready!");
+        }
+
+        final var response = SPPPlugin.frame("file:fetch:/w/test.c:" + SPPDataChannelTest.CONTENT);
+        final var inline   = new SPPPlugin(sender, "localhost", false);
+
+        for (int round = -1; round < ROUNDS; ++round) {
+            var start = System.nanoTime();
+            final var content = plugin.fetchFile(new Object(), "/w/test.c");
+            final var channel = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            SPPDataChannelTest.feed(inline, response);
+            final var parsed = System.nanoTime() - start;
+
+            if (round < 0) continue;
+
+            System.out.printf("Round %d: data channel %.1f ms (%d chars), inline %.1f ms (%d bytes)%n",
+                              round, channel / 1e6, content.length(), parsed / 1e6, response.length);
+        }
+        System.out.printf("Sent on the main connection: %d bytes%n", sender.getSent().getBytes(StandardCharsets.UTF_8).length);
+
+        plugin.closeDataChannel();
+        server.close();
+    }
+}
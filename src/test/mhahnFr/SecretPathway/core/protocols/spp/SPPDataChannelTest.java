@@ -0,0 +1,264 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.spp;
+
+import mhahnFr.SecretPathway.core.net.ConnectionSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * These tests run the SPP data channel against a loopback stand-in
+ * of the server.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class SPPDataChannelTest {
+    /** The token used for the authentication.   */
+    private static final String TOKEN   = "secret";
+    /** The content of the fetched file.         */
+    static final String CONTENT         = "x".repeat(1 << 20);
+
+    /** The stand-in server.                     */
+    private StandInServer server;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * A stand-in of the server side of the data channel. It answers
+     * {@code file:fetch} commands with the {@link #CONTENT}.
+     */
+    static final class StandInServer extends Thread {
+        /** The listening socket.                                 */
+        private final ServerSocket socket;
+        /** Whether to drop the channel after the first command.  */
+        private final boolean dropAfterReady;
+        /** Counted down once the authentication has been read.  */
+        final CountDownLatch authenticated = new CountDownLatch(1);
+        /** The commands received on the channel.                 */
+        final StringBuffer received = new StringBuffer();
+
+        /**
+         * Constructs and starts the stand-in server.
+         *
+         * @param dropAfterReady whether to drop the channel after the first command
+         * @throws IOException if the socket could not be opened
+         */
+        StandInServer(final boolean dropAfterReady) throws IOException {
+            super("SPP stand-in server");
+            this.socket         = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            this.dropAfterReady = dropAfterReady;
+            setDaemon(true);
+            start();
+        }
+
+        /**
+         * Returns the framed channel offer for this server.
+         *
+         * @return the offer
+         */
+        byte[] offer() {
+            return SPPPlugin.frame("channel:offer:" + socket.getLocalPort() + ":" + TOKEN + ":plain");
+        }
+
+        @Override
+        public void run() {
+            try (final var client = socket.accept()) {
+                final var in  = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                final var out = client.getOutputStream();
+                if (!("\2channel:auth:" + TOKEN + "\3").equals(in.readLine())) return;
+
+                authenticated.countDown();
+                out.write(SPPPlugin.frame("channel:ready"));
+                out.flush();
+
+                String line;
+                while ((line = in.readLine()) != null) {
+                    final var message = line.substring(1, line.length() - 1);
+                    received.append(message).append('\n');
+                    if (dropAfterReady) return;
+
+                    if (message.startsWith("file:fetch:")) {
+                        out.write(SPPPlugin.frame(message + ":" + CONTENT));
+                        out.flush();
+                    }
+                }
+            } catch (IOException __) {}
+        }
+
+        /**
+         * Closes the listening socket.
+         *
+         * @throws IOException if the socket could not be closed
+         */
+        void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    /**
+     * A sender recording the messages sent on the main connection.
+     */
+    static final class RecordingSender implements ConnectionSender {
+        /** The bytes sent on the main connection. */
+        final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+        /**
+         * Returns the text sent on the main connection.
+         *
+         * @return the sent text
+         */
+        String getSent() {
+            synchronized (sent) {
+                return sent.toString(StandardCharsets.UTF_8);
+            }
+        }
+
+        @Override
+        public void send(final byte[] bytes) {
+            synchronized (sent) {
+                sent.writeBytes(bytes);
+            }
+        }
+
+        @Override public void startTLS() {}
+        @Override public void escapeIAC(final boolean escape) {}
+        @Override public void setCharset(final Charset charset) {}
+        @Override public void enableSPP() {}
+        @Override public void setPasswordMode(final boolean enabled) {}
+        @Override public void openEditor(final String path, final String content) {}
+        @Override public void setPromptText(final String text) {}
+        @Override public void markPrompt() {}
+        @Override public void timingMarkReceived() {}
+    }
+
+    /**
+     * A plugin counting down a latch once its data channel is ready.
+     */
+    static final class ObservedPlugin extends SPPPlugin {
+        /** Counted down once the data channel is ready. */
+        final CountDownLatch ready = new CountDownLatch(1);
+
+        /**
+         * Constructs the plugin for the loopback host.
+         *
+         * @param sender the sender used for sending messages
+         */
+        ObservedPlugin(final ConnectionSender sender) {
+            super(sender, InetAddress.getLoopbackAddress().getHostAddress(), false);
+        }
+
+        @Override
+        synchronized void dataChannelReady(final SPPDataChannel channel) {
+            super.dataChannelReady(channel);
+            ready.countDown();
+        }
+    }
+
+    /**
+     * Feeds the given framed message into the given plugin the way the
+     * main connection does.
+     *
+     * @param plugin  the plugin
+     * @param message the framed message
+     */
+    static void feed(final SPPPlugin plugin, final byte[] message) {
+        for (int i = 1; i < message.length - 1; ++i) {
+            plugin.process(message[i], null);
+        }
+    }
+
+    @Test
+    void fetchUsesTheDataChannel() throws Exception {
+        server = new StandInServer(false);
+        final var sender = new RecordingSender();
+        final var plugin = new ObservedPlugin(sender);
+        feed(plugin, server.offer());
+        assertTrue(plugin.ready.await(10, TimeUnit.SECONDS));
+
+        final var content = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> plugin.fetchFile(new Object(), "/w/test.c"));
+        assertEquals(CONTENT, content);
+        assertEquals("file:fetch:/w/test.c\n", server.received.toString());
+        assertEquals("", sender.getSent());
+        plugin.closeDataChannel();
+    }
+
+    @Test
+    void fetchIsResentInlineWhenTheChannelIsLost() throws Exception {
+        server = new StandInServer(true);
+        final var sender = new RecordingSender();
+        final var plugin = new ObservedPlugin(sender);
+        feed(plugin, server.offer());
+        assertTrue(plugin.ready.await(10, TimeUnit.SECONDS));
+
+        final var content = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            final var fetcher = new Thread(() -> {
+                while (!sender.getSent().contains("file:fetch:/w/test.c")) {
+                    Thread.onSpinWait();
+                }
+                feed(plugin, SPPPlugin.frame("file:fetch:/w/test.c:" + CONTENT));
+            });
+            fetcher.start();
+            return plugin.fetchFile(new Object(), "/w/test.c");
+        });
+        assertEquals(CONTENT, content);
+        assertEquals("file:fetch:/w/test.c\n", server.received.toString());
+        assertEquals(new String(SPPPlugin.frame("file:fetch:/w/test.c"), StandardCharsets.UTF_8), sender.getSent());
+    }
+
+    @Test
+    void fetchStaysInlineWithoutAnOffer() {
+        final var sender = new RecordingSender();
+        final var plugin = new ObservedPlugin(sender);
+
+        final var content = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            final var fetcher = new Thread(() -> {
+                while (sender.getSent().isEmpty()) {
+                    Thread.onSpinWait();
+                }
+                feed(plugin, SPPPlugin.frame("file:fetch:/w/test.c:content"));
+            });
+            fetcher.start();
+            return plugin.fetchFile(new Object(), "/w/test.c");
+        });
+        assertEquals("content", content);
+    }
+}
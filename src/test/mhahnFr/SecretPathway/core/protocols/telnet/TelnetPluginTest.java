@@ -0,0 +1,109 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.protocols.telnet;
+
+import mhahnFr.SecretPathway.core.protocols.Protocol;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPEventBus;
+import mhahnFr.SecretPathway.core.protocols.gmcp.GMCPMessage;
+import mhahnFr.SecretPathway.core.protocols.telnet.TelnetPlugin.MudExtensions;
+import mhahnFr.SecretPathway.core.protocols.telnet.TelnetPlugin.TelnetFunction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * These tests check that a GMCP message received in parts before the
+ * connection is lost does not affect the messages of the next connection.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class TelnetPluginTest {
+    /** The received messages.                  */
+    private final List<GMCPMessage> received = new ArrayList<>();
+    /** The state machine containing the plugin. */
+    private final Protocol protocol;
+
+    TelnetPluginTest() {
+        final var bus = new GMCPEventBus();
+        bus.subscribe("", received::add);
+        protocol = new Protocol(null, new TelnetPlugin(bus));
+    }
+
+    /**
+     * Returns the given GMCP message in a telnet sub negotiation.
+     *
+     * @param message the GMCP message
+     * @return the bytes of the sub negotiation
+     */
+    private static byte[] gmcp(final String message) {
+        final var out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[] { (byte) TelnetFunction.IAC, (byte) TelnetFunction.SB, (byte) MudExtensions.GMCP });
+        out.writeBytes(message.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(new byte[] { (byte) TelnetFunction.IAC, (byte) TelnetFunction.SE });
+        return out.toByteArray();
+    }
+
+    /**
+     * Feeds the given bytes into the state machine.
+     *
+     * @param bytes the bytes
+     * @param count the amount of bytes to feed
+     */
+    private void feed(final byte[] bytes, final int count) {
+        for (int i = 0; i < count; ++i) {
+            protocol.process(bytes[i]);
+        }
+    }
+
+    @Test
+    void partialMessageIsDroppedOnConnectionError() {
+        final var partial = gmcp("Char.Vitals {\"hp\": 1");
+        feed(partial, partial.length - 4);
+        protocol.onConnectionError();
+        protocol.onConnectionEstablished();
+
+        final var message = gmcp("Char.Vitals {\"hp\": 42}");
+        feed(message, message.length);
+
+        assertEquals(1, received.size());
+        assertEquals("Char.Vitals", received.get(0).getName());
+        assertEquals(42, received.get(0).getNumber("hp", 0));
+    }
+
+    @Test
+    void partialMessageIsDroppedOnConnectionEstablished() {
+        final var partial = gmcp("Room.Info {\"name\": \"Hal");
+        feed(partial, partial.length - 2);
+        protocol.onConnectionEstablished();
+
+        final var message = gmcp("Char.Vitals {\"hp\": 7}");
+        feed(message, message.length);
+
+        assertEquals(1, received.size());
+        assertEquals("Char.Vitals", received.get(0).getName());
+        assertEquals(7, received.get(0).getNumber("hp", 0));
+    }
+}
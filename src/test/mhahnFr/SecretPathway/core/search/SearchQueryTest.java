@@ -0,0 +1,163 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.search;
+
+import mhahnFr.SecretPathway.core.triggers.Trigger;
+import mhahnFr.SecretPathway.core.triggers.TriggerEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * These tests compare the prefiltering by the extracted literals with
+ * {@link java.util.regex.Matcher#find()} over a corpus of regular
+ * expressions and lines.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class SearchQueryTest {
+    /** The regular expressions of the corpus. */
+    private static final List<String> REGEXES = List.of(
+            "hello", "h.llo", "(?i)HELLO", "^start", "end$", "ab\\.?cd", "foo\\d+bar", "x{2}yz",
+            "[a-c]+def", "ab|cd", "\\bword\\b", "a\\tb", "(ab)+c", "(ab)*cde",
+            "\\x41bc", "\\x{41}bc", "caf\\u00e9", "\\0101bc", "\\cAxyz", "(?<n>ab)\\k<n>cd",
+            "\\N{LATIN SMALL LETTER A}bc", "(a)\\1bc", "\\p{L}{2}abc", "\\p{Lu}xy", "\\Qa.b\\E*c",
+            "(a[)]b)c", "a(b[(]c)d", "(a\\Q)\\Eb)cd", "[\\]x]yz", "(?x) a b c", "(?ix: a b )cd");
+
+    /** The characters the random lines are made of. */
+    private static final String ALPHABET = "abcdehlorstwxyzABCHLOXé.()[]\\{}|?+*\t\u0001 AÉ0123456789";
+
+    /**
+     * Returns the lines of the corpus: random lines and lines built from
+     * fragments of the regular expressions.
+     *
+     * @return the lines
+     */
+    private static List<String> lines() {
+        final var random = new Random(42);
+        final var result = new ArrayList<String>();
+        final var fragments = List.of("hello", "HeLLo", "start", "end", "abcd", "ab.cd", "foo12bar", "xxyz",
+                                      "bcdef", "word", "a\tb", "ababc", "cde", "Abc", "café", "CAFÉ", "\u0001xyz",
+                                      "ababcd", "aabc", "aa", "xyabc", "Xxy", "a.bc", "a.b", "a)bc", "a(bcd",
+                                      "a)bcd", "]yz", "xyz", "abc", " a b c ", "abcd", "ab cd");
+        for (int i = 0; i < 4000; ++i) {
+            final var builder = new StringBuilder();
+            final var length  = random.nextInt(24);
+            for (int j = 0; j < length; ++j) {
+                if (random.nextInt(6) == 0) {
+                    builder.append(fragments.get(random.nextInt(fragments.size())));
+                } else {
+                    builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+            result.add(builder.toString());
+        }
+        return result;
+    }
+
+    @Test
+    void literalsAreContainedInEveryMatch() {
+        final var lines = lines();
+        for (final var regex : REGEXES) {
+            final var query = new SearchQuery(regex, true);
+            for (final var line : lines) {
+                if (!query.matches(line)) continue;
+
+                for (final var literal : query.getLiterals()) {
+                    assertTrue(containsIgnoringCase(line, literal),
+                               "\"" + regex + "\": literal \"" + literal + "\" not in \"" + line + "\"");
+                }
+            }
+        }
+    }
+
+    @Test
+    void escapesWithArgumentsAreOpaque() {
+        assertEquals(List.of("bc"),      SearchQuery.extractLiterals("\\x41bc"));
+        assertEquals(List.of("bc"),      SearchQuery.extractLiterals("\\x{41}bc"));
+        assertEquals(List.of("caf"),     SearchQuery.extractLiterals("caf\\u00e9"));
+        assertEquals(List.of("bc"),      SearchQuery.extractLiterals("\\0101bc"));
+        assertEquals(List.of("xyz"),     SearchQuery.extractLiterals("\\cAxyz"));
+        assertEquals(List.of("cd"),      SearchQuery.extractLiterals("(?<n>ab)\\k<n>cd"));
+        assertEquals(List.of("abc"),     SearchQuery.extractLiterals("\\p{L}{2}abc"));
+        assertEquals(List.of("c"),       SearchQuery.extractLiterals("(a[)]b)c"));
+        assertEquals(List.of("cd"),      SearchQuery.extractLiterals("(a\\Q)\\Eb)cd"));
+        assertEquals(List.of("a.", "c"), SearchQuery.extractLiterals("\\Qa.b\\E*c"));
+        assertEquals(List.of(),          SearchQuery.extractLiterals("(?x) a b c"));
+    }
+
+    @Test
+    void indexFindsTheSameLinesAsPattern() {
+        final var lines = lines();
+        final var index = new TrigramIndex(64);
+        for (final var line : lines) {
+            index.appendLine(line);
+        }
+        for (final var regex : REGEXES) {
+            final var query    = new SearchQuery(regex, true);
+            final var expected = new ArrayList<Integer>();
+            for (int i = 0; i < lines.size(); ++i) {
+                if (query.matches(lines.get(i))) expected.add(i);
+            }
+            final var found = new ArrayList<Integer>();
+            for (int line = index.find(query, 0, true, lines::get, lines.size()); line >= 0;
+                     line = index.find(query, line + 1, true, lines::get, lines.size())) {
+                found.add(line);
+            }
+            assertEquals(expected, found, regex);
+        }
+    }
+
+    @Test
+    void triggerEngineFindsTheSameTriggersAsPattern() {
+        final var triggers = new ArrayList<Trigger>();
+        for (final var regex : REGEXES) {
+            triggers.add(new Trigger(new SearchQuery(regex, true), Trigger.Action.GAG, null, null));
+        }
+        final var engine = new TriggerEngine(triggers);
+        for (final var line : lines()) {
+            final var expected = new ArrayList<Trigger>();
+            for (final var trigger : triggers) {
+                if (trigger.getQuery().matches(line)) expected.add(trigger);
+            }
+            assertEquals(expected, engine.evaluate(line), line);
+        }
+    }
+
+    /**
+     * Returns whether the given text contains the given literal, ignoring the case.
+     *
+     * @param text    the text
+     * @param literal the literal
+     * @return whether the literal is contained
+     */
+    private static boolean containsIgnoringCase(final String text, final String literal) {
+        for (int i = 0; i + literal.length() <= text.length(); ++i) {
+            if (text.regionMatches(true, i, literal, 0, literal.length())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.core.triggers;
+
+import mhahnFr.SecretPathway.core.search.SearchQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class compares the evaluation of the triggers by the
+ * {@link TriggerEngine} with matching the regular expression of every
+ * trigger on every line. Both are run on the same synthetic lines, the
+ * amount of matches is printed along with the timings to make sure
+ * both find the same triggers.
+ * <br>
+ * Run using {@code ./gradlew benchmark -Pbenchmark=mhahnFr.SecretPathway.core.triggers.TriggerEngineBenchmark}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+public final class TriggerEngineBenchmark {
+    /** The amount of triggers.          */
+    private static final int TRIGGERS = 300;
+    /** The amount of lines.             */
+    private static final int LINES    = 50_000;
+    /** The amount of measured rounds.   */
+    private static final int ROUNDS   = 3;
+
+    /** The words the lines are made of. */
+    private static final String[] WORDS = {
+            "the", "orc", "hits", "you", "misses", "goblin", "sword", "shield", "north", "south", "gold",
+            "coins", "says", "tells", "arrives", "leaves", "dies", "corpse", "potion", "health", "mana"
+    };
+
+    /**
+     * Not used, this class only has static members.
+     */
+    private TriggerEngineBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints the timings.
+     *
+     * @param args ignored
+     */
+    public static void main(final String[] args) {
+        final var random = new Random(7);
+
+        final var triggers = new ArrayList<Trigger>(TRIGGERS);
+        final var names    = new String[TRIGGERS];
+        for (int i = 0; i < TRIGGERS; ++i) {
+            names[i] = WORDS[random.nextInt(WORDS.length)] + i;
+            final var regex = switch (i % 3) {
+                case 0  -> "^(\\w+) tells you: " + names[i] + "$";
+                case 1  -> "you (?:hit|miss) the " + names[i] + " (\\d+) times";
+                default -> names[i] + " arrives from the (?:north|south)\\.$";
+            };
+            triggers.add(new Trigger(new SearchQuery(regex, true), Trigger.Action.GAG, null, null));
+        }
+
+        final var lines = new ArrayList<String>(LINES);
+        for (int i = 0; i < LINES; ++i) {
+            if (random.nextInt(20) == 0) {
+                final var trigger = random.nextInt(TRIGGERS);
+                lines.add(switch (trigger % 3) {
+                    case 0  -> "Orc tells you: " + names[trigger];
+                    case 1  -> "you hit the " + names[trigger] + " " + random.nextInt(10) + " times";
+                    default -> names[trigger] + " arrives from the north.";
+                });
+                continue;
+            }
+            final var builder = new StringBuilder();
+            final var words   = 4 + random.nextInt(12);
+            for (int j = 0; j < words; ++j) {
+                if (j > 0) builder.append(' ');
+                builder.append(WORDS[random.nextInt(WORDS.length)]);
+                if (random.nextInt(50) == 0) builder.append(random.nextInt(TRIGGERS));
+            }
+            lines.add(builder.toString());
+        }
+
+        final var engine = new TriggerEngine(triggers);
+        for (int round = -1; round < ROUNDS; ++round) {
+            final var engineStart   = System.nanoTime();
+            final var engineMatches = runEngine(engine, lines);
+            final var engineNanos   = System.nanoTime() - engineStart;
+
+            final var loopStart   = System.nanoTime();
+            final var loopMatches = runLoop(triggers, lines);
+            final var loopNanos   = System.nanoTime() - loopStart;
+
+            if (round < 0) continue;
+
+            System.out.printf("Round %d: engine %6.0f ns/line (%d matches), loop %6.0f ns/line (%d matches), speedup %.1fx%n",
+                              round, (double) engineNanos / LINES, engineMatches,
+                              (double) loopNanos / LINES, loopMatches, (double) loopNanos / engineNanos);
+        }
+    }
+
+    /**
+     * Evaluates the lines using the given engine.
+     *
+     * @param engine the engine
+     * @param lines  the lines
+     * @return the amount of matching triggers
+     */
+    private static long runEngine(final TriggerEngine engine, final List<String> lines) {
+        var result = 0L;
+        for (final var line : lines) {
+            result += engine.evaluate(line).size();
+        }
+        return result;
+    }
+
+    /**
+     * Matches the regular expression of every trigger on every line.
+     *
+     * @param triggers the triggers
+     * @param lines    the lines
+     * @return the amount of matching triggers
+     */
+    private static long runLoop(final List<Trigger> triggers, final List<String> lines) {
+        var result = 0L;
+        for (final var line : lines) {
+            for (final var trigger : triggers) {
+                if (trigger.getQuery().matches(line)) ++result;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.utils.Pair;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class compares appending batches of styled runs to an
+ * {@link OutputDocument} with inserting every run on its own into a
+ * {@link DefaultStyledDocument}. The amount of document events and of
+ * paragraphs is printed along with the timings.
+ * <br>
+ * Run using {@code ./gradlew benchmark -Pbenchmark=mhahnFr.SecretPathway.gui.output.OutputDocumentBenchmark}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+public final class OutputDocumentBenchmark {
+    /** The amount of batches.         */
+    private static final int BATCHES = 20_000;
+    /** The amount of runs in a batch. */
+    private static final int RUNS    = 8;
+    /** The amount of distinct styles. */
+    private static final int STYLES  = 8;
+    /** The amount of measured rounds. */
+    private static final int ROUNDS  = 5;
+
+    /**
+     * This class counts the received insertion events.
+     */
+    private static final class EventCounter implements DocumentListener {
+        /** The amount of received insertion events. */
+        private int events;
+
+        @Override
+        public void insertUpdate(final DocumentEvent event) {
+            ++events;
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent event) {}
+
+        @Override
+        public void changedUpdate(final DocumentEvent event) {}
+    }
+
+    /**
+     * Not used, this class only has static members.
+     */
+    private OutputDocumentBenchmark() {}
+
+    /**
+     * Runs the benchmark and prints the timings.
+     *
+     * @param args ignored
+     * @throws BadLocationException should not happen
+     */
+    public static void main(final String[] args) throws BadLocationException {
+        final var random     = new Random(27);
+        final var attributes = OutputDocumentTest.createAttributes(STYLES);
+
+        final var batches = new ArrayList<List<Pair<String, AttributeSet>>>(BATCHES);
+        for (int i = 0; i < BATCHES; ++i) {
+            final var batch = new ArrayList<Pair<String, AttributeSet>>(RUNS);
+            for (int j = 0; j < RUNS; ++j) {
+                final var text = "word" + j + (random.nextInt(4) == 0 ? "\n" : " ");
+                batch.add(new Pair<>(text, attributes[random.nextInt(STYLES)]));
+            }
+            batches.add(batch);
+        }
+
+        for (int round = -1; round < ROUNDS; ++round) {
+            final var perRun         = new DefaultStyledDocument();
+            final var perRunCounter  = new EventCounter();
+            perRun.addDocumentListener(perRunCounter);
+
+            final var perRunStart = System.nanoTime();
+            for (final var batch : batches) {
+                for (final var run : batch) {
+                    perRun.insertString(perRun.getLength(), run.getFirst(), run.getSecond());
+                }
+            }
+            final var perRunNanos = System.nanoTime() - perRunStart;
+
+            final var batched        = new OutputDocument();
+            final var batchedCounter = new EventCounter();
+            batched.addDocumentListener(batchedCounter);
+
+            final var batchedStart = System.nanoTime();
+            for (final var batch : batches) {
+                batched.append(batch);
+            }
+            final var batchedNanos = System.nanoTime() - batchedStart;
+
+            if (round < 0) continue;
+
+            System.out.printf("Round %d: per run %5.0f ms (%d events, %d paragraphs), batched %5.0f ms (%d events, %d paragraphs)%n",
+                              round, perRunNanos / 1e6, perRunCounter.events,
+                              perRun.getDefaultRootElement().getElementCount(),
+                              batchedNanos / 1e6, batchedCounter.events,
+                              batched.getDefaultRootElement().getElementCount());
+        }
+    }
+}
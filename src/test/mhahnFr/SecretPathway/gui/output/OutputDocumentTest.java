@@ -0,0 +1,113 @@
+/*
+ * SecretPathway - A MUD client.
+ *
+ * Copyright (C) 2023  mhahnFr
+ *
+ * This file is part of the SecretPathway. This program is free software:
+ * you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program, see the file LICENSE.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package mhahnFr.SecretPathway.gui.output;
+
+import mhahnFr.utils.Pair;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Element;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * These tests compare appending batches of runs to an {@link OutputDocument}
+ * with inserting the runs one by one into a {@link DefaultStyledDocument}.
+ *
+ * @author agent
+ * @since 19.10.26
+ */
+class OutputDocumentTest {
+    /** The texts of the runs. */
+    private static final String[] TEXTS = { "a", "word ", "two words", "\n", "line\n", "\nnext", "x\ny\nz", "\n\n", "" };
+
+    /**
+     * Creates the given amount of distinct attribute sets. The first one is
+     * {@code null}, as runs without a style are appended as well.
+     *
+     * @param count the amount of attribute sets
+     * @return the attribute sets
+     */
+    static AttributeSet[] createAttributes(final int count) {
+        final var attributes = new AttributeSet[count];
+        for (int i = 1; i < count; ++i) {
+            final var set = new SimpleAttributeSet();
+            StyleConstants.setForeground(set, new Color(i * 255 / count, 0, 0));
+            StyleConstants.setBold(set, i % 2 == 0);
+            attributes[i] = set;
+        }
+        return attributes;
+    }
+
+    /**
+     * Describes the element structure of the given document: every
+     * paragraph with the ranges and attributes of its leaves.
+     *
+     * @param document the document
+     * @return the description of the document
+     * @throws BadLocationException should not happen
+     */
+    private static String describe(final DefaultStyledDocument document) throws BadLocationException {
+        final var builder = new StringBuilder(document.getText(0, document.getLength())).append('\n');
+        final var root    = document.getDefaultRootElement();
+        for (int i = 0; i < root.getElementCount(); ++i) {
+            final Element paragraph = root.getElement(i);
+            builder.append('[');
+            for (int j = 0; j < paragraph.getElementCount(); ++j) {
+                final var leaf = paragraph.getElement(j);
+                builder.append(' ').append(leaf.getStartOffset()).append('-').append(leaf.getEndOffset())
+                       .append(' ').append(leaf.getAttributes().copyAttributes());
+            }
+            builder.append(" ]\n");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void appendingBatchesMatchesInsertingRuns() throws BadLocationException {
+        final var random     = new Random(27);
+        final var attributes = createAttributes(4);
+
+        for (int round = 0; round < 200; ++round) {
+            final var expected = new DefaultStyledDocument();
+            final var actual   = new OutputDocument();
+
+            for (int batch = random.nextInt(12); batch >= 0; --batch) {
+                final List<Pair<String, AttributeSet>> runs = new ArrayList<>();
+                for (int run = random.nextInt(6); run >= 0; --run) {
+                    final var text  = TEXTS[random.nextInt(TEXTS.length)];
+                    final var style = attributes[random.nextInt(attributes.length)];
+                    runs.add(new Pair<>(text, style));
+                    expected.insertString(expected.getLength(), text, style);
+                }
+                actual.append(runs);
+            }
+            assertEquals(describe(expected), describe(actual), "Round " + round);
+        }
+    }
+}